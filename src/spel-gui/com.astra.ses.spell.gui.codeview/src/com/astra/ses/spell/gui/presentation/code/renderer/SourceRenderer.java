@@ -187,6 +187,7 @@ public class SourceRenderer extends DefaultCellRenderer
 		if (changed)
 		{
 			m_font = s_cfg.getFont(FontKey.CODE, m_fontSize);
+			m_formatter.setFont(m_font);
 		}
 		return changed;
 	}
@@ -239,7 +240,6 @@ public class SourceRenderer extends DefaultCellRenderer
 		if (line == null) return;
 
 		gc.setFont(m_font);
-		m_formatter.setFont(m_font);
 
 		boolean drawAsSelected = isSelected();
 		boolean drawBackground = true;
@@ -546,6 +546,7 @@ public class SourceRenderer extends DefaultCellRenderer
 			if (newFont != null)
 			{
 				m_font = newFont;
+				m_formatter.setFont(m_font);
 			}
 		}
     }
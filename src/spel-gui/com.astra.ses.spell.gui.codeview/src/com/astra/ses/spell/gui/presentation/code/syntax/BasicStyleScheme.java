@@ -181,6 +181,8 @@ public class BasicStyleScheme implements IStyleScheme
 		int style = font.getFontData()[0].getStyle() | SWT.NORMAL;
 
 		FontData newData = new FontData(face, size, style);
+		// Keep the current font and styles if nothing changes
+		if (m_codeFont != null && m_codeFont.getFontData()[0].equals(newData)) return;
 
 		Font newFont = new Font(Display.getDefault(), newData);
 		if (m_codeFont != null)
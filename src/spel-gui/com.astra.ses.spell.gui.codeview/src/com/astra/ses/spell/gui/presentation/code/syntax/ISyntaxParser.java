@@ -70,4 +70,10 @@ public interface ISyntaxParser
 	 * Parse the source given to detect special areas.
 	 **************************************************************************/
 	public void parseSource(String codeId, String[] source);
+
+	/***************************************************************************
+	 * Discard the text styles obtained from the scheme. Shall be called when
+	 * the scheme or its font change.
+	 **************************************************************************/
+	public void resetStyles();
 }
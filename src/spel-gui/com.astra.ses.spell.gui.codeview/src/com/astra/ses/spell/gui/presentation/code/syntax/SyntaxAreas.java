@@ -48,10 +48,12 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.presentation.code.syntax;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 
 /*******************************************************************************
- * @brief
+ * @brief Holds the syntax-relevant areas of a source. The lines inside comment
+ *        blocks are kept in a bit set, so that checking a line does not
+ *        depend on the number of blocks.
  ******************************************************************************/
 public class SyntaxAreas implements ISyntaxAreas
 {
@@ -68,28 +70,18 @@ public class SyntaxAreas implements ISyntaxAreas
 	// =========================================================================
 
 	// PRIVATE -----------------------------------------------------------------
-	private ArrayList<Block>	m_commentBlocks;
+	/** Lines inside comment blocks */
+	private BitSet	m_commentLines;
 
 	// PROTECTED ---------------------------------------------------------------
 	// PUBLIC ------------------------------------------------------------------
 
-	/***************************************************************************
-	 * Holds the applicability range for a text style
-	 **************************************************************************/
-	private class Block
-	{
-		/** Start position */
-		int	startLineNo;
-		/** End position */
-		int	endLineNo;
-	}
-
 	/***************************************************************************
 	 * Constructor
 	 **************************************************************************/
 	public SyntaxAreas()
 	{
-		m_commentBlocks = new ArrayList<Block>();
+		m_commentLines = new BitSet();
 	}
 
 	/*
@@ -102,10 +94,8 @@ public class SyntaxAreas implements ISyntaxAreas
 	@Override
 	public void addCommentBlock(int startLineNo, int endLineNo)
 	{
-		Block block = new Block();
-		block.startLineNo = startLineNo;
-		block.endLineNo = endLineNo;
-		m_commentBlocks.add(block);
+		if (startLineNo < 0 || endLineNo < startLineNo) return;
+		m_commentLines.set(startLineNo, endLineNo + 1);
 	}
 
 	/*
@@ -117,11 +107,7 @@ public class SyntaxAreas implements ISyntaxAreas
 	@Override
 	public boolean isInCommentBlock(int lineNo)
 	{
-		for (Block block : m_commentBlocks)
-		{
-			if ((block.startLineNo <= lineNo) && (block.endLineNo >= lineNo)) return true;
-		}
-		return false;
+		return (lineNo >= 0) && m_commentLines.get(lineNo);
 	}
 
 }
@@ -123,6 +123,7 @@ public class SyntaxFormatter implements ISyntaxFormatter
 	{
 		Logger.debug("Set scheme: " + scheme, Level.GUI, this);
 		m_scheme.setScheme(scheme);
+		m_parser.resetStyles();
 	}
 
 	/*
@@ -135,7 +136,13 @@ public class SyntaxFormatter implements ISyntaxFormatter
 	@Override
 	public void setFont(Font font)
 	{
+		Font current = m_scheme.getCodeFont();
 		m_scheme.setFont(font);
+		// The cached styles refer to the previous font
+		if (m_scheme.getCodeFont() != current)
+		{
+			m_parser.resetStyles();
+		}
 	}
 
 	/*
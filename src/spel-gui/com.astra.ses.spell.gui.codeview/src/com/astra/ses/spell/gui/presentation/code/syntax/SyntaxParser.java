@@ -48,6 +48,7 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.presentation.code.syntax;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.Vector;
@@ -70,6 +71,11 @@ import de.susebox.jtopas.TokenizerProperties;
 /*******************************************************************************
  * @brief Source code parser based on JTOPAS package. Implements a basic token
  *        recognition algorithm for SPELL. Requires JTOPAS runtime package.
+ *
+ *        The style ranges of each source line are computed once and kept as
+ *        (start, length, style id) triples until the source changes, so that
+ *        painting a line only applies them to the layout. A single tokenizer
+ *        is reused for all lines. Used from the UI thread only.
  * @date 27/03/08
  ******************************************************************************/
 public class SyntaxParser implements ISyntaxParser
@@ -79,6 +85,12 @@ public class SyntaxParser implements ISyntaxParser
 	// =========================================================================
 
 	// PRIVATE -----------------------------------------------------------------
+	/** Style id of the scheme default style */
+	private static final int DEFAULT_STYLE = -1;
+	/** Style id of tokens without style */
+	private static final int NO_STYLE = -2;
+	/** Token types by style id */
+	private static final TokenTypes[] s_types = TokenTypes.values();
 	// PROTECTED ---------------------------------------------------------------
 	// PUBLIC ------------------------------------------------------------------
 
@@ -89,6 +101,12 @@ public class SyntaxParser implements ISyntaxParser
 	// PRIVATE -----------------------------------------------------------------
 	/** Currently configured scheme */
 	private IStyleScheme m_scheme = null;
+	/** Styles obtained from the scheme, by style id */
+	private TextStyle[] m_styles;
+	/** Tokenizer reused for all lines */
+	private StandardTokenizer m_tokenizer;
+	/** Holds the style ranges of each source, by code id */
+	private Map<String, SourceTokens> m_tokens;
 	// PROTECTED ---------------------------------------------------------------
 	/** Holds the list of defined functions */
 	protected Vector<String> m_listFunctions;
@@ -126,6 +144,27 @@ public class SyntaxParser implements ISyntaxParser
 		int end;
 	}
 
+	/***************************************************************************
+	 * Holds the style ranges of the lines of a source
+	 **************************************************************************/
+	private static class SourceTokens
+	{
+		/** The source lines */
+		String[] source;
+		/** Text the ranges of each line were computed for, by line number */
+		String[] texts;
+		/** Style range triples of each line, by line number */
+		int[][] tokens;
+
+		SourceTokens(String[] source)
+		{
+			this.source = source;
+			// Line numbers start at one
+			this.texts = new String[source.length + 1];
+			this.tokens = new int[source.length + 1][];
+		}
+	}
+
 	// =========================================================================
 	// # ACCESSIBLE METHODS
 	// =========================================================================
@@ -176,9 +215,12 @@ public class SyntaxParser implements ISyntaxParser
 		Logger.debug("Word list read", Level.GUI, this);
 		m_scheme = scheme;
 		m_syntaxAreas = new TreeMap<String, ISyntaxAreas>();
+		m_tokens = new TreeMap<String, SourceTokens>();
+		m_styles = new TextStyle[s_types.length];
 		m_currentCodeId = null;
 		// Configure the JTOPAS tokenizer to recognise SPELL
 		configureTokenizer();
+		m_tokenizer = new StandardTokenizer(m_properties);
 	}
 
 	/*
@@ -213,85 +255,154 @@ public class SyntaxParser implements ISyntaxParser
 			layout.setStyle(m_scheme.getDefaultStyle(), 0, text.length());
 		}
 
-		// Create a source for the tokenizer with the text
-		StringSource source = new StringSource(text);
-		// Create the tokenizer using the current configuration
-		StandardTokenizer tokenizer = new StandardTokenizer(m_properties);
-		// Assign the source
-		tokenizer.setSource(source);
+		// Replay the style ranges of the line
+		int[] tokens = getTokens(text, rowIndex);
+		for (int index = 0; index < tokens.length; index += 3)
+		{
+			int start = tokens[index];
+			layout.setStyle(getStyle(tokens[index + 2]), start, start + tokens[index + 1]);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.astra.ses.spell.gui.presentation.code.syntax.ISyntaxParser#parseSource
+	 * (String,String)
+	 */
+	@Override
+	public void parseSource(String codeId, String[] source)
+	{
+		// The areas and style ranges are kept while the source is the same
+		SourceTokens tokens = m_tokens.get(codeId);
+		if (tokens == null || !Arrays.equals(tokens.source, source))
+		{
+			ISyntaxAreas areas = generateAreas(source);
+			m_syntaxAreas.put(codeId, areas);
+			m_tokens.put(codeId, new SourceTokens(source));
+		}
+		m_currentCodeId = codeId;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.astra.ses.spell.gui.presentation.code.syntax.ISyntaxParser#resetStyles
+	 * ()
+	 */
+	@Override
+	public void resetStyles()
+	{
+		Arrays.fill(m_styles, null);
+	}
+
+	// =========================================================================
+	// # NON-ACCESSIBLE METHODS
+	// =========================================================================
+
+	/***************************************************************************
+	 * Obtain the style ranges of the given line text, from the cache when they
+	 * were computed for the same text. The text may differ from the source
+	 * line, as it is shortened to fit the column.
+	 **************************************************************************/
+	private int[] getTokens(String text, int rowIndex)
+	{
+		SourceTokens cache = (m_currentCodeId == null) ? null : m_tokens.get(m_currentCodeId);
+		if (cache == null || rowIndex < 0 || rowIndex >= cache.texts.length)
+		{
+			return tokenize(text, rowIndex);
+		}
+		if (!text.equals(cache.texts[rowIndex]))
+		{
+			cache.tokens[rowIndex] = tokenize(text, rowIndex);
+			cache.texts[rowIndex] = text;
+		}
+		return cache.tokens[rowIndex];
+	}
+
+	/***************************************************************************
+	 * Compute the style ranges of the given line text
+	 * 
+	 * @return The (start, length, style id) triples, in application order
+	 **************************************************************************/
+	private int[] tokenize(String text, int rowIndex)
+	{
+		boolean isDocString = false;
+		if (m_currentCodeId != null)
+		{
+			ISyntaxAreas areas = m_syntaxAreas.get(m_currentCodeId);
+			if (areas != null)
+			{
+				isDocString = areas.isInCommentBlock(rowIndex);
+			}
+		}
+		int[] tokens = new int[48];
+		int count = 0;
+		// Assign the text to the tokenizer
+		m_tokenizer.setSource(new StringSource(text));
 		try
 		{
 			// For each token recognised in the text
-			while (tokenizer.hasMoreToken())
+			while (m_tokenizer.hasMoreToken())
 			{
-				Token token = tokenizer.nextToken();
+				Token token = m_tokenizer.nextToken();
 				int type = token.getType();
 				// This is the token text
-				String word = tokenizer.currentImage();
+				String word = m_tokenizer.currentImage();
 				// When the image is null, we are processing EOL
 				if (word == null)
 					break;
 				boolean isDocStringTag1 = (type == Token.SPECIAL_SEQUENCE && word.equals("\"\"\""));
 				boolean isDocStringTag2 = (type == Token.SPECIAL_SEQUENCE && word.equals("'''"));
-				boolean isDocString = false;
-				if (m_currentCodeId != null)
-				{
-					ISyntaxAreas areas = m_syntaxAreas.get(m_currentCodeId);
-					if (areas != null)
-					{
-						isDocString = areas.isInCommentBlock(rowIndex);
-					}
-				}
 				// Find the applicable style, depending on the token type
-				TextStyle toApply = null;
+				int style;
 				if (isDocString || isDocStringTag1 || isDocStringTag2)
 				{
-					toApply = m_scheme.getStyle(TokenTypes.COMMENT);
+					style = TokenTypes.COMMENT.ordinal();
 				}
 				else
 				{
-					toApply = getApplicableStyle(word, type);
+					style = getApplicableStyleId(word, type);
 				}
 				// If no style is returned, continue to next token
-				if (toApply == null)
+				if (style == NO_STYLE)
 					continue;
 				// Get the applicable range (find token position)
 				Range range = getApplicableRange(text, word, token);
-				// Apply the style to the layout
-				layout.setStyle(toApply, range.start, range.end);
+				if (count + 3 > tokens.length)
+				{
+					tokens = Arrays.copyOf(tokens, tokens.length * 2);
+				}
+				tokens[count++] = range.start;
+				tokens[count++] = range.end - range.start;
+				tokens[count++] = style;
 			}
-			// Close tokenizer
-			tokenizer.close();
-			tokenizer = null;
 		}
 		catch (TokenizerException e)
 		{
 			e.printStackTrace();
 		}
+		return Arrays.copyOf(tokens, count);
 	}
 
-	/*
-	 * (non-Javadoc)
-	 * 
-	 * @see
-	 * com.astra.ses.spell.gui.presentation.code.syntax.ISyntaxParser#parseSource
-	 * (String,String)
-	 */
-	@Override
-	public void parseSource(String codeId, String[] source)
+	/***************************************************************************
+	 * Obtain the text style for the given style id
+	 **************************************************************************/
+	private TextStyle getStyle(int style)
 	{
-		if (!m_syntaxAreas.containsKey(codeId))
+		if (style == DEFAULT_STYLE)
 		{
-			ISyntaxAreas areas = generateAreas(source);
-			m_syntaxAreas.put(codeId, areas);
+			return m_scheme.getDefaultStyle();
 		}
-		m_currentCodeId = codeId;
+		if (m_styles[style] == null)
+		{
+			m_styles[style] = m_scheme.getStyle(s_types[style]);
+		}
+		return m_styles[style];
 	}
 
-	// =========================================================================
-	// # NON-ACCESSIBLE METHODS
-	// =========================================================================
-
 	/***************************************************************************
 	 * Generate relevant areas. We need to this manually because the JTOPAS
 	 * parser is not able to detect Python block comments.
@@ -544,11 +655,12 @@ public class SyntaxParser implements ISyntaxParser
 	 *            Token image
 	 * @param type
 	 *            Token type
-	 * @return The corresponding style
+	 * @return The corresponding style id: a TokenTypes ordinal, DEFAULT_STYLE
+	 *         or NO_STYLE
 	 **************************************************************************/
-	protected TextStyle getApplicableStyle(String word, int type)
+	protected int getApplicableStyleId(String word, int type)
 	{
-		TextStyle toApply = null;
+		int toApply = NO_STYLE;
 		switch (type)
 		{
 		case Token.KEYWORD:
@@ -557,46 +669,46 @@ public class SyntaxParser implements ISyntaxParser
 				if (isCriticalFunction(word))
 				{
 					//toApply = m_scheme.getStyle(TokenTypes.CRITICAL);
-					toApply = m_scheme.getStyle(TokenTypes.SPELL);
+					toApply = TokenTypes.SPELL.ordinal();
 				}
 				else
 				{
-					toApply = m_scheme.getStyle(TokenTypes.SPELL);
+					toApply = TokenTypes.SPELL.ordinal();
 				}
 			}
 			else if (isKeyword(word))
 			{
-				toApply = m_scheme.getStyle(TokenTypes.CODE);
+				toApply = TokenTypes.CODE.ordinal();
 			}
 			else if (isModifier(word))
 			{
-				toApply = m_scheme.getStyle(TokenTypes.MODIFIER);
+				toApply = TokenTypes.MODIFIER.ordinal();
 			}
 			else if (isConstant(word))
 			{
-				toApply = m_scheme.getStyle(TokenTypes.CONSTANT);
+				toApply = TokenTypes.CONSTANT.ordinal();
 			}
 			else if (isEntity(word))
 			{
-				toApply = m_scheme.getStyle(TokenTypes.ENTITY);
+				toApply = TokenTypes.ENTITY.ordinal();
 			}
 			else
 			{
-				toApply = m_scheme.getStyle(TokenTypes.NORMAL);
+				toApply = TokenTypes.NORMAL.ordinal();
 			}
 			break;
 		case Token.LINE_COMMENT:
-			toApply = m_scheme.getStyle(TokenTypes.COMMENT);
+			toApply = TokenTypes.COMMENT.ordinal();
 			break;
 		case Token.NORMAL:
 			// Easier than using a pattern for recognising numbers
 			if (isNumber(word))
 			{
-				toApply = m_scheme.getStyle(TokenTypes.NUMBER);
+				toApply = TokenTypes.NUMBER.ordinal();
 			}
 			else
 			{
-				toApply = m_scheme.getStyle(TokenTypes.NORMAL);
+				toApply = TokenTypes.NORMAL.ordinal();
 			}
 			break;
 		case Token.WHITESPACE:
@@ -604,14 +716,14 @@ public class SyntaxParser implements ISyntaxParser
 			break;
 		case Token.SEPARATOR:
 		case Token.SPECIAL_SEQUENCE:
-			toApply = m_scheme.getStyle(TokenTypes.SYMBOL);
+			toApply = TokenTypes.SYMBOL.ordinal();
 			break;
 		case Token.STRING:
-			toApply = m_scheme.getStyle(TokenTypes.STRING);
+			toApply = TokenTypes.STRING.ordinal();
 			break;
 		case Token.UNKNOWN:
 		default:
-			toApply = m_scheme.getDefaultStyle();
+			toApply = DEFAULT_STYLE;
 			break;
 		}
 		return toApply;
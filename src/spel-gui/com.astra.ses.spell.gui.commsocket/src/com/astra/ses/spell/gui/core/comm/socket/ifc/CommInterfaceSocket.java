@@ -57,21 +57,27 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.astra.ses.spell.gui.core.comm.messages.CompressionStats;
+import com.astra.ses.spell.gui.core.comm.messages.MessageException;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageEOC;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageError;
 import com.astra.ses.spell.gui.core.comm.socket.processing.IncomingMessage;
 import com.astra.ses.spell.gui.core.comm.socket.processing.IncomingRequest;
 import com.astra.ses.spell.gui.core.comm.socket.processing.InputReader;
+import com.astra.ses.spell.gui.core.comm.socket.processing.MessageDispatcher;
 import com.astra.ses.spell.gui.core.comm.socket.processing.OutputWriter;
 import com.astra.ses.spell.gui.core.comm.socket.utils.FileTransfer;
-import com.astra.ses.spell.gui.core.comm.socket.utils.Mailbox;
+import com.astra.ses.spell.gui.core.comm.socket.utils.PendingResponse;
+import com.astra.ses.spell.gui.core.comm.socket.utils.ResponseCorrelator;
 import com.astra.ses.spell.gui.core.comm.socket.utils.Tunneler;
 import com.astra.ses.spell.gui.core.exceptions.CommException;
 import com.astra.ses.spell.gui.core.interfaces.ICommInterface;
 import com.astra.ses.spell.gui.core.interfaces.ICommListener;
+import com.astra.ses.spell.gui.core.interfaces.IMessageField;
 import com.astra.ses.spell.gui.core.model.notification.ErrorData;
 import com.astra.ses.spell.gui.core.model.server.AuthenticationData;
 import com.astra.ses.spell.gui.core.model.server.ServerInfo;
@@ -96,14 +102,20 @@ public class CommInterfaceSocket implements ICommInterface
 	private InputReader m_reader;
 	/** Outgoing messages processor */
 	private OutputWriter m_writer;
+	/** Dispatcher of incoming messages and requests to the listener */
+	private MessageDispatcher m_dispatcher;
 	/** Configured timeout */
 	private long m_responseTimeout;
+	/** Minimum size of outgoing messages to be compressed */
+	private int m_compressionThreshold;
+	/** Compression counters of the current connection */
+	private CompressionStats m_compressionStats;
 	/** Tunneler */
 	private Tunneler m_tunneler;
 	/** SCP client */
 	private FileTransfer m_scp;
-	/** Message mailbox for response distribution */
-	private Mailbox m_responseMailbox;
+	/** Correlates responses with outstanding requests */
+	private ResponseCorrelator m_responses;
 	/** Sequence counter */
 	private AtomicLong m_seqCount;
 	/** Holds the local host name */
@@ -122,11 +134,14 @@ public class CommInterfaceSocket implements ICommInterface
 		m_serverInfo = null;
 		m_reader = null;
 		m_writer = null;
+		m_dispatcher = null;
 		m_responseTimeout = 5000;
+		m_compressionThreshold = CommInterfaceSocketConstants.COMPRESSION_THRESHOLD;
+		m_compressionStats = new CompressionStats();
 		m_key = null;
 		m_tunneler = null;
 		m_scp = null;
-		m_responseMailbox = new Mailbox();
+		m_responses = new ResponseCorrelator();
 		try
 		{
 	        m_localHostname = java.net.InetAddress.getLocalHost().getHostName();
@@ -285,14 +300,20 @@ public class CommInterfaceSocket implements ICommInterface
 			writeMyKey(out);
 			readMyKey(in);
 
+			m_compressionStats = new CompressionStats();
+			m_responses.open();
+			m_dispatcher = new MessageDispatcher(CommInterfaceSocketConstants.DISPATCH_LANES, "i-dispatch");
 			m_reader = new InputReader(this, in);
 			m_reader.start();
-			m_writer = new OutputWriter(out, m_key);
+			m_writer = new OutputWriter(out, m_key, m_compressionStats);
+			m_writer.setCompressionThreshold(m_compressionThreshold);
+			m_writer.start();
 
 			Logger.debug("Ready", Level.COMM, this);
 		}
 		catch (Exception ex)
 		{
+			m_responses.close();
 			m_socket = null;
 			throw new CommException(ex.getLocalizedMessage());
 		}
@@ -353,13 +374,9 @@ public class CommInterfaceSocket implements ICommInterface
 	public SPELLmessage sendRequest(SPELLmessage msg, long timeout) throws CommException
 	{
 		SPELLmessage response = null;
-		msg.setSequence(m_seqCount.getAndIncrement());
-		String msgId = msg.getReceiver() + "-" + msg.getSender() + ":" + msg.getSequence();
 		try
 		{
-			m_responseMailbox.prepare(msgId);
-			m_writer.send(msg);
-			response = m_responseMailbox.retrieve(msgId, timeout);
+			response = sendRequestAsync(msg, timeout).get();
 		}
 		catch (Exception ex)
 		{
@@ -380,6 +397,50 @@ public class CommInterfaceSocket implements ICommInterface
 		return sendRequest(msg, m_responseTimeout);
 	}
 
+	/***************************************************************************
+	 * Send a request to the SPELL server without waiting for the response.
+	 * The request is correlated with its response by sequence number, so
+	 * that any number of requests may be outstanding.
+	 * 
+	 * @param msg
+	 *            SPELL request
+	 * @return Future yielding the response, or null on timeout
+	 **************************************************************************/
+	public Future<SPELLmessage> sendRequestAsync(SPELLmessage msg, long timeout) throws CommException
+	{
+		long sequence = m_seqCount.getAndIncrement();
+		msg.setSequence(sequence);
+		PendingResponse pending = m_responses.prepare(sequence, timeout);
+		OutputWriter writer = m_writer;
+		if (writer == null)
+		{
+			Logger.error("Cannot send request " + msg.getId() + ", not connected", Level.COMM, this);
+			pending.cancel(false);
+		}
+		else
+		{
+			try
+			{
+				writer.send(msg);
+			}
+			catch (Exception ex)
+			{
+				ex.printStackTrace();
+				pending.cancel(false);
+			}
+		}
+		return pending;
+	}
+
+	/***************************************************************************
+	 * Send a request to the SPELL server with default timeout, without
+	 * waiting for the response
+	 **************************************************************************/
+	public Future<SPELLmessage> sendRequestAsync(SPELLmessage msg) throws CommException
+	{
+		return sendRequestAsync(msg, m_responseTimeout);
+	}
+
 	/***************************************************************************
 	 * Download a file from peer
 	 **************************************************************************/
@@ -435,6 +496,27 @@ public class CommInterfaceSocket implements ICommInterface
 		m_responseTimeout = timeoutUSecs;
 	}
 
+	/***************************************************************************
+	 * Minimum size of outgoing messages to be compressed, zero to disable
+	 **************************************************************************/
+	public void setCompressionThreshold(int threshold)
+	{
+		m_compressionThreshold = threshold;
+		OutputWriter writer = m_writer;
+		if (writer != null)
+		{
+			writer.setCompressionThreshold(threshold);
+		}
+	}
+
+	/***************************************************************************
+	 * Compression counters of the current connection
+	 **************************************************************************/
+	public CompressionStats getCompressionStats()
+	{
+		return m_compressionStats;
+	}
+
 	/***************************************************************************
 	 * InputData reader places responses here
 	 **************************************************************************/
@@ -442,18 +524,18 @@ public class CommInterfaceSocket implements ICommInterface
 	{
 		if ((msg instanceof SPELLmessageError))
 		{
-			if (m_responseMailbox.isWaitingFor(id))
+			if (m_responses.isWaitingFor(msg.getSequence()))
 			{
-				m_responseMailbox.place(id, msg);
+				m_responses.place(msg);
 			}
 			else
 			{
-				new IncomingMessage(id, msg, m_listener).start();
+				dispatch(msg, new IncomingMessage(id, msg, m_listener));
 			}
 		}
 		else
 		{
-			m_responseMailbox.place(id, msg);
+			m_responses.place(msg);
 		}
 	}
 
@@ -462,7 +544,7 @@ public class CommInterfaceSocket implements ICommInterface
 	 **************************************************************************/
 	public void incomingRequest(String id, SPELLmessage msg)
 	{
-		new IncomingRequest(id, msg, m_listener, m_writer).start();
+		dispatch(msg, new IncomingRequest(id, msg, m_listener, m_writer));
 	}
 
 	/***************************************************************************
@@ -470,7 +552,15 @@ public class CommInterfaceSocket implements ICommInterface
 	 **************************************************************************/
 	public void incomingMessage(String id, SPELLmessage msg)
 	{
-		new IncomingMessage(id, msg, m_listener).start();
+		dispatch(msg, new IncomingMessage(id, msg, m_listener));
+	}
+
+	/***************************************************************************
+	 * Obtain the incoming message dispatcher, for monitoring purposes
+	 **************************************************************************/
+	public MessageDispatcher getDispatcher()
+	{
+		return m_dispatcher;
 	}
 
 	/***************************************************************************
@@ -495,6 +585,33 @@ public class CommInterfaceSocket implements ICommInterface
 	// # NON-ACCESSIBLE METHODS
 	// =========================================================================
 
+	/***************************************************************************
+	 * Queue an incoming message for processing. Messages are partitioned by
+	 * procedure so that the ones for the same executor keep their order.
+	 **************************************************************************/
+	private void dispatch(SPELLmessage msg, Runnable task)
+	{
+		MessageDispatcher dispatcher = m_dispatcher;
+		if (dispatcher == null)
+		{
+			Logger.warning("Discarded incoming message " + msg.getId() + ", not connected", Level.COMM, this);
+			return;
+		}
+		String key = msg.getSender();
+		if (msg.hasKey(IMessageField.FIELD_PROC_ID))
+		{
+			try
+			{
+				key = msg.get(IMessageField.FIELD_PROC_ID);
+			}
+			catch (MessageException ex)
+			{
+				// Cannot happen, key checked above
+			}
+		}
+		dispatcher.dispatch(key, task);
+	}
+
 	/***************************************************************************
 	 * Read the client key
 	 **************************************************************************/
@@ -549,7 +666,11 @@ public class CommInterfaceSocket implements ICommInterface
 	private void doDisconnect(boolean force) throws CommException
 	{
 		if (!isConnected())
+		{
+			// The timer wheel may outlive a socket closed by the peer
+			m_responses.close();
 			return;
+		}
 		try
 		{
 			Logger.debug("Disconnecting", Level.COMM, this);
@@ -559,6 +680,11 @@ public class CommInterfaceSocket implements ICommInterface
 				SPELLmessage msg = new SPELLmessageEOC();
 				sendMessage(msg);
 			}
+			// Let the writer flush the queued messages before closing
+			if (m_writer != null)
+			{
+				m_writer.close();
+			}
 			m_socket.shutdownInput();
 			m_socket.shutdownOutput();
 			m_socket.close();
@@ -569,6 +695,12 @@ public class CommInterfaceSocket implements ICommInterface
 				m_reader.interrupt();
 				m_reader = null;
 			}
+			if (m_dispatcher != null)
+			{
+				m_dispatcher.shutdown();
+				m_dispatcher = null;
+			}
+			m_responses.close();
 			m_writer = null;
 			m_socket = null;
 			if (m_tunneler != null)
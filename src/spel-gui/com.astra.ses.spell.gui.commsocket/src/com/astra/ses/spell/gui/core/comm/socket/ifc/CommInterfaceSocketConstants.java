@@ -51,4 +51,8 @@ package com.astra.ses.spell.gui.core.comm.socket.ifc;
 public interface CommInterfaceSocketConstants
 {
 	public static final int	PFX_LEN	= 4;
+	/** Number of lanes used for dispatching incoming messages */
+	public static final int	DISPATCH_LANES	= 4;
+	/** Default minimum size of outgoing messages to be compressed */
+	public static final int	COMPRESSION_THRESHOLD	= 64 * 1024;
 }
@@ -0,0 +1,220 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.socket.processing
+// 
+// FILE      : FrameDecoder.java
+//
+// DATE      : 2026-10-18 13:10
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.socket.processing;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.astra.ses.spell.gui.core.comm.socket.ifc.CommInterfaceSocketConstants;
+
+/***************************************************************************
+ * @brief Decodes length-prefixed frames from the socket input stream.
+ *
+ *        Data is read in large chunks into a reusable buffer and each
+ *        frame is exposed as a slice (array, offset, length) of that
+ *        buffer, so that no per-byte copies are needed. A slice is valid
+ *        only until the next call to nextFrame() or fill().
+ **************************************************************************/
+public class FrameDecoder
+{
+	/** Initial size of the reception buffer */
+	private static final int INITIAL_CAPACITY = 64 * 1024;
+
+	/** Holds the input stream */
+	private InputStream m_in;
+	/** Reception buffer. Data between position and limit is pending */
+	private ByteBuffer m_buffer;
+	/** Length of the current frame payload, -1 if there is none */
+	private int m_frameLength;
+	/** Offset of the current frame payload in the buffer array */
+	private int m_frameOffset;
+
+	/***********************************************************************
+	 * Constructor
+	 **********************************************************************/
+	public FrameDecoder(InputStream in)
+	{
+		m_in = in;
+		m_buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+		m_buffer.limit(0);
+		m_frameLength = -1;
+		m_frameOffset = 0;
+	}
+
+	/***********************************************************************
+	 * Block until more data is read from the stream
+	 *
+	 * @throws EOFException
+	 *             if the peer closed the connection
+	 **********************************************************************/
+	public void fill() throws IOException
+	{
+		consume();
+		int pending = m_buffer.remaining();
+		int required = pending;
+		if (pending >= CommInterfaceSocketConstants.PFX_LEN)
+		{
+			required = CommInterfaceSocketConstants.PFX_LEN + peekLength();
+		}
+		prepare(required);
+
+		byte[] array = m_buffer.array();
+		int limit = m_buffer.limit();
+		int count = m_in.read(array, m_buffer.arrayOffset() + limit, m_buffer.capacity() - limit);
+		if (count < 0)
+		{
+			throw new EOFException();
+		}
+		m_buffer.limit(limit + count);
+	}
+
+	/***********************************************************************
+	 * Advance to the next complete frame in the buffer, if any
+	 *
+	 * @return True if a complete frame is available
+	 **********************************************************************/
+	public boolean nextFrame()
+	{
+		consume();
+		if (m_buffer.remaining() < CommInterfaceSocketConstants.PFX_LEN)
+			return false;
+		int length = peekLength();
+		if (m_buffer.remaining() < CommInterfaceSocketConstants.PFX_LEN + length)
+			return false;
+		m_frameOffset = m_buffer.arrayOffset() + m_buffer.position() + CommInterfaceSocketConstants.PFX_LEN;
+		m_frameLength = length;
+		return true;
+	}
+
+	/***********************************************************************
+	 * Array holding the current frame
+	 **********************************************************************/
+	public byte[] getFrameData()
+	{
+		return m_buffer.array();
+	}
+
+	/***********************************************************************
+	 * Offset of the current frame payload
+	 **********************************************************************/
+	public int getFrameOffset()
+	{
+		return m_frameOffset;
+	}
+
+	/***********************************************************************
+	 * Length of the current frame payload
+	 **********************************************************************/
+	public int getFrameLength()
+	{
+		return m_frameLength;
+	}
+
+	/***********************************************************************
+	 * Discard the current frame, if any
+	 **********************************************************************/
+	private void consume()
+	{
+		if (m_frameLength >= 0)
+		{
+			m_buffer.position(m_buffer.position() + CommInterfaceSocketConstants.PFX_LEN + m_frameLength);
+			m_frameLength = -1;
+		}
+	}
+
+	/***********************************************************************
+	 * Decode the length prefix at the current position (big endian)
+	 **********************************************************************/
+	private int peekLength()
+	{
+		int length = m_buffer.getInt(m_buffer.position());
+		if (length < 0)
+		{
+			throw new IllegalStateException("Invalid frame length: " + (length & 0xFFFFFFFFL));
+		}
+		return length;
+	}
+
+	/***********************************************************************
+	 * Make room at the end of the buffer so that at least 'required'
+	 * bytes of pending data fit, compacting or growing as needed
+	 **********************************************************************/
+	private void prepare(int required)
+	{
+		int pending = m_buffer.remaining();
+		if (required < pending + 1)
+		{
+			required = pending + 1;
+		}
+		if (required > m_buffer.capacity())
+		{
+			int capacity = m_buffer.capacity();
+			while (capacity < required)
+			{
+				capacity *= 2;
+			}
+			ByteBuffer bigger = ByteBuffer.allocate(capacity);
+			bigger.put(m_buffer);
+			bigger.flip();
+			m_buffer = bigger;
+		}
+		else if (pending == 0)
+		{
+			m_buffer.clear();
+			m_buffer.limit(0);
+		}
+		else if (m_buffer.capacity() - m_buffer.position() < required)
+		{
+			m_buffer.compact();
+			m_buffer.flip();
+		}
+	}
+}
@@ -0,0 +1,269 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.socket.processing
+// 
+// FILE      : FrameEncoder.java
+//
+// DATE      : 2026-10-18 13:21
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.socket.processing;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import com.astra.ses.spell.gui.core.comm.messages.CompressionStats;
+import com.astra.ses.spell.gui.core.comm.messages.MessageDeflater;
+import com.astra.ses.spell.gui.core.comm.messages.MessageException;
+import com.astra.ses.spell.gui.core.comm.messages.MessageFields;
+import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
+import com.astra.ses.spell.gui.core.comm.socket.ifc.CommInterfaceSocketConstants;
+
+/***************************************************************************
+ * @brief Encodes messages as length-prefixed frames.
+ *
+ *        Frames are appended one after another to a reusable buffer, so
+ *        that a batch of messages can be written with a single call.
+ *        Strings are encoded as UTF-8 straight into the buffer, and the
+ *        length fields are patched in place once the data is written.
+ *        Frames above the compression threshold are sent compressed when
+ *        this reduces their size. Not thread safe.
+ **************************************************************************/
+public class FrameEncoder
+{
+	/** Initial size of the transmission buffer */
+	private static final int INITIAL_CAPACITY = 64 * 1024;
+	/** Buffers larger than this are released after each batch */
+	private static final int RETAINED_CAPACITY = 1024 * 1024;
+	/** Prefix of uncompressed message data */
+	private static final byte DATA_PREFIX = '\1';
+	/** Prefix of compressed message data */
+	private static final byte COMPRESSED_PREFIX = '\2';
+
+	/** Holds the string encoder */
+	private CharsetEncoder m_encoder;
+	/** Transmission buffer. Encoded data is between zero and position */
+	private ByteBuffer m_buffer;
+	/** Number of frames in the buffer */
+	private int m_count;
+	/** Compressor for large frames */
+	private MessageDeflater m_deflater;
+	/** Minimum data size for compression, zero if disabled */
+	private int m_compressionThreshold;
+
+	/***********************************************************************
+	 * Constructor
+	 **********************************************************************/
+	public FrameEncoder(CompressionStats stats)
+	{
+		m_encoder = MessageFields.CHARSET.newEncoder();
+		m_encoder.onMalformedInput(CodingErrorAction.REPLACE);
+		m_encoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		m_buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+		m_count = 0;
+		m_deflater = new MessageDeflater(stats);
+		m_compressionThreshold = 0;
+	}
+
+	/***********************************************************************
+	 * Set the minimum data size for compression, zero to disable it
+	 **********************************************************************/
+	public void setCompressionThreshold(int threshold)
+	{
+		m_compressionThreshold = threshold;
+	}
+
+	/***********************************************************************
+	 * Append the frame of the given message to the buffer. On failure the
+	 * buffer is left as it was before the call.
+	 **********************************************************************/
+	public void encode(SPELLmessage msg) throws MessageException
+	{
+		int start = m_buffer.position();
+		boolean done = false;
+		try
+		{
+			reserve(CommInterfaceSocketConstants.PFX_LEN);
+			ensure(1);
+			m_buffer.put(DATA_PREFIX);
+			for (String key : msg.getKeys())
+			{
+				String value = msg.get(key);
+				// The buffer may be replaced while encoding, so the length
+				// is obtained before addressing it
+				int keyPos = reserve(2);
+				int keyLength = putString(key);
+				m_buffer.putShort(keyPos, (short) keyLength);
+				int valuePos = reserve(4);
+				int valueLength = putString(value);
+				m_buffer.putInt(valuePos, valueLength);
+			}
+			compress(start + CommInterfaceSocketConstants.PFX_LEN);
+			m_buffer.putInt(start, m_buffer.position() - start - CommInterfaceSocketConstants.PFX_LEN);
+			m_count++;
+			done = true;
+		}
+		finally
+		{
+			if (!done)
+			{
+				m_buffer.position(start);
+			}
+		}
+	}
+
+	/***********************************************************************
+	 * Encoded data array. Valid from zero to getLength().
+	 **********************************************************************/
+	public byte[] getData()
+	{
+		return m_buffer.array();
+	}
+
+	/***********************************************************************
+	 * Number of encoded bytes
+	 **********************************************************************/
+	public int getLength()
+	{
+		return m_buffer.position();
+	}
+
+	/***********************************************************************
+	 * Number of encoded frames
+	 **********************************************************************/
+	public int getCount()
+	{
+		return m_count;
+	}
+
+	/***********************************************************************
+	 * Discard the encoded data
+	 **********************************************************************/
+	public void reset()
+	{
+		if (m_buffer.capacity() > RETAINED_CAPACITY)
+		{
+			m_buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+		}
+		m_buffer.clear();
+		m_count = 0;
+	}
+
+	/***********************************************************************
+	 * Release the native resources
+	 **********************************************************************/
+	public void end()
+	{
+		m_deflater.end();
+	}
+
+	/***********************************************************************
+	 * Replace the frame data starting at the given position by its
+	 * compressed form, if large enough and worth it
+	 **********************************************************************/
+	private void compress(int prefixPos)
+	{
+		int dataLength = m_buffer.position() - prefixPos - 1;
+		if (m_compressionThreshold <= 0 || dataLength < m_compressionThreshold) return;
+		if (m_deflater.deflate(m_buffer.array(), m_buffer.arrayOffset() + prefixPos + 1, dataLength))
+		{
+			m_buffer.position(prefixPos);
+			m_buffer.put(COMPRESSED_PREFIX);
+			m_buffer.put(m_deflater.getData(), 0, m_deflater.getLength());
+		}
+	}
+
+	/***********************************************************************
+	 * Skip the given number of bytes, to be filled later
+	 *
+	 * @return The position of the skipped bytes
+	 **********************************************************************/
+	private int reserve(int count)
+	{
+		ensure(count);
+		int position = m_buffer.position();
+		m_buffer.position(position + count);
+		return position;
+	}
+
+	/***********************************************************************
+	 * Encode a string at the current position
+	 *
+	 * @return The number of bytes written
+	 **********************************************************************/
+	private int putString(String str)
+	{
+		if (str == null || str.length() == 0) return 0;
+		int start = m_buffer.position();
+		CharBuffer chars = CharBuffer.wrap(str);
+		m_encoder.reset();
+		CoderResult result = m_encoder.encode(chars, m_buffer, true);
+		while (result.isOverflow())
+		{
+			ensure(chars.remaining() + 4);
+			result = m_encoder.encode(chars, m_buffer, true);
+		}
+		result = m_encoder.flush(m_buffer);
+		while (result.isOverflow())
+		{
+			ensure(4);
+			result = m_encoder.flush(m_buffer);
+		}
+		return m_buffer.position() - start;
+	}
+
+	/***********************************************************************
+	 * Make room for at least the given number of bytes
+	 **********************************************************************/
+	private void ensure(int count)
+	{
+		if (m_buffer.remaining() >= count) return;
+		int capacity = Math.max(m_buffer.capacity() * 2, m_buffer.position() + count);
+		ByteBuffer larger = ByteBuffer.allocate(capacity);
+		m_buffer.flip();
+		larger.put(m_buffer);
+		m_buffer = larger;
+	}
+}
@@ -51,15 +51,13 @@ package com.astra.ses.spell.gui.core.comm.socket.processing;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
 import com.astra.ses.spell.gui.core.interfaces.ICommListener;
 
-public class IncomingMessage extends Thread
+public class IncomingMessage implements Runnable
 {
 	private ICommListener	m_listener;
 	private SPELLmessage	m_message;
 
 	public IncomingMessage(String id, SPELLmessage msg, ICommListener listener)
 	{
-		super();
-		setName("i-msg-" + id);
 		m_message = msg;
 		m_listener = listener;
 	}
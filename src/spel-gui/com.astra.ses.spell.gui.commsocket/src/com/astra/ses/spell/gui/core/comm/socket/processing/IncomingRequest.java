@@ -50,9 +50,10 @@ package com.astra.ses.spell.gui.core.comm.socket.processing;
 
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageRequest;
+import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageResponse;
 import com.astra.ses.spell.gui.core.interfaces.ICommListener;
 
-public class IncomingRequest extends Thread
+public class IncomingRequest implements Runnable
 {
 	private ICommListener	m_listener;
 	private SPELLmessage	m_message;
@@ -61,8 +62,6 @@ public class IncomingRequest extends Thread
 	public IncomingRequest(String id, SPELLmessage msg, ICommListener listener,
 	        OutputWriter writer)
 	{
-		super();
-		setName("i-req-" + id);
 		m_message = msg;
 		m_listener = listener;
 		m_writer = writer;
@@ -72,8 +71,10 @@ public class IncomingRequest extends Thread
 	{
 		String senderId = m_message.getSender();
 		String receiverId = m_message.getReceiver();
-		SPELLmessage response = m_listener
+		SPELLmessageResponse response = m_listener
 		        .receiveRequest((SPELLmessageRequest) m_message);
+		// The receiver sends it once the request is processed
+		if (response.isDeferred()) return;
 		response.setSender(receiverId);
 		response.setReceiver(senderId);
 		response.setSequence(m_message.getSequence());
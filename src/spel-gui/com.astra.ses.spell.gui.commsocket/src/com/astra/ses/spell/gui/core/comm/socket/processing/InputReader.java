@@ -51,8 +51,8 @@ package com.astra.ses.spell.gui.core.comm.socket.processing;
 import java.io.DataInputStream;
 import java.io.EOFException;
 import java.net.SocketException;
-import java.util.ArrayList;
 
+import com.astra.ses.spell.gui.core.comm.messages.MessageInflater;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageDisplay;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageEOC;
@@ -65,7 +65,6 @@ import com.astra.ses.spell.gui.core.comm.messages.SPELLmessagePrompt;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageRequest;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageResponse;
 import com.astra.ses.spell.gui.core.comm.socket.ifc.CommInterfaceSocket;
-import com.astra.ses.spell.gui.core.comm.socket.ifc.CommInterfaceSocketConstants;
 import com.astra.ses.spell.gui.core.model.types.Level;
 import com.astra.ses.spell.gui.core.utils.Logger;
 
@@ -74,10 +73,10 @@ import com.astra.ses.spell.gui.core.utils.Logger;
  **************************************************************************/
 public class InputReader extends Thread
 {
-	/** Buffer for building message data structures */
-	private ArrayList<Byte> m_inputData;
-	/** Holds the message length */
-	private int m_length;
+	/** Decoder for the length-prefixed frames */
+	private FrameDecoder m_decoder;
+	/** Uncompressor for compressed frames */
+	private MessageInflater m_inflater;
 	/** Holds the input stream for receiving messages */
 	private DataInputStream m_in;
 	/** Reference to the interface */
@@ -93,15 +92,30 @@ public class InputReader extends Thread
 		super();
 		m_interface = ifc;
 		m_in = in;
-		m_inputData = new ArrayList<Byte>();
-		m_length = 0;
+		m_decoder = new FrameDecoder(in);
+		m_inflater = new MessageInflater(ifc.getCompressionStats());
 		m_working = true;
 	}
 
 	/***********************************************************************
-	 * Incoming messages processing loop
+	 * Incoming messages processing thread
 	 **********************************************************************/
 	public void run()
+	{
+		try
+		{
+			readLoop();
+		}
+		finally
+		{
+			m_inflater.end();
+		}
+	}
+
+	/***********************************************************************
+	 * Incoming messages processing loop
+	 **********************************************************************/
+	private void readLoop()
 	{
 		while (getWorking())
 		{
@@ -109,17 +123,10 @@ public class InputReader extends Thread
 			{
 				while (m_in != null)
 				{
-					byte b = m_in.readByte();
-					m_inputData.add(b);
-					while (m_inputData.size() >= CommInterfaceSocketConstants.PFX_LEN && getWorking())
+					m_decoder.fill();
+					while (getWorking() && m_decoder.nextFrame())
 					{
-						if (m_length == 0)
-							decodeLength();
-						if (m_inputData.size() < m_length + CommInterfaceSocketConstants.PFX_LEN)
-							break;
-
-						byte[] packet = getPacket();
-						dispatch(packet);
+						dispatch(m_decoder.getFrameData(), m_decoder.getFrameOffset(), m_decoder.getFrameLength());
 					}
 				}
 				if (m_in != null && !(m_in.available() > 0) && getWorking())
@@ -178,55 +185,14 @@ public class InputReader extends Thread
 		return m_working;
 	}
 
-	/***********************************************************************
-	 * Get packet
-	 **********************************************************************/
-	private byte[] getPacket()
-	{
-		for (int c = 0; c < CommInterfaceSocketConstants.PFX_LEN; c++)
-			m_inputData.remove(0);
-		byte[] bytes = new byte[m_inputData.size()];
-		int count = 0;
-		for (Byte b : m_inputData)
-		{
-			bytes[count] = b.byteValue();
-			count++;
-		}
-		m_inputData.clear();
-		m_length = 0;
-		return bytes;
-	}
-
-	/***********************************************************************
-	 * Decode length
-	 **********************************************************************/
-	private void decodeLength()
-	{
-		byte[] bytes = new byte[4];
-		int count = 0;
-		for (Byte b : m_inputData)
-		{
-			bytes[count] = b.byteValue();
-			count++;
-			if (count == 4)
-				break;
-		}
-		int length = 0;
-		for (int c = 0; c < 4; c++)
-		{
-			length = (length << 8) + (bytes[c] < 0 ? bytes[c] + 256 : bytes[c]);
-		}
-		m_length = length;
-	}
-
 	/***********************************************************************
 	 * Dispatch the incoming message as appropiate
 	 **********************************************************************/
-	private void dispatch(byte[] packet)
+	private void dispatch(byte[] data, int offset, int length)
 	{
 		try
 		{
-			SPELLmessage smsg = SPELLmessageFactory.createMessage(packet);
+			SPELLmessage smsg = SPELLmessageFactory.createMessage(data, offset, length, m_inflater);
 			if (smsg != null)
 			{
 				String msgId = smsg.getSender() + "-" + smsg.getReceiver();
@@ -256,7 +222,7 @@ public class InputReader extends Thread
 				}
 				else
 				{
-					String msg = "CANNOT PROCESS MSG TYPE: " + packet;
+					String msg = "CANNOT PROCESS MSG TYPE: " + smsg.getType();
 					System.err.println(msg);
 					Logger.error(msg, Level.COMM, this);
 				}
@@ -264,7 +230,7 @@ public class InputReader extends Thread
 		}
 		catch (Exception ex)
 		{
-			System.err.println(packet);
+			System.err.println("Failed to dispatch frame of " + length + " bytes");
 			ex.printStackTrace();
 			Logger.error(ex.getLocalizedMessage(), Level.COMM, this);
 		}
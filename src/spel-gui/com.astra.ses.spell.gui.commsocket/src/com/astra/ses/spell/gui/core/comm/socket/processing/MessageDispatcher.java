@@ -0,0 +1,234 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.socket.processing
+// 
+// FILE      : MessageDispatcher.java
+//
+// DATE      : 2026-10-18 13:12
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.socket.processing;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.astra.ses.spell.gui.core.model.types.Level;
+import com.astra.ses.spell.gui.core.utils.Logger;
+
+/***************************************************************************
+ * @brief Dispatches incoming messages and requests to the comm listener
+ *        using a fixed set of worker lanes.
+ *
+ *        Each lane is served by a single thread. Tasks are assigned to a
+ *        lane by partition key (the procedure identifier), so that all
+ *        messages for one executor are processed in arrival order while
+ *        messages for different executors are processed in parallel.
+ **************************************************************************/
+public class MessageDispatcher
+{
+	/** Worker lanes */
+	private ExecutorService[] m_lanes;
+	/** Number of tasks waiting or being processed */
+	private AtomicInteger m_queueDepth;
+	/** Highest queue depth observed */
+	private AtomicInteger m_maxQueueDepth;
+	/** Number of tasks completed */
+	private AtomicLong m_dispatched;
+	/** Accumulated time from submission to completion, in nanoseconds */
+	private AtomicLong m_totalLatency;
+	/** Highest time from submission to completion, in nanoseconds */
+	private AtomicLong m_maxLatency;
+
+	/***********************************************************************
+	 * Task wrapper recording the dispatch counters
+	 **********************************************************************/
+	private class DispatchTask implements Runnable
+	{
+		private Runnable m_task;
+		private long m_submitted;
+
+		DispatchTask(Runnable task)
+		{
+			m_task = task;
+			m_submitted = System.nanoTime();
+		}
+
+		public void run()
+		{
+			try
+			{
+				m_task.run();
+			}
+			catch (Exception ex)
+			{
+				ex.printStackTrace();
+				Logger.error("Error while dispatching message: " + ex.getLocalizedMessage(), Level.COMM, this);
+			}
+			finally
+			{
+				long latency = System.nanoTime() - m_submitted;
+				m_queueDepth.decrementAndGet();
+				m_dispatched.incrementAndGet();
+				m_totalLatency.addAndGet(latency);
+				long max = m_maxLatency.get();
+				while (latency > max && !m_maxLatency.compareAndSet(max, latency))
+				{
+					max = m_maxLatency.get();
+				}
+			}
+		}
+	}
+
+	/***********************************************************************
+	 * Constructor
+	 *
+	 * @param lanes
+	 *            Number of worker lanes
+	 * @param name
+	 *            Prefix for the worker thread names
+	 **********************************************************************/
+	public MessageDispatcher(int lanes, final String name)
+	{
+		m_queueDepth = new AtomicInteger(0);
+		m_maxQueueDepth = new AtomicInteger(0);
+		m_dispatched = new AtomicLong(0);
+		m_totalLatency = new AtomicLong(0);
+		m_maxLatency = new AtomicLong(0);
+		m_lanes = new ExecutorService[lanes];
+		for (int index = 0; index < lanes; index++)
+		{
+			final String threadName = name + "-" + index;
+			m_lanes[index] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+			        new ThreadFactory()
+			        {
+				        public Thread newThread(Runnable r)
+				        {
+					        Thread thread = new Thread(r, threadName);
+					        thread.setDaemon(true);
+					        return thread;
+				        }
+			        });
+		}
+	}
+
+	/***********************************************************************
+	 * Queue a task in the lane corresponding to the given key
+	 **********************************************************************/
+	public void dispatch(String key, Runnable task)
+	{
+		int lane = (key == null) ? 0 : (key.hashCode() & 0x7FFFFFFF) % m_lanes.length;
+		int depth = m_queueDepth.incrementAndGet();
+		int max = m_maxQueueDepth.get();
+		while (depth > max && !m_maxQueueDepth.compareAndSet(max, depth))
+		{
+			max = m_maxQueueDepth.get();
+		}
+		try
+		{
+			m_lanes[lane].execute(new DispatchTask(task));
+		}
+		catch (RejectedExecutionException ex)
+		{
+			m_queueDepth.decrementAndGet();
+			Logger.warning("Discarded message, dispatcher is stopped", Level.COMM, this);
+		}
+	}
+
+	/***********************************************************************
+	 * Stop accepting tasks. Tasks already queued are still processed.
+	 **********************************************************************/
+	public void shutdown()
+	{
+		for (ExecutorService lane : m_lanes)
+		{
+			lane.shutdown();
+		}
+	}
+
+	/***********************************************************************
+	 * Number of tasks waiting or being processed
+	 **********************************************************************/
+	public int getQueueDepth()
+	{
+		return m_queueDepth.get();
+	}
+
+	/***********************************************************************
+	 * Highest number of tasks waiting or being processed
+	 **********************************************************************/
+	public int getMaxQueueDepth()
+	{
+		return m_maxQueueDepth.get();
+	}
+
+	/***********************************************************************
+	 * Number of tasks completed
+	 **********************************************************************/
+	public long getDispatchedCount()
+	{
+		return m_dispatched.get();
+	}
+
+	/***********************************************************************
+	 * Average time from submission to completion, in microseconds
+	 **********************************************************************/
+	public long getAverageLatency()
+	{
+		long count = m_dispatched.get();
+		if (count == 0) return 0;
+		return m_totalLatency.get() / count / 1000;
+	}
+
+	/***********************************************************************
+	 * Highest time from submission to completion, in microseconds
+	 **********************************************************************/
+	public long getMaxLatency()
+	{
+		return m_maxLatency.get() / 1000;
+	}
+}
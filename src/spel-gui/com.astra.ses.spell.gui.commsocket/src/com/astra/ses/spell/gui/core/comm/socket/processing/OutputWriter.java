@@ -48,114 +48,171 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.core.comm.socket.processing;
 
-import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
 
+import com.astra.ses.spell.gui.core.comm.messages.CompressionStats;
 import com.astra.ses.spell.gui.core.comm.messages.MessageException;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
+import com.astra.ses.spell.gui.core.model.types.Level;
+import com.astra.ses.spell.gui.core.utils.Logger;
 
-public class OutputWriter
+/***************************************************************************
+ * @brief Processing thread in charge of sending messages to the peer.
+ *
+ *        Senders only queue the message. The writer thread takes all
+ *        queued messages at once, encodes them into a single buffer and
+ *        writes the whole batch with one call.
+ **************************************************************************/
+public class OutputWriter extends Thread
 {
+	/** Maximum number of messages written in one batch */
+	private static final int MAX_BATCH = 64;
+	/** Time to wait for queued messages to be written on close */
+	private static final long CLOSE_TIMEOUT_MSEC = 2000;
+	/** Marker requesting the thread to finish */
+	private static final SPELLmessage STOP = new SPELLmessage();
+
 	/** Holds the output stream for sending messages */
 	private DataOutputStream	m_out;
 	/** Holds the client key */
 	private String	         m_key;
-	/** Lock for outputs */
-	private Lock	         m_lock;
+	/** Messages waiting to be sent */
+	private LinkedBlockingQueue<SPELLmessage> m_queue;
+	/** Encoder for the outgoing frames */
+	private FrameEncoder m_encoder;
+	/** True once the writer is closed */
+	private volatile boolean m_closed;
+	/** Minimum message size for compression, zero if disabled */
+	private volatile int m_compressionThreshold;
 
 	/***********************************************************************
 	 * Constructor
 	 **********************************************************************/
-	public OutputWriter(DataOutputStream out, String key)
+	public OutputWriter(DataOutputStream out, String key, CompressionStats stats)
 	{
+		super("o-writer");
+		setDaemon(true);
 		m_out = out;
 		m_key = key;
-		m_lock = new ReentrantLock();
+		m_queue = new LinkedBlockingQueue<SPELLmessage>();
+		m_encoder = new FrameEncoder(stats);
+		m_closed = false;
+		m_compressionThreshold = 0;
 	}
 
 	/***********************************************************************
-	 * Send a given message to peer
+	 * Set the minimum message size for compression, zero to disable it
 	 **********************************************************************/
-	public void send(SPELLmessage msg)
+	public void setCompressionThreshold(int threshold)
 	{
-		if (m_out == null) return;
-		m_lock.lock();
-		try
-		{
-			msg.setKey(m_key);
-			
-			ByteArrayOutputStream buf = new ByteArrayOutputStream();
-			buf.write('\1');
-			for( String key : msg.getKeys())
-			{
-				String value = msg.get(key);
-				buf.write( encodeLength2(key.length()), 0, 2);
-				buf.write(key.getBytes());
+		m_compressionThreshold = threshold;
+	}
 
-				int length = value.length();
-				byte[] bytes = new byte[4];
-				bytes[0] = (byte) ((length & 0xFF000000) >> 24);
-				bytes[1] = (byte) ((length & 0x00FF0000) >> 16);
-				bytes[2] = (byte) ((length & 0x0000FF00) >> 8);
-				bytes[3] = (byte) (length  & 0x000000FF);
-				buf.write( bytes, 0, 4 );
-				
-				buf.write(value.getBytes());
-			}
+	/***********************************************************************
+	 * Send a given message to peer. The message is written asynchronously
+	 * and shall not be modified afterwards.
+	 **********************************************************************/
+	public void send(SPELLmessage msg)
+	{
+		if (m_out == null || m_closed) return;
+		msg.setKey(m_key);
+		m_queue.offer(msg);
+	}
 
-			byte[] encodedLength = encodeLength4(buf.size());
-			for (byte b : encodedLength) m_out.writeByte(b);
-			
-			for (byte b : buf.toByteArray() )
-			{
-				m_out.writeByte(b);
-			}
-			
-			m_out.flush();
-		}
-		catch (MessageException ex)
-		{
-			ex.printStackTrace();
-		}
-		catch (IOException ex)
+	/***********************************************************************
+	 * Write the queued messages and finish the thread
+	 **********************************************************************/
+	public void close()
+	{
+		m_closed = true;
+		m_queue.offer(STOP);
+		try
 		{
-			ex.printStackTrace();
+			join(CLOSE_TIMEOUT_MSEC);
 		}
-		finally
+		catch (InterruptedException ex)
 		{
-			m_lock.unlock();
+			Thread.currentThread().interrupt();
 		}
 	}
 
 	/***********************************************************************
-	 * Encode length
+	 * Number of messages waiting to be sent
 	 **********************************************************************/
-	private byte[] encodeLength4(int length)
+	public int getQueueDepth()
 	{
-		byte[] bytes = new byte[4];
+		return m_queue.size();
+	}
 
-		for (int i = 3; i >= 0; i--)
+	/***********************************************************************
+	 * Outgoing messages processing loop
+	 **********************************************************************/
+	public void run()
+	{
+		try
 		{
-			bytes[i] = (byte) (length & 0xff);
-			length >>= 8;
+			writeLoop();
+		}
+		finally
+		{
+			m_encoder.end();
 		}
-		return bytes;
 	}
 
 	/***********************************************************************
-	 * Encode length
+	 * Write batches until closed
 	 **********************************************************************/
-	private byte[] encodeLength2(int length)
+	private void writeLoop()
 	{
-		byte[] bytes = new byte[2];
-
-		bytes[1] = (byte) (length & 0xff);
-		length >>= 8;
-		bytes[0] = (byte) (length & 0xff);
-
-		return bytes;
+		List<SPELLmessage> batch = new ArrayList<SPELLmessage>(MAX_BATCH);
+		boolean working = true;
+		while (working)
+		{
+			try
+			{
+				batch.add(m_queue.take());
+				m_queue.drainTo(batch, MAX_BATCH - 1);
+				m_encoder.setCompressionThreshold(m_compressionThreshold);
+				for (SPELLmessage msg : batch)
+				{
+					if (msg == STOP)
+					{
+						working = false;
+						break;
+					}
+					try
+					{
+						m_encoder.encode(msg);
+					}
+					catch (MessageException ex)
+					{
+						ex.printStackTrace();
+					}
+				}
+				if (m_encoder.getCount() > 0)
+				{
+					m_out.write(m_encoder.getData(), 0, m_encoder.getLength());
+					m_out.flush();
+				}
+			}
+			catch (InterruptedException ex)
+			{
+				return;
+			}
+			catch (IOException ex)
+			{
+				Logger.error("Failed to send " + m_encoder.getCount() + " message(s): " + ex.getLocalizedMessage(),
+				        Level.COMM, this);
+			}
+			finally
+			{
+				batch.clear();
+				m_encoder.reset();
+			}
+		}
 	}
 }
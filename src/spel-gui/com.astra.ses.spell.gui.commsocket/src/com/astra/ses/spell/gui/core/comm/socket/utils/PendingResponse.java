@@ -0,0 +1,222 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.socket.utils
+// 
+// FILE      : PendingResponse.java
+//
+// DATE      : 2026-10-18 13:14
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.socket.utils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
+
+/***************************************************************************
+ * @brief Response slot for an outstanding request.
+ *
+ *        Waiting threads are parked until the response arrives or the
+ *        request times out. On timeout the result is null, as with the
+ *        blocking request API.
+ **************************************************************************/
+public class PendingResponse implements Future<SPELLmessage>
+{
+	/** Request sequence number */
+	private long m_sequence;
+	/** Absolute deadline, in milliseconds */
+	private long m_deadline;
+	/** Timer wheel slot, -1 if not scheduled */
+	private int m_slot;
+	/** Owner of this slot */
+	private ResponseCorrelator m_owner;
+	/** Released when the slot is completed */
+	private CountDownLatch m_latch;
+	/** Holds the response, if any */
+	private volatile SPELLmessage m_response;
+	/** True if the request timed out */
+	private volatile boolean m_expired;
+	/** True if the request was cancelled */
+	private volatile boolean m_cancelled;
+
+	/***********************************************************************
+	 * Constructor
+	 **********************************************************************/
+	PendingResponse(ResponseCorrelator owner, long sequence, long timeout)
+	{
+		m_owner = owner;
+		m_sequence = sequence;
+		m_deadline = System.currentTimeMillis() + timeout;
+		m_slot = -1;
+		m_latch = new CountDownLatch(1);
+		m_response = null;
+		m_expired = false;
+		m_cancelled = false;
+	}
+
+	/***********************************************************************
+	 * Request sequence number
+	 **********************************************************************/
+	public long getSequence()
+	{
+		return m_sequence;
+	}
+
+	/***********************************************************************
+	 * Absolute deadline, in milliseconds
+	 **********************************************************************/
+	long getDeadline()
+	{
+		return m_deadline;
+	}
+
+	/***********************************************************************
+	 * Timer wheel slot, -1 if not scheduled
+	 **********************************************************************/
+	int getSlot()
+	{
+		return m_slot;
+	}
+
+	/***********************************************************************
+	 * Set the timer wheel slot
+	 **********************************************************************/
+	void setSlot(int slot)
+	{
+		m_slot = slot;
+	}
+
+	/***********************************************************************
+	 * True if the request timed out without response
+	 **********************************************************************/
+	public boolean isExpired()
+	{
+		return m_expired;
+	}
+
+	/***********************************************************************
+	 * Store the response and release waiters
+	 **********************************************************************/
+	synchronized boolean complete(SPELLmessage response)
+	{
+		if (isDone()) return false;
+		m_response = response;
+		m_latch.countDown();
+		// After the release, so that a concurrent schedule() sees it done
+		m_owner.discard(this);
+		return true;
+	}
+
+	/***********************************************************************
+	 * Mark as timed out and release waiters
+	 **********************************************************************/
+	synchronized boolean expire()
+	{
+		if (isDone()) return false;
+		m_expired = true;
+		m_owner.discard(this);
+		m_latch.countDown();
+		return true;
+	}
+
+	/***********************************************************************
+	 * Cancel the request. A late response is discarded.
+	 **********************************************************************/
+	public synchronized boolean cancel(boolean mayInterruptIfRunning)
+	{
+		if (isDone()) return false;
+		m_cancelled = true;
+		m_owner.discard(this);
+		m_latch.countDown();
+		return true;
+	}
+
+	/***********************************************************************
+	 * Check if the request was cancelled
+	 **********************************************************************/
+	public boolean isCancelled()
+	{
+		return m_cancelled;
+	}
+
+	/***********************************************************************
+	 * Check if the request is finished
+	 **********************************************************************/
+	public boolean isDone()
+	{
+		return m_latch.getCount() == 0;
+	}
+
+	/***********************************************************************
+	 * Wait for the response. Returns null if the request timed out.
+	 **********************************************************************/
+	public SPELLmessage get() throws InterruptedException
+	{
+		long remaining = m_deadline - System.currentTimeMillis();
+		// The timeout wheel expires the slot; the local bound is only a
+		// safeguard in case the wheel is not running.
+		if (!m_latch.await(Math.max(remaining, 0) + TimeoutWheel.TICK_MSEC * 2, TimeUnit.MILLISECONDS))
+		{
+			expire();
+		}
+		return m_response;
+	}
+
+	/***********************************************************************
+	 * Wait for the response a limited time. Returns null if the request
+	 * timed out.
+	 *
+	 * @throws TimeoutException
+	 *             if the given time elapsed before the request finished
+	 **********************************************************************/
+	public SPELLmessage get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException
+	{
+		if (!m_latch.await(timeout, unit))
+		{
+			throw new TimeoutException("No response yet for request " + m_sequence);
+		}
+		return m_response;
+	}
+}
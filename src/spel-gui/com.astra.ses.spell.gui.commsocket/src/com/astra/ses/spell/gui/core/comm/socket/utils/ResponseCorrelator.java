@@ -0,0 +1,182 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.socket.utils
+// 
+// FILE      : ResponseCorrelator.java
+//
+// DATE      : 2026-10-18 13:14
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.socket.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
+import com.astra.ses.spell.gui.core.model.types.Level;
+import com.astra.ses.spell.gui.core.utils.Logger;
+
+/***************************************************************************
+ * @brief Correlates incoming responses with outstanding requests.
+ *
+ *        Requests are identified by their IPC sequence number. Timeouts
+ *        are handled by a shared timer wheel, so that waiting threads
+ *        are parked instead of polling, and responses arriving after the
+ *        timeout are discarded. The wheel thread runs between open() and
+ *        close(), that is, while the connection is up.
+ **************************************************************************/
+public class ResponseCorrelator
+{
+	/** Outstanding requests by sequence number */
+	private ConcurrentHashMap<Long, PendingResponse> m_pending;
+	/** Timer wheel expiring outstanding requests, null when closed */
+	private volatile TimeoutWheel m_wheel;
+
+	/***********************************************************************
+	 * Constructor
+	 **********************************************************************/
+	public ResponseCorrelator()
+	{
+		m_pending = new ConcurrentHashMap<Long, PendingResponse>();
+		m_wheel = null;
+	}
+
+	/***********************************************************************
+	 * Start the timer wheel, when the connection is established
+	 **********************************************************************/
+	public synchronized void open()
+	{
+		if (m_wheel == null)
+		{
+			m_wheel = new TimeoutWheel("response-timeouts");
+			m_wheel.start();
+		}
+	}
+
+	/***********************************************************************
+	 * Release all outstanding requests and stop the timer wheel, when the
+	 * connection is closed
+	 **********************************************************************/
+	public synchronized void close()
+	{
+		cancelAll();
+		if (m_wheel != null)
+		{
+			m_wheel.shutdown();
+			m_wheel = null;
+		}
+	}
+
+	/***********************************************************************
+	 * Register an outstanding request. Must be called before the request
+	 * is sent, so that a fast response is not lost.
+	 **********************************************************************/
+	public PendingResponse prepare(long sequence, long timeout)
+	{
+		PendingResponse pending = new PendingResponse(this, sequence, timeout);
+		m_pending.put(sequence, pending);
+		// Without wheel the waiter bounds the wait by itself
+		TimeoutWheel wheel = m_wheel;
+		if (wheel != null)
+		{
+			wheel.schedule(pending);
+		}
+		return pending;
+	}
+
+	/***********************************************************************
+	 * Deliver a response to the corresponding request
+	 *
+	 * @return False if nobody was waiting for it
+	 **********************************************************************/
+	public boolean place(SPELLmessage response)
+	{
+		PendingResponse pending = m_pending.remove(response.getSequence());
+		if (pending == null || !pending.complete(response))
+		{
+			Logger.error("Discarded outdated response: " + response.getId() + ":" + response.getSequence(), Level.COMM,
+			        this);
+			return false;
+		}
+		return true;
+	}
+
+	/***********************************************************************
+	 * Check if there is a request waiting for the given sequence
+	 **********************************************************************/
+	public boolean isWaitingFor(long sequence)
+	{
+		return m_pending.containsKey(sequence);
+	}
+
+	/***********************************************************************
+	 * Number of outstanding requests
+	 **********************************************************************/
+	public int getPendingCount()
+	{
+		return m_pending.size();
+	}
+
+	/***********************************************************************
+	 * Release all outstanding requests without response
+	 **********************************************************************/
+	public void cancelAll()
+	{
+		for (PendingResponse pending : m_pending.values())
+		{
+			pending.cancel(false);
+		}
+		m_pending.clear();
+	}
+
+	/***********************************************************************
+	 * Forget the given request, once finished
+	 **********************************************************************/
+	void discard(PendingResponse pending)
+	{
+		m_pending.remove(pending.getSequence(), pending);
+		TimeoutWheel wheel = m_wheel;
+		if (wheel != null)
+		{
+			wheel.unschedule(pending);
+		}
+	}
+}
@@ -0,0 +1,210 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.socket.utils
+// 
+// FILE      : TimeoutWheel.java
+//
+// DATE      : 2026-10-18 13:14
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.socket.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.astra.ses.spell.gui.core.model.types.Level;
+import com.astra.ses.spell.gui.core.utils.Logger;
+
+/***************************************************************************
+ * @brief Hashed timer wheel expiring outstanding requests.
+ *
+ *        A single thread serves all outstanding requests of a connection.
+ *        Each request is placed in the slot of its deadline tick; on every
+ *        tick only the current slot is inspected. Requests are removed
+ *        from their slot as soon as they finish, so that the thread sleeps
+ *        once there is nothing outstanding.
+ **************************************************************************/
+class TimeoutWheel extends Thread
+{
+	/** Duration of a tick in milliseconds */
+	static final long TICK_MSEC = 20;
+	/** Number of slots in the wheel */
+	private static final int SLOTS = 512;
+
+	/** Wheel slots */
+	private List<List<PendingResponse>> m_slots;
+	/** Number of scheduled entries */
+	private int m_count;
+	/** Next tick to process */
+	private long m_tick;
+	/** Cleared to stop the thread */
+	private volatile boolean m_running;
+
+	/***********************************************************************
+	 * Constructor
+	 **********************************************************************/
+	TimeoutWheel(String name)
+	{
+		super(name);
+		setDaemon(true);
+		m_slots = new ArrayList<List<PendingResponse>>(SLOTS);
+		for (int index = 0; index < SLOTS; index++)
+		{
+			m_slots.add(new ArrayList<PendingResponse>());
+		}
+		m_count = 0;
+		m_tick = currentTick();
+		m_running = true;
+	}
+
+	/***********************************************************************
+	 * Stop the timer thread. Scheduled entries are left to their owner.
+	 **********************************************************************/
+	synchronized void shutdown()
+	{
+		m_running = false;
+		notifyAll();
+		interrupt();
+	}
+
+	/***********************************************************************
+	 * Schedule the expiration of the given request
+	 **********************************************************************/
+	synchronized void schedule(PendingResponse pending)
+	{
+		// A fast response may arrive before the request is scheduled
+		if (pending.isDone()) return;
+		long tick = (pending.getDeadline() + TICK_MSEC - 1) / TICK_MSEC;
+		if (tick < m_tick) tick = m_tick;
+		int slot = (int) (tick % SLOTS);
+		m_slots.get(slot).add(pending);
+		pending.setSlot(slot);
+		m_count++;
+		if (m_count == 1)
+		{
+			notifyAll();
+		}
+	}
+
+	/***********************************************************************
+	 * Remove a finished request from the wheel
+	 **********************************************************************/
+	synchronized void unschedule(PendingResponse pending)
+	{
+		int slot = pending.getSlot();
+		if (slot >= 0 && m_slots.get(slot).remove(pending))
+		{
+			m_count--;
+		}
+	}
+
+	/***********************************************************************
+	 * Timer loop
+	 **********************************************************************/
+	public void run()
+	{
+		while (m_running)
+		{
+			try
+			{
+				List<PendingResponse> expired = advance();
+				for (PendingResponse pending : expired)
+				{
+					if (pending.expire())
+					{
+						Logger.error("Timeout on request " + pending.getSequence(), Level.COMM, this);
+					}
+				}
+				Thread.sleep(TICK_MSEC);
+			}
+			catch (InterruptedException ex)
+			{
+				return;
+			}
+			catch (Exception ex)
+			{
+				ex.printStackTrace();
+			}
+		}
+	}
+
+	/***********************************************************************
+	 * Process the slots up to the current time, returning the entries
+	 * that are due. Blocks while the wheel is empty.
+	 **********************************************************************/
+	private synchronized List<PendingResponse> advance() throws InterruptedException
+	{
+		while (m_count == 0 && m_running)
+		{
+			wait();
+		}
+		List<PendingResponse> expired = new ArrayList<PendingResponse>();
+		long now = currentTick();
+		// Never walk more than a full turn, all slots are visited by then
+		long first = Math.max(m_tick, now - SLOTS + 1);
+		for (long tick = first; tick <= now; tick++)
+		{
+			Iterator<PendingResponse> it = m_slots.get((int) (tick % SLOTS)).iterator();
+			while (it.hasNext())
+			{
+				PendingResponse pending = it.next();
+				if (pending.getDeadline() <= now * TICK_MSEC)
+				{
+					it.remove();
+					m_count--;
+					expired.add(pending);
+				}
+			}
+		}
+		m_tick = now + 1;
+		return expired;
+	}
+
+	/***********************************************************************
+	 * Current tick
+	 **********************************************************************/
+	private static long currentTick()
+	{
+		return System.currentTimeMillis() / TICK_MSEC;
+	}
+}
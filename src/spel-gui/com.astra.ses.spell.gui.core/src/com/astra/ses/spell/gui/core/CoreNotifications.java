@@ -49,7 +49,12 @@
 package com.astra.ses.spell.gui.core;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.astra.ses.spell.gui.core.interfaces.listeners.IBaseListener;
 import com.astra.ses.spell.gui.core.interfaces.listeners.ICoreApplicationStatusListener;
@@ -78,15 +83,22 @@ import com.astra.ses.spell.gui.types.ExecutorStatus;
 
 public class CoreNotifications 
 {
-	private static CoreNotifications s_instance = null;
+	private static final CoreNotifications s_instance = new CoreNotifications();
 
-	private Collection<ICoreClientOperationListener> m_clientOperationListeners;
-	private Collection<ICoreProcedureInputListener> m_procInputListeners;
-	private Collection<ICoreProcedureOperationListener> m_procOperationListeners;
-	private Collection<ICoreProcedureRuntimeListener> m_procRuntimeListeners;
-	private Collection<ICoreServerOperationListener> m_serverOperationListeners;
-	private Collection<ICoreContextOperationListener> m_contextOperationListeners;
-	private Collection<ICoreApplicationStatusListener> m_applicationStatusListeners;
+	private ListenerList<ICoreClientOperationListener> m_clientOperationListeners;
+	private ListenerList<ICoreProcedureInputListener> m_procInputListeners;
+	private ListenerList<ICoreProcedureOperationListener> m_procOperationListeners;
+	private ListenerList<ICoreProcedureRuntimeListener> m_procRuntimeListeners;
+	private ListenerList<ICoreServerOperationListener> m_serverOperationListeners;
+	private ListenerList<ICoreContextOperationListener> m_contextOperationListeners;
+	private ListenerList<ICoreApplicationStatusListener> m_applicationStatusListeners;
+	/** Listener lists keyed by listener interface */
+	private Map<Class<?>, ListenerList<?>> m_registry;
+
+	/** True if the time spent by each listener is measured */
+	private volatile boolean m_timingEnabled;
+	/** Time spent by each listener, keyed by listener identifier */
+	private ConcurrentHashMap<String, ListenerTiming> m_timings;
 
 	/***************************************************************************
 	 * Singleton accessor
@@ -95,10 +107,6 @@ public class CoreNotifications
 	 **************************************************************************/
 	public static CoreNotifications get()
 	{
-		if (s_instance == null)
-		{
-			s_instance = new CoreNotifications();
-		}
 		return s_instance;
 	}
 
@@ -107,13 +115,16 @@ public class CoreNotifications
 	 **************************************************************************/
 	protected CoreNotifications()
 	{
-		m_clientOperationListeners = new ArrayList<ICoreClientOperationListener>();
-		m_procInputListeners = new ArrayList<ICoreProcedureInputListener>();
-		m_procOperationListeners = new ArrayList<ICoreProcedureOperationListener>();
-		m_procRuntimeListeners = new ArrayList<ICoreProcedureRuntimeListener>();
-		m_serverOperationListeners = new ArrayList<ICoreServerOperationListener>();
-		m_contextOperationListeners = new ArrayList<ICoreContextOperationListener>();
-		m_applicationStatusListeners = new ArrayList<ICoreApplicationStatusListener>();
+		m_registry = new HashMap<Class<?>, ListenerList<?>>();
+		m_clientOperationListeners = register(ICoreClientOperationListener.class);
+		m_procInputListeners = register(ICoreProcedureInputListener.class);
+		m_procOperationListeners = register(ICoreProcedureOperationListener.class);
+		m_procRuntimeListeners = register(ICoreProcedureRuntimeListener.class);
+		m_serverOperationListeners = register(ICoreServerOperationListener.class);
+		m_contextOperationListeners = register(ICoreContextOperationListener.class);
+		m_applicationStatusListeners = register(ICoreApplicationStatusListener.class);
+		m_timingEnabled = false;
+		m_timings = new ConcurrentHashMap<String, ListenerTiming>();
 	}
 
 	/***************************************************************************
@@ -123,54 +134,10 @@ public class CoreNotifications
 	public void addListener( IBaseListener listener, Class<?> api )
 	{
 		Logger.debug("Register listener " + listener.getListenerId() + " for API " + api.getCanonicalName(), Level.PROC, this);
-		if (api.equals(ICoreClientOperationListener.class))
-		{
-			if (!m_clientOperationListeners.contains(listener))
-			{
-				m_clientOperationListeners.add( (ICoreClientOperationListener) listener);
-			}
-		}
-		else if (api.equals( ICoreProcedureInputListener.class))
-		{
-			if (!m_procInputListeners.contains(listener))
-			{
-				m_procInputListeners.add( (ICoreProcedureInputListener) listener);
-			}
-		}
-		else if (api.equals( ICoreProcedureOperationListener.class))
-		{
-			if (!m_procOperationListeners.contains(listener))
-			{
-				m_procOperationListeners.add( (ICoreProcedureOperationListener) listener);
-			}
-		}
-		else if (api.equals( ICoreProcedureRuntimeListener.class))
-		{
-			if (!m_procRuntimeListeners.contains(listener))
-			{
-				m_procRuntimeListeners.add( (ICoreProcedureRuntimeListener) listener);
-			}
-		}
-		else if (api.equals( ICoreServerOperationListener.class))
-		{
-			if (!m_serverOperationListeners.contains(listener))
-			{
-				m_serverOperationListeners.add( (ICoreServerOperationListener) listener);
-			}
-		}
-		else if (api.equals( ICoreContextOperationListener.class))
-		{
-			if (!m_contextOperationListeners.contains(listener))
-			{
-				m_contextOperationListeners.add( (ICoreContextOperationListener) listener);
-			}
-		}
-		else if (api.equals( ICoreApplicationStatusListener.class))
+		ListenerList<?> list = m_registry.get(api);
+		if (list != null && api.isInstance(listener))
 		{
-			if (!m_applicationStatusListeners.contains(listener))
-			{
-				m_applicationStatusListeners.add( (ICoreApplicationStatusListener) listener);
-			}
+			list.add(listener);
 		}
 		else
 		{
@@ -185,34 +152,88 @@ public class CoreNotifications
 	public void removeListener( IBaseListener listener )
 	{
 		Logger.debug("Remove listener " + listener.getListenerId(), Level.PROC, this);
-		if (m_clientOperationListeners.contains(listener))
-		{
-			m_clientOperationListeners.remove(listener);
-		}
-		if (m_procInputListeners.contains(listener))
-		{
-			m_procInputListeners.remove(listener);
-		}
-		if (m_procOperationListeners.contains(listener))
+		for (ListenerList<?> list : m_registry.values())
 		{
-			m_procOperationListeners.remove(listener);
+			list.remove(listener);
 		}
-		if (m_procRuntimeListeners.contains(listener))
+	}
+
+	/***************************************************************************
+	 * Enable or disable the measurement of the time spent by each listener.
+	 * Enabling it discards the previous measurements.
+	 **************************************************************************/
+	public void setListenerTiming( boolean enabled )
+	{
+		if (enabled)
 		{
-			m_procRuntimeListeners.remove(listener);
+			m_timings.clear();
 		}
-		if (m_serverOperationListeners.contains(listener))
+		m_timingEnabled = enabled;
+	}
+
+	/***************************************************************************
+	 * Time spent by each listener since the measurement was enabled, slowest
+	 * first
+	 **************************************************************************/
+	public List<ListenerTiming> getListenerTimings()
+	{
+		List<ListenerTiming> timings = new ArrayList<ListenerTiming>(m_timings.values());
+		Collections.sort(timings, new Comparator<ListenerTiming>()
 		{
-			m_serverOperationListeners.remove(listener);
-		}
-		if (m_contextOperationListeners.contains(listener))
+			@Override
+			public int compare(ListenerTiming t1, ListenerTiming t2)
+			{
+				long total1 = t1.getTotalTime();
+				long total2 = t2.getTotalTime();
+				return (total1 < total2) ? 1 : ((total1 == total2) ? 0 : -1);
+			}
+		});
+		return timings;
+	}
+
+	/***************************************************************************
+	 * Create the listener list of the given interface
+	 **************************************************************************/
+	private <T extends IBaseListener> ListenerList<T> register( Class<T> api )
+	{
+		ListenerList<T> list = new ListenerList<T>(api);
+		m_registry.put(api, list);
+		return list;
+	}
+
+	/***************************************************************************
+	 * Start measuring a listener call
+	 * 
+	 * @return The start time, or zero if the measurement is disabled
+	 **************************************************************************/
+	private long startTiming()
+	{
+		return m_timingEnabled ? System.nanoTime() : 0;
+	}
+
+	/***************************************************************************
+	 * Account the time spent by a listener call started at the given time
+	 **************************************************************************/
+	private void stopTiming( IBaseListener listener, long start )
+	{
+		if (start == 0) return;
+		long elapsed = System.nanoTime() - start;
+		String id = listener.getListenerId();
+		if (id == null)
 		{
-			m_contextOperationListeners.remove(listener);
+			id = listener.getClass().getName();
 		}
-		if (m_applicationStatusListeners.contains(listener))
+		ListenerTiming timing = m_timings.get(id);
+		if (timing == null)
 		{
-			m_applicationStatusListeners.remove(listener);
+			ListenerTiming created = new ListenerTiming(id);
+			timing = m_timings.putIfAbsent(id, created);
+			if (timing == null)
+			{
+				timing = created;
+			}
 		}
+		timing.record(elapsed);
 	}
 
 	/***************************************************************************
@@ -221,10 +242,12 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireClientConnected(String clientKey, String host)
 	{
-		for (ICoreClientOperationListener clt : m_clientOperationListeners)
+		for (ICoreClientOperationListener clt : m_clientOperationListeners.get())
 		{
 			Logger.debug("Notify [client connected] to " + clt.getListenerId(), Level.COMM, this);
+			long start = startTiming();
 			clt.notifyClientConnected(clientKey, host);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -234,10 +257,12 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireClientDisconnected(String clientKey, String host)
 	{
-		for (ICoreClientOperationListener clt : m_clientOperationListeners)
+		for (ICoreClientOperationListener clt : m_clientOperationListeners.get())
 		{
 			Logger.debug("Notify [client disconnected] to " + clt.getListenerId(), Level.COMM, this);
+			long start = startTiming();
 			clt.notifyClientDisconnected(clientKey, host);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -247,10 +272,12 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireContextAttached(ContextInfo info)
 	{
-		for (ICoreContextOperationListener clt : m_contextOperationListeners)
+		for (ICoreContextOperationListener clt : m_contextOperationListeners.get())
 		{
 			Logger.debug("Notify [context attached] to " + clt.getListenerId(), Level.COMM, this);
+			long start = startTiming();
 			clt.notifyContextAttached(info);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -260,10 +287,12 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireContextDetached()
 	{
-		for (ICoreContextOperationListener clt : m_contextOperationListeners)
+		for (ICoreContextOperationListener clt : m_contextOperationListeners.get())
 		{
 			Logger.debug("Notify [context detached] to " + clt.getListenerId(), Level.COMM, this);
+			long start = startTiming();
 			clt.notifyContextDetached();
+			stopTiming(clt, start);
 		}
 	}
 
@@ -274,10 +303,12 @@ public class CoreNotifications
 	public void fireContextError(ErrorData data)
 	{
 		Logger.debug("Notify [context error]", Level.PROC, this);
-		for (ICoreContextOperationListener clt : m_contextOperationListeners)
+		for (ICoreContextOperationListener clt : m_contextOperationListeners.get())
 		{
 			Logger.debug("Notify [context error] to " + clt.getListenerId(), Level.PROC, this);
+			long start = startTiming();
 			clt.notifyContextError(data);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -287,11 +318,14 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void firePrompt(InputData inputData)
 	{
-		for (ICoreProcedureInputListener clt : m_procInputListeners)
+		ICoreProcedureInputListener[] listeners = m_procInputListeners.get();
+		// Only once
+		if (listeners.length > 0)
 		{
+			ICoreProcedureInputListener clt = listeners[0];
+			long start = startTiming();
 			clt.notifyProcedurePrompt(inputData);
-			// Only once
-			return;
+			stopTiming(clt, start);
 		}
 	}
 
@@ -301,11 +335,14 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireFinishPrompt(InputData inputData)
 	{
-		for (ICoreProcedureInputListener clt : m_procInputListeners)
+		ICoreProcedureInputListener[] listeners = m_procInputListeners.get();
+		// Only once
+		if (listeners.length > 0)
 		{
+			ICoreProcedureInputListener clt = listeners[0];
+			long start = startTiming();
 			clt.notifyProcedureFinishPrompt(inputData);
-			// Only once
-			return;
+			stopTiming(clt, start);
 		}
 	}
 
@@ -315,11 +352,14 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireCancelPrompt(InputData inputData)
 	{
-		for (ICoreProcedureInputListener clt : m_procInputListeners)
+		ICoreProcedureInputListener[] listeners = m_procInputListeners.get();
+		// Only once
+		if (listeners.length > 0)
 		{
+			ICoreProcedureInputListener clt = listeners[0];
+			long start = startTiming();
 			clt.notifyProcedureCancelPrompt(inputData);
-			// Only once
-			return;
+			stopTiming(clt, start);
 		}
 	}
 
@@ -329,9 +369,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureOpen(String procId, String guiKey)
 	{
-		for (ICoreProcedureOperationListener clt : m_procOperationListeners)
+		for (ICoreProcedureOperationListener clt : m_procOperationListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyRemoteProcedureOpen(procId, guiKey);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -341,9 +383,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureClosed(String procId, String guiKey)
 	{
-		for (ICoreProcedureOperationListener clt : m_procOperationListeners)
+		for (ICoreProcedureOperationListener clt : m_procOperationListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyRemoteProcedureClosed(procId, guiKey);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -353,9 +397,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureKilled(String procId, String guiKey)
 	{
-		for (ICoreProcedureOperationListener clt : m_procOperationListeners)
+		for (ICoreProcedureOperationListener clt : m_procOperationListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyRemoteProcedureKilled(procId, guiKey);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -365,9 +411,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureCrashed(String procId, String guiKey)
 	{
-		for (ICoreProcedureOperationListener clt : m_procOperationListeners)
+		for (ICoreProcedureOperationListener clt : m_procOperationListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyRemoteProcedureCrashed(procId, guiKey);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -377,9 +425,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureControlled(String procId, String guiKey)
 	{
-		for (ICoreProcedureOperationListener clt : m_procOperationListeners)
+		for (ICoreProcedureOperationListener clt : m_procOperationListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyRemoteProcedureControlled(procId, guiKey);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -389,9 +439,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureMonitored(String procId, String guiKey)
 	{
-		for (ICoreProcedureOperationListener clt : m_procOperationListeners)
+		for (ICoreProcedureOperationListener clt : m_procOperationListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyRemoteProcedureMonitored(procId, guiKey);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -401,9 +453,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureReleased(String procId, String guiKey)
 	{
-		for (ICoreProcedureOperationListener clt : m_procOperationListeners)
+		for (ICoreProcedureOperationListener clt : m_procOperationListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyRemoteProcedureReleased(procId, guiKey);
+			stopTiming(clt, start);
 		}
 	}
 	
@@ -413,9 +467,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureSummary(String procId, ExecutorOperationSummary summary, String guiKey)
 	{
-		for (ICoreProcedureOperationListener clt : m_procOperationListeners)
+		for (ICoreProcedureOperationListener clt : m_procOperationListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyRemoteProcedureSummary(procId, summary, guiKey);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -425,9 +481,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureStatus(String procId, ExecutorStatus status, String guiKey)
 	{
-		for (ICoreProcedureOperationListener clt : m_procOperationListeners)
+		for (ICoreProcedureOperationListener clt : m_procOperationListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyRemoteProcedureStatus(procId, status, guiKey);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -437,9 +495,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureDisplay(DisplayData data)
 	{
-		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners)
+		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyProcedureDisplay(data);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -449,9 +509,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureError(ErrorData data)
 	{
-		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners)
+		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyProcedureError(data);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -461,9 +523,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureItem(ItemNotification data)
 	{
-		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners)
+		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyProcedureItem(data);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -473,9 +537,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureStack(StackNotification data)
 	{
-		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners)
+		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyProcedureStack(data);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -485,9 +551,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureStatus(StatusNotification data)
 	{
-		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners)
+		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyProcedureStatus(data);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -497,9 +565,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureControl(ControlNotification data)
 	{
-		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners)
+		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyProcedureControl(data);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -511,9 +581,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureUserAction(UserActionNotification data)
 	{
-		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners)
+		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyProcedureUserAction(data);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -524,9 +596,11 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireProcedureConfigured(ExecutorConfig data)
 	{
-		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners)
+		for (ICoreProcedureRuntimeListener clt : m_procRuntimeListeners.get())
 		{
+			long start = startTiming();
 			clt.notifyProcedureConfiguration(data);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -536,10 +610,12 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireListenerConnected(ServerInfo info)
 	{
-		for (ICoreServerOperationListener clt : m_serverOperationListeners)
+		for (ICoreServerOperationListener clt : m_serverOperationListeners.get())
 		{
 			Logger.debug("Notify [listener connected] to " + clt.getListenerId(), Level.COMM, this);
+			long start = startTiming();
 			clt.notifyListenerConnected(info);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -549,10 +625,12 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireListenerDisconnected()
 	{
-		for (ICoreServerOperationListener clt : m_serverOperationListeners)
+		for (ICoreServerOperationListener clt : m_serverOperationListeners.get())
 		{
 			Logger.debug("Notify [listener disconnected] to " + clt.getListenerId(), Level.COMM, this);
+			long start = startTiming();
 			clt.notifyListenerDisconnected();
+			stopTiming(clt, start);
 		}
 	}
 
@@ -562,10 +640,12 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireListenerError(ErrorData data)
 	{
-		for (ICoreServerOperationListener clt : m_serverOperationListeners)
+		for (ICoreServerOperationListener clt : m_serverOperationListeners.get())
 		{
 			Logger.debug("Notify [listener error] to " + clt.getListenerId(), Level.COMM, this);
+			long start = startTiming();
 			clt.notifyListenerError(data);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -575,10 +655,12 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireContextStarted(ContextInfo info)
 	{
-		for (ICoreServerOperationListener clt : m_serverOperationListeners)
+		for (ICoreServerOperationListener clt : m_serverOperationListeners.get())
 		{
 			Logger.debug("Notify [context started] to " + clt.getListenerId(), Level.COMM, this);
+			long start = startTiming();
 			clt.notifyContextStarted(info);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -588,10 +670,12 @@ public class CoreNotifications
 	 **************************************************************************/
 	public void fireContextStopped(ContextInfo info)
 	{
-		for (ICoreServerOperationListener clt : m_serverOperationListeners)
+		for (ICoreServerOperationListener clt : m_serverOperationListeners.get())
 		{
 			Logger.debug("Notify [context stopped] to " + clt.getListenerId(), Level.COMM, this);
+			long start = startTiming();
 			clt.notifyContextStopped(info);
+			stopTiming(clt, start);
 		}
 	}
 
@@ -601,9 +685,11 @@ public class CoreNotifications
 	 **************************************************************************/
     public void fireApplicationStatus( final ApplicationStatus status )
     {
-		for(ICoreApplicationStatusListener listener : m_applicationStatusListeners)
+		for(ICoreApplicationStatusListener listener : m_applicationStatusListeners.get())
 		{
+			long start = startTiming();
 			listener.onApplicationStatus(status);
+			stopTiming(listener, start);
 		}
     }
 }
@@ -0,0 +1,145 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core
+// 
+// FILE      : ListenerList.java
+//
+// DATE      : 2026-10-18 13:29
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core;
+
+import java.lang.reflect.Array;
+
+import com.astra.ses.spell.gui.core.interfaces.listeners.IBaseListener;
+
+/*******************************************************************************
+ * @brief Copy-on-write list of the listeners of one interface.
+ *
+ *        Notifying threads iterate over an immutable snapshot array without
+ *        locking. Registration replaces the array under the list monitor, so
+ *        a notification in progress is never disturbed by it.
+ ******************************************************************************/
+class ListenerList<T extends IBaseListener>
+{
+	/** Listener interface */
+	private Class<T> m_api;
+	/** Current snapshot. Never modified once published */
+	private volatile T[] m_listeners;
+
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	ListenerList(Class<T> api)
+	{
+		m_api = api;
+		m_listeners = newArray(0);
+	}
+
+	/***************************************************************************
+	 * Listener interface
+	 **************************************************************************/
+	Class<T> getApi()
+	{
+		return m_api;
+	}
+
+	/***************************************************************************
+	 * Snapshot of the registered listeners, in registration order. The
+	 * array must not be modified.
+	 **************************************************************************/
+	T[] get()
+	{
+		return m_listeners;
+	}
+
+	/***************************************************************************
+	 * Register a listener, unless already registered
+	 **************************************************************************/
+	synchronized void add(IBaseListener listener)
+	{
+		T[] current = m_listeners;
+		if (indexOf(current, listener) != -1) return;
+		T[] updated = newArray(current.length + 1);
+		System.arraycopy(current, 0, updated, 0, current.length);
+		updated[current.length] = m_api.cast(listener);
+		m_listeners = updated;
+	}
+
+	/***************************************************************************
+	 * Unregister a listener
+	 *
+	 * @return True if it was registered
+	 **************************************************************************/
+	synchronized boolean remove(IBaseListener listener)
+	{
+		T[] current = m_listeners;
+		int index = indexOf(current, listener);
+		if (index == -1) return false;
+		T[] updated = newArray(current.length - 1);
+		System.arraycopy(current, 0, updated, 0, index);
+		System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+		m_listeners = updated;
+		return true;
+	}
+
+	/***************************************************************************
+	 * Position of the given listener in the array, -1 if not found
+	 **************************************************************************/
+	private static int indexOf(Object[] listeners, Object listener)
+	{
+		for (int index = 0; index < listeners.length; index++)
+		{
+			if (listeners[index].equals(listener)) return index;
+		}
+		return -1;
+	}
+
+	/***************************************************************************
+	 * Create an array of the listener type
+	 **************************************************************************/
+	@SuppressWarnings("unchecked")
+	private T[] newArray(int length)
+	{
+		return (T[]) Array.newInstance(m_api, length);
+	}
+}
@@ -0,0 +1,135 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core
+// 
+// FILE      : ListenerTiming.java
+//
+// DATE      : 2026-10-18 13:29
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*******************************************************************************
+ * @brief Time spent by one listener handling core notifications.
+ *
+ *        Times are in microseconds.
+ ******************************************************************************/
+public class ListenerTiming
+{
+	/** Identifier of the listener */
+	private String m_listenerId;
+	/** Number of notifications handled */
+	private AtomicLong m_count;
+	/** Accumulated handling time, in nanoseconds */
+	private AtomicLong m_total;
+	/** Highest handling time, in nanoseconds */
+	private AtomicLong m_max;
+
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	ListenerTiming(String listenerId)
+	{
+		m_listenerId = listenerId;
+		m_count = new AtomicLong(0);
+		m_total = new AtomicLong(0);
+		m_max = new AtomicLong(0);
+	}
+
+	/***************************************************************************
+	 * Account one notification
+	 **************************************************************************/
+	void record(long nanos)
+	{
+		m_count.incrementAndGet();
+		m_total.addAndGet(nanos);
+		long max = m_max.get();
+		while (nanos > max && !m_max.compareAndSet(max, nanos))
+		{
+			max = m_max.get();
+		}
+	}
+
+	/***************************************************************************
+	 * Identifier of the listener
+	 **************************************************************************/
+	public String getListenerId()
+	{
+		return m_listenerId;
+	}
+
+	/***************************************************************************
+	 * Number of notifications handled
+	 **************************************************************************/
+	public long getCount()
+	{
+		return m_count.get();
+	}
+
+	/***************************************************************************
+	 * Accumulated handling time, in microseconds
+	 **************************************************************************/
+	public long getTotalTime()
+	{
+		return m_total.get() / 1000;
+	}
+
+	/***************************************************************************
+	 * Average handling time, in microseconds
+	 **************************************************************************/
+	public long getAverageTime()
+	{
+		long count = m_count.get();
+		if (count == 0) return 0;
+		return m_total.get() / count / 1000;
+	}
+
+	/***************************************************************************
+	 * Highest handling time, in microseconds
+	 **************************************************************************/
+	public long getMaxTime()
+	{
+		return m_max.get() / 1000;
+	}
+}
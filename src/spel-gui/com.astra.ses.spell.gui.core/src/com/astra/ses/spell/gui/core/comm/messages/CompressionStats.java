@@ -0,0 +1,175 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.messages
+// 
+// FILE      : CompressionStats.java
+//
+// DATE      : 2026-10-18 13:24
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.messages;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*******************************************************************************
+ * @brief Compression counters of a connection.
+ *
+ *        Outgoing (deflated) and incoming (inflated) messages are accounted
+ *        separately. Sizes are in bytes, times in microseconds.
+ ******************************************************************************/
+public class CompressionStats
+{
+	/** Number of messages compressed */
+	private AtomicLong m_deflatedCount;
+	/** Size of the compressed messages before compression */
+	private AtomicLong m_deflatedRaw;
+	/** Size of the compressed messages after compression */
+	private AtomicLong m_deflatedSize;
+	/** Accumulated compression time, in nanoseconds */
+	private AtomicLong m_deflateTime;
+	/** Number of messages uncompressed */
+	private AtomicLong m_inflatedCount;
+	/** Size of the received messages before uncompression */
+	private AtomicLong m_inflatedSize;
+	/** Size of the received messages after uncompression */
+	private AtomicLong m_inflatedRaw;
+	/** Accumulated uncompression time, in nanoseconds */
+	private AtomicLong m_inflateTime;
+
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	public CompressionStats()
+	{
+		m_deflatedCount = new AtomicLong(0);
+		m_deflatedRaw = new AtomicLong(0);
+		m_deflatedSize = new AtomicLong(0);
+		m_deflateTime = new AtomicLong(0);
+		m_inflatedCount = new AtomicLong(0);
+		m_inflatedSize = new AtomicLong(0);
+		m_inflatedRaw = new AtomicLong(0);
+		m_inflateTime = new AtomicLong(0);
+	}
+
+	/***************************************************************************
+	 * Account an outgoing compressed message
+	 **************************************************************************/
+	public void recordDeflate(int rawSize, int compressedSize, long nanos)
+	{
+		m_deflatedCount.incrementAndGet();
+		m_deflatedRaw.addAndGet(rawSize);
+		m_deflatedSize.addAndGet(compressedSize);
+		m_deflateTime.addAndGet(nanos);
+	}
+
+	/***************************************************************************
+	 * Account an incoming compressed message
+	 **************************************************************************/
+	public void recordInflate(int compressedSize, int rawSize, long nanos)
+	{
+		m_inflatedCount.incrementAndGet();
+		m_inflatedSize.addAndGet(compressedSize);
+		m_inflatedRaw.addAndGet(rawSize);
+		m_inflateTime.addAndGet(nanos);
+	}
+
+	/***************************************************************************
+	 * Number of outgoing messages sent compressed
+	 **************************************************************************/
+	public long getDeflatedCount()
+	{
+		return m_deflatedCount.get();
+	}
+
+	/***************************************************************************
+	 * Number of incoming messages received compressed
+	 **************************************************************************/
+	public long getInflatedCount()
+	{
+		return m_inflatedCount.get();
+	}
+
+	/***************************************************************************
+	 * Compressed to original size ratio of the outgoing messages
+	 **************************************************************************/
+	public double getDeflateRatio()
+	{
+		return ratio(m_deflatedSize.get(), m_deflatedRaw.get());
+	}
+
+	/***************************************************************************
+	 * Compressed to original size ratio of the incoming messages
+	 **************************************************************************/
+	public double getInflateRatio()
+	{
+		return ratio(m_inflatedSize.get(), m_inflatedRaw.get());
+	}
+
+	/***************************************************************************
+	 * Average compression time, in microseconds
+	 **************************************************************************/
+	public long getAverageDeflateTime()
+	{
+		long count = m_deflatedCount.get();
+		if (count == 0) return 0;
+		return m_deflateTime.get() / count / 1000;
+	}
+
+	/***************************************************************************
+	 * Average uncompression time, in microseconds
+	 **************************************************************************/
+	public long getAverageInflateTime()
+	{
+		long count = m_inflatedCount.get();
+		if (count == 0) return 0;
+		return m_inflateTime.get() / count / 1000;
+	}
+
+	/***************************************************************************
+	 * Size ratio, 1 if there is no data
+	 **************************************************************************/
+	private static double ratio(long compressed, long raw)
+	{
+		if (raw == 0) return 1.0;
+		return (double) compressed / (double) raw;
+	}
+}
@@ -0,0 +1,408 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.messages
+// 
+// FILE      : DataContainerParser.java
+//
+// DATE      : 2026-10-18 13:45
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.messages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.astra.ses.spell.gui.core.interfaces.IMessageField;
+import com.astra.ses.spell.gui.core.model.types.DataContainer;
+import com.astra.ses.spell.gui.core.model.types.DataVariable;
+import com.astra.ses.spell.gui.core.model.types.ValueFormat;
+import com.astra.ses.spell.gui.core.model.types.ValueType;
+
+/*******************************************************************************
+ * @brief Builds the variables of a data container from a variable list.
+ *
+ *        Variables are separated by VARIABLE_SEPARATOR, and the properties
+ *        of a variable by VARIABLE_PROPERTY_SEPARATOR. The list is scanned
+ *        once, without splitting it first. It may be given in pieces as it
+ *        arrives: a variable is added once the separator following it, or
+ *        the end of the list, is seen. Empty entries are ignored. Not
+ *        thread safe.
+ ******************************************************************************/
+public class DataContainerParser
+{
+	/** Variable separator character */
+	private static final char VARIABLE_SEPARATOR = IMessageField.VARIABLE_SEPARATOR.charAt(0);
+	/** Property separator character */
+	private static final char PROPERTY_SEPARATOR = IMessageField.VARIABLE_PROPERTY_SEPARATOR.charAt(0);
+	/** Number of properties of a typed dictionary variable */
+	private static final int MAX_FIELDS = 7;
+
+	/** Formats by name as received */
+	private static ConcurrentHashMap<String, ValueFormat> s_formats = new ConcurrentHashMap<String, ValueFormat>();
+	/** Types by name as received */
+	private static ConcurrentHashMap<String, ValueType> s_types = new ConcurrentHashMap<String, ValueType>();
+
+	/** Container to fill */
+	private DataContainer m_container;
+	/** True for input file contents, whose types are inferred from the values */
+	private boolean m_inferTypes;
+	/** Unterminated variable of the previous piece */
+	private StringBuilder m_pending;
+	/** Properties of the variable being built */
+	private String[] m_fields;
+	/** Optional progress monitor */
+	private IProgressMonitor m_monitor;
+	/** Number of variables added */
+	private int m_count;
+
+	/***************************************************************************
+	 * Constructor
+	 * 
+	 * @param container
+	 *            Container to fill
+	 * @param inferTypes
+	 *            True for input file contents (name and value only, types
+	 *            inferred), false for dictionary contents
+	 **************************************************************************/
+	public DataContainerParser(DataContainer container, boolean inferTypes)
+	{
+		m_container = container;
+		m_inferTypes = inferTypes;
+		m_pending = new StringBuilder();
+		m_fields = new String[MAX_FIELDS];
+		m_monitor = null;
+		m_count = 0;
+	}
+
+	/***************************************************************************
+	 * Report each variable on the given monitor, and stop when it is
+	 * cancelled
+	 **************************************************************************/
+	public void setMonitor(IProgressMonitor monitor)
+	{
+		m_monitor = monitor;
+	}
+
+	/***************************************************************************
+	 * Parse the next piece of the variable list
+	 **************************************************************************/
+	public void parse(String data)
+	{
+		int start = 0;
+		int length = data.length();
+		for (int pos = 0; pos < length; pos++)
+		{
+			if (data.charAt(pos) != VARIABLE_SEPARATOR) continue;
+			if (m_pending.length() > 0)
+			{
+				m_pending.append(data, start, pos);
+				parseVariable(m_pending.toString());
+				m_pending.setLength(0);
+			}
+			else if (pos > start)
+			{
+				parseVariable(data.substring(start, pos));
+			}
+			start = pos + 1;
+			if (isCanceled()) return;
+		}
+		m_pending.append(data, start, length);
+	}
+
+	/***************************************************************************
+	 * Parse the rest of the variable list
+	 **************************************************************************/
+	public void finish()
+	{
+		if (m_pending.length() > 0 && !isCanceled())
+		{
+			parseVariable(m_pending.toString());
+		}
+		m_pending.setLength(0);
+	}
+
+	/***************************************************************************
+	 * Number of variables added
+	 **************************************************************************/
+	public int getCount()
+	{
+		return m_count;
+	}
+
+	/***************************************************************************
+	 * Count the entries of a complete variable list, for progress reporting
+	 **************************************************************************/
+	public static int countVariables(String data)
+	{
+		int count = 1;
+		for (int pos = data.indexOf(VARIABLE_SEPARATOR); pos != -1; pos = data.indexOf(VARIABLE_SEPARATOR, pos + 1))
+		{
+			count++;
+		}
+		return count;
+	}
+
+	/***************************************************************************
+	 * Build a variable from its properties and add it to the container
+	 **************************************************************************/
+	private void parseVariable(String variableStr)
+	{
+		if (variableStr.trim().isEmpty()) return;
+		int count = splitFields(variableStr);
+		String varname = m_fields[0];
+		DataVariable var;
+		if (m_inferTypes)
+		{
+			var = createInferred(varname, (count == 2) ? m_fields[1] : "");
+		}
+		else
+		{
+			var = createTyped(varname, count);
+		}
+		m_container.addVariable(varname, var);
+		m_count++;
+		if (m_monitor != null)
+		{
+			m_monitor.subTask("Variable: " + varname);
+			m_monitor.worked(1);
+		}
+	}
+
+	/***************************************************************************
+	 * Build a dictionary variable. The value is mandatory; format, type,
+	 * range, expected values and confirmation come all together or not at
+	 * all.
+	 **************************************************************************/
+	private DataVariable createTyped(String varname, int count)
+	{
+		if (count < 2 || (count > 2 && count < MAX_FIELDS))
+		{
+			throw new ArrayIndexOutOfBoundsException("Incomplete variable: '" + varname + "'");
+		}
+		String value = m_fields[1];
+		String format = "";
+		String type = "";
+		String range = "";
+		String expected = "";
+		String confirm = "";
+		if (count > 2)
+		{
+			format = m_fields[2];
+			type = m_fields[3];
+			range = m_fields[4];
+			expected = m_fields[5];
+			confirm = m_fields[6];
+		}
+
+		ValueFormat formatValue = format.isEmpty() ? ValueFormat.NONE : getFormat(format);
+		ValueType typeValue = type.isEmpty() ? ValueType.UNTYPED : getType(type);
+		boolean confirmValue = !confirm.isEmpty() && confirm.equalsIgnoreCase("true");
+
+		String[] rangeValues = null;
+		if (range.indexOf(',') != -1)
+		{
+			rangeValues = splitList(range);
+			rangeValues[0] = rangeValues[0].trim();
+			rangeValues[1] = rangeValues[1].trim();
+		}
+		String[] expectedValues = null;
+		if (expected.indexOf(',') != -1)
+		{
+			expectedValues = splitList(expected);
+			boolean unquote = typeValue.equals(ValueType.STRING);
+			for (int idx = 0; idx < expectedValues.length; idx++)
+			{
+				expectedValues[idx] = unquote ? removeQuotes(expectedValues[idx].trim()) : expectedValues[idx].trim();
+			}
+		}
+		return new DataVariable(varname, value, rangeValues, expectedValues, formatValue, typeValue, confirmValue);
+	}
+
+	/***************************************************************************
+	 * Build an input file variable, inferring its type and format
+	 **************************************************************************/
+	private DataVariable createInferred(String varname, String value)
+	{
+		ValueType type = DataVariable.inferTypeFromValue(value);
+		ValueFormat format = ValueFormat.NONE;
+		if (type.equals(ValueType.LONG))
+		{
+			if (value.startsWith("0x"))
+			{
+				format = ValueFormat.HEX;
+			}
+			else if (value.startsWith("0b"))
+			{
+				format = ValueFormat.BIN;
+			}
+			else if (value.startsWith("0"))
+			{
+				format = ValueFormat.OCT;
+			}
+			else
+			{
+				format = ValueFormat.DEC;
+			}
+		}
+		return new DataVariable(varname, value, null, null, format, type, false);
+	}
+
+	/***************************************************************************
+	 * Split the properties of a variable into m_fields, as String.split()
+	 * would: trailing empty properties are not counted.
+	 * 
+	 * @return The number of properties
+	 **************************************************************************/
+	private int splitFields(String variableStr)
+	{
+		int count = 0;
+		int nonEmpty = 0;
+		int start = 0;
+		int length = variableStr.length();
+		for (int pos = 0; pos <= length; pos++)
+		{
+			if (pos < length && variableStr.charAt(pos) != PROPERTY_SEPARATOR) continue;
+			if (count < MAX_FIELDS)
+			{
+				m_fields[count] = variableStr.substring(start, pos);
+			}
+			count++;
+			if (pos > start) nonEmpty = count;
+			start = pos + 1;
+		}
+		for (int idx = nonEmpty; idx < Math.min(count, MAX_FIELDS); idx++)
+		{
+			m_fields[idx] = "";
+		}
+		return nonEmpty;
+	}
+
+	/***************************************************************************
+	 * Split a bracketed, comma separated list, as String.split() would after
+	 * removing the brackets and trimming
+	 **************************************************************************/
+	private static String[] splitList(String list)
+	{
+		StringBuilder cleaned = new StringBuilder(list.length());
+		for (int pos = 0; pos < list.length(); pos++)
+		{
+			char c = list.charAt(pos);
+			if (c != '[' && c != ']') cleaned.append(c);
+		}
+		String str = cleaned.toString().trim();
+		List<String> items = new ArrayList<String>();
+		int start = 0;
+		int nonEmpty = 0;
+		for (int pos = 0; pos <= str.length(); pos++)
+		{
+			if (pos < str.length() && str.charAt(pos) != ',') continue;
+			items.add(str.substring(start, pos));
+			if (pos > start) nonEmpty = items.size();
+			start = pos + 1;
+		}
+		return items.subList(0, nonEmpty).toArray(new String[nonEmpty]);
+	}
+
+	/***************************************************************************
+	 * Remove the quote characters of a string
+	 **************************************************************************/
+	private static String removeQuotes(String str)
+	{
+		if (str.indexOf('\'') == -1 && str.indexOf('"') == -1) return str;
+		StringBuilder result = new StringBuilder(str.length());
+		for (int pos = 0; pos < str.length(); pos++)
+		{
+			char c = str.charAt(pos);
+			if (c != '\'' && c != '"') result.append(c);
+		}
+		return result.toString();
+	}
+
+	/***************************************************************************
+	 * Format of the given name, case insensitive
+	 **************************************************************************/
+	private static ValueFormat getFormat(String name)
+	{
+		ValueFormat format = s_formats.get(name);
+		if (format == null)
+		{
+			// Unknown names fail as before and are not cached
+			format = ValueFormat.valueOf(name.toUpperCase());
+			s_formats.put(name, format);
+		}
+		return format;
+	}
+
+	/***************************************************************************
+	 * Type of the given name, case insensitive. Unknown names give UNKNOWN.
+	 **************************************************************************/
+	private static ValueType getType(String name)
+	{
+		ValueType type = s_types.get(name);
+		if (type == null)
+		{
+			try
+			{
+				type = ValueType.valueOf(name.toUpperCase());
+			}
+			catch(Exception ex)
+			{
+				System.err.println("Failed to get type: '" + name + "'");
+				ex.printStackTrace();
+				type = ValueType.UNKNOWN;
+			}
+			s_types.put(name, type);
+		}
+		return type;
+	}
+
+	/***************************************************************************
+	 * Check if the monitor, if any, was cancelled
+	 **************************************************************************/
+	private boolean isCanceled()
+	{
+		return m_monitor != null && m_monitor.isCanceled();
+	}
+}
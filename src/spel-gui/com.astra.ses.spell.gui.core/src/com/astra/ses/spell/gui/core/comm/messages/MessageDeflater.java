@@ -0,0 +1,169 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.messages
+// 
+// FILE      : MessageDeflater.java
+//
+// DATE      : 2026-10-18 13:24
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.messages;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/*******************************************************************************
+ * @brief Compresses message data in GZIP format.
+ *
+ *        The deflater and the output buffer are reused between messages.
+ *        Compression is abandoned as soon as the output would not be
+ *        smaller than the input. Not thread safe.
+ ******************************************************************************/
+public class MessageDeflater
+{
+	/** GZIP member header: deflate method, no flags, unknown OS */
+	private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+	/** Size of the GZIP trailer (CRC and size) */
+	private static final int GZIP_TRAILER_LEN = 8;
+	/** Buffers larger than this are released after use */
+	private static final int RETAINED_CAPACITY = 1024 * 1024;
+
+	/** Holds the deflater */
+	private Deflater m_deflater;
+	/** Checksum of the input */
+	private CRC32 m_crc;
+	/** Output buffer */
+	private byte[] m_output;
+	/** Number of bytes in the output buffer */
+	private int m_length;
+	/** Counters to update, may be null */
+	private CompressionStats m_stats;
+
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	public MessageDeflater(CompressionStats stats)
+	{
+		m_deflater = new Deflater(Deflater.BEST_SPEED, true);
+		m_crc = new CRC32();
+		m_output = new byte[0];
+		m_length = 0;
+		m_stats = stats;
+	}
+
+	/***************************************************************************
+	 * Compress a slice of a buffer
+	 *
+	 * @return True if the data was compressed into a smaller size, in which
+	 *         case the result is available through getData()
+	 **************************************************************************/
+	public boolean deflate(byte[] data, int offset, int length)
+	{
+		long start = System.nanoTime();
+		if (m_output.length < length || m_output.length > Math.max(length, RETAINED_CAPACITY))
+		{
+			m_output = new byte[length];
+		}
+		// Only the input size is available: anything larger is no gain
+		int limit = length - GZIP_TRAILER_LEN;
+		if (limit <= GZIP_HEADER.length) return false;
+
+		System.arraycopy(GZIP_HEADER, 0, m_output, 0, GZIP_HEADER.length);
+		int count = GZIP_HEADER.length;
+		m_deflater.reset();
+		m_deflater.setInput(data, offset, length);
+		m_deflater.finish();
+		while (!m_deflater.finished())
+		{
+			if (count == limit) return false;
+			count += m_deflater.deflate(m_output, count, limit - count);
+		}
+
+		m_crc.reset();
+		m_crc.update(data, offset, length);
+		count = putIntLE(m_output, count, (int) m_crc.getValue());
+		count = putIntLE(m_output, count, length);
+		m_length = count;
+
+		if (m_stats != null)
+		{
+			m_stats.recordDeflate(length, m_length, System.nanoTime() - start);
+		}
+		return true;
+	}
+
+	/***************************************************************************
+	 * Compressed data array. Valid from zero to getLength().
+	 **************************************************************************/
+	public byte[] getData()
+	{
+		return m_output;
+	}
+
+	/***************************************************************************
+	 * Number of compressed bytes
+	 **************************************************************************/
+	public int getLength()
+	{
+		return m_length;
+	}
+
+	/***************************************************************************
+	 * Release the native resources
+	 **************************************************************************/
+	public void end()
+	{
+		m_deflater.end();
+	}
+
+	/***************************************************************************
+	 * Write a little-endian integer
+	 **************************************************************************/
+	private static int putIntLE(byte[] data, int offset, int value)
+	{
+		data[offset] = (byte) value;
+		data[offset + 1] = (byte) (value >> 8);
+		data[offset + 2] = (byte) (value >> 16);
+		data[offset + 3] = (byte) (value >> 24);
+		return offset + 4;
+	}
+}
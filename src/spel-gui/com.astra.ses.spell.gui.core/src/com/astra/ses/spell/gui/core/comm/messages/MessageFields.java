@@ -0,0 +1,334 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.messages
+// 
+// FILE      : MessageFields.java
+//
+// DATE      : 2026-10-18 13:20
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.messages;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.astra.ses.spell.gui.core.interfaces.IMessageField;
+
+/*******************************************************************************
+ * @brief Compact field table of a SPELL message.
+ *
+ *        Fields are kept in two flat arrays in insertion order. Messages
+ *        carry about twenty fields, so a linear lookup is cheaper than a
+ *        tree or hash map. Field names decoded from the wire are resolved to
+ *        the interned constants of IMessageField, so that known names are
+ *        not allocated per message and lookups usually match by identity.
+ *        Keys and values are UTF-8 on the wire, in both directions.
+ ******************************************************************************/
+public class MessageFields
+{
+	/** Key holding the message type */
+	public static final String FIELD_ROOT = "root";
+	/** Encoding of keys and values on the wire */
+	public static final Charset CHARSET = Charset.forName("UTF-8");
+
+	/** Initial number of slots */
+	private static final int INITIAL_CAPACITY = 16;
+	/** Size of the known names table, power of two */
+	private static final int NAMES_TABLE_SIZE = 512;
+
+	/** Known field names by hash slot */
+	private static final String[] s_names = new String[NAMES_TABLE_SIZE];
+	/** Known field names encoded as bytes, by hash slot */
+	private static final byte[][] s_nameBytes = new byte[NAMES_TABLE_SIZE][];
+
+	static
+	{
+		registerName(FIELD_ROOT);
+		for (Field field : IMessageField.class.getFields())
+		{
+			if (field.getName().startsWith("FIELD_") && field.getType() == String.class
+			        && Modifier.isStatic(field.getModifiers()))
+			{
+				try
+				{
+					registerName((String) field.get(null));
+				}
+				catch (IllegalAccessException ex)
+				{
+					// Interface constants are always accessible
+				}
+			}
+		}
+	}
+
+	/** Field names */
+	private String[] m_keys;
+	/** Field values */
+	private String[] m_values;
+	/** Number of fields */
+	private int m_size;
+
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	public MessageFields()
+	{
+		this(INITIAL_CAPACITY);
+	}
+
+	/***************************************************************************
+	 * Constructor with initial capacity
+	 **************************************************************************/
+	public MessageFields(int capacity)
+	{
+		m_keys = new String[Math.max(capacity, 1)];
+		m_values = new String[m_keys.length];
+		m_size = 0;
+	}
+
+	/***************************************************************************
+	 * Copy the contents of the given map
+	 **************************************************************************/
+	public MessageFields(Map<String, String> data)
+	{
+		this(data.size());
+		for (Map.Entry<String, String> entry : data.entrySet())
+		{
+			put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/***************************************************************************
+	 * Obtain the value of a field, or null if not present
+	 **************************************************************************/
+	public String get(String key)
+	{
+		int index = indexOf(key);
+		return (index < 0) ? null : m_values[index];
+	}
+
+	/***************************************************************************
+	 * Check if the field is present
+	 **************************************************************************/
+	public boolean containsKey(String key)
+	{
+		return indexOf(key) >= 0;
+	}
+
+	/***************************************************************************
+	 * Set the value of a field
+	 **************************************************************************/
+	public void put(String key, String value)
+	{
+		int index = indexOf(key);
+		if (index >= 0)
+		{
+			m_values[index] = value;
+			return;
+		}
+		if (m_size == m_keys.length)
+		{
+			String[] keys = new String[m_size * 2];
+			String[] values = new String[m_size * 2];
+			System.arraycopy(m_keys, 0, keys, 0, m_size);
+			System.arraycopy(m_values, 0, values, 0, m_size);
+			m_keys = keys;
+			m_values = values;
+		}
+		m_keys[m_size] = key;
+		m_values[m_size] = value;
+		m_size++;
+	}
+
+	/***************************************************************************
+	 * Number of fields
+	 **************************************************************************/
+	public int size()
+	{
+		return m_size;
+	}
+
+	/***************************************************************************
+	 * Name of the field at the given position
+	 **************************************************************************/
+	public String keyAt(int index)
+	{
+		return m_keys[index];
+	}
+
+	/***************************************************************************
+	 * Value of the field at the given position
+	 **************************************************************************/
+	public String valueAt(int index)
+	{
+		return m_values[index];
+	}
+
+	/***************************************************************************
+	 * Live view of the field names
+	 **************************************************************************/
+	public Set<String> keySet()
+	{
+		return new AbstractSet<String>()
+		{
+			@Override
+			public Iterator<String> iterator()
+			{
+				return new Iterator<String>()
+				{
+					private int m_next = 0;
+
+					public boolean hasNext()
+					{
+						return m_next < m_size;
+					}
+
+					public String next()
+					{
+						if (m_next >= m_size) throw new NoSuchElementException();
+						return m_keys[m_next++];
+					}
+
+					public void remove()
+					{
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+
+			@Override
+			public boolean contains(Object o)
+			{
+				return (o instanceof String) && indexOf((String) o) >= 0;
+			}
+
+			@Override
+			public int size()
+			{
+				return m_size;
+			}
+		};
+	}
+
+	/***************************************************************************
+	 * Obtain the field name stored in the given buffer slice. Known names
+	 * are returned as the interned constant without allocation.
+	 **************************************************************************/
+	public static String decodeName(byte[] data, int offset, int length)
+	{
+		int slot = hash(data, offset, length) & (NAMES_TABLE_SIZE - 1);
+		while (s_nameBytes[slot] != null)
+		{
+			byte[] candidate = s_nameBytes[slot];
+			if (candidate.length == length && regionEquals(candidate, data, offset))
+			{
+				return s_names[slot];
+			}
+			slot = (slot + 1) & (NAMES_TABLE_SIZE - 1);
+		}
+		return new String(data, offset, length, CHARSET);
+	}
+
+	/***************************************************************************
+	 * Position of the given key, or -1
+	 **************************************************************************/
+	private int indexOf(String key)
+	{
+		// Constant keys usually match by identity
+		for (int index = 0; index < m_size; index++)
+		{
+			if (m_keys[index] == key) return index;
+		}
+		for (int index = 0; index < m_size; index++)
+		{
+			if (m_keys[index].equals(key)) return index;
+		}
+		return -1;
+	}
+
+	/***************************************************************************
+	 * Add a name to the known names table
+	 **************************************************************************/
+	private static void registerName(String name)
+	{
+		byte[] bytes = name.getBytes(CHARSET);
+		int slot = hash(bytes, 0, bytes.length) & (NAMES_TABLE_SIZE - 1);
+		while (s_nameBytes[slot] != null)
+		{
+			if (s_names[slot].equals(name)) return;
+			slot = (slot + 1) & (NAMES_TABLE_SIZE - 1);
+		}
+		s_nameBytes[slot] = bytes;
+		s_names[slot] = name;
+	}
+
+	/***************************************************************************
+	 * Hash of a buffer slice
+	 **************************************************************************/
+	private static int hash(byte[] data, int offset, int length)
+	{
+		int hash = length;
+		for (int index = offset; index < offset + length; index++)
+		{
+			hash = 31 * hash + data[index];
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	/***************************************************************************
+	 * Compare a name with a buffer slice of the same length
+	 **************************************************************************/
+	private static boolean regionEquals(byte[] name, byte[] data, int offset)
+	{
+		for (int index = 0; index < name.length; index++)
+		{
+			if (name[index] != data[offset + index]) return false;
+		}
+		return true;
+	}
+}
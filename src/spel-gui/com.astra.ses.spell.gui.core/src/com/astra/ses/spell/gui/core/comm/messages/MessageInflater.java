@@ -0,0 +1,251 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.comm.messages
+// 
+// FILE      : MessageInflater.java
+//
+// DATE      : 2026-10-18 13:24
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.comm.messages;
+
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/*******************************************************************************
+ * @brief Uncompresses GZIP message data.
+ *
+ *        The inflater and the output buffer are reused between messages.
+ *        The output buffer is sized in advance from the uncompressed size
+ *        recorded in the GZIP trailer. Not thread safe.
+ ******************************************************************************/
+public class MessageInflater
+{
+	/** GZIP header flags */
+	private static final int FHCRC = 2;
+	private static final int FEXTRA = 4;
+	private static final int FNAME = 8;
+	private static final int FCOMMENT = 16;
+	/** Size of the fixed GZIP header */
+	private static final int GZIP_HEADER_LEN = 10;
+	/** Size of the GZIP trailer (CRC and size) */
+	private static final int GZIP_TRAILER_LEN = 8;
+	/** Initial size of the output buffer */
+	private static final int INITIAL_CAPACITY = 64 * 1024;
+	/** Buffers larger than this are released when no longer needed */
+	private static final int RETAINED_CAPACITY = 1024 * 1024;
+	/** Upper bound for trusting the size recorded in the trailer */
+	private static final int MAX_PRESIZE = 64 * 1024 * 1024;
+
+	/** Holds the inflater */
+	private Inflater m_inflater;
+	/** Checksum of the output */
+	private CRC32 m_crc;
+	/** Output buffer */
+	private byte[] m_output;
+	/** Counters to update, may be null */
+	private CompressionStats m_stats;
+
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	public MessageInflater(CompressionStats stats)
+	{
+		m_inflater = new Inflater(true);
+		m_crc = new CRC32();
+		m_output = new byte[INITIAL_CAPACITY];
+		m_stats = stats;
+	}
+
+	/***************************************************************************
+	 * Uncompress a slice of a buffer holding GZIP data
+	 *
+	 * @return The number of bytes available through getData()
+	 **************************************************************************/
+	public int inflate(byte[] data, int offset, int length) throws ZipException
+	{
+		long start = System.nanoTime();
+		int end = offset + length;
+		int pos = skipHeader(data, offset, end);
+		if (end - pos < GZIP_TRAILER_LEN)
+		{
+			throw new ZipException("Truncated GZIP data");
+		}
+		int expectedCrc = getIntLE(data, end - 8);
+		int expectedSize = getIntLE(data, end - 4);
+		if (expectedSize >= 0 && expectedSize <= MAX_PRESIZE)
+		{
+			reserve(expectedSize);
+		}
+		else
+		{
+			reserve(length * 4);
+		}
+
+		int count = 0;
+		m_inflater.reset();
+		m_inflater.setInput(data, pos, end - GZIP_TRAILER_LEN - pos);
+		try
+		{
+			while (!m_inflater.finished())
+			{
+				if (count == m_output.length)
+				{
+					byte[] larger = new byte[m_output.length * 2];
+					System.arraycopy(m_output, 0, larger, 0, count);
+					m_output = larger;
+				}
+				int inflated = m_inflater.inflate(m_output, count, m_output.length - count);
+				if (inflated == 0 && (m_inflater.needsInput() || m_inflater.needsDictionary()))
+				{
+					throw new ZipException("Truncated GZIP data");
+				}
+				count += inflated;
+			}
+		}
+		catch (DataFormatException ex)
+		{
+			throw new ZipException(ex.getLocalizedMessage());
+		}
+
+		m_crc.reset();
+		m_crc.update(m_output, 0, count);
+		if ((int) m_crc.getValue() != expectedCrc)
+		{
+			throw new ZipException("Corrupt GZIP data");
+		}
+		if (m_stats != null)
+		{
+			m_stats.recordInflate(length, count, System.nanoTime() - start);
+		}
+		return count;
+	}
+
+	/***************************************************************************
+	 * Uncompressed data array. Valid from zero to the size returned by the
+	 * last call to inflate().
+	 **************************************************************************/
+	public byte[] getData()
+	{
+		return m_output;
+	}
+
+	/***************************************************************************
+	 * Release the native resources
+	 **************************************************************************/
+	public void end()
+	{
+		m_inflater.end();
+	}
+
+	/***************************************************************************
+	 * Make sure the output buffer has at least the given size
+	 **************************************************************************/
+	private void reserve(int size)
+	{
+		if (m_output.length < size)
+		{
+			m_output = new byte[size];
+		}
+		else if (m_output.length > RETAINED_CAPACITY && size <= INITIAL_CAPACITY)
+		{
+			m_output = new byte[INITIAL_CAPACITY];
+		}
+	}
+
+	/***************************************************************************
+	 * Validate the GZIP header and return the position of the data
+	 **************************************************************************/
+	private static int skipHeader(byte[] data, int offset, int end) throws ZipException
+	{
+		if (end - offset < GZIP_HEADER_LEN || data[offset] != 0x1f || data[offset + 1] != (byte) 0x8b
+		        || data[offset + 2] != 8)
+		{
+			throw new ZipException("Not in GZIP format");
+		}
+		int flags = data[offset + 3] & 0xff;
+		int pos = offset + GZIP_HEADER_LEN;
+		if ((flags & FEXTRA) != 0)
+		{
+			if (pos + 2 > end) throw new ZipException("Truncated GZIP header");
+			pos += 2 + ((data[pos] & 0xff) | ((data[pos + 1] & 0xff) << 8));
+		}
+		if ((flags & FNAME) != 0)
+		{
+			pos = skipString(data, pos, end);
+		}
+		if ((flags & FCOMMENT) != 0)
+		{
+			pos = skipString(data, pos, end);
+		}
+		if ((flags & FHCRC) != 0)
+		{
+			pos += 2;
+		}
+		if (pos > end) throw new ZipException("Truncated GZIP header");
+		return pos;
+	}
+
+	/***************************************************************************
+	 * Skip a zero-terminated header string
+	 **************************************************************************/
+	private static int skipString(byte[] data, int pos, int end) throws ZipException
+	{
+		while (pos < end && data[pos] != 0)
+		{
+			pos++;
+		}
+		if (pos == end) throw new ZipException("Truncated GZIP header");
+		return pos + 1;
+	}
+
+	/***************************************************************************
+	 * Read a little-endian integer
+	 **************************************************************************/
+	private static int getIntLE(byte[] data, int offset)
+	{
+		return (data[offset] & 0xff) | ((data[offset + 1] & 0xff) << 8) | ((data[offset + 2] & 0xff) << 16)
+		        | ((data[offset + 3] & 0xff) << 24);
+	}
+}
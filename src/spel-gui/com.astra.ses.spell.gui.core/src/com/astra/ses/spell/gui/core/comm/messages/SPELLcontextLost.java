@@ -56,12 +56,17 @@ import com.astra.ses.spell.gui.core.interfaces.IMessageType;
 public class SPELLcontextLost extends SPELLmessageError
 {
 
-	public SPELLcontextLost(TreeMap<String, String> data)
+	public SPELLcontextLost(MessageFields data)
 	{
 		super(data);
 		setType(IMessageType.MSG_TYPE_ERROR);
 	}
 
+	public SPELLcontextLost(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	protected String getOrigin()
 	{
 		try
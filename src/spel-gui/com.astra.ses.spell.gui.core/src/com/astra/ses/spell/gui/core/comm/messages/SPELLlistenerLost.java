@@ -56,12 +56,17 @@ import com.astra.ses.spell.gui.core.interfaces.IMessageValue;
 public class SPELLlistenerLost extends SPELLmessageError
 {
 
-	public SPELLlistenerLost(TreeMap<String, String> data)
+	public SPELLlistenerLost(MessageFields data)
 	{
 		super(data);
 		setType(IMessageType.MSG_TYPE_ERROR);
 	}
 
+	public SPELLlistenerLost(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	protected String getOrigin()
 	{
 		return IMessageValue.MSG_SRC_SRV;
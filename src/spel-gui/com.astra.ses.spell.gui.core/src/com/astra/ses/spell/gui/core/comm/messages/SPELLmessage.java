@@ -48,11 +48,9 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.core.comm.messages;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.zip.GZIPInputStream;
 
 import com.astra.ses.spell.gui.core.interfaces.IMessageField;
 
@@ -69,14 +67,33 @@ public class SPELLmessage
 	// =========================================================================
 
 	// PRIVATE -----------------------------------------------------------------
-	/** Holds the XML data parsing class */
-	private TreeMap<String, String>	m_data;
+	/** Holds the message fields */
+	private MessageFields m_data;
 	/** Holds the compressed flag */
 	private boolean m_compressed;
+	/** Cached sequence number, published as a whole to reader threads */
+	private volatile SequenceCache m_sequence;
 
 	// PROTECTED ---------------------------------------------------------------
 	// PUBLIC ------------------------------------------------------------------
 
+	/***************************************************************************
+	 * Sequence number together with the string it was parsed from
+	 **************************************************************************/
+	private static final class SequenceCache
+	{
+		/** Sequence string */
+		final String text;
+		/** Sequence number */
+		final long value;
+
+		SequenceCache(String text, long value)
+		{
+			this.text = text;
+			this.value = value;
+		}
+	}
+
 	// =========================================================================
 	// # ACCESSIBLE METHODS
 	// =========================================================================
@@ -85,6 +102,14 @@ public class SPELLmessage
 	 * Message constructor
 	 **************************************************************************/
 	public SPELLmessage(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
+	/***************************************************************************
+	 * Message constructor over decoded fields
+	 **************************************************************************/
+	public SPELLmessage(MessageFields data)
 	{
 		m_data = data;
 		m_compressed = false;
@@ -95,7 +120,7 @@ public class SPELLmessage
 	 **************************************************************************/
 	public SPELLmessage()
 	{
-		m_data = new TreeMap<String, String>();
+		m_data = new MessageFields();
 		m_compressed = false;
 	}
 
@@ -121,12 +146,12 @@ public class SPELLmessage
 	 **************************************************************************/
 	public String dataStr()
 	{
-		String result = "";
-		for (String key : m_data.keySet())
+		StringBuilder result = new StringBuilder();
+		for (int index = 0; index < m_data.size(); index++)
 		{
-			result += key + "," + m_data.get(key) + ",";
+			result.append(m_data.keyAt(index)).append(',').append(m_data.valueAt(index)).append(',');
 		}
-		return result;
+		return result.toString();
 	}
 
 	/***************************************************************************
@@ -138,7 +163,7 @@ public class SPELLmessage
 	 **************************************************************************/
 	public String getType()
 	{
-		return m_data.get("root");
+		return m_data.get(MessageFields.FIELD_ROOT);
 	}
 
 	/***************************************************************************
@@ -149,7 +174,7 @@ public class SPELLmessage
 	 **************************************************************************/
 	public void setType(String type)
 	{
-		m_data.put("root", type);
+		m_data.put(MessageFields.FIELD_ROOT, type);
 	}
 
 	/***************************************************************************
@@ -206,7 +231,31 @@ public class SPELLmessage
 	{
 		String seq = m_data.get(IMessageField.FIELD_SEQUENCE);
 		if (seq == null) return -1;
-		return Long.parseLong(seq);
+		// The field table may be shared with copies, so the cache is keyed
+		// by the string it was parsed from
+		SequenceCache cache = m_sequence;
+		if (cache == null || seq != cache.text)
+		{
+			cache = new SequenceCache(seq, Long.parseLong(seq));
+			m_sequence = cache;
+		}
+		return cache.value;
+	}
+
+	/***************************************************************************
+	 * Obtain the procedure identifier this message refers to, if any.
+	 **************************************************************************/
+	public String getProcId()
+	{
+		return m_data.get(IMessageField.FIELD_PROC_ID);
+	}
+
+	/***************************************************************************
+	 * Obtain the data type of this message, if any.
+	 **************************************************************************/
+	public String getDataType()
+	{
+		return m_data.get(IMessageField.FIELD_DATA_TYPE);
 	}
 
 	/***************************************************************************
@@ -297,13 +346,14 @@ public class SPELLmessage
 	 **************************************************************************/
 	public String get(String name) throws MessageException
 	{
-		if (!m_data.containsKey(name))
+		String value = m_data.get(name);
+		if (value == null && !m_data.containsKey(name))
 		{
 			System.err.println("Missing property in message " + getId() + ": " + name);
 			System.err.println(dataStr());
 			throw new MessageException("Message '" + getId() + "' has not such property: " + name);
 		}
-		return m_data.get(name);
+		return value;
 	}
 
 	/***************************************************************************
@@ -319,22 +369,24 @@ public class SPELLmessage
 	 **************************************************************************/
 	public static byte[] uncompress( byte[] data ) throws Exception
 	{
-		ByteArrayInputStream bis = new ByteArrayInputStream(data);
-		ByteArrayOutputStream bos = new ByteArrayOutputStream();
-		GZIPInputStream gis = new GZIPInputStream(bis);
-		int numRead = 0;
-		byte[] output = new byte[512];
-		while(numRead != -1)
+		return uncompress(data, 0, data.length);
+	}
+
+	/***************************************************************************
+	 * Uncompression algorithm over a slice of a buffer
+	 **************************************************************************/
+	public static byte[] uncompress( byte[] data, int offset, int length ) throws Exception
+	{
+		MessageInflater inflater = new MessageInflater(null);
+		try
+		{
+			int size = inflater.inflate(data, offset, length);
+			return Arrays.copyOf(inflater.getData(), size);
+		}
+		finally
 		{
-			numRead = gis.read(output, 0, output.length);
-			if (numRead >0)
-			{
-				bos.write(output,0,numRead);
-			}
+			inflater.end();
 		}
-		bis.close();
-		bos.close();
-		return bos.toByteArray();
 	}
 	
 	/***************************************************************************
@@ -342,7 +394,39 @@ public class SPELLmessage
 	 **************************************************************************/
 	public static TreeMap<String, String> fromData( byte[] data ) throws Exception
 	{
+		return fromData(data, 0, data.length);
+	}
+
+	/***************************************************************************
+	 * Extract tags from a slice of a buffer
+	 **************************************************************************/
+	public static TreeMap<String, String> fromData( byte[] data, int offset, int size ) throws Exception
+	{
+		MessageFields fields = decode(data, offset, size);
 		TreeMap<String, String> tags = new TreeMap<String, String>();
+		for (int index = 0; index < fields.size(); index++)
+		{
+			tags.put(fields.keyAt(index), fields.valueAt(index));
+		}
+		return tags;
+	}
+
+	/***************************************************************************
+	 * Extract fields
+	 **************************************************************************/
+	public static MessageFields decode( byte[] data ) throws Exception
+	{
+		return decode(data, 0, data.length);
+	}
+
+	/***************************************************************************
+	 * Extract fields from a slice of a buffer. Known field names are resolved
+	 * to the IMessageField constants.
+	 **************************************************************************/
+	public static MessageFields decode( byte[] data, int offset, int size ) throws Exception
+	{
+		MessageFields tags = new MessageFields();
+		int end = offset + size;
 
 	    String key = "";
 	    String value = "";
@@ -351,7 +435,7 @@ public class SPELLmessage
 
 	    try
 	    {
-		    for( int pos = 0 ; pos < data.length; )
+		    for( int pos = offset ; pos < end; )
 		    {
 		    	// Bytes are signed, and need to be converted to unsigned for the length calculation
 		    	b1 = (data[pos] >= 0) ? data[pos] : (short) (data[pos] + 256);
@@ -362,12 +446,13 @@ public class SPELLmessage
 		        // Get the key string
 		        try
 		        {
-		        	key = new String( data,  pos, length );
+		        	if (pos + length > end) throw new IndexOutOfBoundsException("Field exceeds message data");
+		        	key = MessageFields.decodeName( data, pos, length );
 		        }
 		        catch(Exception ex)
 		        {
 			    	System.err.println("Error processing key");
-		        	System.err.println("Data size   : " + data.length);
+		        	System.err.println("Data size   : " + size);
 		        	System.err.println("Position    : " + pos);
 		        	System.err.println("Value length: " + length);
 		        	throw ex;
@@ -388,12 +473,13 @@ public class SPELLmessage
 		        value = "";
 		        try
 		        {
-		        	value = new String( data, pos, length );
+		        	if (pos + length > end) throw new IndexOutOfBoundsException("Field exceeds message data");
+		        	value = new String( data, pos, length, MessageFields.CHARSET );
 		        }
 		        catch(Exception ex)
 		        {
 			    	System.err.println("Error processing value (key " + key + ")");
-		        	System.err.println("Data size   : " + data.length);
+		        	System.err.println("Data size   : " + size);
 		        	System.err.println("Position    : " + pos);
 		        	System.err.println("Value length: " + length);
 		        	throw ex;
@@ -407,9 +493,9 @@ public class SPELLmessage
 	    {
 	    	System.err.println("Error creating message from data: " + ex.getLocalizedMessage());
 	    	System.err.println("Created tags:");
-	    	for(String mkey : tags.keySet())
+	    	for(int index = 0; index < tags.size(); index++)
 	    	{
-	    		System.err.println( "     " + mkey + "==>" + tags.get(mkey));
+	    		System.err.println( "     " + tags.keyAt(index) + "==>" + tags.valueAt(index));
 	    	}
 	    }
 
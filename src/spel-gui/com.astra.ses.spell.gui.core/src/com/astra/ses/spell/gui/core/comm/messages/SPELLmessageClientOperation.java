@@ -64,7 +64,7 @@ public class SPELLmessageClientOperation extends SPELLmessageOneway
 	private ClientOperation	m_operation;
 	private String	        m_procId;
 
-	public SPELLmessageClientOperation(TreeMap<String, String> data)
+	public SPELLmessageClientOperation(MessageFields data)
 	{
 		super(data);
 		setId(IMessageId.MSG_CLIENT_OP);
@@ -115,6 +115,11 @@ public class SPELLmessageClientOperation extends SPELLmessageOneway
 		}
 	}
 
+	public SPELLmessageClientOperation(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	public ClientMode getClientMode()
 	{
 		return m_mode;
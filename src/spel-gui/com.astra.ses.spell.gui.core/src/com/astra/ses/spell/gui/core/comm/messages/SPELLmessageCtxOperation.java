@@ -59,7 +59,7 @@ public class SPELLmessageCtxOperation extends SPELLmessageOneway
 {
 	private ContextInfo	m_info;
 
-	public SPELLmessageCtxOperation(TreeMap<String, String> data)
+	public SPELLmessageCtxOperation(MessageFields data)
 	{
 		super(data);
 		m_info = null;
@@ -103,6 +103,11 @@ public class SPELLmessageCtxOperation extends SPELLmessageOneway
 		}
 	}
 
+	public SPELLmessageCtxOperation(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	public ContextInfo getContextInfo()
 	{
 		return m_info;
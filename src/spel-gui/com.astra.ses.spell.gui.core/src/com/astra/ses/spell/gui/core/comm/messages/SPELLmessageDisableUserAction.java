@@ -70,7 +70,7 @@ public class SPELLmessageDisableUserAction extends SPELLmessageOneway
 	 * 
 	 * @param data
 	 **************************************************************************/
-	public SPELLmessageDisableUserAction(TreeMap<String, String> data)
+	public SPELLmessageDisableUserAction(MessageFields data)
 	{
 		super(data);
 		setId(IMessageId.MSG_DISABLEUACTION);
@@ -84,6 +84,16 @@ public class SPELLmessageDisableUserAction extends SPELLmessageOneway
 		}
 	}
 
+	/***************************************************************************
+	 * Tag based constructor
+	 * 
+	 * @param data
+	 **************************************************************************/
+	public SPELLmessageDisableUserAction(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	/***************************************************************************
 	 * Default constructor
 	 **************************************************************************/
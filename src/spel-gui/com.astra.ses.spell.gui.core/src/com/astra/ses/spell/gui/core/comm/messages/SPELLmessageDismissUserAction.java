@@ -71,7 +71,7 @@ public class SPELLmessageDismissUserAction extends SPELLmessageOneway
 	 * 
 	 * @param data
 	 **************************************************************************/
-	public SPELLmessageDismissUserAction(TreeMap<String, String> data)
+	public SPELLmessageDismissUserAction(MessageFields data)
 	{
 		super(data);
 		setId(IMessageId.MSG_DISMISSUACTION);
@@ -85,6 +85,16 @@ public class SPELLmessageDismissUserAction extends SPELLmessageOneway
 		}
 	}
 
+	/***************************************************************************
+	 * Tag based constructor
+	 * 
+	 * @param data
+	 **************************************************************************/
+	public SPELLmessageDismissUserAction(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	/***************************************************************************
 	 * Get the user action to be performed on demand
 	 * 
@@ -98,7 +98,7 @@ public class SPELLmessageDisplay extends SPELLmessage
 	 *            XML data source
 	 * @throws MessageException
 	 **************************************************************************/
-	public SPELLmessageDisplay(TreeMap<String, String> data)
+	public SPELLmessageDisplay(MessageFields data)
 	        throws MessageException
 	{
 		super(data);
@@ -127,4 +127,17 @@ public class SPELLmessageDisplay extends SPELLmessage
 			m_scope = Scope.SYS;
 		}
 	}
+
+	/***************************************************************************
+	 * Constructor
+	 * 
+	 * @param data
+	 *            XML data source
+	 * @throws MessageException
+	 **************************************************************************/
+	public SPELLmessageDisplay(TreeMap<String, String> data)
+	        throws MessageException
+	{
+		this(new MessageFields(data));
+	}
 }
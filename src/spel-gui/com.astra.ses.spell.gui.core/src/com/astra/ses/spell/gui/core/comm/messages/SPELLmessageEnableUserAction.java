@@ -70,7 +70,7 @@ public class SPELLmessageEnableUserAction extends SPELLmessageOneway
 	 * 
 	 * @param data
 	 **************************************************************************/
-	public SPELLmessageEnableUserAction(TreeMap<String, String> data)
+	public SPELLmessageEnableUserAction(MessageFields data)
 	{
 		super(data);
 		setId(IMessageId.MSG_ENABLEUACTION);
@@ -84,6 +84,16 @@ public class SPELLmessageEnableUserAction extends SPELLmessageOneway
 		}
 	}
 
+	/***************************************************************************
+	 * Tag based constructor
+	 * 
+	 * @param data
+	 **************************************************************************/
+	public SPELLmessageEnableUserAction(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	/***************************************************************************
 	 * Get the user action to be performed on demand
 	 * 
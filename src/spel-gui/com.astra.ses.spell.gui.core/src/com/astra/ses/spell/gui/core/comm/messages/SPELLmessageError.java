@@ -56,12 +56,17 @@ import com.astra.ses.spell.gui.core.model.notification.ErrorData;
 
 public class SPELLmessageError extends SPELLmessage
 {
-	public SPELLmessageError(TreeMap<String, String> data)
+	public SPELLmessageError(MessageFields data)
 	{
 		super(data);
 		setType(IMessageType.MSG_TYPE_ERROR);
 	}
 
+	public SPELLmessageError(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	protected String getOrigin()
 	{
 		try
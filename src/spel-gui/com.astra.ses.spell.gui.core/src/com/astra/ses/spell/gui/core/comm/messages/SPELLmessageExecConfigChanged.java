@@ -53,10 +53,15 @@ import com.astra.ses.spell.gui.core.model.server.ExecutorConfig;
 
 public class SPELLmessageExecConfigChanged extends SPELLmessageOneway
 {
-	public SPELLmessageExecConfigChanged(TreeMap<String, String> data)
+	public SPELLmessageExecConfigChanged(MessageFields data)
 	{
 		super(data);
 	}
+
+	public SPELLmessageExecConfigChanged(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
 	
 	public String getProcId()
 	{
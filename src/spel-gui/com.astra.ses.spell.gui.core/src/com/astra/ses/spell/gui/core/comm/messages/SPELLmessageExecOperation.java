@@ -65,7 +65,7 @@ public class SPELLmessageExecOperation extends SPELLmessageOneway
 	private ExecutorStatus m_status;
 	private ExecutorOperationSummary m_summary;
 
-	public SPELLmessageExecOperation(TreeMap<String, String> data)
+	public SPELLmessageExecOperation(MessageFields data)
 	{
 		super(data);
 		try
@@ -104,6 +104,11 @@ public class SPELLmessageExecOperation extends SPELLmessageOneway
 		}
 	}
 
+	public SPELLmessageExecOperation(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	public String getProcId()
 	{
 		return m_procId;
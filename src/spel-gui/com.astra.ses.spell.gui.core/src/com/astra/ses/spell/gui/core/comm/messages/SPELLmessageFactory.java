@@ -48,9 +48,6 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.core.comm.messages;
 
-import java.util.Arrays;
-import java.util.TreeMap;
-
 import com.astra.ses.spell.gui.core.interfaces.IMessageField;
 import com.astra.ses.spell.gui.core.interfaces.IMessageId;
 import com.astra.ses.spell.gui.core.interfaces.IMessageType;
@@ -58,21 +55,46 @@ import com.astra.ses.spell.gui.core.interfaces.IMessageType;
 public class SPELLmessageFactory
 {
 	public static SPELLmessage createMessage( byte[] data )
+	{
+		return createMessage(data, 0, data.length);
+	}
+
+	/***************************************************************************
+	 * Create a message from a slice of a reception buffer. The slice is not
+	 * retained after this call returns.
+	 **************************************************************************/
+	public static SPELLmessage createMessage( byte[] data, int offset, int length )
+	{
+		return createMessage(data, offset, length, null);
+	}
+
+	/***************************************************************************
+	 * Create a message from a slice of a reception buffer, using the given
+	 * inflater for compressed data. The slice is not retained after this
+	 * call returns.
+	 **************************************************************************/
+	public static SPELLmessage createMessage( byte[] data, int offset, int length, MessageInflater inflater )
 	{
 		SPELLmessage msg = null;
 		try
 		{
-			byte[] toProcess = Arrays.copyOfRange(data, 1, data.length);
-			boolean compressed = (data[0] == '\2');
-			
-		    if (compressed)
+			boolean compressed = (data[offset] == '\2');
+			MessageFields tags = null;
+		    if (compressed && inflater != null)
+		    {
+		    	int size = inflater.inflate(data, offset + 1, length - 1);
+		    	tags = SPELLmessage.decode( inflater.getData(), 0, size );
+		    }
+		    else if (compressed)
+		    {
+		    	byte[] toProcess = SPELLmessage.uncompress(data, offset + 1, length - 1);
+		    	tags = SPELLmessage.decode( toProcess );
+		    }
+		    else
 		    {
-//		    	SPELLmessage.dumpData(toProcess);
-		    	toProcess = SPELLmessage.uncompress(toProcess);
-//		    	SPELLmessage.dumpData(toProcess);
+		    	tags = SPELLmessage.decode( data, offset + 1, length - 1 );
 		    }
-			TreeMap<String, String> tags = SPELLmessage.fromData( toProcess );
-			String msgTypeStr = tags.get("root");
+			String msgTypeStr = tags.get(MessageFields.FIELD_ROOT);
 			if (msgTypeStr.equals(IMessageType.MSG_TYPE_WRITE))
 			{
 				msg = new SPELLmessageDisplay(tags);
@@ -55,9 +55,6 @@ import com.astra.ses.spell.gui.core.interfaces.IMessageId;
 import com.astra.ses.spell.gui.core.interfaces.IMessageValue;
 import com.astra.ses.spell.gui.core.model.server.TransferData;
 import com.astra.ses.spell.gui.core.model.types.DataContainer;
-import com.astra.ses.spell.gui.core.model.types.DataVariable;
-import com.astra.ses.spell.gui.core.model.types.ValueFormat;
-import com.astra.ses.spell.gui.core.model.types.ValueType;
 
 public class SPELLmessageGetDictionary extends SPELLmessageRequest
 {
@@ -106,88 +103,10 @@ public class SPELLmessageGetDictionary extends SPELLmessageRequest
 	
 	public static void updateContainer( String valueList, DataContainer container, IProgressMonitor monitor )
 	{
-		String[] varData = valueList.split(IMessageField.VARIABLE_SEPARATOR);
-		monitor.beginTask("Updating data container variables", varData.length);
-		for( int index=0; index< varData.length; index++)
-		{
-			if (monitor.isCanceled())
-			{
-				return;
-			}
-			String variableStr = varData[index];
-			String[] fields = variableStr.split(IMessageField.VARIABLE_PROPERTY_SEPARATOR);
-			monitor.subTask("Variable: " + fields[0]);
-			monitor.worked(1);
-			
-			String varname = fields[0];
-			String value = fields[1];
-			String format = "";
-			String type = "";
-			String range = "";
-			String expected = "";
-			String confirm = "";
-
-			if (fields.length>2)
-			{
-				format = fields[2];
-				type = fields[3];
-				range = fields[4];
-				expected = fields[5];
-				confirm = fields[6];
-			}
-
-			ValueFormat formatValue = ValueFormat.NONE;
-			ValueType typeValue = ValueType.UNTYPED;
-			boolean confirmValue = false;
-			
-			String[] rangeValues = null;
-			String[] expectedValues = null;
-			if (range.contains(","))
-			{
-				range = range.replace("[","").replace("]","").trim();
-				rangeValues = range.split(",");
-				rangeValues[0] = rangeValues[0].trim();
-				rangeValues[1] = rangeValues[1].trim();
-			}
-			if (!format.isEmpty())
-			{
-				formatValue = ValueFormat.valueOf(format.toUpperCase());
-			}
-			if (!type.isEmpty())
-			{
-				try
-				{
-					typeValue = ValueType.valueOf(type.toUpperCase());
-				}
-				catch(Exception ex)
-				{
-					System.err.println("Failed to get type: '" + variableStr + "'");
-					ex.printStackTrace();
-					typeValue = ValueType.UNKNOWN;
-				}
-			}
-			if (!confirm.isEmpty())
-			{
-				confirmValue = Boolean.parseBoolean(confirm.toLowerCase());
-			}
-			if (expected.contains(","))
-			{
-				expected = expected.replace("[","").replace("]","").trim();
-				expectedValues = expected.split(",");
-				for( int idx = 0; idx<expectedValues.length; idx++)
-				{
-					if (typeValue.equals(ValueType.STRING))
-					{
-						expectedValues[idx] = expectedValues[idx].trim().replace("'","").replace("\"", "");
-					}
-					else
-					{
-						expectedValues[idx] = expectedValues[idx].trim();
-					}
-				}
-			}
-			DataVariable var = new DataVariable(varname, value,rangeValues, expectedValues, formatValue, typeValue, confirmValue);
-			container.addVariable(varname, var);
-		}
+		monitor.beginTask("Updating data container variables", DataContainerParser.countVariables(valueList));
+		DataContainerParser parser = new DataContainerParser(container, false);
+		parser.setMonitor(monitor);
+		parser.parse(valueList);
+		parser.finish();
 	}
 }
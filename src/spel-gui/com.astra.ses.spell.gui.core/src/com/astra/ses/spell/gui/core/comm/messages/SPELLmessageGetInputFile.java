@@ -53,9 +53,6 @@ import com.astra.ses.spell.gui.core.interfaces.IMessageId;
 import com.astra.ses.spell.gui.core.interfaces.IMessageValue;
 import com.astra.ses.spell.gui.core.model.server.TransferData;
 import com.astra.ses.spell.gui.core.model.types.DataContainer;
-import com.astra.ses.spell.gui.core.model.types.DataVariable;
-import com.astra.ses.spell.gui.core.model.types.ValueFormat;
-import com.astra.ses.spell.gui.core.model.types.ValueType;
 
 public class SPELLmessageGetInputFile extends SPELLmessageRequest
 {
@@ -102,51 +99,10 @@ public class SPELLmessageGetInputFile extends SPELLmessageRequest
 	
 	public static void updateContainer( String valueList, DataContainer container, IProgressMonitor monitor )
 	{
-		String[] varData = valueList.split(IMessageField.VARIABLE_SEPARATOR);
-		monitor.beginTask("Updating input file variables", varData.length);
-		for( int index=0; index< varData.length; index++)
-		{
-			if (monitor.isCanceled())
-			{
-				return;
-			}
-			String variableStr = varData[index];
-			String[] fields = variableStr.split(IMessageField.VARIABLE_PROPERTY_SEPARATOR);
-			monitor.subTask("Variable: " + fields[0]);
-			monitor.worked(1);
-			
-			String varname = fields[0];
-			String value = "";
-			if (fields.length == 2)
-			{
-				value = fields[1];
-			}
-			
-			// Infer the format when reading from server input files
-			ValueType type = DataVariable.inferTypeFromValue(value);
-			ValueFormat format = ValueFormat.NONE;
-			if (type.equals(ValueType.LONG))
-			{
-				if (value.startsWith("0x"))
-				{
-					format = ValueFormat.HEX;
-				}
-				else if (value.startsWith("0b"))
-				{
-					format = ValueFormat.BIN;
-				}
-				else if (value.startsWith("0"))
-				{
-					format = ValueFormat.OCT;
-				}
-				else 
-				{
-					format = ValueFormat.DEC;
-				}
-			}
-
-			DataVariable var = new DataVariable(varname, value,null, null, format, type, false);
-			container.addVariable(varname, var);
-		}
+		monitor.beginTask("Updating input file variables", DataContainerParser.countVariables(valueList));
+		DataContainerParser parser = new DataContainerParser(container, true);
+		parser.setMonitor(monitor);
+		parser.parse(valueList);
+		parser.finish();
 	}
 }
@@ -72,7 +72,7 @@ public class SPELLmessageNotify extends SPELLmessageRequest
 	/***************************************************************************
 	 * Constructor
 	 **************************************************************************/
-	public SPELLmessageNotify(TreeMap<String, String> data)
+	public SPELLmessageNotify(MessageFields data)
 	{
 		super(data);
 		try
@@ -116,6 +116,14 @@ public class SPELLmessageNotify extends SPELLmessageRequest
 		}
 	}
 
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	public SPELLmessageNotify(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	/***************************************************************************
 	 * Obtain the item field
 	 **************************************************************************/
@@ -70,7 +70,7 @@ public class SPELLmessageNotifyAsync extends SPELLmessage
 	/***************************************************************************
 	 * Constructor
 	 **************************************************************************/
-	public SPELLmessageNotifyAsync(TreeMap<String, String> data)
+	public SPELLmessageNotifyAsync(MessageFields data)
 	{
 		super(data);
 		try
@@ -104,6 +104,14 @@ public class SPELLmessageNotifyAsync extends SPELLmessage
 		}
 	}
 
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	public SPELLmessageNotifyAsync(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	/***************************************************************************
 	 * Obtain the item field
 	 **************************************************************************/
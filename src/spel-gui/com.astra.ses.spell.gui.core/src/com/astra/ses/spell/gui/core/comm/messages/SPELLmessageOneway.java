@@ -61,11 +61,16 @@ public class SPELLmessageOneway extends SPELLmessage
 		super(msg);
 	}
 
-	public SPELLmessageOneway(TreeMap<String, String> data)
+	public SPELLmessageOneway(MessageFields data)
 	{
 		super(data);
 	}
 
+	public SPELLmessageOneway(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	public SPELLmessageOneway(String id)
 	{
 		super();
@@ -77,7 +77,7 @@ public class SPELLmessagePrompt extends SPELLmessageRequest
 	 * @param data
 	 *            XML data of the received SPELL prompt message
 	 ***************************************************************************/
-	public SPELLmessagePrompt(TreeMap<String, String> data)
+	public SPELLmessagePrompt(MessageFields data)
 	{
 		super(data);
 		try
@@ -124,6 +124,17 @@ public class SPELLmessagePrompt extends SPELLmessageRequest
 		}
 	}
 
+	/***************************************************************************
+	 * Constructor.
+	 * 
+	 * @param data
+	 *            XML data of the received SPELL prompt message
+	 ***************************************************************************/
+	public SPELLmessagePrompt(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	/***************************************************************************
 	 * Obtain the input data
 	 * 
@@ -75,7 +75,7 @@ public class SPELLmessagePromptEnd extends SPELLmessageOneway
 	 * @param data
 	 *            XML data of the received SPELL prompt message
 	 ***************************************************************************/
-	public SPELLmessagePromptEnd(TreeMap<String, String> data)
+	public SPELLmessagePromptEnd(MessageFields data)
 	{
 		super(data);
 		try
@@ -120,6 +120,17 @@ public class SPELLmessagePromptEnd extends SPELLmessageOneway
 		}
 	}
 
+	/***************************************************************************
+	 * Constructor.
+	 * 
+	 * @param data
+	 *            XML data of the received SPELL prompt message
+	 ***************************************************************************/
+	public SPELLmessagePromptEnd(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	/***************************************************************************
 	 * Obtain the input data
 	 * 
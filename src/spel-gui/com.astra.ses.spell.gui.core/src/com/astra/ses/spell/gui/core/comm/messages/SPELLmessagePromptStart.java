@@ -68,12 +68,23 @@ public class SPELLmessagePromptStart extends SPELLmessageOneway
 	 * @param data
 	 *            XML data of the received SPELL prompt message
 	 ***************************************************************************/
-	public SPELLmessagePromptStart(TreeMap<String, String> data)
+	public SPELLmessagePromptStart(MessageFields data)
 	{
 		super(data);
 		m_promptInput = SPELLmessagePromptHelper.createPromptData(this,true);
 	}
 
+	/***************************************************************************
+	 * Constructor.
+	 * 
+	 * @param data
+	 *            XML data of the received SPELL prompt message
+	 ***************************************************************************/
+	public SPELLmessagePromptStart(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	/***************************************************************************
 	 * Obtain the input data
 	 * 
@@ -54,11 +54,16 @@ import com.astra.ses.spell.gui.core.interfaces.IMessageType;
 
 public class SPELLmessageRequest extends SPELLmessage
 {
-	public SPELLmessageRequest(TreeMap<String, String> data)
+	public SPELLmessageRequest(MessageFields data)
 	{
 		super(data);
 	}
 
+	public SPELLmessageRequest(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	public SPELLmessageRequest( SPELLmessage msg )
 	{
 		super(msg);
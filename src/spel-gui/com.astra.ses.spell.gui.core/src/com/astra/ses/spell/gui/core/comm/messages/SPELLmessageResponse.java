@@ -54,11 +54,19 @@ import com.astra.ses.spell.gui.core.interfaces.IMessageType;
 
 public class SPELLmessageResponse extends SPELLmessage
 {
-	public SPELLmessageResponse(TreeMap<String, String> data)
+	/** True if the receiver of the request sends this response itself */
+	private boolean m_deferred = false;
+
+	public SPELLmessageResponse(MessageFields data)
 	{
 		super(data);
 	}
 
+	public SPELLmessageResponse(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	public SPELLmessageResponse(SPELLmessage request)
 	{
 		super();
@@ -68,4 +76,21 @@ public class SPELLmessageResponse extends SPELLmessage
 		setReceiver(request.getSender());
 	}
 
+	/***************************************************************************
+	 * Mark the response as sent later by the receiver of the request, once
+	 * processed. The dispatcher of the request shall not send it.
+	 **************************************************************************/
+	public void setDeferred()
+	{
+		m_deferred = true;
+	}
+
+	/***************************************************************************
+	 * Check if the response is sent by the receiver of the request
+	 **************************************************************************/
+	public boolean isDeferred()
+	{
+		return m_deferred;
+	}
+
 }
@@ -76,7 +76,7 @@ public class SPELLmessageSetUserAction extends SPELLmessageOneway
 	 * 
 	 * @param data
 	 **************************************************************************/
-	public SPELLmessageSetUserAction(TreeMap<String, String> data)
+	public SPELLmessageSetUserAction(MessageFields data)
 	{
 		super(data);
 		setId(IMessageId.MSG_SETUACTION);
@@ -94,6 +94,16 @@ public class SPELLmessageSetUserAction extends SPELLmessageOneway
 		}
 	}
 
+	/***************************************************************************
+	 * Tag based constructor
+	 * 
+	 * @param data
+	 **************************************************************************/
+	public SPELLmessageSetUserAction(TreeMap<String, String> data)
+	{
+		this(new MessageFields(data));
+	}
+
 	/***************************************************************************
 	 * Default constructor
 	 **************************************************************************/
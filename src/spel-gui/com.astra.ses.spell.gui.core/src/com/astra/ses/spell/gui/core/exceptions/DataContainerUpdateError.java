@@ -0,0 +1,130 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.exceptions
+// 
+// FILE      : DataContainerUpdateError.java
+//
+// DATE      : 2026-10-18 13:44
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.exceptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/*******************************************************************************
+ * @brief Failure to update some of the variables of a data container
+ ******************************************************************************/
+public class DataContainerUpdateError extends ContextError
+{
+	private final static long	serialVersionUID	= 0;
+
+	/** Error of each variable that failed, in update order */
+	private Map<String, String> m_failures;
+	/** Variables not sent since the update was stopped, in update order */
+	private List<String> m_notAttempted;
+
+	/***************************************************************************
+	 * Constructor
+	 * 
+	 * @param failures
+	 *            Error of each variable that failed
+	 **************************************************************************/
+	public DataContainerUpdateError(Map<String, String> failures)
+	{
+		this(failures, new ArrayList<String>());
+	}
+
+	/***************************************************************************
+	 * Constructor
+	 * 
+	 * @param failures
+	 *            Error of each variable that failed
+	 * @param notAttempted
+	 *            Variables not sent since the update was stopped
+	 **************************************************************************/
+	public DataContainerUpdateError(Map<String, String> failures, List<String> notAttempted)
+	{
+		super(joinErrors(failures, notAttempted));
+		m_failures = Collections.unmodifiableMap(failures);
+		m_notAttempted = Collections.unmodifiableList(notAttempted);
+	}
+
+	/***************************************************************************
+	 * Error of each variable that failed, by variable name
+	 **************************************************************************/
+	public Map<String, String> getFailures()
+	{
+		return m_failures;
+	}
+
+	/***************************************************************************
+	 * Variables not sent because the update was stopped by a failure, a
+	 * cancellation or a connection loss. The modified variables in neither
+	 * list were updated, and are saved in the container.
+	 **************************************************************************/
+	public List<String> getNotAttempted()
+	{
+		return m_notAttempted;
+	}
+
+	/***************************************************************************
+	 * One line per error
+	 **************************************************************************/
+	private static String joinErrors(Map<String, String> failures, List<String> notAttempted)
+	{
+		StringBuilder errors = new StringBuilder();
+		for (String error : failures.values())
+		{
+			if (errors.length() > 0) errors.append("\n");
+			errors.append(error);
+		}
+		if (!notAttempted.isEmpty())
+		{
+			if (errors.length() > 0) errors.append("\n");
+			errors.append("Update stopped, " + notAttempted.size() + " variables not sent");
+		}
+		return errors.toString();
+	}
+}
@@ -48,6 +48,8 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.core.interfaces;
 
+import java.util.concurrent.Future;
+
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageResponse;
 
@@ -60,6 +62,12 @@ public interface IBaseProxy extends IService
 	 **************************************************************************/
 	public void setResponseTimeout(long timeoutUSecs);
 
+	/***************************************************************************
+	 * Set the minimum size of outgoing messages to be compressed, zero to
+	 * disable compression
+	 **************************************************************************/
+	public void setCompressionThreshold(int threshold);
+
 	/***************************************************************************
 	 * Check if the connection is established
 	 * 
@@ -97,6 +105,25 @@ public interface IBaseProxy extends IService
 	 **************************************************************************/
 	public SPELLmessage sendRequest( SPELLmessage msg, long timeout ) throws Exception;
 
+	/***************************************************************************
+	 * Perform a request with default timeout, without waiting for the
+	 * response. Use checkResponse() to validate the result.
+	 **************************************************************************/
+	public Future<SPELLmessage> sendRequestAsync( SPELLmessage msg );
+
+	/***************************************************************************
+	 * Perform a request with timeout, without waiting for the response
+	 **************************************************************************/
+	public Future<SPELLmessage> sendRequestAsync( SPELLmessage msg, long timeout );
+
+	/***************************************************************************
+	 * Wait for the response of an asynchronous request and check it
+	 * 
+	 * @throws RequestException
+	 *             if there is no response or it is an error
+	 **************************************************************************/
+	public SPELLmessage checkResponse( SPELLmessage msg, Future<SPELLmessage> response ) throws Exception;
+
 	/***************************************************************************
 	 * Perform a request with timeout
 	 **************************************************************************/
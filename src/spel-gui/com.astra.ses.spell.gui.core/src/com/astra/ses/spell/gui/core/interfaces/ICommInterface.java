@@ -48,6 +48,8 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.core.interfaces;
 
+import java.util.concurrent.Future;
+
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
 import com.astra.ses.spell.gui.core.exceptions.CommException;
 import com.astra.ses.spell.gui.core.model.server.ServerInfo;
@@ -88,6 +90,12 @@ public interface ICommInterface
 	 **************************************************************************/
 	public void setResponseTimeout(long timeoutUSecs);
 
+	/***************************************************************************
+	 * Set the minimum size of outgoing messages to be compressed, zero to
+	 * disable compression
+	 **************************************************************************/
+	public void setCompressionThreshold(int threshold);
+
 	/***************************************************************************
 	 * Assign the message receiver
 	 **************************************************************************/
@@ -109,6 +117,20 @@ public interface ICommInterface
 	public SPELLmessage sendRequest(SPELLmessage msg, long timeout)
 	        throws CommException;
 
+	/***************************************************************************
+	 * Send a request to peer without waiting for the response. Several
+	 * requests may be outstanding at the same time. The future yields null
+	 * if the request times out or the connection is closed.
+	 **************************************************************************/
+	public Future<SPELLmessage> sendRequestAsync(SPELLmessage msg) throws CommException;
+
+	/***************************************************************************
+	 * Send a request to peer without waiting for the response, using a
+	 * custom timeout
+	 **************************************************************************/
+	public Future<SPELLmessage> sendRequestAsync(SPELLmessage msg, long timeout)
+	        throws CommException;
+
 	/***************************************************************************
 	 * Send a message to peer
 	 **************************************************************************/
@@ -366,6 +366,10 @@ public interface IContextProxy extends IBaseProxy
 	 *            the procedure's id
 	 * @param container
 	 * 			  the container
+	 * @throws DataContainerUpdateError
+	 *            if some variables could not be updated. It also lists the
+	 *            variables not sent when the update stopped part-way. The
+	 *            variables updated are saved in the container.
 	 **************************************************************************/
 	public void updateDataContainer(String procId, DataContainer container, boolean mergeNew, IProgressMonitor monitor ) throws Exception;
 	
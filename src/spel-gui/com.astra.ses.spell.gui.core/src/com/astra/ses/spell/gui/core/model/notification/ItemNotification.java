@@ -48,7 +48,8 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.core.model.notification;
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import com.astra.ses.spell.gui.core.model.types.ItemType;
@@ -67,15 +68,15 @@ public class ItemNotification extends NotificationData
 	// PROTECTED ---------------------------------------------------------------
 	// PUBLIC ------------------------------------------------------------------
 	/** Holds the item name */
-	private List<String>	m_itemName	   = new LinkedList<String>();
+	private List<String>	m_itemName	   = Collections.emptyList();
 	/** Holds the item value */
-	private List<String>	m_itemValue	   = new LinkedList<String>();
+	private List<String>	m_itemValue	   = Collections.emptyList();
 	/** Holds the item status */
-	private List<String>	m_itemStatus	= new LinkedList<String>();
+	private List<String>	m_itemStatus	= Collections.emptyList();
 	/** Holds the item time */
-	private List<String>	m_itemTime	   = new LinkedList<String>();
+	private List<String>	m_itemTime	   = Collections.emptyList();
 	/** Holds the item comments */
-	private List<String>	m_itemComments	= new LinkedList<String>();
+	private List<String>	m_itemComments	= Collections.emptyList();
 	/** Holds the item type */
 	private ItemType	      m_itemType;
 
@@ -151,27 +152,24 @@ public class ItemNotification extends NotificationData
 	}
 
 	/***************************************************************************
-	 * Set item name
+	 * Set items from the ",," separated lists of the message
 	 **************************************************************************/
 	public void setItems(String names, String values, String status,
 	        String comments, String times)
 	{
-		for (String name : names.split(",,"))
-			m_itemName.add(name);
-		for (String value : values.split(",,"))
-			m_itemValue.add(value);
-		for (String st : status.split(",,"))
-			m_itemStatus.add(st);
-		for (String cmt : comments.split(",,"))
-			m_itemComments.add(cmt);
-		for (String time : times.split(",,"))
+		m_itemName = split(names);
+		m_itemValue = split(values);
+		m_itemStatus = split(status);
+		m_itemComments = split(comments);
+		List<String> itemTimes = split(times);
+		for (int index = 0; index < itemTimes.size(); index++)
 		{
-			if (time.trim().isEmpty())
+			if (itemTimes.get(index).trim().isEmpty())
 			{
-				time = getTime();
+				itemTimes.set(index, getTime());
 			}
-			m_itemTime.add(time);
 		}
+		m_itemTime = itemTimes;
 	}
 
 	/***************************************************************************
@@ -210,6 +208,38 @@ public class ItemNotification extends NotificationData
 		return true;
 	}
 
+	/***************************************************************************
+	 * Split a ",," separated list into a fixed-size list. Trailing empty
+	 * elements are dropped, as String.split() does.
+	 **************************************************************************/
+	private static List<String> split(String list)
+	{
+		if (list.isEmpty()) return Arrays.asList(list);
+		int count = 1;
+		for (int index = list.indexOf(",,"); index != -1; index = list.indexOf(",,", index + 2))
+		{
+			count++;
+		}
+		String[] tokens = new String[count];
+		int start = 0;
+		for (int token = 0; token < count - 1; token++)
+		{
+			int end = list.indexOf(",,", start);
+			tokens[token] = list.substring(start, end);
+			start = end + 2;
+		}
+		tokens[count - 1] = list.substring(start);
+		while (count > 0 && tokens[count - 1].isEmpty())
+		{
+			count--;
+		}
+		if (count < tokens.length)
+		{
+			tokens = Arrays.copyOf(tokens, count);
+		}
+		return Arrays.asList(tokens);
+	}
+
 	/**
 	 * Debugging
 	 */
@@ -48,7 +48,6 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.core.model.notification;
 
-import java.util.LinkedList;
 import java.util.List;
 
 import com.astra.ses.spell.gui.core.model.types.ExecutionMode;
@@ -58,7 +57,7 @@ public class NotificationData implements Comparable<NotificationData>
 	/** Holds the procedure id */
 	private String	        m_procId;
 	/** Holds the call stack position. */
-	private List<String>	m_csp;
+	private StackPosition	m_csp;
 	/** Holds the number of executions of the current position */
 	private int	            m_numExecutions;
 	/** Holds the notification time */
@@ -79,31 +78,8 @@ public class NotificationData implements Comparable<NotificationData>
 	public NotificationData(String procId, String stack)
 	{
 		m_procId = procId;
-		m_csp = new LinkedList<String>();
-		m_numExecutions = 0;
-		String[] levels = stack.split(":");
-		int count = 0;
-		for (String element : levels)
-		{
-			if (count == levels.length - 1)
-			{
-				String[] tokens = element.split("/");
-				if (tokens.length > 1)
-				{
-					m_numExecutions = Integer.parseInt(tokens[1]);
-					m_csp.add(tokens[0]);
-				}
-				else
-				{
-					m_csp.add(element);
-				}
-			}
-			else
-			{
-				m_csp.add(element);
-			}
-			count++;
-		}
+		m_csp = StackPosition.parse(stack);
+		m_numExecutions = m_csp.getNumExecutions();
 		m_time = "";
 		m_mode = ExecutionMode.PROCEDURE;
 		m_sequence = new Long(-1);
@@ -120,8 +96,7 @@ public class NotificationData implements Comparable<NotificationData>
 	public NotificationData(String procId, List<String> stack, int numExecutions)
 	{
 		m_procId = procId;
-		m_csp = new LinkedList<String>();
-		m_csp.addAll(stack);
+		m_csp = new StackPosition(stack, numExecutions);
 		m_numExecutions = numExecutions;
 		m_time = "";
 		m_mode = ExecutionMode.PROCEDURE;
@@ -145,9 +120,18 @@ public class NotificationData implements Comparable<NotificationData>
 	}
 
 	/***************************************************************************
-	 * 
+	 * Obtain the stack elements, alternating code identifiers and line
+	 * numbers. The list is read-only.
 	 ***************************************************************************/
 	public List<String> getStackPosition()
+	{
+		return m_csp.asList();
+	}
+
+	/***************************************************************************
+	 * Obtain the parsed stack position
+	 ***************************************************************************/
+	public StackPosition getStack()
 	{
 		return m_csp;
 	}
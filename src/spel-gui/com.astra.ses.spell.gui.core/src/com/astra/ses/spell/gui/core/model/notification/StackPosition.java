@@ -0,0 +1,240 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.model.notification
+// 
+// FILE      : StackPosition.java
+//
+// DATE      : 2026-10-18 13:34
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.model.notification;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*******************************************************************************
+ * @brief Parsed call stack position of a notification.
+ *
+ *        The stack string has the form code:line:code:line...[/executions],
+ *        one code and line pair per call level, outermost first. It is
+ *        parsed once: code identifiers are interned and line numbers are
+ *        kept as integers, so that the models can walk the stack without
+ *        any further parsing. Immutable.
+ ******************************************************************************/
+public class StackPosition
+{
+	/** Interned code identifiers */
+	private static ConcurrentHashMap<String, String> s_codeIds = new ConcurrentHashMap<String, String>();
+
+	/** Stack elements, alternating code identifiers and line numbers */
+	private String[] m_elements;
+	/** Line number of each level, -1 if invalid */
+	private int[] m_lines;
+	/** Number of executions of the current position */
+	private int m_numExecutions;
+	/** Read-only view of the elements */
+	private List<String> m_list;
+
+	/***************************************************************************
+	 * Parse a stack position string
+	 **************************************************************************/
+	public static StackPosition parse(String stack)
+	{
+		int count = 1;
+		for (int index = stack.indexOf(':'); index != -1; index = stack.indexOf(':', index + 1))
+		{
+			count++;
+		}
+		String[] elements = new String[count];
+		int start = 0;
+		for (int element = 0; element < count - 1; element++)
+		{
+			int end = stack.indexOf(':', start);
+			elements[element] = stack.substring(start, end);
+			start = end + 1;
+		}
+		elements[count - 1] = stack.substring(start);
+		// Trailing empty elements are dropped, as String.split() does
+		if (count > 1)
+		{
+			while (count > 0 && elements[count - 1].isEmpty())
+			{
+				count--;
+			}
+			if (count < elements.length)
+			{
+				elements = Arrays.copyOf(elements, count);
+			}
+		}
+		// The last element may carry the number of executions
+		int numExecutions = 0;
+		if (count > 0)
+		{
+			String last = elements[count - 1];
+			int slash = last.indexOf('/');
+			if (slash != -1 && slash < last.length() - 1)
+			{
+				int end = last.indexOf('/', slash + 1);
+				numExecutions = Integer.parseInt(last.substring(slash + 1, (end == -1) ? last.length() : end));
+				elements[count - 1] = last.substring(0, slash);
+			}
+		}
+		return new StackPosition(elements, numExecutions);
+	}
+
+	/***************************************************************************
+	 * Constructor
+	 *
+	 * @param stack
+	 *            Stack elements, alternating code identifiers and lines
+	 * @param numExecutions
+	 *            Number of executions of the current position
+	 **************************************************************************/
+	public StackPosition(List<String> stack, int numExecutions)
+	{
+		this(stack.toArray(new String[stack.size()]), numExecutions);
+	}
+
+	/***************************************************************************
+	 * Constructor. Takes ownership of the array.
+	 **************************************************************************/
+	private StackPosition(String[] elements, int numExecutions)
+	{
+		m_elements = elements;
+		m_numExecutions = numExecutions;
+		m_lines = new int[elements.length / 2];
+		for (int level = 0; level < m_lines.length; level++)
+		{
+			m_elements[level * 2] = internCodeId(m_elements[level * 2]);
+			m_lines[level] = parseLine(m_elements[level * 2 + 1]);
+		}
+		m_list = Collections.unmodifiableList(Arrays.asList(m_elements));
+	}
+
+	/***************************************************************************
+	 * Number of call levels, i.e. of complete code and line pairs
+	 **************************************************************************/
+	public int getDepth()
+	{
+		return m_lines.length;
+	}
+
+	/***************************************************************************
+	 * Code identifier of the given level, zero being the outermost
+	 **************************************************************************/
+	public String getCodeId(int level)
+	{
+		return m_elements[level * 2];
+	}
+
+	/***************************************************************************
+	 * Line number of the given level, zero being the outermost. Negative if
+	 * the line number is not valid.
+	 **************************************************************************/
+	public int getLine(int level)
+	{
+		return m_lines[level];
+	}
+
+	/***************************************************************************
+	 * Number of executions of the current position
+	 **************************************************************************/
+	public int getNumExecutions()
+	{
+		return m_numExecutions;
+	}
+
+	/***************************************************************************
+	 * Number of stack elements (code identifiers and line numbers)
+	 **************************************************************************/
+	public int size()
+	{
+		return m_elements.length;
+	}
+
+	/***************************************************************************
+	 * Read-only list of stack elements, alternating code identifiers and
+	 * line numbers
+	 **************************************************************************/
+	public List<String> asList()
+	{
+		return m_list;
+	}
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	public String toString()
+	{
+		return Arrays.toString(m_elements);
+	}
+
+	/***************************************************************************
+	 * Parse a line number, -1 if not a valid number
+	 **************************************************************************/
+	private static int parseLine(String text)
+	{
+		if (text == null) return -1;
+		int length = text.length();
+		if (length == 0 || length > 9) return -1;
+		int value = 0;
+		for (int index = 0; index < length; index++)
+		{
+			char c = text.charAt(index);
+			if (c < '0' || c > '9') return -1;
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	/***************************************************************************
+	 * Obtain the shared instance of a code identifier
+	 **************************************************************************/
+	private static String internCodeId(String codeId)
+	{
+		if (codeId == null) return null;
+		String shared = s_codeIds.putIfAbsent(codeId, codeId);
+		return (shared == null) ? codeId : shared;
+	}
+}
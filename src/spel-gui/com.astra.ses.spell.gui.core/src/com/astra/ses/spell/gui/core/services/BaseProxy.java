@@ -48,8 +48,9 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.core.services;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
 
 import com.astra.ses.spell.gui.core.comm.CommInterfaceFactory;
 import com.astra.ses.spell.gui.core.comm.messages.RequestException;
@@ -103,7 +104,7 @@ abstract class BaseProxy extends BaseService implements IBaseProxy, ICommListene
 		super(id);
 		m_interface = CommInterfaceFactory.createCommInterface();
 		m_interface.setCommListener(this);
-		m_subListeners = new ArrayList<ICommListener>();
+		m_subListeners = new CopyOnWriteArrayList<ICommListener>();
 	}
 
 	/***************************************************************************
@@ -158,6 +159,15 @@ abstract class BaseProxy extends BaseService implements IBaseProxy, ICommListene
 		m_interface.setResponseTimeout(timeoutUSecs);
 	}
 
+	/***************************************************************************
+	 * Set the compression threshold
+	 **************************************************************************/
+	@Override
+	public void setCompressionThreshold(int threshold)
+	{
+		m_interface.setCompressionThreshold(threshold);
+	}
+
 	/***************************************************************************
 	 * Check if the connection is established
 	 * 
@@ -225,23 +235,42 @@ abstract class BaseProxy extends BaseService implements IBaseProxy, ICommListene
 	 **************************************************************************/
 	protected SPELLmessage performRequest(SPELLmessage request, long timeout) throws Exception
 	{
-		SPELLmessage response = null;
-		try
-		{
-			if (request == null) return null;
+		if (request == null) return null;
 
-			if (!isConnected()) return null;
+		if (!isConnected()) return null;
 
-			//Logger.debug("Request: " + request.getId(), Level.COMM, this);
+		//Logger.debug("Request: " + request.getId(), Level.COMM, this);
 
-			if (timeout > 0)
-			{
-				response = m_interface.sendRequest(request, timeout);
-			}
-			else
-			{
-				response = m_interface.sendRequest(request);
-			}
+		return awaitResponse(request, performRequestAsync(request, timeout));
+	}
+
+	/***************************************************************************
+	 * Send a generic request without waiting for the response
+	 **************************************************************************/
+	protected Future<SPELLmessage> performRequestAsync(SPELLmessage request, long timeout)
+	{
+		if (timeout > 0)
+		{
+			return m_interface.sendRequestAsync(request, timeout);
+		}
+		else
+		{
+			return m_interface.sendRequestAsync(request);
+		}
+	}
+
+	/***************************************************************************
+	 * Wait for the response of a request sent with performRequestAsync(),
+	 * controlling the communication process
+	 * 
+	 * @throws RequestException
+	 **************************************************************************/
+	protected SPELLmessage awaitResponse(SPELLmessage request, Future<SPELLmessage> future) throws Exception
+	{
+		SPELLmessage response = null;
+		try
+		{
+			response = future.get();
 			checkRequestFailure(request, response);
 			//Logger.debug("Response received for " + request.getId(), Level.COMM, this);
 		}
@@ -316,6 +345,41 @@ abstract class BaseProxy extends BaseService implements IBaseProxy, ICommListene
 		}
 	}
 
+	/***************************************************************************
+	 * Perform a request without waiting for the response
+	 **************************************************************************/
+	@Override
+	public Future<SPELLmessage> sendRequestAsync( SPELLmessage message )
+	{
+		return performRequestAsync(message, 0);
+	}
+
+	/***************************************************************************
+	 * Perform a request without waiting for the response
+	 **************************************************************************/
+	@Override
+	public Future<SPELLmessage> sendRequestAsync( SPELLmessage message, long timeout )
+	{
+		return performRequestAsync(message, timeout);
+	}
+
+	/***************************************************************************
+	 * Wait for the response of an asynchronous request
+	 **************************************************************************/
+	@Override
+	public SPELLmessage checkResponse( SPELLmessage message, Future<SPELLmessage> response ) throws Exception
+	{
+		try
+		{
+			return awaitResponse(message, response);
+		}
+		catch(Exception ex)
+		{
+			ex.printStackTrace();
+			throw ex;
+		}
+	}
+
 	/***************************************************************************
 	 * Download a file through the proxy connection
 	 **************************************************************************/
@@ -431,9 +495,25 @@ abstract class BaseProxy extends BaseService implements IBaseProxy, ICommListene
 	 */
 	@Override
 	public void receiveMessage(SPELLmessage msg)
+	{
+		dispatchMessage(msg);
+	}
+
+	/***************************************************************************
+	 * Process an incoming message and forward it to the sub-listeners.
+	 * Subclasses may defer both steps, keeping them in this order.
+	 **************************************************************************/
+	protected void dispatchMessage(SPELLmessage msg)
 	{
 		processIncomingMessage(msg);
-		// Also forward to listeners
+		forwardMessage(msg);
+	}
+
+	/***************************************************************************
+	 * Forward an incoming message to the sub-listeners
+	 **************************************************************************/
+	protected void forwardMessage(SPELLmessage msg)
+	{
 		for(ICommListener listener : m_subListeners)
 		{
 			listener.receiveMessage(msg);
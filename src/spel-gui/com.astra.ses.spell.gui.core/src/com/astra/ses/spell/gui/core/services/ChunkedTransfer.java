@@ -0,0 +1,198 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.services
+// 
+// FILE      : ChunkedTransfer.java
+//
+// DATE      : 2026-10-18 13:42
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.services;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
+import com.astra.ses.spell.gui.core.model.types.Level;
+import com.astra.ses.spell.gui.core.utils.Logger;
+
+/*******************************************************************************
+ * @brief Retrieves data that the server sends in chunks.
+ *
+ *        The first response tells the total number of chunks. The following
+ *        chunks are then requested several at a time and handed over in
+ *        order, as they arrive, so that they can be processed while the
+ *        next ones are in transit. The server releases the chunked data
+ *        when the last chunk is requested, so that one is requested only
+ *        once all the others have been received.
+ ******************************************************************************/
+abstract class ChunkedTransfer<C>
+{
+	/** Maximum number of chunk requests in flight */
+	private static final int WINDOW = 4;
+
+	/** Proxy performing the requests */
+	private BaseProxy m_proxy;
+	/** Description of the transferred data */
+	private String m_taskName;
+	/** Time from the start to the first chunk processed, in nanoseconds */
+	private long m_firstChunkTime;
+	/** Time from the start to the last chunk processed, in nanoseconds */
+	private long m_totalTime;
+	/** Total number of chunks, zero if the data was not chunked */
+	private int m_totalChunks;
+
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	ChunkedTransfer(BaseProxy proxy, String taskName)
+	{
+		m_proxy = proxy;
+		m_taskName = taskName;
+		m_firstChunkTime = 0;
+		m_totalTime = 0;
+		m_totalChunks = 0;
+	}
+
+	/***************************************************************************
+	 * Create the request for the given chunk. Chunk zero is the initial
+	 * request.
+	 **************************************************************************/
+	protected abstract SPELLmessage createRequest(int chunkNo);
+
+	/***************************************************************************
+	 * Obtain the chunk carried by a response
+	 **************************************************************************/
+	protected abstract C decode(SPELLmessage response) throws Exception;
+
+	/***************************************************************************
+	 * Total number of chunks announced by a chunk, zero if not chunked
+	 **************************************************************************/
+	protected abstract int getTotalChunks(C chunk);
+
+	/***************************************************************************
+	 * Process a chunk. Chunks are processed in order, on the calling thread.
+	 **************************************************************************/
+	protected abstract void process(C chunk, int chunkNo) throws Exception;
+
+	/***************************************************************************
+	 * Retrieve and process all chunks
+	 * 
+	 * @return False if the transfer was cancelled or there was no response
+	 **************************************************************************/
+	boolean run(IProgressMonitor monitor) throws Exception
+	{
+		long start = System.nanoTime();
+		SPELLmessage response = m_proxy.performRequest(createRequest(0));
+		if (response == null || monitor.isCanceled()) return false;
+
+		C chunk = decode(response);
+		m_totalChunks = getTotalChunks(chunk);
+		if (m_totalChunks > 0)
+		{
+			monitor.beginTask(m_taskName, m_totalChunks);
+		}
+		process(chunk, 0);
+		m_firstChunkTime = System.nanoTime() - start;
+
+		ArrayDeque<SPELLmessage> requests = new ArrayDeque<SPELLmessage>();
+		ArrayDeque<Future<SPELLmessage>> responses = new ArrayDeque<Future<SPELLmessage>>();
+		int lastChunk = m_totalChunks - 1;
+		int nextChunk = 1;
+		try
+		{
+			for (int chunkNo = 1; chunkNo < m_totalChunks; chunkNo++)
+			{
+				monitor.worked(1);
+				monitor.subTask(m_taskName + ": chunk " + chunkNo + " of " + m_totalChunks);
+				if (!m_proxy.isConnected()) return false;
+				while (responses.size() < WINDOW && (nextChunk < lastChunk || (nextChunk == lastChunk && responses.isEmpty())))
+				{
+					SPELLmessage request = createRequest(nextChunk++);
+					requests.addLast(request);
+					responses.addLast(m_proxy.performRequestAsync(request, 0));
+				}
+				response = m_proxy.awaitResponse(requests.pollFirst(), responses.pollFirst());
+				if (response == null || monitor.isCanceled()) return false;
+				process(decode(response), chunkNo);
+			}
+		}
+		finally
+		{
+			// Leftovers of an interrupted transfer
+			for (Future<SPELLmessage> pending : responses)
+			{
+				pending.cancel(false);
+			}
+		}
+		m_totalTime = System.nanoTime() - start;
+		Logger.debug(m_taskName + ": " + m_totalChunks + " chunks, first processed after " + getFirstChunkTime()
+		        + " usec, all after " + getTotalTime() + " usec", Level.COMM, this);
+		return true;
+	}
+
+	/***************************************************************************
+	 * Time from the start to the first chunk processed, in microseconds
+	 **************************************************************************/
+	long getFirstChunkTime()
+	{
+		return m_firstChunkTime / 1000;
+	}
+
+	/***************************************************************************
+	 * Time from the start to the last chunk processed, in microseconds
+	 **************************************************************************/
+	long getTotalTime()
+	{
+		return m_totalTime / 1000;
+	}
+
+	/***************************************************************************
+	 * Total number of chunks, zero if the data was not chunked
+	 **************************************************************************/
+	int getTotalChunks()
+	{
+		return m_totalChunks;
+	}
+}
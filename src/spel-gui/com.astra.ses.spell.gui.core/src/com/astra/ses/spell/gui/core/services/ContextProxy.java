@@ -52,13 +52,16 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
 import com.astra.ses.spell.gui.core.CoreNotifications;
+import com.astra.ses.spell.gui.core.comm.messages.DataContainerParser;
 import com.astra.ses.spell.gui.core.comm.messages.MessageException;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLlistenerLost;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
@@ -111,6 +114,7 @@ import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageUpdateDictionary;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageViewNodeDepth;
 import com.astra.ses.spell.gui.core.exceptions.CommException;
 import com.astra.ses.spell.gui.core.exceptions.ContextError;
+import com.astra.ses.spell.gui.core.exceptions.DataContainerUpdateError;
 import com.astra.ses.spell.gui.core.interfaces.IContextProxy;
 import com.astra.ses.spell.gui.core.interfaces.IExecutorInfo;
 import com.astra.ses.spell.gui.core.interfaces.IMessageField;
@@ -153,11 +157,17 @@ public class ContextProxy extends BaseProxy implements IContextProxy
 {
 	/** Service identifier */
 	public static final String	ID	         = "com.astra.ses.spell.gui.ContextProxy";
+	/** Maximum number of variables in a group of dictionary updates */
+	private static final int UPDATE_GROUP_VARIABLES = 16;
+	/** Maximum size of the values in a group of dictionary updates */
+	private static final int UPDATE_GROUP_SIZE = 32 * 1024;
 
 	/** Currently used context */
 	private ContextInfo	       m_ctxInfo;
 	/** Timeout for opening processes */
 	private long	           m_openTimeout	= 0;
+	/** Processes the incoming messages of each procedure in order */
+	private ProcedureLanes	   m_procLanes;
 
 	/***************************************************************************
 	 * Constructor
@@ -168,6 +178,8 @@ public class ContextProxy extends BaseProxy implements IContextProxy
 		Logger.debug("Created", Level.INIT, this);
 		m_ctxInfo = null;
 		m_openTimeout = 25000;
+		int workers = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+		m_procLanes = new ProcedureLanes(workers, "proc-lane");
 	}
 
 	// ##########################################################################
@@ -181,9 +193,19 @@ public class ContextProxy extends BaseProxy implements IContextProxy
 	public void cleanup()
 	{
 		super.cleanup();
+		m_procLanes.shutdown();
 		m_ctxInfo = null;
 	}
 
+	/***************************************************************************
+	 * Obtain the per-procedure message processing lanes, to monitor their
+	 * backlog
+	 **************************************************************************/
+	public ProcedureLanes getProcedureLanes()
+	{
+		return m_procLanes;
+	}
+
 	// ##########################################################################
 	// CONTEXT SERVICES
 	// ##########################################################################
@@ -625,30 +647,73 @@ public class ContextProxy extends BaseProxy implements IContextProxy
 		}
 		monitor.beginTask("Updating data container variables", modifiedVars.size());
 		
-		String errors = "";
-		
-		for(String varName : modifiedVars)
-		{
-			if (monitor.isCanceled()) break;
-			try
+		// Each variable is updated by its own request. The requests are sent
+		// in groups, the next group being sent before waiting for the
+		// responses of the current one.
+		Map<String, String> failures = new LinkedHashMap<String, String>();
+		List<String> currentVars = new ArrayList<String>();
+		List<SPELLmessage> currentRequests = new ArrayList<SPELLmessage>();
+		List<Future<SPELLmessage>> currentResponses = new ArrayList<Future<SPELLmessage>>();
+		int next = 0;
+		boolean stop = false;
+		while (!currentVars.isEmpty() || (next < modifiedVars.size() && !stop))
+		{
+			// Send the following group
+			List<String> groupVars = new ArrayList<String>();
+			List<SPELLmessage> groupRequests = new ArrayList<SPELLmessage>();
+			List<Future<SPELLmessage>> groupResponses = new ArrayList<Future<SPELLmessage>>();
+			int groupSize = 0;
+			while (!stop && next < modifiedVars.size() && groupVars.size() < UPDATE_GROUP_VARIABLES
+			        && groupSize < UPDATE_GROUP_SIZE)
 			{
-				monitor.subTask("Updating variable '" + varName + "'");
-				SPELLmessageUpdateDictionary msg = new SPELLmessageUpdateDictionary(procId, container, varName, mergeNew);
-				performRequest(msg);
-				monitor.worked(1);
-				container.getVariable(varName).save();
+				if (monitor.isCanceled() || !isConnected())
+				{
+					stop = true;
+					break;
+				}
+				String varName = modifiedVars.get(next++);
+				try
+				{
+					SPELLmessageUpdateDictionary msg = new SPELLmessageUpdateDictionary(procId, container, varName, mergeNew);
+					Future<SPELLmessage> response = performRequestAsync(msg, 0);
+					groupVars.add(varName);
+					groupRequests.add(msg);
+					groupResponses.add(response);
+					groupSize += container.getVariable(varName).getValue().length();
+				}
+				catch(Exception ex)
+				{
+					failures.put(varName, ex.getLocalizedMessage());
+				}
 			}
-			catch(Exception ex)
+
+			// Collect the responses of the current group
+			for(int index = 0; index < currentVars.size(); index++)
 			{
-				if (!errors.isEmpty()) errors += "\n";
-				errors += ex.getLocalizedMessage();
-				if (ex.getLocalizedMessage().contains("Cannot forward request")) break;
+				String varName = currentVars.get(index);
+				monitor.subTask("Updating variable '" + varName + "'");
+				try
+				{
+					awaitResponse(currentRequests.get(index), currentResponses.get(index));
+					monitor.worked(1);
+					container.getVariable(varName).save();
+				}
+				catch(Exception ex)
+				{
+					failures.put(varName, ex.getLocalizedMessage());
+					if (ex.getLocalizedMessage().contains("Cannot forward request")) stop = true;
+				}
 			}
+			currentVars = groupVars;
+			currentRequests = groupRequests;
+			currentResponses = groupResponses;
 		}
 		
-		if (!errors.isEmpty())
+		// A cancellation alone is not an error, the caller checks the monitor
+		List<String> notAttempted = new ArrayList<String>(modifiedVars.subList(next, modifiedVars.size()));
+		if (!failures.isEmpty() || (!notAttempted.isEmpty() && !monitor.isCanceled()))
 		{
-			throw new RuntimeException(errors);
+			throw new DataContainerUpdateError(failures, notAttempted);
 		}
 	}
 
@@ -676,114 +741,61 @@ public class ContextProxy extends BaseProxy implements IContextProxy
 	 * 
 	 **************************************************************************/
 	@Override
-	public DataContainer getDataContainer(String procId, String name, IProgressMonitor monitor ) throws ContextError
+	public DataContainer getDataContainer(final String procId, final String name, IProgressMonitor monitor ) throws ContextError
 	{
 		DataContainer container = new DataContainer(procId, name);
 		Logger.debug("Requesting " + name + " data container in " + procId, Level.PROC, this);
-		SPELLmessage msg = null;
-		SPELLmessage response = null;
-
-		boolean getMoreChunks = true;
-		int chunkNo = 0;
-		TransferData chunk = null;
-		String valueList = "";
 
-		while (getMoreChunks)
+		// Variables are added to the container as the chunks arrive
+		final DataContainerParser parser = new DataContainerParser(container, false);
+		ChunkedTransfer<TransferData> transfer = new ChunkedTransfer<TransferData>(this, "Obtaining data container variables")
 		{
-			if (monitor.isCanceled())
+			@Override
+			protected SPELLmessage createRequest(int chunkNo)
 			{
-				return container;
+				if (chunkNo == 0)
+				{
+					return new SPELLmessageGetDictionary(procId, name);
+				}
+				return new SPELLmessageGetDictionary(procId, name, chunkNo);
 			}
-			
-			// If chunkNo == 0, it is the initial request
-			if (chunkNo == 0)
+
+			@Override
+			protected TransferData decode(SPELLmessage response)
 			{
-				msg = new SPELLmessageGetDictionary(procId, name);
+				return SPELLmessageGetDictionary.getDataChunk(response);
 			}
-			// Subsequent requests
-			else
+
+			@Override
+			protected int getTotalChunks(TransferData chunk)
 			{
-				msg = new SPELLmessageGetDictionary(procId, name, chunkNo);
+				return chunk.getTotalChunks();
 			}
-			// Perform the request
-			try
+
+			@Override
+			protected void process(TransferData chunk, int chunkNo) throws Exception
 			{
-				response = performRequest(msg);
-	
-				if (monitor.isCanceled())
-				{
-					return container;
-				}
-	
-				// Process the response and obtain the transfer data
-				if (response != null)
-				{
-					chunk = SPELLmessageGetDictionary.getDataChunk(response);
-				}
-				else
-				{
-					return container;
-				}
-				
 				// Check if data container exists in the this python code frame
-				if (chunk.getData().equalsIgnoreCase("None") )
+				if (chunkNo == 0 && chunk.getData().equalsIgnoreCase("None"))
 				{
 					throw new Exception(name + " data container in " + procId + " is not available");
 				}
-	
-				// If data is not chunked
-				if (chunk.getTotalChunks() == 0)
-				{
-					valueList = chunk.getData();
-					getMoreChunks = false;
-					monitor.subTask("Data container variables obtained.");
-				}
-				// Else if this is the last chunk to obtain
-				else if (chunk.getChunkNo() == chunk.getTotalChunks()) // This
-				                                                       // is the
-				                                                       // last
-				                                                       // chunk
-				{
-					valueList += chunk.getData();
-					getMoreChunks = false;
-					monitor.worked(1);
-					monitor.subTask("Data container variables obtained.");
-				}
-				// Otherwise, get the next chunk
-				else
-				{
-					if (chunkNo == 0)
-					{
-						monitor.beginTask("Obtaining data container variables", chunk.getTotalChunks());
-					}
-					monitor.worked(1);
-					valueList += chunk.getData();
-					monitor.subTask("Data container variables: chunk " + chunkNo + " of " + chunk.getTotalChunks());
-					if (chunkNo < chunk.getTotalChunks() - 1)
-					{
-						getMoreChunks = true;
-						chunkNo = chunk.getChunkNo() + 1;
-					}
-					else
-					{
-						getMoreChunks = false;
-					}
-				}
-	
-				if (monitor.isCanceled())
-				{
-					return container;
-				}
+				parser.parse(chunk.getData());
 			}
-			catch(Exception ex)
+		};
+
+		try
+		{
+			if (transfer.run(monitor))
 			{
-				Logger.error(ex.getLocalizedMessage(), Level.PROC, this);
-				throw new ContextError(ex.getLocalizedMessage());
+				parser.finish();
+				monitor.subTask("Data container variables obtained.");
 			}
 		}
-		if (!valueList.trim().isEmpty())
+		catch(Exception ex)
 		{
-			SPELLmessageGetDictionary.updateContainer( valueList, container, monitor );
+			Logger.error(ex.getLocalizedMessage(), Level.PROC, this);
+			throw new ContextError(ex.getLocalizedMessage());
 		}
 		return container;
 	}
@@ -792,116 +804,56 @@ public class ContextProxy extends BaseProxy implements IContextProxy
 	 * 
 	 **************************************************************************/
 	@Override
-	public DataContainer getInputFile( String path, IProgressMonitor monitor ) 
+	public DataContainer getInputFile( final String path, IProgressMonitor monitor ) 
 	{
 		DataContainer container = new DataContainer("<none>", path);
 		Logger.debug("Requesting " + path + " input file", Level.PROC, this);
-		SPELLmessage msg = null;
-		SPELLmessage response = null;
-
-		boolean getMoreChunks = true;
-		int chunkNo = 0;
-		TransferData chunk = null;
-		String valueList = "";
 
-		while (getMoreChunks)
+		// Variables are added to the container as the chunks arrive
+		final DataContainerParser parser = new DataContainerParser(container, true);
+		ChunkedTransfer<TransferData> transfer = new ChunkedTransfer<TransferData>(this, "Obtaining input file variables")
 		{
-			if (monitor.isCanceled())
+			@Override
+			protected SPELLmessage createRequest(int chunkNo)
 			{
-				return container;
+				if (chunkNo == 0)
+				{
+					return new SPELLmessageGetInputFile(path);
+				}
+				return new SPELLmessageGetInputFile(path, chunkNo);
 			}
-			
-			// If chunkNo == 0, it is the initial request
-			if (chunkNo == 0)
+
+			@Override
+			protected TransferData decode(SPELLmessage response)
 			{
-				Logger.debug("Requesting first chunk", Level.PROC, this);
-				msg = new SPELLmessageGetInputFile(path);
+				return SPELLmessageGetInputFile.getDataChunk(response);
 			}
-			// Subsequent requests
-			else
+
+			@Override
+			protected int getTotalChunks(TransferData chunk)
 			{
-				Logger.debug("Requesting chunk " + chunkNo, Level.PROC, this);
-				msg = new SPELLmessageGetInputFile(path, chunkNo);
+				return chunk.getTotalChunks();
 			}
-			// Perform the request
-			try
-			{
-				response = performRequest(msg);
-	
-				if (monitor.isCanceled())
-				{
-					return container;
-				}
-	
-				// Process the response and obtain the transfer data
-				if (response != null)
-				{
-					chunk = SPELLmessageGetInputFile.getDataChunk(response);
-				}
-				else
-				{
-					return container;
-				}
-	
-				Logger.debug("Number of chunks: " + chunk.getTotalChunks(), Level.PROC, this);
 
-				// If data is not chunked
-				if (chunk.getTotalChunks() == 0)
-				{
-					valueList = chunk.getData();
-					getMoreChunks = false;
-					monitor.subTask("InputData file variables obtained.");
-				}
-				// Else if this is the last chunk to obtain
-				else if (chunk.getChunkNo() == chunk.getTotalChunks()) // This
-				                                                       // is the
-				                                                       // last
-				                                                       // chunk
-				{
-					valueList += chunk.getData();
-					getMoreChunks = false;
-					monitor.worked(1);
-					monitor.subTask("InputData file variables obtained.");
-				}
-				// Otherwise, get the next chunk
-				else
-				{
-					if (chunkNo == 0)
-					{
-						monitor.beginTask("Obtaining input file variables", chunk.getTotalChunks());
-					}
-					Logger.debug("Got chunk: " + chunkNo, Level.PROC, this);
-					monitor.worked(1);
-					valueList += chunk.getData();
-					monitor.subTask("InputData file variables: chunk " + chunkNo + " of " + chunk.getTotalChunks());
-					if (chunkNo < chunk.getTotalChunks() - 1)
-					{
-						getMoreChunks = true;
-						chunkNo = chunk.getChunkNo() + 1;
-					}
-					else
-					{
-						getMoreChunks = false;
-					}
-				}
-	
-				if (monitor.isCanceled())
-				{
-					return container;
-				}
+			@Override
+			protected void process(TransferData chunk, int chunkNo)
+			{
+				parser.parse(chunk.getData());
 			}
-			catch(Exception ex)
+		};
+
+		try
+		{
+			if (transfer.run(monitor))
 			{
-				Logger.error(ex.getLocalizedMessage() , Level.PROC, this);
-				return container;
+				parser.finish();
+				monitor.subTask("InputData file variables obtained.");
+				Logger.debug("Variables obtained: " + parser.getCount(), Level.PROC, this);
 			}
 		}
-		Logger.debug("Data obtained: " + valueList.length(), Level.PROC, this);
-
-		if (!valueList.trim().isEmpty())
+		catch(Exception ex)
 		{
-			Logger.debug("Updating container with data", Level.PROC, this);
-			SPELLmessageGetInputFile.updateContainer( valueList, container, monitor );
+			Logger.error(ex.getLocalizedMessage() , Level.PROC, this);
 		}
 		return container;
 	}
@@ -971,88 +923,60 @@ public class ContextProxy extends BaseProxy implements IContextProxy
 	 * 
 	 **************************************************************************/
 	@Override
-	public ArrayList<String> getProcedureCode(String procedureId, IProgressMonitor monitor)
+	public ArrayList<String> getProcedureCode(final String procedureId, IProgressMonitor monitor)
 	{
-		ArrayList<String> code = null;
-		try
+		final ArrayList<String> code = new ArrayList<String>();
+		ChunkedTransfer<FileTransferData> transfer = new ChunkedTransfer<FileTransferData>(this, "Retrieving procedure file")
 		{
-			boolean getMoreChunks = true;
-			SPELLmessage msg = null;
-			SPELLmessage response = null;
-			FileTransferData data = null;
-			int chunkNo = 0;
-
-			while (getMoreChunks)
+			@Override
+			protected SPELLmessage createRequest(int chunkNo)
 			{
-				if (monitor.isCanceled()) return null;
-
 				if (chunkNo == 0)
 				{
-					msg = new SPELLmessageProcCode(procedureId);
-				}
-				else
-				{
-					msg = new SPELLmessageProcCode(procedureId, chunkNo);
-				}
-				response = performRequest(msg);
-				if (response != null)
-				{
-					data = SPELLmessageProcCode.getCodeFrom(response);
+					return new SPELLmessageProcCode(procedureId);
 				}
+				return new SPELLmessageProcCode(procedureId, chunkNo);
+			}
+
+			@Override
+			protected FileTransferData decode(SPELLmessage response)
+			{
+				return SPELLmessageProcCode.getCodeFrom(response);
+			}
 
-				if (monitor.isCanceled()) return null;
-				;
+			@Override
+			protected int getTotalChunks(FileTransferData chunk)
+			{
+				return chunk.getTotalChunks();
+			}
 
-				if (data.getTotalChunks() == 0) // Data is not chunked
-				{
-					code = data.getLines();
-					getMoreChunks = false;
-				}
-				else if (data.getChunkNo() == data.getTotalChunks()) // This is
-				                                                     // the last
-				                                                     // chunk
-				{
-					if (code == null) code = new ArrayList<String>();
-					code.addAll(data.getLines());
-					getMoreChunks = false;
-				}
-				else
-				// Get next chunk
+			@Override
+			protected void process(FileTransferData chunk, int chunkNo)
+			{
+				if (chunkNo == 0)
 				{
-					// If this is the first chunk of series
-					if (chunkNo == 0)
-					{
-						monitor.beginTask("Retrieving procedure file (" + data.getTotalChunks() + " parts)",
-						        data.getTotalChunks());
-					}
-					else
-					{
-						monitor.setTaskName("Retrieving file...\nObtained part " + chunkNo + " of "
-						        + data.getTotalChunks());
-						monitor.worked(1);
-					}
-					if (code == null) code = new ArrayList<String>();
-					code.addAll(data.getLines());
-					if (chunkNo < data.getTotalChunks() - 1)
-					{
-						getMoreChunks = true;
-						chunkNo = data.getChunkNo() + 1;
-					}
-					else
-					{
-						getMoreChunks = false;
-					}
+					// All chunks but the last one have the same size
+					code.ensureCapacity(chunk.getLines().size() * Math.max(1, chunk.getTotalChunks()));
 				}
+				code.addAll(chunk.getLines());
 			}
+		};
+
+		boolean complete = false;
+		try
+		{
+			complete = transfer.run(monitor);
 		}
 		catch (Exception ex)
 		{
 			ex.printStackTrace();
 			Logger.error(ex.getLocalizedMessage(), Level.COMM, this);
 		}
-		if (code == null)
+		if (monitor.isCanceled()) return null;
+		if (!complete)
 		{
 			Logger.error("Unable to obtain procedure code: '" + procedureId + "'", Level.COMM, this);
+			return null;
 		}
 		return code;
 	}
@@ -1426,7 +1350,7 @@ public class ContextProxy extends BaseProxy implements IContextProxy
 	 * 
 	 * @param msg
 	 **************************************************************************/
-	protected synchronized void processNotificationMessage(SPELLmessage msg)
+	protected void processNotificationMessage(SPELLmessage msg)
 	{
 		NotificationData data = null;
 		
@@ -1602,6 +1526,33 @@ public class ContextProxy extends BaseProxy implements IContextProxy
 		sendMessage(ack);
 	}
 	
+	/***************************************************************************
+	 * Messages of a procedure are processed in its lane, in arrival order.
+	 * The sub-listeners receive them in the same lane, after the proxy, so
+	 * that variable changes and other executor messages do not overtake the
+	 * notifications queued before them. Other messages are processed right
+	 * away.
+	 **************************************************************************/
+	@Override
+	protected void dispatchMessage(final SPELLmessage msg)
+	{
+		String procId = msg.getProcId();
+		if (procId == null)
+		{
+			super.dispatchMessage(msg);
+			return;
+		}
+		m_procLanes.execute(procId, new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				processIncomingMessage(msg);
+				forwardMessage(msg);
+			}
+		});
+	}
+
 	/***************************************************************************
 	 * 
 	 **************************************************************************/
@@ -1726,7 +1677,35 @@ public class ContextProxy extends BaseProxy implements IContextProxy
 		SPELLmessageResponse response = new SPELLmessageResponse(msg);
 		if (msg instanceof SPELLmessageNotify)
 		{
-			processNotificationMessage((SPELLmessage) msg);
+			final SPELLmessage notification = msg;
+			String procId = msg.getProcId();
+			if (procId == null)
+			{
+				processNotificationMessage(notification);
+			}
+			else
+			{
+				// The response confirms the processing, so it is sent from the
+				// lane once processed instead of holding the dispatcher thread
+				final SPELLmessageResponse deferred = response;
+				deferred.setSequence(msg.getSequence());
+				deferred.setDeferred();
+				m_procLanes.execute(procId, new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						try
+						{
+							processNotificationMessage(notification);
+						}
+						finally
+						{
+							sendMessage(deferred);
+						}
+					}
+				});
+			}
 		}
 		else
 		{
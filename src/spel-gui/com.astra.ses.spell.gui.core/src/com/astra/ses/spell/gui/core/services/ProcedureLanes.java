@@ -0,0 +1,291 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.core.services
+// 
+// FILE      : ProcedureLanes.java
+//
+// DATE      : 2026-10-18 13:31
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.core.services;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.astra.ses.spell.gui.core.model.types.Level;
+import com.astra.ses.spell.gui.core.utils.Logger;
+
+/*******************************************************************************
+ * @brief Processes the incoming messages of each procedure in its own lane.
+ *
+ *        A lane is a queue of tasks processed one at a time, in submission
+ *        order, by a shared pool of worker threads. Tasks of one procedure
+ *        keep their order while different procedures are processed in
+ *        parallel. A lane gives up its worker after a batch of tasks, so
+ *        that a flooding procedure does not starve the others. Idle lanes
+ *        are discarded.
+ ******************************************************************************/
+public class ProcedureLanes
+{
+	/** Maximum number of tasks processed before yielding the worker */
+	private static final int BATCH_SIZE = 32;
+	/** Backlog of a single lane above which a warning is issued */
+	private static final int BACKLOG_WARNING = 1000;
+
+	/***************************************************************************
+	 * Tasks of one procedure
+	 **************************************************************************/
+	private class Lane implements Runnable
+	{
+		/** Procedure identifier */
+		private String m_procId;
+		/** Pending tasks */
+		private ArrayDeque<Runnable> m_tasks = new ArrayDeque<Runnable>();
+		/** True while the lane is queued or running in the pool */
+		private boolean m_scheduled = false;
+		/** True once the lane is no longer in the lane map */
+		private boolean m_discarded = false;
+		/** True while the backlog is above the warning level */
+		private boolean m_flooding = false;
+
+		Lane(String procId)
+		{
+			m_procId = procId;
+		}
+
+		public void run()
+		{
+			for (int count = 0; count < BATCH_SIZE; count++)
+			{
+				Runnable task;
+				synchronized (this)
+				{
+					task = m_tasks.pollFirst();
+					if (task == null)
+					{
+						m_scheduled = false;
+						m_discarded = true;
+						m_lanes.remove(m_procId, this);
+						return;
+					}
+				}
+				m_backlog.decrementAndGet();
+				try
+				{
+					task.run();
+				}
+				catch (Exception ex)
+				{
+					ex.printStackTrace();
+					Logger.error("Error while processing message of " + m_procId + ": " + ex.getLocalizedMessage(),
+					        Level.COMM, this);
+				}
+			}
+			// Let other lanes use the worker
+			resume(this);
+		}
+	}
+
+	/** Lanes with pending tasks, by procedure identifier */
+	private ConcurrentHashMap<String, Lane> m_lanes;
+	/** Workers */
+	private ExecutorService m_workers;
+	/** Number of pending tasks in all lanes */
+	private AtomicInteger m_backlog;
+	/** Highest number of pending tasks in a single lane */
+	private AtomicInteger m_maxLaneBacklog;
+
+	/***************************************************************************
+	 * Constructor
+	 *
+	 * @param workers
+	 *            Number of worker threads
+	 * @param name
+	 *            Prefix for the worker thread names
+	 **************************************************************************/
+	public ProcedureLanes(int workers, final String name)
+	{
+		m_lanes = new ConcurrentHashMap<String, Lane>();
+		m_backlog = new AtomicInteger(0);
+		m_maxLaneBacklog = new AtomicInteger(0);
+		final AtomicInteger threadCount = new AtomicInteger(0);
+		m_workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+		        new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+		        {
+			        public Thread newThread(Runnable r)
+			        {
+				        Thread thread = new Thread(r, name + "-" + threadCount.getAndIncrement());
+				        thread.setDaemon(true);
+				        return thread;
+			        }
+		        });
+	}
+
+	/***************************************************************************
+	 * Queue a task in the lane of the given procedure
+	 **************************************************************************/
+	public void execute(String procId, Runnable task)
+	{
+		while (true)
+		{
+			Lane lane = m_lanes.get(procId);
+			if (lane == null)
+			{
+				Lane created = new Lane(procId);
+				lane = m_lanes.putIfAbsent(procId, created);
+				if (lane == null)
+				{
+					lane = created;
+				}
+			}
+			boolean schedule = false;
+			synchronized (lane)
+			{
+				// The lane emptied and was discarded meanwhile
+				if (lane.m_discarded) continue;
+				lane.m_tasks.addLast(task);
+				m_backlog.incrementAndGet();
+				checkBacklog(lane);
+				if (!lane.m_scheduled)
+				{
+					lane.m_scheduled = true;
+					schedule = true;
+				}
+			}
+			if (schedule)
+			{
+				resume(lane);
+			}
+			return;
+		}
+	}
+
+	/***************************************************************************
+	 * Stop the workers. Pending tasks are discarded.
+	 **************************************************************************/
+	public void shutdown()
+	{
+		m_workers.shutdownNow();
+	}
+
+	/***************************************************************************
+	 * Number of pending tasks in all lanes
+	 **************************************************************************/
+	public int getBacklog()
+	{
+		return m_backlog.get();
+	}
+
+	/***************************************************************************
+	 * Highest number of pending tasks observed in a single lane
+	 **************************************************************************/
+	public int getMaxLaneBacklog()
+	{
+		return m_maxLaneBacklog.get();
+	}
+
+	/***************************************************************************
+	 * Number of pending tasks of each procedure having any
+	 **************************************************************************/
+	public Map<String, Integer> getLaneBacklogs()
+	{
+		Map<String, Integer> backlogs = new HashMap<String, Integer>();
+		for (Lane lane : m_lanes.values())
+		{
+			synchronized (lane)
+			{
+				if (!lane.m_tasks.isEmpty())
+				{
+					backlogs.put(lane.m_procId, lane.m_tasks.size());
+				}
+			}
+		}
+		return backlogs;
+	}
+
+	/***************************************************************************
+	 * Hand the lane to a worker
+	 **************************************************************************/
+	private void resume(Lane lane)
+	{
+		try
+		{
+			m_workers.execute(lane);
+		}
+		catch (RejectedExecutionException ex)
+		{
+			Logger.warning("Discarded messages of " + lane.m_procId + ", processing is stopped", Level.COMM, this);
+		}
+	}
+
+	/***************************************************************************
+	 * Update the backlog counters after queueing a task. Must be called with
+	 * the lane monitor held.
+	 **************************************************************************/
+	private void checkBacklog(Lane lane)
+	{
+		int size = lane.m_tasks.size();
+		int max = m_maxLaneBacklog.get();
+		while (size > max && !m_maxLaneBacklog.compareAndSet(max, size))
+		{
+			max = m_maxLaneBacklog.get();
+		}
+		if (!lane.m_flooding && size > BACKLOG_WARNING)
+		{
+			lane.m_flooding = true;
+			Logger.warning("Procedure " + lane.m_procId + " has " + size + " pending messages", Level.COMM, this);
+		}
+		else if (lane.m_flooding && size < BACKLOG_WARNING / 2)
+		{
+			lane.m_flooding = false;
+		}
+	}
+}
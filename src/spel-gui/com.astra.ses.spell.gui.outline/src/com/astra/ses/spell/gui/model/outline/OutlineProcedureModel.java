@@ -62,24 +62,16 @@ import com.astra.ses.spell.gui.procs.interfaces.exceptions.UninitProcedureExcept
 import com.astra.ses.spell.gui.procs.interfaces.model.ICodeLine;
 import com.astra.ses.spell.gui.procs.interfaces.model.ICodeModel;
 import com.astra.ses.spell.gui.procs.interfaces.model.IProcedure;
+import com.astra.ses.spell.gui.procs.model.ParsedSource;
+import com.astra.ses.spell.gui.procs.model.ParsedSourceCache;
 import com.astra.ses.spell.language.ParseException;
-import com.astra.ses.spell.language.Parser;
-import com.astra.ses.spell.language.Visitor;
-import com.astra.ses.spell.language.model.ast.Call;
-import com.astra.ses.spell.language.model.ast.FunctionDef;
-import com.astra.ses.spell.language.model.ast.Name;
-import com.astra.ses.spell.language.model.ast.NameTok;
-import com.astra.ses.spell.language.model.ast.Str;
 
 /******************************************************************************
  * Special tree node representing the main procedure. There is only one node of
  * this type on each callstack tree model.
  *****************************************************************************/
-public class OutlineProcedureModel extends Visitor
+public class OutlineProcedureModel
 {
-	private static final String	   STEP_CALL	= "Step";
-	private static final String	   GOTO_CALL	= "Goto";
-
 	/** Holds the root (invisible parent node on the tree) */
 	private OutlineRootNode	       m_root;
 	/** Error node */
@@ -90,23 +82,10 @@ public class OutlineProcedureModel extends Visitor
 	private OutlineCategoryNode	   m_categoryGotos;
 	/** Category node for steps */
 	private OutlineCategoryNode	   m_categoryFunctionDefs;
-	/** Parser instance */
-	private Parser	               m_parser;
 	/** Data provider reference */
 	private IProcedure             m_model;
 	/** Procedure identifier */
 	private String	               m_procId;
-	/** Flag for parsing token elements */
-	private NextTokenType	       m_inToken;
-	/** Used to compose the label of the next node */
-	private String	               m_nextLabel;
-	/** Used to hold the line number label of the next element */
-	private int	                   m_nextLine;
-
-	enum NextTokenType
-	{
-		FunctionCall, StepCall, StepTarget, GotoCall, None
-	}
 
 	/**************************************************************************
 	 * Constructor.
@@ -122,7 +101,6 @@ public class OutlineProcedureModel extends Visitor
 		// If we have a model available, populate this node with the data
 		m_root = null;
 		m_errorNode = null;
-		m_parser = new Parser();
 		m_procId = model.getProcId();
 		m_model = model;
 		initialize();
@@ -153,23 +131,35 @@ public class OutlineProcedureModel extends Visitor
 	void createContents()
 	{
 		initialize();
-		m_inToken = NextTokenType.None;
-		m_nextLabel = "";
 		String codeId = null;
 		try
 		{
 			codeId = m_model.getExecutionManager().getCurrentCode();
 			ICodeModel codeModel = m_model.getExecutionManager().getCodeModel(codeId);
 			List<ICodeLine> lines = codeModel.getLines();
-			String code = "";
+			String[] source = new String[lines.size()];
+			int index = 0;
 			for (ICodeLine line : lines)
 			{
-				if (!code.isEmpty()) code += "\n";
-				code += line.getSource();
+				source[index++] = line.getSource();
+			}
+			ParsedSource parsed = ParsedSourceCache.get().getParsed(codeId, source);
+			if (parsed.getError() != null)
+			{
+				throw parsed.getError();
+			}
+			for (ParsedSource.Element step : parsed.getSteps())
+			{
+				m_categorySteps.addChild(new OutlineStepNode(step.getLabel(), codeId, step.getLine()));
+			}
+			for (ParsedSource.Element gotoElement : parsed.getGotos())
+			{
+				m_categoryGotos.addChild(new OutlineGotoNode(gotoElement.getLabel(), codeId, gotoElement.getLine()));
+			}
+			for (ParsedSource.Element def : parsed.getFunctionDefs())
+			{
+				m_categoryFunctionDefs.addChild(new OutlineDefNode(def.getLabel(), codeId, def.getLine()));
 			}
-			// Add a last line to ensure correct parsing at end
-			code += "\npass\n";
-			m_parser.parseCode(code, this);
 		}
 		catch (UninitProcedureException e)
 		{
@@ -219,67 +209,4 @@ public class OutlineProcedureModel extends Visitor
 			m_categoryFunctionDefs.clearChildren();
 		}
 	}
-
-	@Override
-	public Object visitFunctionDef(FunctionDef node) throws Exception
-	{
-		NameTok name = (NameTok) node.name;
-		String codeId = m_model.getExecutionManager().getCurrentCode();
-		m_categoryFunctionDefs.addChild(new OutlineDefNode(name.id + "()", codeId, node.beginLine));
-		return super.visitFunctionDef(node);
-	}
-
-	@Override
-	public Object visitCall(Call node) throws Exception
-	{
-		m_inToken = NextTokenType.FunctionCall;
-		m_nextLine = node.beginLine;
-		return super.visitCall(node);
-	}
-
-	@Override
-	public Object visitName(Name node) throws Exception
-	{
-		if (m_inToken.equals(NextTokenType.FunctionCall))
-		{
-			if (node.id.equals(STEP_CALL))
-			{
-				m_nextLabel = "";
-				m_inToken = NextTokenType.StepCall;
-			}
-			else if (node.id.equals(GOTO_CALL))
-			{
-				m_nextLabel = "Goto ";
-				m_inToken = NextTokenType.GotoCall;
-			}
-		}
-		return super.visitName(node);
-	}
-
-	@Override
-	public Object visitStr(Str token) throws Exception
-	{
-		if (m_inToken.equals(NextTokenType.StepCall))
-		{
-			m_inToken = NextTokenType.StepTarget;
-			m_nextLabel = token.s;
-		}
-		else if (m_inToken.equals(NextTokenType.StepTarget))
-		{
-			m_inToken = NextTokenType.None;
-			m_nextLabel = token.s + " (" + m_nextLabel + ")";
-			String codeId = m_model.getExecutionManager().getCurrentCode();
-			m_categorySteps.addChild(new OutlineStepNode(m_nextLabel, codeId, m_nextLine));
-			m_nextLabel = "";
-		}
-		else if (m_inToken.equals(NextTokenType.GotoCall))
-		{
-			m_inToken = NextTokenType.None;
-			m_nextLabel += token.s;
-			String codeId = m_model.getExecutionManager().getCurrentCode();
-			m_categoryGotos.addChild(new OutlineGotoNode(m_nextLabel, codeId, m_nextLine));
-			m_nextLabel = "";
-		}
-		return super.visitStr(token);
-	}
 }
@@ -62,6 +62,8 @@ public enum PropertyKey
 	INITIAL_CONTEXT("InitialContext", ""), 
 	RESPONSE_TIMEOUT("ResponseTimeout", "8000"), 
 	OPEN_TIMEOUT("OpenTimeout", "10000"), 
+	/** Outgoing messages above this size in bytes are compressed, 0 disables */
+	COMPRESSION_THRESHOLD("CompressionThreshold", "65536"),
 	PROCS_EDITOR("ProceduresEditor", ""),
 	ALTERNATE_PROCS_EDITOR("AlternateProceduresEditor",""),
 	LAST_SERVER_CONNECTED("LastServerConnected", ""), 
@@ -81,7 +83,11 @@ public enum PropertyKey
 	/** NAME, VALUE, BOTH */
 	DISPLAY_DATA("DisplayData", "BOTH"),
 	LINE_HISTORY_ITEMS("LineHistoryItems", "-1"),
+	/** Maximum number of item notifications stored per line execution */
+	LINE_HISTORY_DEPTH("LineHistoryDepth", "1000"),
 	TEXT_HISTORY_ITEMS("TextHistoryItems", "-1"),
+	/** Keep display messages evicted from the text history on disk: YES, NO */
+	TEXT_HISTORY_SPILL("TextHistorySpill", "NO"),
 	/** YES, NO */
 	CONFIRM_ABORT("ConfirmAbort", "NO"),
 	/** YES, NO, PROMPT */
@@ -91,6 +91,16 @@ public abstract class ProcedureListenerAdapter implements IProcedureListener, IP
 	{
 	}
 
+	@Override
+	public void notifyProcedureModelObtained(IProcedure model)
+	{
+	}
+
+	@Override
+	public void notifyProcedureModelDiscarded(IProcedure model)
+	{
+	}
+
 	@Override
 	public void notifyProcedureDisplay(IProcedure model, DisplayData data)
 	{
@@ -131,4 +141,9 @@ public abstract class ProcedureListenerAdapter implements IProcedureListener, IP
 	public void notifyProcedurePrompt(IProcedure model)
 	{
 	};
+
+	@Override
+	public void notifyProcedureFinishPrompt(IProcedure model)
+	{
+	}
 }
@@ -322,6 +322,34 @@ public class ProcedureNotifications
 		}
 	}
 
+	/***************************************************************************
+	 * Fire model obtained event, for the remote procedure models
+	 * 
+	 * @param data
+	 *            Event information
+	 **************************************************************************/
+	public void fireModelObtained(IProcedure model)
+	{
+		for (IProcedureModelListener listener : m_procedureModelListeners)
+		{
+			listener.notifyProcedureModelObtained(model);
+		}
+	}
+
+	/***************************************************************************
+	 * Fire model discarded event, for the remote procedure models
+	 * 
+	 * @param data
+	 *            Event information
+	 **************************************************************************/
+	public void fireModelDiscarded(IProcedure model)
+	{
+		for (IProcedureModelListener listener : m_procedureModelListeners)
+		{
+			listener.notifyProcedureModelDiscarded(model);
+		}
+	}
+
 	/***************************************************************************
 	 * Fire model enabled event corresponding to IProcedureView extensions
 	 * 
@@ -226,7 +226,16 @@ public interface IProcedureManager extends IService
 	public Set<String> getOpenLocalProcedures();
 
 	/***************************************************************************
+	 * Obtain the identifiers of the remote procedure models available.
 	 * 
+	 * With refresh, the models of finished executors are discarded and the
+	 * information of the active executors is requested in background. The
+	 * returned set does not reflect the models still being obtained; each one
+	 * is notified through IProcedureModelListener.notifyProcedureModelObtained
+	 * and each discarded one through notifyProcedureModelDiscarded.
+	 * 
+	 * @param refresh
+	 *            True to update the models from the context
 	 **************************************************************************/
 	public Set<String> getOpenRemoteProcedures( boolean refresh );
 
@@ -101,4 +101,22 @@ public interface IProcedureModelListener extends IBaseListener
 	 *            The corresponding procedure model
 	 **************************************************************************/
 	public void notifyProcedureModelConfigured(IProcedure model);
+
+	/**************************************************************************
+	 * Callback for notifying that the model of a remote procedure has been
+	 * obtained from the context
+	 * 
+	 * @param model
+	 *            The corresponding procedure model
+	 **************************************************************************/
+	public void notifyProcedureModelObtained(IProcedure model);
+
+	/**************************************************************************
+	 * Callback for notifying that the model of a remote procedure has been
+	 * discarded, since its executor is no longer available
+	 * 
+	 * @param model
+	 *            The corresponding procedure model
+	 **************************************************************************/
+	public void notifyProcedureModelDiscarded(IProcedure model);
 }
@@ -187,6 +187,26 @@ public interface IExecutionInformation
 	 **************************************************************************/
 	public DisplayData[] getDisplayMessages();
 
+	/***************************************************************************
+	 * Get the number of Display messages evicted from the history and kept
+	 * on disk, zero if spilling is disabled
+	 * 
+	 * @return the number of messages available through getSpilledMessages()
+	 **************************************************************************/
+	public int getSpilledMessageCount();
+
+	/***************************************************************************
+	 * Get Display messages evicted from the history, oldest first. Used by
+	 * the text view to page back beyond the messages kept in memory.
+	 * 
+	 * @param first
+	 *            Index of the first message, zero being the oldest
+	 * @param count
+	 *            Maximum number of messages to return
+	 * @return the messages, empty if none is available
+	 **************************************************************************/
+	public DisplayData[] getSpilledMessages( int first, int count );
+
 	/***************************************************************************
 	 * Get stage identifier
 	 * 
@@ -240,6 +240,12 @@ public interface IExecutionInformationHandler extends IExecutionInformation
 	 **************************************************************************/
 	public void reset();
 
+	/***************************************************************************
+	 * Release the resources held by this object, such as the spill file of
+	 * the display history. Called when the procedure is closed.
+	 **************************************************************************/
+	public void dispose();
+
 	/***************************************************************************
 	 * Accept this {@link ExecutorInfo} object and retrieve its relevant
 	 * information
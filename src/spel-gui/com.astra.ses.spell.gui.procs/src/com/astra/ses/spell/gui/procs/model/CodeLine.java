@@ -46,8 +46,9 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.procs.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -63,9 +64,8 @@ import com.astra.ses.spell.gui.procs.interfaces.model.SummaryMode;
 
 public class CodeLine implements ICodeLine
 {
-	private String m_source;
-	private String m_partentCodeId;
-	private int m_lineNo;
+	private CodeLineTable m_table;
+	private int m_index;
 	private int m_numExecuted;
 	private BreakpointType m_breakpoint;
 	private String m_summaryName;
@@ -75,21 +75,38 @@ public class CodeLine implements ICodeLine
 	private int m_biggestNotificationExecution;
 	private boolean m_extendedTimeLine;
 	private int m_maxNotifications;
+	private int m_maxHistory;
 	
 
+	/**
+	 * Notifications of one execution of the line
+	 */
 	class NotificationsPerLine
 	{
-		List<ItemNotification> notifications = new LinkedList<ItemNotification>();
-		List<ItemNotification> all = new LinkedList<ItemNotification>();
+		/** Latest notification of each group of items, by item names */
+		LinkedHashMap<List<String>,ItemNotification> notifications = new LinkedHashMap<List<String>,ItemNotification>();
+		/** The latest notifications by sequence, null when outdated */
+		List<ItemNotification> sorted = null;
+		/** All notifications by sequence, bounded */
+		NotificationHistory all = new NotificationHistory(m_maxHistory);
+
+		List<ItemNotification> getSorted()
+		{
+			if (sorted == null)
+			{
+				sorted = new ArrayList<ItemNotification>(notifications.values());
+				Collections.sort(sorted);
+			}
+			return sorted;
+		}
 	}
 	
 	private SortedMap<Integer,NotificationsPerLine> m_notifications;
 	
-	public CodeLine( String parentCodeId, int index, String source )
+	public CodeLine( CodeLineTable table, int index )
 	{
-		m_partentCodeId = parentCodeId;
-		m_source = source;
-		m_lineNo = index;
+		m_table = table;
+		m_index = index;
 		m_notifications = new TreeMap<Integer,NotificationsPerLine>();
 		reset();
 	}
@@ -97,19 +114,19 @@ public class CodeLine implements ICodeLine
 	@Override
     public int getLineNo()
     {
-	    return m_lineNo;
+	    return m_index + 1;
     }
 
 	@Override
     public String getParentCodeId()
     {
-	    return m_partentCodeId;
+	    return m_table.getCodeId();
     }
 
 	@Override
     public String getSource()
     {
-	    return m_source;
+	    return m_table.getSource(m_index);
     }
 
 	@Override
@@ -121,11 +138,7 @@ public class CodeLine implements ICodeLine
 	@Override
     public boolean isExecutable()
     {
-		if (m_source.trim().isEmpty()) return false;
-		if (m_source.trim().startsWith("#") || 
-			m_source.trim().startsWith("\"\"\"") || 
-			m_source.trim().startsWith("'''")) return false;
-	    return true;
+	    return m_table.isExecutable(m_index);
     }
 
 	@Override
@@ -161,26 +174,39 @@ public class CodeLine implements ICodeLine
 	@Override
     public List<ItemNotification> getNotifications( SummaryMode mode )
     {
-		List<ItemNotification> list = new LinkedList<ItemNotification>();
+		List<ItemNotification> list = new ArrayList<ItemNotification>();
 		switch(mode)
 		{
 		case FULL:
 			for(NotificationsPerLine not : m_notifications.values())
 			{
-				list.addAll(not.all);
+				not.all.copyTo(list);
 			}
 			break;
 		case HISTORY:
 			for(NotificationsPerLine not : m_notifications.values())
 			{
-				list.addAll(not.notifications);
+				list.addAll(not.getSorted());
 			}
 			break;
 		case LATEST:
-			list.addAll( m_notifications.get(m_biggestNotificationExecution).notifications );
+			NotificationsPerLine latest = m_notifications.get(m_biggestNotificationExecution);
+			if (latest != null)
+			{
+				list.addAll( latest.getSorted() );
+			}
 			break;
 		}
-	    Collections.sort(list);
+		// Each execution is sorted already, only out of order executions
+		// need sorting
+		for(int index = 1; index < list.size(); index++)
+		{
+			if (list.get(index-1).compareTo(list.get(index)) > 0)
+			{
+				Collections.sort(list);
+				break;
+			}
+		}
 	    return list;
     }
 	
@@ -203,42 +229,23 @@ public class CodeLine implements ICodeLine
 		// Every time a new group of items comes we need to see if we need to substitute a 
 		// previous one to update the data, or to add it as a new group of items.
 		int executionNumber = data.getNumExecutions();
-		if (m_notifications.containsKey(executionNumber))
+		NotificationsPerLine npl = m_notifications.get(executionNumber);
+		if (npl != null)
 		{
-			NotificationsPerLine npl = m_notifications.get(executionNumber);
-			int index = 0;
-			int placeAtIndex = -1;
-			boolean someMatched = false;
-			for(ItemNotification not : npl.notifications)
+			// Merge only if it refers to the same items, AND it is a notification
+			// later in time than the present one. Note that some messages
+			// can come misordered. If it matches one but it is in the past, it is
+			// obsolete and not used for the summary.
+			List<String> key = data.getItemName();
+			ItemNotification previous = npl.notifications.get(key);
+			if (previous == null || data.getSequence() > previous.getSequence())
 			{
-				// Merge only if it refers to the same item, AND it is a notification
-				// later in time than the present one. Note that some messages
-				// can come misordered.
-				
-				// Check if the notification matches any of the existing ones. It may happen that it matches one
-				// of these, but we do not want to add it since it is an obsolete notification.
-				someMatched = someMatched | not.referToSame(data); 
-				if (not.referToSame(data) && data.getSequence() > not.getSequence())
-				{
-					placeAtIndex = index;
-					break;
-				}
-				index++;
+				// Replacing keeps the original position
+				npl.notifications.put(key, data);
+				npl.sorted = null;
 			}
 			// Register all notifications in any case
 			npl.all.add(data);
-			
-			// For the summary
-			if (placeAtIndex>=0)
-			{
-				npl.notifications.remove(placeAtIndex);
-				npl.notifications.add(placeAtIndex, data);
-			}
-			// Do not append it to the notifications if it was matching to one, but it was in the past.
-			else if (!someMatched)
-			{
-				npl.notifications.add(data);
-			}
 		}
 		else
 		{
@@ -246,8 +253,8 @@ public class CodeLine implements ICodeLine
 			{
 				m_biggestNotificationExecution = executionNumber;
 			}
-			NotificationsPerLine npl = new NotificationsPerLine();
-			npl.notifications.add(data);
+			npl = new NotificationsPerLine();
+			npl.notifications.put(data.getItemName(), data);
 			npl.all.add(data);
 			m_notifications.put(executionNumber,npl);
 		}
@@ -306,6 +313,7 @@ public class CodeLine implements ICodeLine
 	    IConfigurationManager cfg = (IConfigurationManager) ServiceManager.get(IConfigurationManager.class);
 	    m_extendedTimeLine = cfg.getBooleanProperty(PropertyKey.SHOW_DATE_LINE); 
 	    m_maxNotifications = Integer.parseInt(cfg.getProperty(PropertyKey.LINE_HISTORY_ITEMS));
+	    m_maxHistory = Integer.parseInt(cfg.getProperty(PropertyKey.LINE_HISTORY_DEPTH));
     }
 	
 	@Override
@@ -330,7 +338,7 @@ public class CodeLine implements ICodeLine
 
 	public String toString()
 	{
-		return "[LINE " + m_lineNo + ": executed=" + m_numExecuted + " source='" + m_source + "' notifications=" + m_notifications.size() + "]";
+		return "[LINE " + getLineNo() + ": executed=" + m_numExecuted + " source='" + getSource() + "' notifications=" + m_notifications.size() + "]";
 	}
 
 	@Override
@@ -349,7 +357,7 @@ public class CodeLine implements ICodeLine
 		    String notificationTime = "";
 		    
 		    // Calculate the success count and the overall status
-			for(ItemNotification data : npl.notifications)
+			for(ItemNotification data : npl.notifications.values())
 			{
 				totalCount += data.getTotalItems();
 			    for(int index = 0; index < data.getTotalItems(); index++)
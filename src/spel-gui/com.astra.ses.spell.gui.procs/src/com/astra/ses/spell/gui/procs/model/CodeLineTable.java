@@ -0,0 +1,153 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.procs.model
+// 
+// FILE      : CodeLineTable.java
+//
+// DATE      : 2026-10-18 13:32
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.procs.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/*******************************************************************************
+ * @brief Immutable source lines of a code, indexed from zero.
+ *
+ *        Tables are interned by code identifier and contents, so that the
+ *        local, remote and replay models of the same procedure share a
+ *        single copy of the source. A table is released once no model uses
+ *        it anymore.
+ ******************************************************************************/
+public class CodeLineTable
+{
+	/** Interned tables by code identifier */
+	private static Map<String, WeakReference<CodeLineTable>> s_tables = new HashMap<String, WeakReference<CodeLineTable>>();
+
+	/** Code identifier */
+	private String m_codeId;
+	/** Source of each line */
+	private String[] m_source;
+	/** True for each line holding a statement */
+	private boolean[] m_executable;
+
+	/***************************************************************************
+	 * Obtain the table for the given code and source, reusing an existing
+	 * one with the same contents if available
+	 **************************************************************************/
+	public static CodeLineTable intern(String codeId, String[] source)
+	{
+		synchronized (s_tables)
+		{
+			WeakReference<CodeLineTable> ref = s_tables.get(codeId);
+			CodeLineTable table = (ref == null) ? null : ref.get();
+			if (table == null || !Arrays.equals(table.m_source, source))
+			{
+				table = new CodeLineTable(codeId, source);
+				s_tables.put(codeId, new WeakReference<CodeLineTable>(table));
+			}
+			return table;
+		}
+	}
+
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	private CodeLineTable(String codeId, String[] source)
+	{
+		m_codeId = codeId;
+		m_source = source.clone();
+		m_executable = new boolean[m_source.length];
+		for (int index = 0; index < m_source.length; index++)
+		{
+			m_executable[index] = isStatement(m_source[index]);
+		}
+	}
+
+	/***************************************************************************
+	 * Code identifier
+	 **************************************************************************/
+	public String getCodeId()
+	{
+		return m_codeId;
+	}
+
+	/***************************************************************************
+	 * Number of lines
+	 **************************************************************************/
+	public int size()
+	{
+		return m_source.length;
+	}
+
+	/***************************************************************************
+	 * Source of the given line
+	 **************************************************************************/
+	public String getSource(int index)
+	{
+		return m_source[index];
+	}
+
+	/***************************************************************************
+	 * Check if the given line holds a statement
+	 **************************************************************************/
+	public boolean isExecutable(int index)
+	{
+		return m_executable[index];
+	}
+
+	/***************************************************************************
+	 * Check if the source line holds a statement, as opposed to a blank
+	 * line, a comment or a docstring
+	 **************************************************************************/
+	private static boolean isStatement(String source)
+	{
+		if (source == null) return false;
+		String trimmed = source.trim();
+		if (trimmed.isEmpty()) return false;
+		if (trimmed.startsWith("#") || trimmed.startsWith("\"\"\"") || trimmed.startsWith("'''")) return false;
+		return true;
+	}
+}
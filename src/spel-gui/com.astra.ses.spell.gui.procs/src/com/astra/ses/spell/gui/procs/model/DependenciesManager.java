@@ -61,15 +61,8 @@ import com.astra.ses.spell.gui.procs.interfaces.model.Dependency;
 import com.astra.ses.spell.gui.procs.interfaces.model.IDependenciesManager;
 import com.astra.ses.spell.gui.procs.interfaces.model.IProcedure;
 import com.astra.ses.spell.language.ParseException;
-import com.astra.ses.spell.language.Parser;
-import com.astra.ses.spell.language.Visitor;
-import com.astra.ses.spell.language.model.ast.Call;
-import com.astra.ses.spell.language.model.ast.Name;
-import com.astra.ses.spell.language.model.ast.Str;
-import com.astra.ses.spell.language.model.ast.exprType;
-import com.astra.ses.spell.language.model.ast.keywordType;
 
-public class DependenciesManager extends Visitor implements IDependenciesManager
+public class DependenciesManager implements IDependenciesManager
 {
 	private List<Dependency> m_dependencies;
 	private List<IDependenciesListener> m_listeners;
@@ -88,70 +81,19 @@ public class DependenciesManager extends Visitor implements IDependenciesManager
 		updateDependencies();
 	}
 	
-	/**************************************************************************
-	 * 
-	 *************************************************************************/
-	public Object visitCall(Call node) throws Exception
-	{
-		if (node.func instanceof Name)
-		{
-			Name func = (Name) node.func;
-			if (func.id.equals("StartProc"))
-			{
-				exprType arg0 = node.args[0];
-				if (arg0 instanceof Str)
-				{
-					Str str = (Str) arg0;
-					String procId = completeId(str.s);
-					String procName = UNKNOWN_NAME;
-					if (procId != null)
-					{
-						procName = m_pmgr.getProcedureName(procId);
-					}
-					else
-					{
-						procId = UNKNOWN_ID;
-					}
-					int lineNo = node.beginLine;
-					for(exprType expr : node.args)
-					{
-						if (expr.beginLine>lineNo) lineNo = expr.beginLine;
-					}
-					for(keywordType k : node.keywords)
-					{
-						if (k.beginLine>lineNo) lineNo = k.beginLine;
-					}
-					m_dependencies.add( new Dependency(procId, procName, lineNo ));
-				}
-				
-			}
-				
-		}
-		return super.visitCall(node);
-	}
-
 	/**************************************************************************
 	 * 
 	 *************************************************************************/
 	@Override
 	public void updateDependencies()
 	{
-		m_dependencies = new LinkedList<Dependency>();
-		Parser parser = new Parser();
-		
+		List<Dependency> dependencies = new LinkedList<Dependency>();
 		String[] lines = m_model.getSourceCodeProvider().getSource(m_model.getProcId(), new NullProgressMonitor());
-		String code = "";
-		for(String line : lines)
-		{
-			if (!code.isEmpty()) code += "\n";
-			code += line;
-		}
-		try
-        {
-	        parser.parseCode( code, this );
-        }
-		catch (ParseException ex)
+		ParsedSource parsed = ParsedSourceCache.get().getParsed(m_model.getProcId(), lines);
+		Exception error = parsed.getError();
+		if (error instanceof ParseException)
 		{
+			ParseException ex = (ParseException) error;
 			Logger.error("Parse exception on procedure " + m_model.getProcId(), Level.PROC, this);
 			Logger.error("Message: " + ex.getLocalizedMessage(), Level.PROC, this);
 			Logger.error("Line: " + ex.currentToken.beginLine + ", column: " + ex.currentToken.beginColumn, Level.PROC, this);
@@ -159,10 +101,25 @@ public class DependenciesManager extends Visitor implements IDependenciesManager
 			Logger.error("Expected token sequences: " + Arrays.toString(ex.expectedTokenSequences), Level.PROC, this);
 			Logger.error("Token image: " + Arrays.toString(ex.tokenImage), Level.PROC, this);
 		}
-        catch (Exception e)
-        {
-	        e.printStackTrace();
-        }
+		else if (error != null)
+		{
+			error.printStackTrace();
+		}
+		for(ParsedSource.Element call : parsed.getStartProcCalls())
+		{
+			String procId = completeId(call.getLabel());
+			String procName = UNKNOWN_NAME;
+			if (procId != null)
+			{
+				procName = m_pmgr.getProcedureName(procId);
+			}
+			else
+			{
+				procId = UNKNOWN_ID;
+			}
+			dependencies.add( new Dependency(procId, procName, call.getLine() ));
+		}
+		m_dependencies = dependencies;
 	}
 	
 	/**************************************************************************
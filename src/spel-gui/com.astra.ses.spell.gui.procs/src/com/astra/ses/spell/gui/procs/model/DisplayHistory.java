@@ -0,0 +1,196 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.procs.model
+// 
+// FILE      : DisplayHistory.java
+//
+// DATE      : 2026-10-18 13:39
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.procs.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.astra.ses.spell.gui.core.model.notification.DisplayData;
+
+/*******************************************************************************
+ * @brief Display messages of a procedure, in a circular array.
+ *
+ *        With a capacity, the oldest message is evicted when a new one is
+ *        added to a full history. Evicted messages are handed back to the
+ *        caller, which may keep them in a DisplaySpill. Without a capacity
+ *        the history grows as needed. Not thread safe.
+ ******************************************************************************/
+class DisplayHistory
+{
+	/** Initial size of the array for unbounded or large histories */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/** Stored messages, circular */
+	private DisplayData[] m_messages;
+	/** Position of the oldest message */
+	private int m_head;
+	/** Number of messages stored */
+	private int m_size;
+	/** Maximum number of messages, -1 for no limit */
+	private int m_capacity;
+
+	/***************************************************************************
+	 * Constructor
+	 *
+	 * @param capacity
+	 *            Maximum number of messages, -1 for no limit
+	 **************************************************************************/
+	DisplayHistory(int capacity)
+	{
+		m_capacity = capacity;
+		m_messages = new DisplayData[initialLength(capacity)];
+		m_head = 0;
+		m_size = 0;
+	}
+
+	/***************************************************************************
+	 * Add a message, evicting the oldest one if full
+	 *
+	 * @return The evicted message, or null
+	 **************************************************************************/
+	DisplayData add(DisplayData data)
+	{
+		if (m_capacity == 0)
+		{
+			return data;
+		}
+		if (m_size == m_capacity)
+		{
+			DisplayData evicted = m_messages[m_head];
+			m_messages[m_head] = data;
+			m_head = (m_head + 1) % m_messages.length;
+			return evicted;
+		}
+		if (m_size == m_messages.length)
+		{
+			resize(grownLength());
+		}
+		m_messages[(m_head + m_size) % m_messages.length] = data;
+		m_size++;
+		return null;
+	}
+
+	/***************************************************************************
+	 * Copy of the stored messages, oldest first
+	 **************************************************************************/
+	DisplayData[] toArray()
+	{
+		DisplayData[] result = new DisplayData[m_size];
+		int first = Math.min(m_size, m_messages.length - m_head);
+		System.arraycopy(m_messages, m_head, result, 0, first);
+		System.arraycopy(m_messages, 0, result, first, m_size - first);
+		return result;
+	}
+
+	/***************************************************************************
+	 * Change the capacity, evicting the oldest messages if needed
+	 *
+	 * @return The evicted messages, oldest first
+	 **************************************************************************/
+	List<DisplayData> setCapacity(int capacity)
+	{
+		List<DisplayData> evicted = new ArrayList<DisplayData>();
+		m_capacity = capacity;
+		if (capacity != -1)
+		{
+			while (m_size > capacity)
+			{
+				evicted.add(m_messages[m_head]);
+				m_messages[m_head] = null;
+				m_head = (m_head + 1) % m_messages.length;
+				m_size--;
+			}
+		}
+		// Release the unused part of the array
+		resize(Math.max(m_size, initialLength(capacity)));
+		return evicted;
+	}
+
+	/***************************************************************************
+	 * Remove all messages
+	 **************************************************************************/
+	void clear()
+	{
+		m_messages = new DisplayData[initialLength(m_capacity)];
+		m_head = 0;
+		m_size = 0;
+	}
+
+	/***************************************************************************
+	 * Move the messages to an array of the given length
+	 **************************************************************************/
+	private void resize(int length)
+	{
+		DisplayData[] messages = toArray();
+		m_messages = Arrays.copyOf(messages, length);
+		m_head = 0;
+	}
+
+	/***************************************************************************
+	 * Array length after growing
+	 **************************************************************************/
+	private int grownLength()
+	{
+		int length = m_messages.length * 2;
+		if (m_capacity != -1 && length > m_capacity)
+		{
+			length = m_capacity;
+		}
+		return length;
+	}
+
+	/***************************************************************************
+	 * Array length for a new history of the given capacity
+	 **************************************************************************/
+	private static int initialLength(int capacity)
+	{
+		return (capacity == -1) ? INITIAL_CAPACITY : Math.min(capacity, INITIAL_CAPACITY);
+	}
+}
@@ -0,0 +1,336 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.procs.model
+// 
+// FILE      : DisplaySpill.java
+//
+// DATE      : 2026-10-18 13:39
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.procs.model;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+
+import com.astra.ses.spell.gui.core.model.notification.DisplayData;
+import com.astra.ses.spell.gui.core.model.types.DisplayType;
+import com.astra.ses.spell.gui.core.model.types.Level;
+import com.astra.ses.spell.gui.core.model.types.Scope;
+import com.astra.ses.spell.gui.core.model.types.Severity;
+import com.astra.ses.spell.gui.core.utils.Logger;
+
+/*******************************************************************************
+ * @brief Display messages evicted from the history, kept on disk.
+ *
+ *        Messages are appended to a data file. The offset of each message
+ *        goes to a second file of fixed size entries, so that the heap used
+ *        does not depend on the number of messages spilled. Both files are
+ *        temporary and created on the first message. Reading does not hold
+ *        the lock while accessing the files, so that appending is not
+ *        delayed by a reader.
+ ******************************************************************************/
+class DisplaySpill
+{
+	/** Encoding of the spilled strings */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	/** Size of an entry of the offsets file */
+	private static final int OFFSET_SIZE = 8;
+
+	/** True if messages are written to disk */
+	private boolean m_enabled;
+	/** Messages file */
+	private File m_dataFile;
+	/** Offsets file */
+	private File m_offsetsFile;
+	/** Stream appending to the messages file */
+	private DataOutputStream m_dataOut;
+	/** Stream appending to the offsets file */
+	private DataOutputStream m_offsetsOut;
+	/** Bytes written to the messages file */
+	private long m_written;
+	/** Number of spilled messages */
+	private int m_count;
+	/** Serialization buffer of one message */
+	private ByteArrayOutputStream m_record;
+
+	/***************************************************************************
+	 * Constructor
+	 *
+	 * @param enabled
+	 *            True if messages shall be written to disk
+	 **************************************************************************/
+	DisplaySpill(boolean enabled)
+	{
+		m_enabled = enabled;
+		m_written = 0;
+		m_count = 0;
+		m_record = new ByteArrayOutputStream(256);
+	}
+
+	/***************************************************************************
+	 * Append an evicted message. Does nothing when disabled.
+	 **************************************************************************/
+	synchronized void append(DisplayData data)
+	{
+		if (!m_enabled || m_count == Integer.MAX_VALUE) return;
+		try
+		{
+			if (m_dataOut == null)
+			{
+				open();
+			}
+			m_record.reset();
+			writeMessage(new DataOutputStream(m_record), data);
+			m_offsetsOut.writeLong(m_written);
+			m_record.writeTo(m_dataOut);
+			m_written += m_record.size();
+			m_count++;
+		}
+		catch (IOException ex)
+		{
+			Logger.error("Cannot spill display messages, disabled: " + ex.getLocalizedMessage(), Level.PROC, this);
+			release();
+			m_enabled = false;
+		}
+	}
+
+	/***************************************************************************
+	 * Number of messages that can be read back
+	 **************************************************************************/
+	synchronized int getCount()
+	{
+		return m_count;
+	}
+
+	/***************************************************************************
+	 * Read back spilled messages, oldest first
+	 *
+	 * @param first
+	 *            Index of the first message, zero being the oldest
+	 * @param count
+	 *            Maximum number of messages
+	 **************************************************************************/
+	DisplayData[] read(int first, int count)
+	{
+		File dataFile;
+		File offsetsFile;
+		int end;
+		synchronized (this)
+		{
+			end = (int) Math.min(m_count, (long) first + count);
+			if (first < 0 || first >= end) return new DisplayData[0];
+			try
+			{
+				m_dataOut.flush();
+				m_offsetsOut.flush();
+			}
+			catch (IOException ex)
+			{
+				Logger.error("Cannot read spilled display messages: " + ex.getLocalizedMessage(), Level.PROC, this);
+				return new DisplayData[0];
+			}
+			dataFile = m_dataFile;
+			offsetsFile = m_offsetsFile;
+		}
+		DisplayData[] result = new DisplayData[end - first];
+		RandomAccessFile offsets = null;
+		RandomAccessFile data = null;
+		try
+		{
+			offsets = new RandomAccessFile(offsetsFile, "r");
+			offsets.seek((long) first * OFFSET_SIZE);
+			data = new RandomAccessFile(dataFile, "r");
+			data.seek(offsets.readLong());
+			for (int index = 0; index < result.length; index++)
+			{
+				result[index] = readMessage(data);
+			}
+		}
+		catch (IOException ex)
+		{
+			// Also reached when the files are released while reading
+			Logger.error("Cannot read spilled display messages: " + ex.getLocalizedMessage(), Level.PROC, this);
+			return new DisplayData[0];
+		}
+		finally
+		{
+			closeQuietly(offsets);
+			closeQuietly(data);
+		}
+		return result;
+	}
+
+	/***************************************************************************
+	 * Remove all spilled messages
+	 **************************************************************************/
+	synchronized void clear()
+	{
+		release();
+	}
+
+	/***************************************************************************
+	 * Release the files. No more messages are spilled afterwards.
+	 **************************************************************************/
+	synchronized void dispose()
+	{
+		release();
+		m_enabled = false;
+	}
+
+	/***************************************************************************
+	 * Create the files
+	 **************************************************************************/
+	private void open() throws IOException
+	{
+		m_dataFile = File.createTempFile("spell-display-", ".dat");
+		m_dataFile.deleteOnExit();
+		m_offsetsFile = File.createTempFile("spell-display-", ".idx");
+		m_offsetsFile.deleteOnExit();
+		m_dataOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_dataFile)));
+		m_offsetsOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_offsetsFile)));
+	}
+
+	/***************************************************************************
+	 * Close and delete the files
+	 **************************************************************************/
+	private void release()
+	{
+		closeQuietly(m_dataOut);
+		closeQuietly(m_offsetsOut);
+		if (m_dataFile != null)
+		{
+			m_dataFile.delete();
+		}
+		if (m_offsetsFile != null)
+		{
+			m_offsetsFile.delete();
+		}
+		m_dataOut = null;
+		m_offsetsOut = null;
+		m_dataFile = null;
+		m_offsetsFile = null;
+		m_written = 0;
+		m_count = 0;
+	}
+
+	/***************************************************************************
+	 * Serialize a message
+	 **************************************************************************/
+	private static void writeMessage(DataOutputStream out, DisplayData data) throws IOException
+	{
+		writeString(out, data.getProcId());
+		writeString(out, data.getMessage());
+		writeString(out, (data.getType() == null) ? null : data.getType().name());
+		writeString(out, (data.getSeverity() == null) ? null : data.getSeverity().name());
+		writeString(out, (data.getScope() == null) ? null : data.getScope().name());
+		writeString(out, data.getTime());
+		out.writeLong(data.getSequence());
+		out.flush();
+	}
+
+	/***************************************************************************
+	 * Deserialize a message
+	 **************************************************************************/
+	private static DisplayData readMessage(RandomAccessFile in) throws IOException
+	{
+		String procId = readString(in);
+		String message = readString(in);
+		String type = readString(in);
+		String severity = readString(in);
+		String scope = readString(in);
+		String time = readString(in);
+		long sequence = in.readLong();
+		DisplayData data = new DisplayData(procId, message, (type == null) ? null : DisplayType.valueOf(type),
+		        (severity == null) ? null : Severity.valueOf(severity), (scope == null) ? null : Scope.valueOf(scope));
+		data.setTime(time);
+		data.setSequence(sequence);
+		return data;
+	}
+
+	/***************************************************************************
+	 * Write a string as its UTF-8 length and bytes, -1 for null
+	 **************************************************************************/
+	private static void writeString(DataOutputStream out, String str) throws IOException
+	{
+		if (str == null)
+		{
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = str.getBytes(UTF8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/***************************************************************************
+	 * Read a string written by writeString()
+	 **************************************************************************/
+	private static String readString(RandomAccessFile in) throws IOException
+	{
+		int length = in.readInt();
+		if (length < 0) return null;
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, UTF8);
+	}
+
+	/***************************************************************************
+	 * Close a stream, ignoring errors
+	 **************************************************************************/
+	private static void closeQuietly(java.io.Closeable stream)
+	{
+		if (stream == null) return;
+		try
+		{
+			stream.close();
+		}
+		catch (IOException ex)
+		{
+		}
+	}
+}
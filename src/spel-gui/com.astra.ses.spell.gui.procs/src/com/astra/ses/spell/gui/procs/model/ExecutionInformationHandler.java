@@ -48,7 +48,6 @@
 ////////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.procs.model;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -79,7 +78,11 @@ class ExecutionInformationHandler implements IExecutionInformationHandler
 {
 
 	/** Display messages */
-	private List<DisplayData> m_displayMessages;
+	private DisplayHistory m_displayMessages;
+	/** Display messages evicted from the history. Appending to it is ordered
+	 * by its own lock, taken before the lock of this object, so that readers
+	 * of the history do not wait for the disk */
+	private final DisplaySpill m_displaySpill;
 	/** Maximum capacity for display messages */
 	private int m_displayMessagesCapacity;
 	/** Error messages */
@@ -146,7 +149,6 @@ class ExecutionInformationHandler implements IExecutionInformationHandler
 	 **************************************************************************/
 	public ExecutionInformationHandler(ClientMode mode, IProcedure model )
 	{
-		m_displayMessages = new ArrayList<DisplayData>();
 		m_displayMessagesCapacity = -1;
 		m_error = null;
 		m_status = ExecutorStatus.UNKNOWN;
@@ -179,15 +181,19 @@ class ExecutionInformationHandler implements IExecutionInformationHandler
 		
 		// Obtain the maximum amount of display messages to store
 		m_displayMessagesCapacity = -1;
+		boolean spill = false;
 		try
 		{
 			IConfigurationManager cfg = (IConfigurationManager) ServiceManager.get(IConfigurationManager.class);
 			m_displayMessagesCapacity = Integer.parseInt(cfg.getProperty(PropertyKey.TEXT_HISTORY_ITEMS));
+			spill = "YES".equals(cfg.getProperty(PropertyKey.TEXT_HISTORY_SPILL));
 		}
 		catch(Exception ex)
 		{
 			ex.printStackTrace();
 		};
+		m_displayMessages = new DisplayHistory(m_displayMessagesCapacity);
+		m_displaySpill = new DisplaySpill(spill);
 
 	}
 
@@ -321,9 +327,27 @@ class ExecutionInformationHandler implements IExecutionInformationHandler
 	 * 
 	 **************************************************************************/
 	@Override
-	public DisplayData[] getDisplayMessages()
+	public synchronized DisplayData[] getDisplayMessages()
 	{
-		return m_displayMessages.toArray(new DisplayData[0]);
+		return m_displayMessages.toArray();
+	}
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	@Override
+	public int getSpilledMessageCount()
+	{
+		return m_displaySpill.getCount();
+	}
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	@Override
+	public DisplayData[] getSpilledMessages( int first, int count )
+	{
+		return m_displaySpill.read(first, count);
 	}
 
 	/***************************************************************************
@@ -438,13 +462,19 @@ class ExecutionInformationHandler implements IExecutionInformationHandler
 	 * 
 	 **************************************************************************/
 	@Override
-	public synchronized void displayMessage(DisplayData data)
+	public void displayMessage(DisplayData data)
 	{
-		m_displayMessages.add(data);
-		if ( (m_displayMessagesCapacity != -1) && 
-			 (m_displayMessages.size()>m_displayMessagesCapacity) )
+		synchronized(m_displaySpill)
 		{
-			m_displayMessages.remove(0);
+			DisplayData evicted;
+			synchronized(this)
+			{
+				evicted = m_displayMessages.add(data);
+			}
+			if (evicted != null)
+			{
+				m_displaySpill.append(evicted);
+			}
 		}
 	}
 
@@ -452,14 +482,20 @@ class ExecutionInformationHandler implements IExecutionInformationHandler
 	 * 
 	 **************************************************************************/
 	@Override
-	public synchronized void setDisplayMessageCapacity( int capacity )
+	public void setDisplayMessageCapacity( int capacity )
 	{
-		m_displayMessagesCapacity = capacity;
-		if (capacity != -1 && m_displayMessages.size()>m_displayMessagesCapacity)
+		synchronized(m_displaySpill)
 		{
-			int start = m_displayMessages.size() - m_displayMessagesCapacity;
-			m_displayMessages = m_displayMessages.subList(start, m_displayMessages.size()-1);
-			System.gc();
+			List<DisplayData> evicted;
+			synchronized(this)
+			{
+				m_displayMessagesCapacity = capacity;
+				evicted = m_displayMessages.setCapacity(capacity);
+			}
+			for (DisplayData data : evicted)
+			{
+				m_displaySpill.append(data);
+			}
 		}
 	}
 
@@ -920,13 +956,26 @@ class ExecutionInformationHandler implements IExecutionInformationHandler
 		logUpdate();
 	}
 
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	@Override
+	public void dispose()
+	{
+		m_displaySpill.dispose();
+	}
+
 	@Override
 	/***************************************************************************
 	 * NOTE: ClientMode keeps the same value
 	 **************************************************************************/
 	public void reset()
 	{
-		m_displayMessages.clear();
+		synchronized(this)
+		{
+			m_displayMessages.clear();
+		}
+		m_displaySpill.clear();
 		m_error = null;
 		m_status = ExecutorStatus.UNKNOWN;
 		m_stageId = null;
@@ -66,6 +66,7 @@ import com.astra.ses.spell.gui.core.interfaces.listeners.ICoreApplicationStatusL
 import com.astra.ses.spell.gui.core.model.notification.ApplicationStatus;
 import com.astra.ses.spell.gui.core.model.notification.ItemNotification;
 import com.astra.ses.spell.gui.core.model.notification.StackNotification;
+import com.astra.ses.spell.gui.core.model.notification.StackPosition;
 import com.astra.ses.spell.gui.core.model.notification.StackNotification.StackType;
 import com.astra.ses.spell.gui.core.model.notification.StatusNotification;
 import com.astra.ses.spell.gui.core.model.types.BreakpointType;
@@ -328,38 +329,22 @@ public class ExecutionStatusManager implements IExecutionStatusManager, ICoreApp
 	@Override
     public void onItemNotification(ItemNotification data)
     {
-	    List<String> stack = data.getStackPosition();
-		//Logger.debug("Notified item: " + Arrays.toString(stack.toArray()), Level.PROC, this);
-		
 		List<ICodeLine> updatedLines = new LinkedList<ICodeLine>();
-	    placeNotification( stack, data, updatedLines );
+	    placeNotification( data.getStack(), data, updatedLines );
 	    notifyItemsChanged(updatedLines);
     }
 	
 	/**************************************************************************
 	 * 
 	 *************************************************************************/
-	private void placeNotification( List<String> stack, ItemNotification data, List<ICodeLine> updatedLines )
+	private void placeNotification( StackPosition stack, ItemNotification data, List<ICodeLine> updatedLines )
 	{
-		//Logger.debug("Place notification: " + Arrays.toString(stack.toArray()), Level.PROC, this);
-		if (stack.size()>2)
+		// Every level with a line number gets the notification
+		int depth = stack.getDepth();
+		for(int level = 0; level < depth; level++)
 		{
-			String codeId = stack.get(0);
-			int lineNo = Integer.parseInt(stack.get(1))-1;
-			SingleCodeModel model = m_codeModels.get(codeId);
-			if (model == null)
-			{
-				Logger.error("Cannot place item notification, no such code: " + codeId, Level.PROC, this);
-				return;
-			}
-			model.onItemNotification(lineNo, data, updatedLines);
-			// Iterate
-			placeNotification( stack.subList(2, stack.size()), data, updatedLines);
-		}
-		else
-		{
-			String codeId = stack.get(0);
-			int lineNo = Integer.parseInt(stack.get(1))-1;
+			String codeId = stack.getCodeId(level);
+			int lineNo = stack.getLine(level)-1;
 			SingleCodeModel model = m_codeModels.get(codeId);
 			if (model == null)
 			{
@@ -416,9 +401,9 @@ public class ExecutionStatusManager implements IExecutionStatusManager, ICoreApp
 		{
 		case CALL:
 			//Logger.info("Notified CALL: " + Arrays.toString(data.getStackPosition().toArray()), Level.PROC, this);
-			String code = data.getStackPosition().get(data.getStackPosition().size()-2);
-			int lineNo = Integer.parseInt(data.getStackPosition().get(data.getStackPosition().size()-1));
-			m_so.onExecutionCall(code,data.getCodeName(),lineNo);
+			StackPosition position = data.getStack();
+			int level = position.getDepth()-1;
+			m_so.onExecutionCall(position.getCodeId(level),data.getCodeName(),position.getLine(level));
 			break;
 		case LINE:
 			//Logger.info("Notified LINE: " + Arrays.toString(data.getStackPosition().toArray()), Level.PROC, this);
@@ -534,7 +519,7 @@ public class ExecutionStatusManager implements IExecutionStatusManager, ICoreApp
 		try
 		{
 			List<ICodeLine> updatedLines = new LinkedList<ICodeLine>();
-			placeExecution( data.getStackPosition(), data.getStackType(), updatedLines );
+			placeExecution( data.getStack(), updatedLines );
 			if (m_buffer != null)
 			{
 				m_buffer.scheduleUpdate(updatedLines);
@@ -627,22 +612,19 @@ public class ExecutionStatusManager implements IExecutionStatusManager, ICoreApp
 	/**************************************************************************
 	 * 
 	 *************************************************************************/
-	private void placeExecution( List<String> stack, StackNotification.StackType type, List<ICodeLine> updatedLines )
+	private void placeExecution( StackPosition stack, List<ICodeLine> updatedLines )
 	{
-		//Logger.debug("Place execution: " + Arrays.toString(stack.toArray()), Level.PROC, this);
-		int stackElement = stack.size()/2-1;
-		int lineNo = -1;
-		String codeId = stack.get(0);
-		//Logger.debug("   - stack element: " + stackElement, Level.PROC, this);
-		//Logger.debug("   - code id      : " + codeId, Level.PROC, this);
-		SingleCodeModel code = getModel(codeId);
-		try
+		//Logger.debug("Place execution: " + stack, Level.PROC, this);
+		int depth = stack.getDepth();
+		for(int level = 0; level < depth; level++)
 		{
-			lineNo = Integer.parseInt(stack.get(1))-1;
-			//Logger.debug("   - line number  : " + lineNo, Level.PROC, this);
-			if (code.getLines().size()>lineNo)
+			// Stack elements are numbered from the innermost level
+			int stackElement = depth-level-1;
+			String codeId = stack.getCodeId(level);
+			int lineNo = stack.getLine(level)-1;
+			SingleCodeModel code = getModel(codeId);
+			if (lineNo >= 0 && code.getLineCount()>lineNo)
 			{
-				//Logger.debug("Place notification for line " + lineNo + " on code " + codeId, Level.PROC, this);
 				code.onStackNotification(lineNo);
 				m_so.updateCurrentLine(stackElement, lineNo);
 			}
@@ -651,21 +633,11 @@ public class ExecutionStatusManager implements IExecutionStatusManager, ICoreApp
 				Logger.error("Cannot place notification for line " + lineNo + " on code " + codeId, Level.PROC, this);
 				return;
 			}
-		}
-		catch(Exception ex)
-		{
-			ex.printStackTrace();
-		}
-		
-		if (stack.size()>2)
-		{
-			//Logger.debug("Subsequent call", Level.PROC, this);
-			placeExecution( stack.subList(2, stack.size()), type, updatedLines);
-		}
-		else
-		{
-			ICodeLine line = code.getLine(lineNo);
-			if (!updatedLines.contains(line)) updatedLines.add(line);
+			if (level == depth-1)
+			{
+				ICodeLine line = code.getLine(lineNo);
+				if (!updatedLines.contains(line)) updatedLines.add(line);
+			}
 		}
 	}
 
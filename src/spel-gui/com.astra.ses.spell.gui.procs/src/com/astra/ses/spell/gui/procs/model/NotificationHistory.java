@@ -0,0 +1,181 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.procs.model
+// 
+// FILE      : NotificationHistory.java
+//
+// DATE      : 2026-10-18 13:37
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.procs.model;
+
+import java.util.List;
+
+import com.astra.ses.spell.gui.core.model.notification.ItemNotification;
+
+/*******************************************************************************
+ * @brief Item notifications kept in sequence order, with a bounded size.
+ *
+ *        Notifications are stored in a circular array. When full, the one
+ *        with the lowest sequence is dropped. Notifications normally arrive
+ *        in order and are appended; late ones are moved back to their place.
+ ******************************************************************************/
+class NotificationHistory
+{
+	/** Initial capacity of the array */
+	private static final int INITIAL_CAPACITY = 4;
+
+	/** Stored notifications, circular */
+	private ItemNotification[] m_items;
+	/** Position of the first notification */
+	private int m_head;
+	/** Number of notifications stored */
+	private int m_size;
+	/** Maximum number of notifications, negative for no limit */
+	private int m_limit;
+
+	/***************************************************************************
+	 * Constructor
+	 *
+	 * @param limit
+	 *            Maximum number of notifications, negative for no limit
+	 **************************************************************************/
+	NotificationHistory(int limit)
+	{
+		m_items = new ItemNotification[INITIAL_CAPACITY];
+		m_head = 0;
+		m_size = 0;
+		m_limit = limit;
+	}
+
+	/***************************************************************************
+	 * Store a notification
+	 **************************************************************************/
+	void add(ItemNotification data)
+	{
+		if (m_limit == 0) return;
+		if (m_size == m_limit)
+		{
+			// Drop the oldest one
+			if (data.compareTo(get(0)) < 0) return;
+			m_items[m_head] = null;
+			m_head = (m_head + 1) % m_items.length;
+			m_size--;
+		}
+		else if (m_size == m_items.length)
+		{
+			grow();
+		}
+		int index = m_size;
+		while (index > 0 && get(index - 1).compareTo(data) > 0)
+		{
+			set(index, get(index - 1));
+			index--;
+		}
+		set(index, data);
+		m_size++;
+	}
+
+	/***************************************************************************
+	 * Number of notifications stored
+	 **************************************************************************/
+	int size()
+	{
+		return m_size;
+	}
+
+	/***************************************************************************
+	 * Append the notifications to the given list, in sequence order
+	 **************************************************************************/
+	void copyTo(List<ItemNotification> list)
+	{
+		for (int index = 0; index < m_size; index++)
+		{
+			list.add(get(index));
+		}
+	}
+
+	/***************************************************************************
+	 * Remove all notifications
+	 **************************************************************************/
+	void clear()
+	{
+		m_items = new ItemNotification[INITIAL_CAPACITY];
+		m_head = 0;
+		m_size = 0;
+	}
+
+	/***************************************************************************
+	 * Notification at the given position in sequence order
+	 **************************************************************************/
+	private ItemNotification get(int index)
+	{
+		return m_items[(m_head + index) % m_items.length];
+	}
+
+	/***************************************************************************
+	 * Set the notification at the given position in sequence order
+	 **************************************************************************/
+	private void set(int index, ItemNotification data)
+	{
+		m_items[(m_head + index) % m_items.length] = data;
+	}
+
+	/***************************************************************************
+	 * Double the capacity, up to the limit
+	 **************************************************************************/
+	private void grow()
+	{
+		int capacity = m_items.length * 2;
+		if (m_limit > 0 && capacity > m_limit)
+		{
+			capacity = m_limit;
+		}
+		ItemNotification[] larger = new ItemNotification[capacity];
+		for (int index = 0; index < m_size; index++)
+		{
+			larger[index] = get(index);
+		}
+		m_items = larger;
+		m_head = 0;
+	}
+}
@@ -0,0 +1,294 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.procs.model
+// 
+// FILE      : ParsedSource.java
+//
+// DATE      : 2026-10-18 13:54
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.procs.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.astra.ses.spell.language.ParseException;
+import com.astra.ses.spell.language.Parser;
+import com.astra.ses.spell.language.Visitor;
+import com.astra.ses.spell.language.model.SimpleNode;
+import com.astra.ses.spell.language.model.ast.Call;
+import com.astra.ses.spell.language.model.ast.FunctionDef;
+import com.astra.ses.spell.language.model.ast.Name;
+import com.astra.ses.spell.language.model.ast.NameTok;
+import com.astra.ses.spell.language.model.ast.Str;
+import com.astra.ses.spell.language.model.ast.exprType;
+import com.astra.ses.spell.language.model.ast.keywordType;
+
+/*******************************************************************************
+ * 
+ * Result of parsing a procedure source: the syntax tree and the elements of
+ * interest found on it. Immutable once built, it can be shared by several
+ * consumers and threads. Obtained through {@link ParsedSourceCache}.
+ * 
+ ******************************************************************************/
+public class ParsedSource
+{
+	private static final String STEP_CALL = "Step";
+	private static final String GOTO_CALL = "Goto";
+	private static final String STARTPROC_CALL = "StartProc";
+
+	/***************************************************************************
+	 * An element found in the source: a label and its line
+	 **************************************************************************/
+	public static class Element
+	{
+		private String m_label;
+		private int m_line;
+
+		Element( String label, int line )
+		{
+			m_label = label;
+			m_line = line;
+		}
+
+		public String getLabel()
+		{
+			return m_label;
+		}
+
+		public int getLine()
+		{
+			return m_line;
+		}
+	}
+
+	/** Code identifier */
+	private String m_codeId;
+	/** Syntax tree, null if the source could not be parsed */
+	private SimpleNode m_tree;
+	/** Parse failure, null if the source was parsed */
+	private Exception m_error;
+	/** Steps, labelled 'title (id)' */
+	private List<Element> m_steps;
+	/** Gotos, labelled 'Goto target' */
+	private List<Element> m_gotos;
+	/** Function definitions, labelled 'name()' */
+	private List<Element> m_functionDefs;
+	/** StartProc calls with a literal procedure, labelled with it */
+	private List<Element> m_startProcs;
+
+	/***************************************************************************
+	 * Parse the given source. Called from the cache.
+	 **************************************************************************/
+	ParsedSource( String codeId, char[] source )
+	{
+		m_codeId = codeId;
+		Indexer indexer = new Indexer();
+		try
+		{
+			m_tree = new Parser().parseCodeGetTree(source);
+			m_tree.accept(indexer);
+			m_error = null;
+		}
+		catch (Exception ex)
+		{
+			m_tree = null;
+			m_error = ex;
+		}
+		m_steps = Collections.unmodifiableList(indexer.steps);
+		m_gotos = Collections.unmodifiableList(indexer.gotos);
+		m_functionDefs = Collections.unmodifiableList(indexer.functionDefs);
+		m_startProcs = Collections.unmodifiableList(indexer.startProcs);
+	}
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	public String getCodeId()
+	{
+		return m_codeId;
+	}
+
+	/***************************************************************************
+	 * Syntax tree, null if parsing failed. Shall not be modified.
+	 **************************************************************************/
+	public SimpleNode getTree()
+	{
+		return m_tree;
+	}
+
+	/***************************************************************************
+	 * Parse failure, usually a {@link ParseException}, or null
+	 **************************************************************************/
+	public Exception getError()
+	{
+		return m_error;
+	}
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	public List<Element> getSteps()
+	{
+		return m_steps;
+	}
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	public List<Element> getGotos()
+	{
+		return m_gotos;
+	}
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	public List<Element> getFunctionDefs()
+	{
+		return m_functionDefs;
+	}
+
+	/***************************************************************************
+	 * StartProc calls. The line is the last one of the call arguments.
+	 **************************************************************************/
+	public List<Element> getStartProcCalls()
+	{
+		return m_startProcs;
+	}
+
+	/***************************************************************************
+	 * Collects the elements in a single traversal of the tree
+	 **************************************************************************/
+	private static class Indexer extends Visitor
+	{
+		List<Element> steps = new ArrayList<Element>();
+		List<Element> gotos = new ArrayList<Element>();
+		List<Element> functionDefs = new ArrayList<Element>();
+		List<Element> startProcs = new ArrayList<Element>();
+
+		/** Flag for parsing token elements */
+		private NextTokenType m_inToken = NextTokenType.None;
+		/** Used to compose the label of the next element */
+		private String m_nextLabel = "";
+		/** Used to hold the line number of the next element */
+		private int m_nextLine;
+
+		enum NextTokenType
+		{
+			FunctionCall, StepCall, StepTarget, GotoCall, None
+		}
+
+		@Override
+		public Object visitFunctionDef(FunctionDef node) throws Exception
+		{
+			NameTok name = (NameTok) node.name;
+			functionDefs.add(new Element(name.id + "()", node.beginLine));
+			return super.visitFunctionDef(node);
+		}
+
+		@Override
+		public Object visitCall(Call node) throws Exception
+		{
+			m_inToken = NextTokenType.FunctionCall;
+			m_nextLine = node.beginLine;
+			if (node.func instanceof Name && ((Name) node.func).id.equals(STARTPROC_CALL) 
+				&& node.args.length > 0 && node.args[0] instanceof Str)
+			{
+				int lineNo = node.beginLine;
+				for(exprType expr : node.args)
+				{
+					if (expr.beginLine>lineNo) lineNo = expr.beginLine;
+				}
+				for(keywordType k : node.keywords)
+				{
+					if (k.beginLine>lineNo) lineNo = k.beginLine;
+				}
+				startProcs.add(new Element(((Str) node.args[0]).s, lineNo));
+			}
+			return super.visitCall(node);
+		}
+
+		@Override
+		public Object visitName(Name node) throws Exception
+		{
+			if (m_inToken.equals(NextTokenType.FunctionCall))
+			{
+				if (node.id.equals(STEP_CALL))
+				{
+					m_nextLabel = "";
+					m_inToken = NextTokenType.StepCall;
+				}
+				else if (node.id.equals(GOTO_CALL))
+				{
+					m_nextLabel = "Goto ";
+					m_inToken = NextTokenType.GotoCall;
+				}
+			}
+			return super.visitName(node);
+		}
+
+		@Override
+		public Object visitStr(Str token) throws Exception
+		{
+			if (m_inToken.equals(NextTokenType.StepCall))
+			{
+				m_inToken = NextTokenType.StepTarget;
+				m_nextLabel = token.s;
+			}
+			else if (m_inToken.equals(NextTokenType.StepTarget))
+			{
+				m_inToken = NextTokenType.None;
+				steps.add(new Element(token.s + " (" + m_nextLabel + ")", m_nextLine));
+				m_nextLabel = "";
+			}
+			else if (m_inToken.equals(NextTokenType.GotoCall))
+			{
+				m_inToken = NextTokenType.None;
+				gotos.add(new Element(m_nextLabel + token.s, m_nextLine));
+				m_nextLabel = "";
+			}
+			return super.visitStr(token);
+		}
+	}
+}
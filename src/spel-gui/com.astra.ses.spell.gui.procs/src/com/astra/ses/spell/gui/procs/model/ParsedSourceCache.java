@@ -0,0 +1,272 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.procs.model
+// 
+// FILE      : ParsedSourceCache.java
+//
+// DATE      : 2026-10-18 13:54
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.procs.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import com.astra.ses.spell.gui.core.model.types.Level;
+import com.astra.ses.spell.gui.core.utils.Logger;
+
+/*******************************************************************************
+ * 
+ * Keeps the parsed form of the procedure sources, so that the outline, the
+ * dependencies manager and any other consumer share a single parse of each
+ * source version. Entries are keyed by code identifier and validated against
+ * the source contents. Sources can be parsed in advance on a background
+ * thread; a consumer asking for a source being parsed waits for that parse.
+ * 
+ ******************************************************************************/
+public class ParsedSourceCache
+{
+	/** Maximum number of code identifiers kept */
+	private static final int CAPACITY = 32;
+	/** Appended to the source to ensure correct parsing at end */
+	private static final char[] TRAILER = "\npass\n".toCharArray();
+
+	/** Singleton instance */
+	private static ParsedSourceCache s_instance = null;
+
+	/***************************************************************************
+	 * A source version and its parse
+	 **************************************************************************/
+	private static class Version
+	{
+		char[] source;
+		long hash;
+		FutureTask<ParsedSource> parse;
+	}
+
+	/** Entries by code identifier, least recently used first */
+	private Map<String, Version> m_entries;
+	/** Thread for parsing in advance */
+	private ExecutorService m_background;
+
+	/***************************************************************************
+	 * Obtain the singleton instance
+	 **************************************************************************/
+	public static synchronized ParsedSourceCache get()
+	{
+		if (s_instance == null)
+		{
+			s_instance = new ParsedSourceCache();
+		}
+		return s_instance;
+	}
+
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	private ParsedSourceCache()
+	{
+		m_entries = new LinkedHashMap<String, Version>(CAPACITY, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Version> eldest)
+			{
+				return size() > CAPACITY;
+			}
+		};
+		m_background = Executors.newSingleThreadExecutor(new ThreadFactory()
+		{
+			@Override
+			public Thread newThread(Runnable runnable)
+			{
+				Thread thread = new Thread(runnable, "Source parser");
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			}
+		});
+	}
+
+	/***************************************************************************
+	 * Obtain the parsed form of a source, parsing it if needed
+	 * 
+	 * @param codeId
+	 *            The code identifier
+	 * @param lines
+	 *            The source lines
+	 **************************************************************************/
+	public ParsedSource getParsed( String codeId, String[] lines )
+	{
+		FutureTask<ParsedSource> parse = obtain(codeId, lines);
+		// Does nothing if already parsed or being parsed by another thread
+		parse.run();
+		boolean interrupted = false;
+		try
+		{
+			while (true)
+			{
+				try
+				{
+					return parse.get();
+				}
+				catch (InterruptedException ex)
+				{
+					interrupted = true;
+				}
+			}
+		}
+		catch (ExecutionException ex)
+		{
+			// The parsed source holds the parse errors, this is unexpected
+			throw new RuntimeException(ex.getCause());
+		}
+		finally
+		{
+			if (interrupted) Thread.currentThread().interrupt();
+		}
+	}
+
+	/***************************************************************************
+	 * Parse a source on the background thread, unless already available
+	 **************************************************************************/
+	public void prefetch( String codeId, String[] lines )
+	{
+		FutureTask<ParsedSource> parse = obtain(codeId, lines);
+		if (!parse.isDone())
+		{
+			m_background.execute(parse);
+		}
+	}
+
+	/***************************************************************************
+	 * Discard the parsed form of a source
+	 **************************************************************************/
+	public synchronized void invalidate( String codeId )
+	{
+		m_entries.remove(codeId);
+	}
+
+	/***************************************************************************
+	 * Find the parse of the given source version, or create a new one
+	 **************************************************************************/
+	private FutureTask<ParsedSource> obtain( final String codeId, String[] lines )
+	{
+		final char[] source = assemble(lines);
+		long hash = hash(source);
+		synchronized(this)
+		{
+			Version entry = m_entries.get(codeId);
+			if (entry != null && entry.hash == hash && Arrays.equals(entry.source, source))
+			{
+				return entry.parse;
+			}
+			entry = new Version();
+			entry.source = source;
+			entry.hash = hash;
+			entry.parse = new FutureTask<ParsedSource>(new Callable<ParsedSource>()
+			{
+				@Override
+				public ParsedSource call() throws Exception
+				{
+					long start = System.nanoTime();
+					ParsedSource parsed = new ParsedSource(codeId, source);
+					Logger.debug("Parsed " + codeId + " in " + ((System.nanoTime() - start) / 1000) + " usec", Level.PROC, ParsedSourceCache.this);
+					return parsed;
+				}
+			});
+			m_entries.put(codeId, entry);
+			return entry.parse;
+		}
+	}
+
+	/***************************************************************************
+	 * Join the source lines in a single buffer
+	 **************************************************************************/
+	private static char[] assemble( String[] lines )
+	{
+		int length = TRAILER.length;
+		if (lines != null && lines.length > 0)
+		{
+			length += lines.length - 1;
+			for (String line : lines)
+			{
+				length += line.length();
+			}
+		}
+		char[] source = new char[length];
+		int pos = 0;
+		if (lines != null)
+		{
+			for (int index = 0; index < lines.length; index++)
+			{
+				if (index > 0) source[pos++] = '\n';
+				String line = lines[index];
+				line.getChars(0, line.length(), source, pos);
+				pos += line.length();
+			}
+		}
+		System.arraycopy(TRAILER, 0, source, pos, TRAILER.length);
+		return source;
+	}
+
+	/***************************************************************************
+	 * Hash of a source buffer
+	 **************************************************************************/
+	private static long hash( char[] source )
+	{
+		long hash = 1125899906842597L;
+		for (char c : source)
+		{
+			hash = 31 * hash + c;
+		}
+		return hash;
+	}
+}
@@ -214,6 +214,7 @@ public class Procedure extends ProcedureBase
 	public void onClose()
 	{
 		m_executionStatusManager.dispose();
+		m_executionInformation.dispose();
 	}
 
 	/***************************************************************************
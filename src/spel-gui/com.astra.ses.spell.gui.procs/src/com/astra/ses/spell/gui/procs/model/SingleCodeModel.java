@@ -46,7 +46,8 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.procs.model;
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -63,8 +64,10 @@ public class SingleCodeModel implements ICodeModel
 {
 	/** Holds the current code identifier */
 	private String m_codeId;
-	/** Holds code lines */
-	private List<ICodeLine> m_lines;
+	/** Holds the code lines, indexed from zero. Replaced on initialization */
+	private volatile ICodeLine[] m_lines;
+	/** Read-only view of the code lines */
+	private volatile List<ICodeLine> m_lineList;
 	/** True if in replay mode */
 	private boolean m_replay;
 	/** Reference to the model */
@@ -86,7 +89,7 @@ public class SingleCodeModel implements ICodeModel
 		}
 		m_codeId = codeId;
 		m_model = model;
-		m_lines = new LinkedList<ICodeLine>();
+		setLines(new ICodeLine[0]);
 		m_replay = false;
 	}
 	
@@ -105,9 +108,10 @@ public class SingleCodeModel implements ICodeModel
     @Override
     public ICodeLine getLine(int lineNo)
     {
-    	if (m_lines.size()>lineNo)
+    	ICodeLine[] lines = m_lines;
+    	if (lineNo >= 0 && lineNo < lines.length)
     	{
-    		return m_lines.get(lineNo);
+    		return lines[lineNo];
     	}
     	return null;
     }
@@ -118,7 +122,15 @@ public class SingleCodeModel implements ICodeModel
     @Override
     public List<ICodeLine> getLines()
     {
-	    return m_lines;
+	    return m_lineList;
+    }
+
+	/**************************************************************************
+	 * Number of code lines
+	 *************************************************************************/
+    public int getLineCount()
+    {
+	    return m_lines.length;
     }
 
 	/* (non-Javadoc)
@@ -131,13 +143,14 @@ public class SingleCodeModel implements ICodeModel
 	    String[] lines = m_model.getSourceCodeProvider().getSource(m_codeId, monitor);
 	    if (lines != null)
 	    {
-		    int index = 1;
-		    for(String source : lines)
+		    // The source is shared with other models of the same code
+		    CodeLineTable table = CodeLineTable.intern(m_codeId, lines);
+		    ICodeLine[] codeLines = new ICodeLine[table.size()];
+		    for(int index = 0; index < codeLines.length; index++)
 		    {
-		    	ICodeLine codeLine = new CodeLine(m_codeId, index, source);
-		    	getLines().add(codeLine);
-		    	index++;
+		    	codeLines[index] = new CodeLine(table, index);
 		    }
+		    setLines(codeLines);
 			Logger.debug("Code " + m_codeId + " initialized, lines " + getLines().size(), Level.PROC, this);
 	    }
 	    else
@@ -146,6 +159,15 @@ public class SingleCodeModel implements ICodeModel
 	    }
     }
 
+	/**************************************************************************
+	 * Publish a new set of code lines
+	 *************************************************************************/
+    private void setLines( ICodeLine[] lines )
+    {
+    	m_lineList = Collections.unmodifiableList(Arrays.asList(lines));
+    	m_lines = lines;
+    }
+
 	/**************************************************************************
 	 * 
 	 *************************************************************************/
@@ -104,6 +104,8 @@ public class SourceCodeProvider implements ISourceCodeProvider
 			if (!monitor.isCanceled() && source != null)
 			{
 				m_sources.put(codeId, source);
+				// Have the source parsed before the outline and others need it
+				ParsedSourceCache.get().prefetch(codeId, source);
 				BreakpointType[] bp = new BreakpointType[source.length];
 				Arrays.fill(bp, BreakpointType.UNKNOWN);
 			}
@@ -48,12 +48,22 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.procs.services;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -85,14 +95,24 @@ import com.astra.ses.spell.gui.procs.model.RemoteProcedure;
  */
 class ProcedureModelManager
 {
+	/** Maximum number of remote models obtained at the same time */
+	private static final int MAX_PARALLEL = 8;
+	/** Time an idle model loader thread is kept, in seconds */
+	private static final long LOADER_KEEPALIVE = 30;
+
 	/** Holds the reference to the context proxy */
 	private IContextProxy m_proxy;
 	/** Holds the reference to the context proxy */
 	private IFileManager m_fileMgr;
 	/** Holds the list of local procedures */
 	private Map<String, IProcedure> m_localModels;
-	/** Holds the list of remote procedures */
-	private Map<String, IProcedure> m_remoteModels;
+	/** Holds the list of remote procedures. Models are added as they are
+	 * obtained, possibly from several threads */
+	private ConcurrentMap<String, IProcedure> m_remoteModels;
+	/** Holds the identifiers of the remote models being obtained */
+	private Set<String> m_obtaining;
+	/** Threads obtaining the remote models */
+	private ThreadPoolExecutor m_loaders;
 	/** Holds the list of valid procedure identifiers */
 	private Map<String, String> m_availableProcedures;
 
@@ -102,7 +122,20 @@ class ProcedureModelManager
 	public ProcedureModelManager(IContextProxy proxy, IFileManager fileMgr)
 	{
 		m_localModels = new TreeMap<String, IProcedure>();
-		m_remoteModels = new TreeMap<String, IProcedure>();
+		m_remoteModels = new ConcurrentSkipListMap<String, IProcedure>();
+		m_obtaining = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		final AtomicInteger threadCount = new AtomicInteger(1);
+		m_loaders = new ThreadPoolExecutor(MAX_PARALLEL, MAX_PARALLEL, LOADER_KEEPALIVE, TimeUnit.SECONDS,
+		        new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+		        {
+			        public Thread newThread(Runnable r)
+			        {
+				        Thread thread = new Thread(r, "Remote model loader-" + threadCount.getAndIncrement());
+				        thread.setDaemon(true);
+				        return thread;
+			        }
+		        });
+		m_loaders.allowCoreThreadTimeOut(true);
 		m_availableProcedures = new HashMap<String, String>();
 		m_proxy = proxy;
 		m_fileMgr = fileMgr;
@@ -132,20 +165,72 @@ class ProcedureModelManager
 	/***************************************************************************
 	 * Request the list of available procedures to the context. Called as soon
 	 * as the context proxy Connected Event is received.
+	 * 
+	 * The executor information is requested for several executors at the
+	 * same time, and the models of executors no longer active are removed.
+	 * The call does not wait for the information: each model is stored and
+	 * notified to the model listeners as soon as its information arrives.
 	 **************************************************************************/
 	void obtainRemoteProcedures()
 	{
 		try
 		{
-			m_remoteModels.clear();
 			Logger.debug("Loading active executor models", Level.PROC, this);
+			final long start = System.nanoTime();
 			List<String> executorIds = m_proxy.getAvailableExecutors();
+			// Discard the models of finished executors and of those loaded locally
+			for (String instanceId : m_remoteModels.keySet())
+			{
+				if (!executorIds.contains(instanceId) || m_localModels.containsKey(instanceId))
+				{
+					discardRemoteProcedureModel(instanceId);
+				}
+			}
+			List<String> toObtain = new ArrayList<String>();
 			for (String instanceId : executorIds)
 			{
-				// Do not load those which are local
-				if (m_localModels.containsKey(instanceId))
+				// Do not load those which are local, nor those already requested
+				if (m_localModels.containsKey(instanceId) || !m_obtaining.add(instanceId))
 					continue;
-				createRemoteProcedureModel(instanceId);
+				toObtain.add(instanceId);
+			}
+			if (toObtain.isEmpty()) return;
+
+			final int total = toObtain.size();
+			final AtomicInteger remaining = new AtomicInteger(total);
+			for (final String instanceId : toObtain)
+			{
+				m_loaders.execute(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						try
+						{
+							if (m_remoteModels.containsKey(instanceId))
+							{
+								refreshRemoteProcedureModel(instanceId);
+							}
+							else
+							{
+								createRemoteProcedureModel(instanceId);
+							}
+						}
+						finally
+						{
+							m_obtaining.remove(instanceId);
+						}
+						IProcedure model = m_remoteModels.get(instanceId);
+						if (model != null)
+						{
+							ProcedureNotifications.get().fireModelObtained(model);
+						}
+						if (remaining.decrementAndGet() == 0)
+						{
+							Logger.debug("Loaded " + total + " executor models in " + ((System.nanoTime() - start) / 1000) + " usec", Level.PROC, ProcedureModelManager.this);
+						}
+					}
+				});
 			}
 		}
 		catch (Exception ex)
@@ -247,7 +332,7 @@ class ProcedureModelManager
 	 * @param instanceId
 	 *            Procedure instance identifier
 	 **************************************************************************/
-	synchronized void createRemoteProcedureModel(String instanceId)
+	void createRemoteProcedureModel(String instanceId)
 	{
 		try
 		{
@@ -258,7 +343,7 @@ class ProcedureModelManager
 				Logger.debug("Updating remote model for " + instanceId, Level.PROC, this);
 				proc.getController().refresh();
 				Logger.debug("Store remote model " + instanceId, Level.PROC, this);
-				m_remoteModels.put(instanceId, proc);
+				m_remoteModels.putIfAbsent(instanceId, proc);
 			}
 		}
 		catch (Exception ex)
@@ -267,6 +352,27 @@ class ProcedureModelManager
 		}
 	}
 
+	/***************************************************************************
+	 * Update the executor information of an existing remote procedure model
+	 * 
+	 * @param instanceId
+	 *            Procedure instance identifier
+	 **************************************************************************/
+	private void refreshRemoteProcedureModel(String instanceId)
+	{
+		IProcedure proc = m_remoteModels.get(instanceId);
+		if (proc == null) return;
+		try
+		{
+			Logger.debug("Updating remote model for " + instanceId, Level.PROC, this);
+			proc.getController().refresh();
+		}
+		catch (Exception ex)
+		{
+			ex.printStackTrace();
+		}
+	}
+
 	/***************************************************************************
 	 * Remove a remote procedure model
 	 * 
@@ -632,7 +738,25 @@ class ProcedureModelManager
 	 **************************************************************************/
 	void clearRemoteProcedures()
 	{
-		m_remoteModels.clear();
+		for (String instanceId : m_remoteModels.keySet())
+		{
+			discardRemoteProcedureModel(instanceId);
+		}
+	}
+
+	/***************************************************************************
+	 * Remove a remote procedure model no longer valid and notify it
+	 * 
+	 * @param instanceId
+	 *            Procedure instance identifier
+	 **************************************************************************/
+	private void discardRemoteProcedureModel(String instanceId)
+	{
+		IProcedure proc = m_remoteModels.remove(instanceId);
+		if (proc != null)
+		{
+			ProcedureNotifications.get().fireModelDiscarded(proc);
+		}
 	}
 
 	/***************************************************************************
@@ -46,6 +46,8 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.shared.messages;
 
+import java.util.List;
+
 import com.astra.ses.spell.gui.core.comm.messages.MessageException;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageRequest;
@@ -54,6 +56,9 @@ import com.astra.ses.spell.gui.core.interfaces.IMessageValue;
 
 public class SPELLmessageGetSharedVariable extends SPELLmessageRequest
 {
+	/** Separator of variable names and values */
+	private static final String LIST_SEPARATOR = "\3";
+
 	/***************************************************************************
 	 * 
 	 **************************************************************************/
@@ -66,6 +71,40 @@ public class SPELLmessageGetSharedVariable extends SPELLmessageRequest
 		set(ISDMessageField.FIELD_SHARED_SCOPE, scope);
 	}
 	
+	/***************************************************************************
+	 * Request the values of several variables at once
+	 **************************************************************************/
+	public SPELLmessageGetSharedVariable(List<String> names, String scope)
+	{
+		super(ISDMessageId.REQ_GET_SHARED_DATA);
+		setSender(IMessageValue.CLIENT_SENDER);
+		setReceiver(IMessageValue.CONTEXT_RECEIVER);
+		StringBuilder list = new StringBuilder();
+		for(String name : names)
+		{
+			if (list.length() > 0) list.append(LIST_SEPARATOR);
+			list.append(name);
+		}
+		set(ISDMessageField.FIELD_SHARED_VARIABLE, list.toString());
+		set(ISDMessageField.FIELD_SHARED_SCOPE, scope);
+	}
+	
+	/***************************************************************************
+	 * Obtain the values of a request for several variables
+	 * 
+	 * @return The values in request order, or null if the response does not
+	 *         hold one value per variable
+	 **************************************************************************/
+	public static String[] getValues( SPELLmessage response, int count )
+	{
+		String value = getValue(response);
+		if (value == null) return null;
+		// A single variable is answered without separators
+		if (count == 1) return new String[] { value };
+		String[] values = value.split(LIST_SEPARATOR, -1);
+		return (values.length == count) ? values : null;
+	}
+	
 	/***************************************************************************
 	 * 
 	 **************************************************************************/
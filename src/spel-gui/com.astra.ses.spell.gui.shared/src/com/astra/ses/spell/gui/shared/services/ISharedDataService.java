@@ -82,6 +82,16 @@ public interface ISharedDataService extends IService
 	 **************************************************************************/
 	public void removeSharedScope( String scope );
 
+	/***************************************************************************
+	 * Register a listener for the changes made by other clients
+	 **************************************************************************/
+	public void addListener( ISharedDataListener listener );
+
+	/***************************************************************************
+	 * Unregister a listener
+	 **************************************************************************/
+	public void removeListener( ISharedDataListener listener );
+
 	/***************************************************************************
 	 * Update status with server
 	 * 
@@ -21,6 +21,11 @@ public interface ISharedScope
 	public void update( SharedDataOperation operation, String[] varList, String[] varValue, 
 			List<SharedVariable> added, List<SharedVariable> updated, List<SharedVariable> deleted );
 
+	/***************************************************************************
+	 * Force the next update to fetch all the variables again
+	 **************************************************************************/
+	public void invalidate();
+
 	/***************************************************************************
 	 * 
 	 **************************************************************************/
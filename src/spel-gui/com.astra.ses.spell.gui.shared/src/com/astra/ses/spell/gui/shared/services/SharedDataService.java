@@ -49,27 +49,40 @@ package com.astra.ses.spell.gui.shared.services;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
 import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
+import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageRequest;
+import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageResponse;
 import com.astra.ses.spell.gui.core.interfaces.BaseService;
+import com.astra.ses.spell.gui.core.interfaces.ICommListener;
 import com.astra.ses.spell.gui.core.interfaces.IContextProxy;
+import com.astra.ses.spell.gui.core.interfaces.IMessageField;
 import com.astra.ses.spell.gui.core.interfaces.ServiceManager;
+import com.astra.ses.spell.gui.core.model.notification.ErrorData;
 import com.astra.ses.spell.gui.core.model.types.Level;
 import com.astra.ses.spell.gui.core.utils.Logger;
+import com.astra.ses.spell.gui.shared.messages.ISDMessageField;
+import com.astra.ses.spell.gui.shared.messages.ISDMessageId;
 import com.astra.ses.spell.gui.shared.messages.SPELLmessageAddSharedVariableScope;
 import com.astra.ses.spell.gui.shared.messages.SPELLmessageGetSharedVariableScopes;
 import com.astra.ses.spell.gui.shared.messages.SPELLmessageRemoveSharedVariableScope;
+import com.astra.ses.spell.gui.shared.messages.SharedDataOperation;
+import com.astra.ses.spell.gui.shared.views.controls.SharedVariable;
 
 /*******************************************************************************
  * 
  * SharedDataService will handle propeties which are only valid during
  * application lifecycle. That means that they won't be stored as preferences
  * are being made.
+ * 
+ * The scopes are kept up to date with the shared data notifications, so
+ * that refreshing them only needs to fetch what was missed.
  ******************************************************************************/
-public class SharedDataService extends BaseService implements ISharedDataService
+public class SharedDataService extends BaseService implements ISharedDataService, ICommListener
 {
 	/** Service identifier */
 	public static final String	                ID	= "com.astra.ses.spell.gui.shareddata";
@@ -78,6 +91,8 @@ public class SharedDataService extends BaseService implements ISharedDataService
 	private static IContextProxy s_proxy = null;
 	
 	private Map<String,ISharedScope> m_tables;
+	/** Listeners for the changes made by other clients */
+	private List<ISharedDataListener> m_listeners;
 
 	/***************************************************************************
 	 * Constructor
@@ -85,7 +100,8 @@ public class SharedDataService extends BaseService implements ISharedDataService
 	public SharedDataService()
 	{
 		super(ID);
-		m_tables = new TreeMap<String,ISharedScope>();
+		m_tables = new ConcurrentSkipListMap<String,ISharedScope>();
+		m_listeners = new CopyOnWriteArrayList<ISharedDataListener>();
 		if (s_proxy == null)
 		{
 			s_proxy = (IContextProxy) ServiceManager.get(IContextProxy.class);
@@ -98,6 +114,7 @@ public class SharedDataService extends BaseService implements ISharedDataService
 	@Override
 	public void cleanup()
 	{
+		s_proxy.removeCommListener(this);
 		m_tables.clear();
 	}
 
@@ -109,6 +126,7 @@ public class SharedDataService extends BaseService implements ISharedDataService
 	{
 		SharedScope global = new SharedScope(GLOBAL_SCOPE,s_proxy);
 		m_tables.put(GLOBAL_SCOPE,global);
+		s_proxy.addCommListener(this);
 	}
 
 	/***************************************************************************
@@ -204,6 +222,27 @@ public class SharedDataService extends BaseService implements ISharedDataService
 	    }
 	}
 
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	@Override
+	public void addListener( ISharedDataListener listener )
+	{
+		if (!m_listeners.contains(listener))
+		{
+			m_listeners.add(listener);
+		}
+	}
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	@Override
+	public void removeListener( ISharedDataListener listener )
+	{
+		m_listeners.remove(listener);
+	}
+
 	@Override
     public void update(IProgressMonitor monitor)
     {
@@ -262,4 +301,108 @@ public class SharedDataService extends BaseService implements ISharedDataService
 	        e.printStackTrace();
         }
     }
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	@Override
+    public SPELLmessageResponse receiveRequest(SPELLmessageRequest msg)
+    {
+	    return null;
+    }
+
+	/***************************************************************************
+	 * Apply the shared data operations of other clients to the scopes
+	 **************************************************************************/
+	@Override
+    public void receiveMessage( SPELLmessage msg )
+    {
+		if (!msg.getId().equals(ISDMessageId.MSG_SHARED_DATA_OP)) return;
+
+		try
+        {
+			// Operations originated by this GUI are already applied
+			if (msg.hasKey(IMessageField.FIELD_GUI_KEY) 
+				&& msg.get(IMessageField.FIELD_GUI_KEY).equals(s_proxy.getClientKey())) return;
+
+	        SharedDataOperation op = SharedDataOperation.valueOf(msg.get(ISDMessageField.FIELD_SHARED_OP));
+	        String scope = msg.get(ISDMessageField.FIELD_SHARED_SCOPE);
+	        switch(op)
+	        {
+	        case ADD_SHARED_SCOPE:
+	        	if (!m_tables.containsKey(scope))
+	        	{
+	        		m_tables.put(scope, new SharedScope(scope,s_proxy));
+	        	}
+	        	break;
+	        case DEL_SHARED_SCOPE:
+	        	if (!scope.equals(GLOBAL_SCOPE))
+	        	{
+	        		m_tables.remove(scope);
+	        	}
+	        	break;
+	        default:
+	        	ISharedScope table = m_tables.get(scope);
+	        	if (table == null) return;
+		        String[] varList = msg.get(ISDMessageField.FIELD_SHARED_VARIABLE).split("\3");
+		        String[] valueList = msg.get(ISDMessageField.FIELD_SHARED_VALUE).split("\3", -1);
+				List<SharedVariable> added = new LinkedList<SharedVariable>();
+				List<SharedVariable> updated = new LinkedList<SharedVariable>();
+				List<SharedVariable> deleted = new LinkedList<SharedVariable>();
+				table.update(op, varList, valueList, added, updated, deleted);
+				for(ISharedDataListener listener : m_listeners)
+				{
+					listener.sharedVariablesChanged(scope, added, updated, deleted);
+				}
+	        	return;
+	        }
+			for(ISharedDataListener listener : m_listeners)
+			{
+				listener.sharedScopesChanged();
+			}
+        }
+        catch (Exception e)
+        {
+	        e.printStackTrace();
+        }
+    }
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	@Override
+    public void connectionLost(ErrorData data)
+    {
+		invalidate();
+    }
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	@Override
+    public void connectionFailed(ErrorData data)
+    {
+		invalidate();
+    }
+
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	@Override
+    public void connectionClosed()
+    {
+		invalidate();
+    }
+
+	/***************************************************************************
+	 * Notifications may be missed while disconnected, so the scopes shall be
+	 * fetched again on the next update
+	 **************************************************************************/
+	private void invalidate()
+	{
+		for(ISharedScope table : m_tables.values())
+		{
+			table.invalidate();
+		}
+	}
 }
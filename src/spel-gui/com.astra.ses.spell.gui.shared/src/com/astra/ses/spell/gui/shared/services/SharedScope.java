@@ -1,9 +1,13 @@
 package com.astra.ses.spell.gui.shared.services;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -18,11 +22,29 @@ import com.astra.ses.spell.gui.shared.messages.SPELLmessageSetSharedVariable;
 import com.astra.ses.spell.gui.shared.messages.SharedDataOperation;
 import com.astra.ses.spell.gui.shared.views.controls.SharedVariable;
 
+/*******************************************************************************
+ * Local mirror of the shared variables of a scope.
+ *
+ * The first update fetches all variables, their values being requested in
+ * groups with several groups in flight. From then on the mirror follows
+ * the shared data notifications and the operations of this GUI. Further
+ * updates only fetch the variables added or removed without notice, unless
+ * the mirror was invalidated (e.g. after a connection loss). The context
+ * keeps no version of the shared data, so the update after a reconnection
+ * is always a full one.
+ ******************************************************************************/
 public class SharedScope implements ISharedScope
 {
+	/** Maximum number of variables requested at once */
+	private static final int GROUP_SIZE = 200;
+	/** Maximum number of variable requests in flight */
+	private static final int WINDOW = 4;
+
 	private IContextProxy m_proxy = null;
 	private String m_scope;
 	private Map<String,SharedVariable> m_data;
+	/** True once the mirror holds all the variables of the scope */
+	private boolean m_synced;
 	
 	/***************************************************************************
 	 * 
@@ -32,6 +54,7 @@ public class SharedScope implements ISharedScope
 		m_proxy = proxy;
 		m_scope = scope;
 		m_data = new TreeMap<String,SharedVariable>();
+		m_synced = false;
     	Logger.debug("Created scope model: " + scope, Level.PROC, this);
 	}
 	
@@ -43,19 +66,49 @@ public class SharedScope implements ISharedScope
 	{
     	Logger.debug("Update scope model: " + m_scope, Level.PROC, this);
 
-		Map<String,SharedVariable> temp = new TreeMap<String,SharedVariable>();
 		List<String> keys = doGetKeys();
-		monitor.beginTask("Updating variables", keys.size());
-		for(String key : keys)
+		if (keys == null) return;
+
+		boolean synced;
+		List<String> toFetch = new ArrayList<String>();
+		synchronized(this)
 		{
-			String value = doGet(key);
-			SharedVariable var = new SharedVariable(key,value);
-			temp.put(key,var);
-			monitor.worked(1);
-			if (monitor.isCanceled()) return; 
+			synced = m_synced;
+			if (synced)
+			{
+				// Only the variables unknown to the mirror are needed
+				Set<String> known = new HashSet<String>(keys);
+				m_data.keySet().retainAll(known);
+				for(String key : keys)
+				{
+					if (!m_data.containsKey(key)) toFetch.add(key);
+				}
+			}
+			else
+			{
+				toFetch.addAll(keys);
+			}
+		}
+
+		monitor.beginTask("Updating variables", toFetch.size());
+		Map<String,SharedVariable> temp = doGetAll(toFetch, monitor);
+		if (temp == null) return;
+
+		synchronized(this)
+		{
+			if (synced)
+			{
+				// Notifications received meanwhile are more recent
+				temp.keySet().removeAll(m_data.keySet());
+			}
+			else
+			{
+				m_data.clear();
+			}
+			m_data.putAll(temp);
+			m_synced = true;
 		}
-		m_data.clear();
-		m_data.putAll(temp);
+    	Logger.debug("Scope model " + m_scope + " " + (synced ? "delta" : "full") + " update, " + toFetch.size() + " variables fetched", Level.PROC, this);
 		monitor.done();
 	}
 
@@ -63,12 +116,17 @@ public class SharedScope implements ISharedScope
 	 * 
 	 **************************************************************************/
 	@Override
-    public void update( SharedDataOperation operation, String[] varList, String[] valueList,
+    public synchronized void update( SharedDataOperation operation, String[] varList, String[] valueList,
     		            List<SharedVariable> added, List<SharedVariable> updated, List<SharedVariable> deleted)
 	{
 		int count = 0;
 		
-		if (operation.equals(SharedDataOperation.DEL_SHARED_DATA))
+		if (operation.equals(SharedDataOperation.CLEAR_SHARED_SCOPE))
+		{
+			deleted.addAll(m_data.values());
+			m_data.clear();
+		}
+		else if (operation.equals(SharedDataOperation.DEL_SHARED_DATA))
 		{
 			for(String key : varList)
 			{
@@ -102,6 +160,15 @@ public class SharedScope implements ISharedScope
 		}
 	}
 
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
+	@Override
+	public synchronized void invalidate()
+	{
+		m_synced = false;
+	}
+
 	/***************************************************************************
 	 * 
 	 **************************************************************************/
@@ -110,7 +177,10 @@ public class SharedScope implements ISharedScope
 	{
 		if (doClearScope())
 		{
-			m_data.clear();
+			synchronized(this)
+			{
+				m_data.clear();
+			}
 			return true;
 		}
 		return false;
@@ -124,7 +194,10 @@ public class SharedScope implements ISharedScope
 	{
 		if (doClear(variable))
 		{
-			m_data.remove(variable);
+			synchronized(this)
+			{
+				m_data.remove(variable);
+			}
 			return true;
 		}
 		return false;
@@ -138,7 +211,18 @@ public class SharedScope implements ISharedScope
 	{
 		if (doSet(variable,value))
 		{
-			m_data.get(variable).value = value;
+			synchronized(this)
+			{
+				SharedVariable var = m_data.get(variable);
+				if (var == null)
+				{
+					m_data.put(variable, new SharedVariable(variable, value));
+				}
+				else
+				{
+					var.value = value;
+				}
+			}
 			return true;
 		}
 		return false;
@@ -148,7 +232,7 @@ public class SharedScope implements ISharedScope
 	 * 
 	 **************************************************************************/
 	@Override
-    public SharedVariable get( String variable )
+    public synchronized SharedVariable get( String variable )
 	{
 		return m_data.get(variable);
 	}
@@ -157,7 +241,7 @@ public class SharedScope implements ISharedScope
 	 * 
 	 **************************************************************************/
 	@Override
-    public SharedVariable[] getAll()
+    public synchronized SharedVariable[] getAll()
 	{
 		return m_data.values().toArray( new SharedVariable[0] );
 	}
@@ -175,7 +259,7 @@ public class SharedScope implements ISharedScope
 	 * 
 	 **************************************************************************/
 	@Override
-    public List<String> getKeys()
+    public synchronized List<String> getKeys()
 	{
 		List<String> keys = new LinkedList<String>();
 		keys.addAll(m_data.keySet());
@@ -205,6 +289,64 @@ public class SharedScope implements ISharedScope
 		return keys;
 	}
 	
+	/***************************************************************************
+	 * Fetch the values of the given variables, several at a time
+	 * 
+	 * @return The variables, or null if cancelled
+	 **************************************************************************/
+	private Map<String,SharedVariable> doGetAll( List<String> keys, IProgressMonitor monitor )
+	{
+		Map<String,SharedVariable> result = new TreeMap<String,SharedVariable>();
+		LinkedList<List<String>> groups = new LinkedList<List<String>>();
+		LinkedList<SPELLmessage> requests = new LinkedList<SPELLmessage>();
+		LinkedList<Future<SPELLmessage>> responses = new LinkedList<Future<SPELLmessage>>();
+		int next = 0;
+		try
+		{
+			while (next < keys.size() || !groups.isEmpty())
+			{
+				while (next < keys.size() && groups.size() < WINDOW)
+				{
+					List<String> group = keys.subList(next, Math.min(keys.size(), next + GROUP_SIZE));
+					next += group.size();
+					SPELLmessage msg = new SPELLmessageGetSharedVariable(group, m_scope);
+					groups.add(group);
+					requests.add(msg);
+					responses.add(m_proxy.sendRequestAsync(msg));
+				}
+				List<String> group = groups.removeFirst();
+				SPELLmessage msg = requests.removeFirst();
+				Future<SPELLmessage> response = responses.removeFirst();
+				String[] values = null;
+				try
+				{
+					values = SPELLmessageGetSharedVariable.getValues(m_proxy.checkResponse(msg, response), group.size());
+				}
+				catch(Exception ex)
+				{
+					Logger.warning("Failed to get shared variables in " + m_scope + " at once: " + ex.getLocalizedMessage(), Level.PROC, this);
+				}
+				for(int index = 0; index < group.size(); index++)
+				{
+					// Fall back to one request per variable if the group failed
+					String key = group.get(index);
+					String value = (values != null) ? values[index] : doGet(key);
+					result.put(key, new SharedVariable(key, value));
+					monitor.worked(1);
+				}
+				if (monitor.isCanceled()) return null;
+			}
+		}
+		finally
+		{
+			for(Future<SPELLmessage> response : responses)
+			{
+				response.cancel(false);
+			}
+		}
+		return result;
+	}
+
 	/***************************************************************************
 	 * 
 	 **************************************************************************/
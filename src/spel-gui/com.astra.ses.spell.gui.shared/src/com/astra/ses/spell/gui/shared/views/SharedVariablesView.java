@@ -51,7 +51,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jface.dialogs.IDialogConstants;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.SWT;
@@ -65,13 +64,7 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.TabFolder;
 import org.eclipse.ui.part.ViewPart;
 
-import com.astra.ses.spell.gui.core.comm.messages.MessageException;
-import com.astra.ses.spell.gui.core.comm.messages.SPELLmessage;
-import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageRequest;
-import com.astra.ses.spell.gui.core.comm.messages.SPELLmessageResponse;
-import com.astra.ses.spell.gui.core.interfaces.ICommListener;
 import com.astra.ses.spell.gui.core.interfaces.IContextProxy;
-import com.astra.ses.spell.gui.core.interfaces.IMessageField;
 import com.astra.ses.spell.gui.core.interfaces.IServerProxy;
 import com.astra.ses.spell.gui.core.interfaces.ServiceManager;
 import com.astra.ses.spell.gui.core.interfaces.listeners.ICoreContextOperationListener;
@@ -84,18 +77,17 @@ import com.astra.ses.spell.gui.extensions.GuiNotifications;
 import com.astra.ses.spell.gui.model.commands.helpers.CommandHelper;
 import com.astra.ses.spell.gui.shared.commands.ClearSharedVariablesJob;
 import com.astra.ses.spell.gui.shared.commands.RefreshSharedVariablesJob;
-import com.astra.ses.spell.gui.shared.messages.ISDMessageField;
-import com.astra.ses.spell.gui.shared.messages.ISDMessageId;
-import com.astra.ses.spell.gui.shared.messages.SharedDataOperation;
+import com.astra.ses.spell.gui.shared.services.ISharedDataListener;
 import com.astra.ses.spell.gui.shared.services.ISharedDataService;
 import com.astra.ses.spell.gui.shared.services.ISharedScope;
 import com.astra.ses.spell.gui.shared.views.controls.ScopeTab;
+import com.astra.ses.spell.gui.shared.views.controls.SharedVariable;
 import com.astra.ses.spell.gui.shared.views.controls.SharedVariableDialog;
 
 /*******************************************************************************
  * 
  ******************************************************************************/
-public class SharedVariablesView extends ViewPart implements ICommListener, ICoreContextOperationListener
+public class SharedVariablesView extends ViewPart implements ICoreContextOperationListener, ISharedDataListener
 {
 	/** Holds the view identifier */
 	public static final String ID = "com.astra.ses.spell.gui.shared.views.SharedVariablesView";
@@ -137,8 +129,7 @@ public class SharedVariablesView extends ViewPart implements ICommListener, ICor
 	public void dispose()
 	{
 		super.dispose();
-		IContextProxy proxy = (IContextProxy) ServiceManager.get(IContextProxy.class);
-		proxy.removeCommListener(this);
+		m_service.removeListener(this);
 		GuiNotifications.get().removeListener(this);
 	}
 
@@ -215,7 +206,7 @@ public class SharedVariablesView extends ViewPart implements ICommListener, ICor
 			update();
 		}
 		
-		proxy.addCommListener(this);
+		m_service.addListener(this);
 		GuiNotifications.get().addListener(this, ICoreContextOperationListener.class);
 		
 		boolean ready = (m_ctxProxy.isConnected() && !m_monitoringMode);
@@ -389,114 +380,38 @@ public class SharedVariablesView extends ViewPart implements ICommListener, ICor
 		m_clearAll.setEnabled(enable && !m_monitoringMode);
 	}
 
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
 	@Override
-    public SPELLmessageResponse receiveRequest(SPELLmessageRequest msg)
+    public void sharedScopesChanged()
     {
-	    return null;
+        Display.getDefault().syncExec( new Runnable()
+        {
+        	public void run()
+        	{
+	        	update();
+        	}
+        });
     }
 
+	/***************************************************************************
+	 * 
+	 **************************************************************************/
 	@Override
-    public void receiveMessage( final SPELLmessage msg )
+    public void sharedVariablesChanged( final String scope, final List<SharedVariable> added, 
+    		final List<SharedVariable> updated, final List<SharedVariable> deleted )
     {
-		// Process only the messages we are interested on
-		if (!msg.getId().equals(ISDMessageId.MSG_SHARED_DATA_OP)) return;
-		
-		// Ignore messages of operations originated by this GUI
-		if (msg.hasKey(IMessageField.FIELD_GUI_KEY))
-		{
-			try
-            {
-	            String guiKey = msg.get(IMessageField.FIELD_GUI_KEY);
-	            if (guiKey.equals(m_ctxProxy.getClientKey())) return;
-            }
-            catch (MessageException e)
-            {
-	            e.printStackTrace();
-	            return;
-            }
-		}
-
-		try
+        Display.getDefault().syncExec( new Runnable()
         {
-	        final SharedDataOperation op = SharedDataOperation.valueOf(msg.get(ISDMessageField.FIELD_SHARED_OP));
-	        final String scope = msg.get(ISDMessageField.FIELD_SHARED_SCOPE);
-	        
-	        Display.getDefault().syncExec( new Runnable()
-	        {
-	        	public void run()
+        	public void run()
+        	{
+	        	if (m_scopes.containsKey(scope))
 	        	{
-	        		switch(op)
-			        {
-			        case ADD_SHARED_SCOPE:
-			        case DEL_SHARED_SCOPE:
-			        	m_service.update( new NullProgressMonitor() );
-			        	update();
-			        	break;
-			        case CLEAR_SHARED_SCOPE:
-			        case DEL_SHARED_DATA:
-			        case SET_SHARED_DATA:
-			        	if (m_scopes.containsKey(scope))
-			        	{
-			        		try
-			        		{
-						        String[] varList = msg.get(ISDMessageField.FIELD_SHARED_VARIABLE).split("\3");
-						        String[] valueList = msg.get(ISDMessageField.FIELD_SHARED_VALUE).split("\3");
-				        		m_scopes.get(scope).forceUpdate( op, varList, valueList );
-				        		m_tabs.setSelection(m_scopes.get(scope));
-			        		}
-			        		catch(Exception ex){};
-			        	}
-			        	break;
-			        }
+	        		m_scopes.get(scope).applyChanges( added, updated, deleted );
+	        		m_tabs.setSelection(m_scopes.get(scope));
 	        	}
-	        });
-        }
-        catch (MessageException e)
-        {
-	        e.printStackTrace();
-        }
-	    
-    }
-
-	@Override
-    public void connectionLost(ErrorData data)
-    {
-		try
-		{
-			removeAllScopes();
-			enableControls(false);
-		}
-		catch(Exception ex)
-		{
-			ex.printStackTrace();
-		}
-    }
-
-	@Override
-    public void connectionFailed(ErrorData data)
-    {
-		try
-		{
-			removeAllScopes();
-			enableControls(false);
-		}
-		catch(Exception ex)
-		{
-			ex.printStackTrace();
-		}
-    }
-
-	@Override
-    public void connectionClosed()
-    {
-		try
-		{
-			removeAllScopes();
-			enableControls(false);
-		}
-		catch(Exception ex)
-		{
-			ex.printStackTrace();
-		}
+        	}
+        });
     }
 }
@@ -72,7 +72,6 @@ import com.astra.ses.spell.gui.core.utils.Logger;
 import com.astra.ses.spell.gui.model.commands.helpers.CommandHelper;
 import com.astra.ses.spell.gui.shared.commands.ClearSharedVariablesJob;
 import com.astra.ses.spell.gui.shared.commands.RefreshSharedVariablesJob;
-import com.astra.ses.spell.gui.shared.messages.SharedDataOperation;
 import com.astra.ses.spell.gui.shared.services.ISharedDataService;
 import com.astra.ses.spell.gui.shared.services.ISharedScope;
 import com.astra.ses.spell.gui.shared.views.SharedVariablesView;
@@ -249,13 +248,8 @@ public class ScopeTab extends TabItem implements ISelectionChangedListener
 	/***************************************************************************
 	 * 
 	 **************************************************************************/
-	public void forceUpdate( SharedDataOperation operation, String[] varList, String[] valueList )
+	public void applyChanges( List<SharedVariable> added, List<SharedVariable> updated, List<SharedVariable> deleted )
 	{
-		List<SharedVariable> added = new LinkedList<SharedVariable>();
-		List<SharedVariable> updated = new LinkedList<SharedVariable>();
-		List<SharedVariable> deleted = new LinkedList<SharedVariable>();
-		
-		m_table.update( operation, varList, valueList, added, updated, deleted );
 		for(Object obj : added)
 		{
 			m_viewer.add(obj);
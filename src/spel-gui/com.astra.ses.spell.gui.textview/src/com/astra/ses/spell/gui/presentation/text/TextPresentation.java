@@ -77,6 +77,9 @@ import com.astra.ses.spell.gui.preferences.keys.FontKey;
 import com.astra.ses.spell.gui.preferences.keys.PreferenceCategory;
 import com.astra.ses.spell.gui.preferences.keys.PropertyKey;
 import com.astra.ses.spell.gui.presentation.text.controls.DisplayViewer;
+import com.astra.ses.spell.gui.presentation.text.model.TextBufferCursor;
+import com.astra.ses.spell.gui.presentation.text.model.TextSearchMatch;
+import com.astra.ses.spell.gui.presentation.text.model.TextSearchQuery;
 import com.astra.ses.spell.gui.procs.interfaces.model.IExecutionInformationHandler;
 import com.astra.ses.spell.gui.procs.interfaces.model.IProcedure;
 import com.astra.ses.spell.gui.types.ExecutorStatus;
@@ -132,6 +135,7 @@ public class TextPresentation extends ProcedurePresentationAdapter implements IG
 		// Create the viewer, main control.
 		int capacity = model.getRuntimeInformation().getDisplayMessageCapacity();
 		m_displayViewer = new DisplayViewer(displayPage, capacity);
+		m_displayViewer.setHistory(model.getRuntimeInformation());
 		
 		m_displayViewer.setCodeName(model.getProcName(),null,"");
 		return displayPage;
@@ -342,6 +346,31 @@ public class TextPresentation extends ProcedurePresentationAdapter implements IG
 		return m_displayViewer.getTextLines();
 	}
 
+	/************************************************************************************
+	 * Open a cursor over a snapshot of the display lines. It can be read from
+	 * a background job.
+	 ***********************************************************************************/
+	public TextBufferCursor openDisplayCursor()
+	{
+		return m_displayViewer.openCursor();
+	}
+
+	/************************************************************************************
+	 * Find the display messages matching the given query
+	 ***********************************************************************************/
+	public TextSearchMatch[] searchDisplay( TextSearchQuery query )
+	{
+		return m_displayViewer.search(query);
+	}
+
+	/************************************************************************************
+	 * Show the display message of a search match
+	 ***********************************************************************************/
+	public boolean showDisplayMatch( TextSearchMatch match )
+	{
+		return m_displayViewer.showMatch(match);
+	}
+
 	/************************************************************************************
 	 * 
 	 ***********************************************************************************/
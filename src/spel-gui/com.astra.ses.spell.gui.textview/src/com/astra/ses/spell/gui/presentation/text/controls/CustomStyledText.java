@@ -83,7 +83,10 @@ import com.astra.ses.spell.gui.core.utils.Logger;
 import com.astra.ses.spell.gui.preferences.interfaces.IConfigurationManager;
 import com.astra.ses.spell.gui.preferences.keys.FontKey;
 import com.astra.ses.spell.gui.preferences.keys.PropertyKey;
+import com.astra.ses.spell.gui.presentation.text.model.TextBufferCursor;
 import com.astra.ses.spell.gui.presentation.text.model.TextParagraph;
+import com.astra.ses.spell.gui.presentation.text.model.TextSearchMatch;
+import com.astra.ses.spell.gui.presentation.text.model.TextSearchQuery;
 import com.astra.ses.spell.gui.presentation.text.model.TextViewContent;
 import com.astra.ses.spell.gui.presentation.text.model.TextViewLine;
 
@@ -315,6 +318,42 @@ public class CustomStyledText extends Composite implements ControlListener, Sele
 		return m_model.getAllLines();
 	}
 
+	/**************************************************************************
+	 * Open a cursor over a snapshot of all lines of text
+	 *************************************************************************/
+	public TextBufferCursor openCursor()
+	{
+		return m_model.openCursor();
+	}
+
+	/**************************************************************************
+	 * Find the lines matching the given query
+	 *************************************************************************/
+	public TextSearchMatch[] search( TextSearchQuery query )
+	{
+		return m_model.search(query);
+	}
+
+	/**************************************************************************
+	 * Move the view window to show the line of a search match. With
+	 * autoscroll enabled the view will go on following the new data.
+	 * 
+	 * @return False if the line is no longer stored
+	 *************************************************************************/
+	public boolean showMatch( TextSearchMatch match )
+	{
+		int position = m_model.getLinePosition(match.getLine());
+		if (position == -1) return false;
+		int thumb = m_scrollBar.getThumb();
+		int totalDataLength = m_model.getTotalDataSize();
+		// Center the line whenever possible
+		int start = Math.max(0, Math.min(position - thumb / 2, totalDataLength - thumb));
+		m_scrollBar.setSelection(start);
+		m_model.setViewWindow(start, thumb, m_autoScroll);
+		m_view.setCaretOffset(m_model.getOffsetAtLine(position - start));
+		return true;
+	}
+
 	/**************************************************************************
 	 * Increase or decrease the font size
 	 *************************************************************************/
@@ -54,6 +54,7 @@ import java.util.Calendar;
 import java.util.TimeZone;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StackLayout;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Color;
@@ -65,13 +66,18 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Label;
 
 import com.astra.ses.spell.gui.core.interfaces.ServiceManager;
+import com.astra.ses.spell.gui.core.model.notification.DisplayData;
 import com.astra.ses.spell.gui.core.model.types.Scope;
 import com.astra.ses.spell.gui.core.model.types.Severity;
 import com.astra.ses.spell.gui.preferences.interfaces.IConfigurationManager;
 import com.astra.ses.spell.gui.preferences.keys.FontKey;
 import com.astra.ses.spell.gui.preferences.keys.PropertyKey;
 import com.astra.ses.spell.gui.presentation.text.model.ParagraphType;
+import com.astra.ses.spell.gui.presentation.text.model.TextBufferCursor;
 import com.astra.ses.spell.gui.presentation.text.model.TextParagraph;
+import com.astra.ses.spell.gui.presentation.text.model.TextSearchMatch;
+import com.astra.ses.spell.gui.presentation.text.model.TextSearchQuery;
+import com.astra.ses.spell.gui.procs.interfaces.model.IExecutionInformation;
 import com.astra.ses.spell.gui.types.ExecutorStatus;
 
 /*******************************************************************************
@@ -82,6 +88,8 @@ public class DisplayViewer
 {
 	private static IConfigurationManager s_cfg = null;
 	private static DateFormat s_format ;
+	/** Number of spilled messages shown at a time */
+	private static final int SPILL_PAGE = 500;
 	
 	// Time formatter
 	static
@@ -92,6 +100,21 @@ public class DisplayViewer
 	
 	/** Text contents */
 	private CustomStyledText m_text;
+	/** Shows either the text contents or a page of spilled messages */
+	private StackLayout m_pages;
+	/** Page of spilled messages, created when first shown */
+	private CustomStyledText m_spilled;
+	/** Source of the spilled messages */
+	private IExecutionInformation m_history;
+	/** Index of the first spilled message shown, -1 when showing the text */
+	private int m_spilledFirst = -1;
+	/** Spilled messages paging controls, null if spilling is disabled */
+	private Button m_btnOlder;
+	private Button m_btnNewer;
+	private Button m_btnLatest;
+	private Label m_pageName;
+	/** Current background color */
+	private Color m_background;
 	/** Show timestamp control */
 	private Button m_chkTimestamp;
 	/** Code name control */
@@ -123,13 +146,21 @@ public class DisplayViewer
 		base.setLayoutData( new GridData( GridData.FILL_BOTH ));
 		base.setLayout( new GridLayout(1,true) );
 		
-		m_text = new CustomStyledText(base, capacity);
-		m_text.setLayoutData(new GridData(GridData.FILL_BOTH | GridData.GRAB_HORIZONTAL | GridData.GRAB_VERTICAL));
-		m_text.setBackground(s_cfg.getProcedureColor(ExecutorStatus.LOADED));
+		Composite pages = new Composite(base, SWT.NONE);
+		pages.setLayoutData(new GridData(GridData.FILL_BOTH | GridData.GRAB_HORIZONTAL | GridData.GRAB_VERTICAL));
+		m_pages = new StackLayout();
+		pages.setLayout(m_pages);
+
+		m_text = new CustomStyledText(pages, capacity);
+		m_background = s_cfg.getProcedureColor(ExecutorStatus.LOADED);
+		m_text.setBackground(m_background);
+		m_pages.topControl = m_text;
+
+		boolean spill = "YES".equals(s_cfg.getProperty(PropertyKey.TEXT_HISTORY_SPILL));
 
 		Composite tools = new Composite(base, SWT.BORDER);
 		tools.setLayoutData( new GridData( GridData.FILL_HORIZONTAL ));
-		tools.setLayout( new GridLayout( 10, false ) );
+		tools.setLayout( new GridLayout( spill ? 15 : 10, false ) );
 		
 		m_chkTimestamp = new Button(tools, SWT.CHECK );
 		m_chkTimestamp.setText("Show message timestamp");
@@ -189,6 +220,153 @@ public class DisplayViewer
 		m_functionName = new Label( tools, SWT.NONE);
 		m_functionName.setText( "" );
 		m_functionName.setLayoutData( new GridData( GridData.GRAB_HORIZONTAL ) );
+
+		if (spill)
+		{
+			createPagingControls(tools);
+		}
+	}
+
+	/***************************************************************************
+	 * Create the controls to page through the spilled messages
+	 **************************************************************************/
+	private void createPagingControls( Composite tools )
+	{
+		Label sep = new Label( tools, SWT.SEPARATOR | SWT.VERTICAL );
+		GridData gd = new GridData();
+		gd.heightHint = 20;
+		gd.widthHint = 30;
+		sep.setLayoutData(gd);
+
+		m_pageName = new Label( tools, SWT.NONE);
+		m_pageName.setText( "" );
+		m_pageName.setLayoutData( new GridData( GridData.GRAB_HORIZONTAL ) );
+
+		SelectionAdapter paging = new SelectionAdapter()
+		{
+			public void widgetSelected( SelectionEvent ev )
+			{
+				if (ev.widget == m_btnOlder)
+				{
+					showOlderPage();
+				}
+				else if (ev.widget == m_btnNewer)
+				{
+					showNewerPage();
+				}
+				else
+				{
+					showLatest();
+				}
+			}
+		};
+
+		m_btnOlder = new Button(tools, SWT.PUSH);
+		m_btnOlder.setText("Older");
+		m_btnOlder.addSelectionListener(paging);
+
+		m_btnNewer = new Button(tools, SWT.PUSH);
+		m_btnNewer.setText("Newer");
+		m_btnNewer.addSelectionListener(paging);
+
+		m_btnLatest = new Button(tools, SWT.PUSH);
+		m_btnLatest.setText("Latest");
+		m_btnLatest.addSelectionListener(paging);
+
+		updatePaging();
+	}
+
+	/***************************************************************************
+	 * Set the source of the messages evicted from the history
+	 **************************************************************************/
+	public void setHistory( IExecutionInformation history )
+	{
+		m_history = history;
+	}
+
+	/***************************************************************************
+	 * Show the page of spilled messages before the current one, or the
+	 * latest spilled messages when showing the text contents
+	 **************************************************************************/
+	private void showOlderPage()
+	{
+		if (m_history == null) return;
+		int first;
+		if (m_spilledFirst == -1)
+		{
+			first = Math.max(0, m_history.getSpilledMessageCount() - SPILL_PAGE);
+		}
+		else
+		{
+			first = Math.max(0, m_spilledFirst - SPILL_PAGE);
+		}
+		showSpilledPage(first);
+	}
+
+	/***************************************************************************
+	 * Show the page of spilled messages after the current one, or the text
+	 * contents after the last page
+	 **************************************************************************/
+	private void showNewerPage()
+	{
+		if (m_history == null || m_spilledFirst == -1) return;
+		int first = m_spilledFirst + SPILL_PAGE;
+		if (first >= m_history.getSpilledMessageCount())
+		{
+			showLatest();
+		}
+		else
+		{
+			showSpilledPage(first);
+		}
+	}
+
+	/***************************************************************************
+	 * Load and show a page of spilled messages
+	 **************************************************************************/
+	private void showSpilledPage( int first )
+	{
+		DisplayData[] messages = m_history.getSpilledMessages(first, SPILL_PAGE);
+		if (messages.length == 0) return;
+		if (m_spilled == null)
+		{
+			m_spilled = new CustomStyledText(m_text.getParent(), -1);
+			m_spilled.setBackground(m_background);
+			m_spilled.setShowTimestamp(m_chkTimestamp.getSelection());
+		}
+		m_spilled.clear();
+		for (DisplayData data : messages)
+		{
+			m_spilled.append(createParagraph(data.getMessage(), data.getSeverity(), data.getTime(), data.getScope(), data.getSequence()));
+		}
+		m_spilledFirst = first;
+		m_pageName.setText("Older messages " + (first + 1) + " to " + (first + messages.length));
+		m_pages.topControl = m_spilled;
+		m_spilled.getParent().layout();
+		updatePaging();
+	}
+
+	/***************************************************************************
+	 * Go back to the text contents
+	 **************************************************************************/
+	private void showLatest()
+	{
+		m_spilledFirst = -1;
+		m_pageName.setText("");
+		m_pages.topControl = m_text;
+		m_text.getParent().layout();
+		updatePaging();
+	}
+
+	/***************************************************************************
+	 * Update the paging buttons
+	 **************************************************************************/
+	private void updatePaging()
+	{
+		m_btnOlder.setEnabled(m_spilledFirst != 0);
+		m_btnNewer.setEnabled(m_spilledFirst != -1);
+		m_btnLatest.setEnabled(m_spilledFirst != -1);
+		m_pageName.getParent().layout();
 	}
 
 	/***************************************************************************
@@ -219,6 +397,10 @@ public class DisplayViewer
 	private void toggleTimestamp()
 	{
 		m_text.setShowTimestamp( m_chkTimestamp.getSelection() );
+		if (m_spilled != null)
+		{
+			m_spilled.setShowTimestamp( m_chkTimestamp.getSelection() );
+		}
 	}
 	
 	/***************************************************************************
@@ -228,6 +410,10 @@ public class DisplayViewer
 	{
 		m_text.setEnabled(enable);
 		m_chkTimestamp.setEnabled(enable);
+		if (m_spilled != null)
+		{
+			m_spilled.setEnabled(enable);
+		}
 	}
 
 	/***************************************************************************
@@ -252,6 +438,10 @@ public class DisplayViewer
 	public void zoom(boolean increase)
 	{
 		m_text.zoom(increase);
+		if (m_spilled != null)
+		{
+			m_spilled.zoom(increase);
+		}
 	}
 
 	/***************************************************************************
@@ -274,15 +464,21 @@ public class DisplayViewer
 		{
 			m_previousStatus = status;
 		}
-		m_text.setRedraw(false);
-		m_text.setBackground(s_cfg.getProcedureColor(status));
-		m_text.setRedraw(true);
+		setBackground(s_cfg.getProcedureColor(status));
 	}
 
 	/***************************************************************************
 	 * Add a normal message to the model
 	 **************************************************************************/
 	public synchronized void addMessage(String text, Severity severity, String timestamp, Scope scope, long sequence)
+	{
+		appendParagraph(createParagraph(text, severity, timestamp, scope, sequence));
+	}
+
+	/***************************************************************************
+	 * Create the paragraph of a message
+	 **************************************************************************/
+	private TextParagraph createParagraph(String text, Severity severity, String timestamp, Scope scope, long sequence)
 	{
 		String msgTimestamp = "";
 		try
@@ -317,7 +513,7 @@ public class DisplayViewer
 		{
 			p = getTextParagraph(ParagraphType.NORMAL, scope, text, msgTimestamp, sequence);
 		}
-		appendParagraph(p);
+		return p;
 	}
 
 	/***************************************************************************
@@ -326,6 +522,10 @@ public class DisplayViewer
 	public void clear()
 	{
 		m_text.clear();
+		if (m_pageName != null)
+		{
+			showLatest();
+		}
 	}
 
 	/***************************************************************************
@@ -336,6 +536,32 @@ public class DisplayViewer
 		return m_text.getTextLines();
 	}
 
+	/***************************************************************************
+	 * Open a cursor over a snapshot of the context lines
+	 **************************************************************************/
+	public TextBufferCursor openCursor()
+	{
+		return m_text.openCursor();
+	}
+
+	/***************************************************************************
+	 * Find the messages matching the given query
+	 **************************************************************************/
+	public TextSearchMatch[] search( TextSearchQuery query )
+	{
+		return m_text.search(query);
+	}
+
+	/***************************************************************************
+	 * Show the message of a search match
+	 * 
+	 * @return False if the message is no longer in the history
+	 **************************************************************************/
+	public boolean showMatch( TextSearchMatch match )
+	{
+		return m_text.showMatch(match);
+	}
+
 	/***************************************************************************
 	 * Append a paragraph and show last line
 	 **************************************************************************/
@@ -373,7 +599,14 @@ public class DisplayViewer
 	 **************************************************************************/
 	public void setBackground( Color color )
 	{
+		m_background = color;
+		m_text.setRedraw(false);
 		m_text.setBackground(color);
+		m_text.setRedraw(true);
+		if (m_spilled != null)
+		{
+			m_spilled.setBackground(color);
+		}
 	}
 
 	/***************************************************************************
@@ -382,6 +615,10 @@ public class DisplayViewer
 	public void setShowTimestamp( boolean show )
 	{
 		m_text.setShowTimestamp( show );
+		if (m_spilled != null)
+		{
+			m_spilled.setShowTimestamp( show );
+		}
 	}
 
 	/***************************************************************************
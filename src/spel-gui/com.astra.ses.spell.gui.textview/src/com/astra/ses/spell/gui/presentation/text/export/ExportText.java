@@ -101,6 +101,8 @@ public class ExportText extends AbstractHandler
 			FileDialog dialog = new FileDialog(window.getShell(), SWT.SAVE );
 			dialog.setText("Export text view file of '" + proc.getProcName() + "'");
 			dialog.setOverwrite(true);
+			dialog.setFilterExtensions(new String[] { "*.txt", "*" + ExportTextJob.GZIP_EXTENSION });
+			dialog.setFilterNames(new String[] { "Text files", "Compressed text files" });
 			String proposedFilename = proc.getProcId().replaceAll("/", "__")
 			                          + ".txt";
 			
@@ -48,16 +48,21 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.presentation.text.export;
 
+import java.io.BufferedWriter;
 import java.io.FileOutputStream;
-
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.operation.IRunnableWithProgress;
 
 import com.astra.ses.spell.gui.presentation.text.TextPresentation;
+import com.astra.ses.spell.gui.presentation.text.model.TextBufferCursor;
+import com.astra.ses.spell.gui.presentation.text.model.TextViewLine;
 import com.astra.ses.spell.gui.interfaces.IProcedureView;
 import com.astra.ses.spell.gui.services.IViewManager;
 import com.astra.ses.spell.gui.core.interfaces.ServiceManager;
@@ -66,12 +71,24 @@ import com.astra.ses.spell.gui.core.utils.Logger;
 import com.astra.ses.spell.gui.model.commands.CommandResult;
 import com.astra.ses.spell.gui.procs.interfaces.model.IProcedure;
 
+/*******************************************************************************
+ * Writes the text view lines of a procedure to a file, as UTF-8. Lines are
+ * read in batches from a snapshot of the view, so that the view is neither
+ * copied nor held while writing. Files whose name ends with ".gz" are written
+ * compressed.
+ ******************************************************************************/
 public class ExportTextJob implements IRunnableWithProgress
 {
+	/** Extension of the files written compressed */
+	public static final String GZIP_EXTENSION = ".gz";
+	/** Number of lines read at once */
+	private static final int BATCH_SIZE = 1000;
+	/** Size of the output buffers */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
 	public CommandResult result;
 	private IProcedure   m_proc;
 	private String       m_destinationFileName;
-	private String[]     m_displayLines;
 
 	public ExportTextJob( IProcedure proc, String destinationFile)
 	{
@@ -83,6 +100,7 @@ public class ExportTextJob implements IRunnableWithProgress
 	public void run(IProgressMonitor monitor) throws InvocationTargetException,
 	        InterruptedException
 	{
+		Writer writer = null;
 		try
 		{
 			monitor.setTaskName("Retrieving Text view file for procedure " + m_proc.getProcName());
@@ -90,27 +108,64 @@ public class ExportTextJob implements IRunnableWithProgress
 			IViewManager viewMgr = (IViewManager) ServiceManager.get(IViewManager.class);
 			IProcedureView procView = viewMgr.getProcedureView(m_proc.getProcId());
 			TextPresentation textPres = (TextPresentation) procView.getPresentation("com.astra.ses.spell.gui.presentation.TextView");
-			m_displayLines = textPres.getDisplayTextLines();
-			
-			monitor.beginTask("Exporting Text view data", m_displayLines.length);
+			TextBufferCursor cursor = textPres.openDisplayCursor();
 			
-			PrintWriter writer = new PrintWriter( new OutputStreamWriter( new FileOutputStream(m_destinationFileName)));
+			monitor.beginTask("Exporting Text view data", cursor.getLineCount());
 			
-			for(String line : m_displayLines)
+			OutputStream output = new FileOutputStream(m_destinationFileName);
+			if (m_destinationFileName.toLowerCase().endsWith(GZIP_EXTENSION))
 			{
-				writer.println( line );
-				monitor.worked(1);
-				if (monitor.isCanceled()) break;
+				output = new GZIPOutputStream(output, BUFFER_SIZE);
 			}
-			writer.close();
-			monitor.done();
+			writer = new BufferedWriter(new OutputStreamWriter(output, "UTF-8"), BUFFER_SIZE);
+			
+			TextViewLine[] batch = new TextViewLine[BATCH_SIZE];
+			String separator = System.getProperty("line.separator");
 			result = CommandResult.SUCCESS;
+			while (cursor.hasNext())
+			{
+				if (monitor.isCanceled())
+				{
+					result = CommandResult.CANCELLED;
+					break;
+				}
+				int count = cursor.next(batch);
+				for (int index = 0; index < count; index++)
+				{
+					writer.write(batch[index].getText());
+					writer.write(separator);
+				}
+				monitor.worked(count);
+				monitor.subTask("Exported " + cursor.getPosition() + " of " + cursor.getLineCount() + " lines");
+			}
 		}
 		catch (Exception e)
 		{
 			Logger.error("Could retrieve Text view:" + e.getLocalizedMessage(),Level.PROC, this);
+			result = CommandResult.FAILED;
+		}
+		finally
+		{
+			close(writer);
 		}
 		monitor.done();
 	}
 
+	/***************************************************************************
+	 * Close the output, flushing the buffered data
+	 **************************************************************************/
+	private void close( Writer writer )
+	{
+		if (writer == null) return;
+		try
+		{
+			writer.close();
+		}
+		catch (IOException e)
+		{
+			Logger.error("Could not write Text view file:" + e.getLocalizedMessage(),Level.PROC, this);
+			result = CommandResult.FAILED;
+		}
+	}
+
 }
@@ -0,0 +1,197 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.presentation.text.model
+// 
+// FILE      : LineOffsetIndex.java
+//
+// DATE      : 2026-10-18 13:57
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.presentation.text.model;
+
+/******************************************************************************
+ * Prefix sums of the line lengths of a {@link TextBuffer}, kept in a Fenwick
+ * tree so that line offsets can be obtained and located in logarithmic time.
+ * 
+ * Lines are appended at the end and removed from the beginning. Removed lines
+ * leave a zero-length slot behind; the slots are compacted when they amount
+ * to half of the tree, so that both operations are constant time on average
+ * besides the tree update.
+ *****************************************************************************/
+class LineOffsetIndex
+{
+	/** Initial number of slots */
+	private static final int INITIAL_SLOTS = 1024;
+
+	/** Fenwick tree, one-based */
+	private int[] m_tree;
+	/** Length of the line in each slot, zero for removed lines */
+	private int[] m_lengths;
+	/** Slot of the first line */
+	private int m_first;
+	/** Number of slots in use, removed lines included */
+	private int m_used;
+
+	/**************************************************************************
+	 * Constructor
+	 *************************************************************************/
+	LineOffsetIndex()
+	{
+		clear();
+	}
+
+	/**************************************************************************
+	 * Remove all lines
+	 *************************************************************************/
+	void clear()
+	{
+		m_tree = new int[INITIAL_SLOTS + 1];
+		m_lengths = new int[INITIAL_SLOTS];
+		m_first = 0;
+		m_used = 0;
+	}
+
+	/**************************************************************************
+	 * Add a line at the end
+	 *************************************************************************/
+	void append( int length )
+	{
+		if (m_used == m_lengths.length)
+		{
+			int count = m_used - m_first;
+			// Compact the removed slots, or grow if they are not worth it
+			int slots = (m_first >= count) ? m_lengths.length : m_lengths.length * 2;
+			int[] lengths = new int[slots];
+			System.arraycopy(m_lengths, m_first, lengths, 0, count);
+			m_lengths = lengths;
+			m_first = 0;
+			m_used = count;
+			rebuild();
+		}
+		m_lengths[m_used] = length;
+		add(m_used, length);
+		m_used++;
+	}
+
+	/**************************************************************************
+	 * Remove the first line
+	 *************************************************************************/
+	void removeFirst()
+	{
+		add(m_first, -m_lengths[m_first]);
+		m_lengths[m_first] = 0;
+		m_first++;
+	}
+
+	/**************************************************************************
+	 * Change the length of a line
+	 *************************************************************************/
+	void set( int line, int length )
+	{
+		int slot = m_first + line;
+		add(slot, length - m_lengths[slot]);
+		m_lengths[slot] = length;
+	}
+
+	/**************************************************************************
+	 * Total length of the lines before the given one
+	 *************************************************************************/
+	int getOffset( int line )
+	{
+		// Removed slots hold zero, so they do not need to be discounted
+		int sum = 0;
+		for (int index = m_first + line; index > 0; index -= (index & -index))
+		{
+			sum += m_tree[index];
+		}
+		return sum;
+	}
+
+	/**************************************************************************
+	 * Index of the first line ending after the given offset. Returns the
+	 * number of lines if there is none.
+	 *************************************************************************/
+	int getLine( int offset )
+	{
+		int position = 0;
+		int remaining = offset;
+		for (int step = Integer.highestOneBit(m_tree.length - 1); step > 0; step >>= 1)
+		{
+			int next = position + step;
+			if (next < m_tree.length && m_tree[next] <= remaining)
+			{
+				position = next;
+				remaining -= m_tree[next];
+			}
+		}
+		// Position is the number of slots ending at or before the offset
+		return Math.min(position, m_used) - m_first;
+	}
+
+	/**************************************************************************
+	 * Add a value to a slot
+	 *************************************************************************/
+	private void add( int slot, int value )
+	{
+		for (int index = slot + 1; index < m_tree.length; index += (index & -index))
+		{
+			m_tree[index] += value;
+		}
+	}
+
+	/**************************************************************************
+	 * Build the tree from the slot lengths in linear time
+	 *************************************************************************/
+	private void rebuild()
+	{
+		m_tree = new int[m_lengths.length + 1];
+		for (int index = 1; index < m_tree.length; index++)
+		{
+			m_tree[index] += m_lengths[index - 1];
+			int parent = index + (index & -index);
+			if (parent < m_tree.length)
+			{
+				m_tree[parent] += m_tree[index];
+			}
+		}
+	}
+}
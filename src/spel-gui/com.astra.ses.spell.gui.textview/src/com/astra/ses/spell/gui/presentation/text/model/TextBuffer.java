@@ -49,32 +49,66 @@
 package com.astra.ses.spell.gui.presentation.text.model;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 
 /******************************************************************************
  * Holds a buffer of strings that can be inspectioned through a data window of
  * smaller dimensions. Whenever a line is added to the buffer, the window
  * scrolls up a line as well so that the impression of scrolling is created. The
  * window position and size can be changed by means of the
- * <code>setWindowPosition</code> method. The size of the buffer grows
- * automatically by chunks of size <code>m_scalationRatio</code> with a default
- * value of 50.
+ * <code>setWindowPosition</code> method.
+ * 
+ * Lines are stored in a ring of fixed size chunks, so that appending a line
+ * and dropping the oldest one when the capacity is reached take constant
+ * time. The character offsets of the lines are maintained incrementally by
+ * a {@link LineOffsetIndex}, so that the window can be queried without
+ * copying it.
+ * 
+ * Lines are kept ordered by sequence. The last lines of the buffer act as a
+ * reorder window: a line arriving slightly out of order is placed among them
+ * with a binary search, moving only the lines after it. Lines older than the
+ * whole window are inserted through a slower path that rebuilds the offsets.
+ * 
+ * A {@link TextSearchIndex} follows the stored lines, so that the history can
+ * be searched without copying it.
+ * 
+ * A {@link TextBufferCursor} reads a snapshot of the lines without holding
+ * the buffer. Opening one marks the chunks as shared: from then on a shared
+ * chunk is copied before any of its lines is replaced, and evicted lines are
+ * not cleared from it.
  * 
  *****************************************************************************/
 public class TextBuffer
 {
-	/** The default amount of lines that the buffer will use to grow */
+	/** The default amount of lines of the view window */
 	public static final int DEFAULT_SCALATION_RATIO = 50;
+	/** Number of lines per storage chunk */
+	private static final int CHUNK_SIZE = 1024;
+	/** Number of trailing lines among which late lines are reordered */
+	private static final int REORDER_WINDOW = 256;
 	/** The maximum amount of lines allowed for the buffer */
 	private int m_capacity;
 	/** Holds the list of registered listeners */
 	private ArrayList<TextBufferListener> m_listeners;
-	/** Holds the buffer data */
-	private TextViewLine[] m_buffer;
+	/** Ring of storage chunks */
+	private TextViewLine[][] m_chunks;
+	/** Position in the ring of the chunk holding the first line */
+	private int m_firstChunk;
+	/** Number of chunks in use */
+	private int m_chunkCount;
+	/** Position of the first line in its chunk */
+	private int m_firstOffset;
+	/** Released chunk kept for reuse */
+	private TextViewLine[] m_spareChunk;
+	/** Generation in which each chunk of the ring was created */
+	private int[] m_chunkGenerations;
+	/** Current generation, increased whenever a cursor is opened */
+	private int m_generation;
 	/** Holds the amount of lines stored */
 	private int m_lineCount;
-	/** Holds the currently programmed scalation ratio */
-	private int m_scalationRatio;
+	/** Holds the line offsets */
+	private LineOffsetIndex m_index;
+	/** Holds the search index */
+	private TextSearchIndex m_searchIndex;
 	/** Start position of the view window */
 	private int m_windowStart;
 	/** Length of the view window */
@@ -88,9 +122,9 @@ public class TextBuffer
 	public TextBuffer( int capacity )
 	{
 		m_listeners = new ArrayList<TextBufferListener>();
-		m_scalationRatio = DEFAULT_SCALATION_RATIO;
-		m_buffer = new TextViewLine[m_scalationRatio];
-		m_lineCount = 0;
+		m_index = new LineOffsetIndex();
+		m_searchIndex = new TextSearchIndex();
+		reset();
 		m_windowStart = 0;
 		m_windowLength = DEFAULT_SCALATION_RATIO;
 		m_scrollWindow = false;
@@ -116,120 +150,97 @@ public class TextBuffer
 	/**************************************************************************
 	 * Toggle timestamp
 	 *************************************************************************/
-	public void setShowTimestamp(boolean show)
-	{
-		if (m_buffer != null)
-			for (TextViewLine line : m_buffer)
-			{
-				if (line != null)
-					line.setShowTimestamp(show);
-			}
-	}
-
-	/**************************************************************************
-	 * Se buffer capacity
-	 *************************************************************************/
-	public void setCapacity( int lines )
+	public synchronized void setShowTimestamp(boolean show)
 	{
-		m_capacity = lines;
-		if (m_capacity==-1) return;
-		if (m_capacity <= m_lineCount)
+		for (int index = 0; index < m_lineCount; index++)
 		{
-			regenerate();
+			get(index).setShowTimestamp(show);
 		}
 	}
 
 	/**************************************************************************
-	 * Regenerate buffer when growing beyond capacity
+	 * Se buffer capacity. The oldest lines are dropped if needed.
 	 *************************************************************************/
-	private void regenerate()
+	public synchronized void setCapacity( int lines )
 	{
-		if (m_capacity < m_scalationRatio)
-		{
-			m_buffer = new TextViewLine[ m_scalationRatio ];
-			m_lineCount = 0;
-			System.gc();
-		}
-		else if (m_lineCount > m_scalationRatio)
+		m_capacity = lines;
+		if (m_capacity==-1) return;
+		while (m_lineCount > Math.max(m_capacity, 0))
 		{
-			// These are the lines we are going to keep: last scalation ratio + extra lines
-			int numBlocks = (m_lineCount / m_scalationRatio);
-			int toRemove = m_scalationRatio * numBlocks;
-			int newLineCount = m_lineCount - toRemove;
-			
-			TextViewLine[] newData = new TextViewLine[ m_scalationRatio ];
-			System.arraycopy(m_buffer, toRemove, newData, 0, newLineCount);
-			m_buffer = newData;
-			newData = null;
-			m_lineCount = newLineCount;
-			System.gc();
-			m_windowStart = 0;
-			m_windowLength = DEFAULT_SCALATION_RATIO;
+			removeFirst();
+			if (m_windowStart > 0) m_windowStart--;
 		}
 	}
 
 	/**************************************************************************
 	 * Append a line to the buffer (synchornized)
+	 * 
+	 * @return True if the oldest line was dropped to make room
 	 *************************************************************************/
-	private synchronized void processNewLine( TextViewLine line )
+	private synchronized boolean processNewLine( TextViewLine line )
 	{
-		// If the buffer is full, enlarge it or dump initial lines if too big
-		if (m_capacity != -1 && m_lineCount == m_capacity)
-		{
-			regenerate();
-		}
-		else if (m_lineCount == m_buffer.length) // The buffer is full
+		// If the buffer is full, drop the oldest line
+		boolean dropped = false;
+		if (m_capacity != -1 && m_lineCount >= m_capacity && m_lineCount > 0)
 		{
-			TextViewLine[] newData = new TextViewLine[m_buffer.length + m_scalationRatio];
-			System.arraycopy(m_buffer, 0, newData, 0, m_buffer.length);
-			m_buffer = newData;
-			newData = null;
-			System.gc();
+			removeFirst();
+			dropped = true;
 		}
+		m_searchIndex.add(line);
 
-		// If there are no lines, just add it
-		if (m_lineCount == 0)
+		// If requires ordering, find the position after the lines with the
+		// same or a lower sequence
+		if (m_lineCount > 0 && line.compareTo(get(m_lineCount - 1)) < 0)
 		{
-			m_buffer[0] = line;
-		}
-		else
-		// Remaining space in buffer, add the line
-		{
-			TextViewLine previousLine = m_buffer[m_lineCount - 1];
-			// If requires ordering
-			if (line.compareTo(previousLine) < 0)
+			// Look in the reorder window first
+			int low = Math.max(0, m_lineCount - REORDER_WINDOW);
+			boolean late = (low > 0 && line.compareTo(get(low - 1)) < 0);
+			if (late)
+			{
+				low = 0;
+			}
+			int high = m_lineCount - 1;
+			while (low < high)
 			{
-				int index = Arrays.binarySearch(m_buffer, 0, m_lineCount - 1, line);
-				if (index < 0) // We need to insert
+				int middle = (low + high) >>> 1;
+				if (get(middle).compareTo(line) <= 0)
 				{
-					// (-insertion_point -1)
-					index = -index - 1;
+					low = middle + 1;
 				}
-				// If the index is at the end, just insert
-				if (index == m_lineCount)
+				else
 				{
-					m_buffer[m_lineCount] = line;
+					high = middle;
 				}
-				else
+			}
+			addLast(get(m_lineCount - 1));
+			for (int index = m_lineCount - 2; index > low; index--)
+			{
+				set(index, get(index - 1));
+			}
+			set(low, line);
+			// Offsets after the insertion point changed
+			if (late)
+			{
+				m_index.clear();
+				for (int index = 0; index < m_lineCount; index++)
 				{
-					// Now insert the data
-					TextViewLine[] newData = new TextViewLine[m_buffer.length + 1];
-					System.arraycopy(m_buffer, 0, newData, 0, index);
-					newData[index] = line;
-					System.arraycopy(m_buffer, index, newData, index + 1, m_lineCount - index + 1);
-					m_buffer = newData;
-					newData = null;
-					System.gc();
+					m_index.append(get(index).length());
 				}
 			}
 			else
-			// If not, add the line at the end
 			{
-				m_buffer[m_lineCount] = line;
+				for (int index = low; index < m_lineCount - 1; index++)
+				{
+					m_index.set(index, get(index).length());
+				}
 			}
 		}
-
-		m_lineCount++;
+		else
+		// If not, add the line at the end
+		{
+			addLast(line);
+		}
+		return dropped;
 	}
 	
 	/**************************************************************************
@@ -237,12 +248,24 @@ public class TextBuffer
 	 *************************************************************************/
 	public void append(TextViewLine line)
 	{
-		processNewLine(line);
+		boolean moved;
+		synchronized(this)
+		{
+			// Keep the window on the same lines if the oldest one was dropped
+			if (processNewLine(line) && m_windowStart > 0)
+			{
+				m_windowStart--;
+			}
+			moved = (m_lineCount > (m_windowStart + m_windowLength)) && m_scrollWindow;
+			if (moved)
+			{
+				// Shift the window to simulate the scrolling effect
+				m_windowStart++;
+			}
+		}
 
-		if ((m_lineCount > (m_windowStart + m_windowLength)) && m_scrollWindow)
+		if (moved)
 		{
-			// Shift the window to simulate the scrolling effect
-			m_windowStart++;
 			// Notify that the window has moved
 			fireWindowMoved();
 		}
@@ -258,38 +281,38 @@ public class TextBuffer
 	 *************************************************************************/
 	public void clear()
 	{
-		m_buffer = new TextViewLine[m_scalationRatio];
-		m_lineCount = 0;
+		synchronized(this)
+		{
+			reset();
+		}
 		fireDataCleared();
 	}
 
-	/**************************************************************************
-	 * Set the scalation ratio
-	 *************************************************************************/
-	public void setScalationRatio(int ratio)
-	{
-		m_scalationRatio = ratio;
-	}
-
 	/**************************************************************************
 	 * Change the view window position and length
 	 *************************************************************************/
 	public void setWindowPosition(int start, int length, boolean autoscroll)
 	{
-		m_windowStart = start;
-		m_windowLength = length;
-		m_scrollWindow = autoscroll;
+		synchronized(this)
+		{
+			m_windowStart = start;
+			m_windowLength = length;
+			m_scrollWindow = autoscroll;
+		}
 		fireWindowMoved();
 	}
 
 	/**************************************************************************
 	 * Set the data stored in the buffer
 	 *************************************************************************/
-	public void setData(TextViewLine[] lines)
+	public synchronized void setData(TextViewLine[] lines)
 	{
-		m_buffer = new TextViewLine[lines.length];
-		m_lineCount = lines.length;
-		System.arraycopy(lines, 0, m_buffer, 0, lines.length);
+		reset();
+		for (TextViewLine line : lines)
+		{
+			addLast(line);
+			m_searchIndex.add(line);
+		}
 	}
 
 	/**************************************************************************
@@ -305,9 +328,62 @@ public class TextBuffer
 	 *************************************************************************/
 	public synchronized TextViewLine[] getData()
 	{
-		TextViewLine[] data = new TextViewLine[m_lineCount];
-		System.arraycopy(m_buffer, 0, data, 0, m_lineCount);
-		return data;
+		return copy(0, m_lineCount);
+	}
+
+	/**************************************************************************
+	 * Find the lines matching the given query
+	 * 
+	 * @return The matches, in sequence order
+	 *************************************************************************/
+	public synchronized TextSearchMatch[] search( TextSearchQuery query )
+	{
+		return m_searchIndex.search(query);
+	}
+
+	/**************************************************************************
+	 * Get the position of a line in the buffer
+	 * 
+	 * @return The position, or -1 if the line is no longer stored
+	 *************************************************************************/
+	public synchronized int getLinePosition( TextViewLine line )
+	{
+		// Lines are ordered by sequence, find the first one of its sequence
+		int low = 0;
+		int high = m_lineCount;
+		while (low < high)
+		{
+			int middle = (low + high) >>> 1;
+			if (get(middle).compareTo(line) < 0)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		for (int index = low; index < m_lineCount && get(index).compareTo(line) == 0; index++)
+		{
+			if (get(index) == line) return index;
+		}
+		return -1;
+	}
+
+	/**************************************************************************
+	 * Open a cursor over a snapshot of all data stored. The cursor can be
+	 * read from any thread while the buffer goes on changing.
+	 *************************************************************************/
+	public synchronized TextBufferCursor openCursor()
+	{
+		TextViewLine[][] chunks = new TextViewLine[m_chunkCount][];
+		for (int index = 0; index < m_chunkCount; index++)
+		{
+			chunks[index] = m_chunks[(m_firstChunk + index) % m_chunks.length];
+		}
+		// The current chunks are shared with the cursor from now on
+		m_generation++;
+		return new TextBufferCursor(chunks, CHUNK_SIZE, m_firstOffset, m_lineCount);
 	}
 
 	/**************************************************************************
@@ -331,26 +407,186 @@ public class TextBuffer
 	 *************************************************************************/
 	public synchronized TextViewLine[] getWindowData()
 	{
-		// Try to get a full data window
-		int lengthToCopy = m_windowLength;
-		// If the window ends after the max number of lines
-		if ((m_windowStart + m_windowLength) > m_lineCount)
+		return copy(m_windowStart, getWindowLineCount());
+	}
+
+	/**************************************************************************
+	 * Get the amount of lines covered by the view window
+	 *************************************************************************/
+	public synchronized int getWindowLineCount()
+	{
+		// The window may end, or even start, after the last line
+		return Math.max(0, Math.min(m_windowLength, m_lineCount - m_windowStart));
+	}
+
+	/**************************************************************************
+	 * Get a line of the view window
+	 *************************************************************************/
+	public synchronized TextViewLine getWindowLine( int index )
+	{
+		return get(m_windowStart + index);
+	}
+
+	/**************************************************************************
+	 * Get the amount of characters covered by the view window
+	 *************************************************************************/
+	public synchronized int getWindowCharCount()
+	{
+		return getWindowOffsetAtLine(getWindowLineCount());
+	}
+
+	/**************************************************************************
+	 * Get the offset of a line of the view window, relative to the window
+	 *************************************************************************/
+	public synchronized int getWindowOffsetAtLine( int index )
+	{
+		if (m_windowStart >= m_lineCount) return 0;
+		int end = Math.min(m_windowStart + index, m_lineCount);
+		return m_index.getOffset(end) - m_index.getOffset(m_windowStart);
+	}
+
+	/**************************************************************************
+	 * Get the line of the view window containing the given offset, relative
+	 * to the window. The last line is returned for the end offset.
+	 *************************************************************************/
+	public synchronized int getWindowLineAtOffset( int offset )
+	{
+		int count = getWindowLineCount();
+		if (count == 0) return 0;
+		int line = m_index.getLine(m_index.getOffset(m_windowStart) + offset) - m_windowStart;
+		return Math.max(0, Math.min(line, count - 1));
+	}
+
+	/**************************************************************************
+	 * Obtain the line at the given position
+	 *************************************************************************/
+	private TextViewLine get( int index )
+	{
+		int position = m_firstOffset + index;
+		return m_chunks[(m_firstChunk + position / CHUNK_SIZE) % m_chunks.length][position % CHUNK_SIZE];
+	}
+
+	/**************************************************************************
+	 * Replace the line at the given position
+	 *************************************************************************/
+	private void set( int index, TextViewLine line )
+	{
+		int position = m_firstOffset + index;
+		int chunk = (m_firstChunk + position / CHUNK_SIZE) % m_chunks.length;
+		if (isShared(chunk))
 		{
-			// If the window even starts after the max number of lines
-			if (m_windowStart > m_lineCount)
+			// A cursor may be reading it, replace it by a copy
+			m_chunks[chunk] = m_chunks[chunk].clone();
+			m_chunkGenerations[chunk] = m_generation;
+		}
+		m_chunks[chunk][position % CHUNK_SIZE] = line;
+	}
+
+	/**************************************************************************
+	 * Check if a chunk of the ring may be read by a cursor
+	 *************************************************************************/
+	private boolean isShared( int chunk )
+	{
+		return m_chunkGenerations[chunk] != m_generation;
+	}
+
+	/**************************************************************************
+	 * Store a line after the last one
+	 *************************************************************************/
+	private void addLast( TextViewLine line )
+	{
+		if ((m_firstOffset + m_lineCount) / CHUNK_SIZE == m_chunkCount)
+		{
+			if (m_chunkCount == m_chunks.length)
 			{
-				// We return nothing
-				return new TextViewLine[0];
+				// Grow the ring, keeping the chunks in order
+				TextViewLine[][] chunks = new TextViewLine[m_chunks.length * 2][];
+				int[] generations = new int[chunks.length];
+				for (int index = 0; index < m_chunkCount; index++)
+				{
+					chunks[index] = m_chunks[(m_firstChunk + index) % m_chunks.length];
+					generations[index] = m_chunkGenerations[(m_firstChunk + index) % m_chunks.length];
+				}
+				m_chunks = chunks;
+				m_chunkGenerations = generations;
+				m_firstChunk = 0;
 			}
-			// We return a non-full window data
-			lengthToCopy = m_lineCount - m_windowStart;
+			TextViewLine[] chunk = m_spareChunk;
+			m_spareChunk = null;
+			if (chunk == null)
+			{
+				chunk = new TextViewLine[CHUNK_SIZE];
+			}
+			m_chunks[(m_firstChunk + m_chunkCount) % m_chunks.length] = chunk;
+			m_chunkGenerations[(m_firstChunk + m_chunkCount) % m_chunks.length] = m_generation;
+			m_chunkCount++;
+		}
+		// Slots after the last line are never part of a snapshot
+		int position = m_firstOffset + m_lineCount;
+		m_chunks[(m_firstChunk + position / CHUNK_SIZE) % m_chunks.length][position % CHUNK_SIZE] = line;
+		m_lineCount++;
+		m_index.append(line.length());
+	}
+
+	/**************************************************************************
+	 * Drop the first line
+	 *************************************************************************/
+	private void removeFirst()
+	{
+		TextViewLine[] chunk = m_chunks[m_firstChunk];
+		boolean shared = isShared(m_firstChunk);
+		m_searchIndex.remove(chunk[m_firstOffset]);
+		if (!shared)
+		{
+			chunk[m_firstOffset] = null;
+		}
+		m_firstOffset++;
+		m_lineCount--;
+		m_index.removeFirst();
+		if (m_firstOffset == CHUNK_SIZE)
+		{
+			// The chunk is empty, release it
+			m_chunks[m_firstChunk] = null;
+			if (!shared)
+			{
+				m_spareChunk = chunk;
+			}
+			m_firstChunk = (m_firstChunk + 1) % m_chunks.length;
+			m_chunkCount--;
+			m_firstOffset = 0;
+		}
+	}
+
+	/**************************************************************************
+	 * Copy a range of lines
+	 *************************************************************************/
+	private TextViewLine[] copy( int start, int count )
+	{
+		TextViewLine[] data = new TextViewLine[count];
+		for (int index = 0; index < count; index++)
+		{
+			data[index] = get(start + index);
 		}
-		// Create a buffer for the copied data and copy it
-		TextViewLine[] data = new TextViewLine[lengthToCopy];
-		System.arraycopy(m_buffer, m_windowStart, data, 0, lengthToCopy);
 		return data;
 	}
 
+	/**************************************************************************
+	 * Drop all lines
+	 *************************************************************************/
+	private void reset()
+	{
+		m_chunks = new TextViewLine[4][];
+		m_chunkGenerations = new int[m_chunks.length];
+		m_generation = 0;
+		m_firstChunk = 0;
+		m_chunkCount = 0;
+		m_firstOffset = 0;
+		m_spareChunk = null;
+		m_lineCount = 0;
+		m_index.clear();
+		m_searchIndex.clear();
+	}
+
 	/**************************************************************************
 	 * Fire a data changed event
 	 *************************************************************************/
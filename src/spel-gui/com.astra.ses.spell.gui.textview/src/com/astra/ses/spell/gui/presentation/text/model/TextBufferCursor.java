@@ -0,0 +1,125 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.presentation.text.model
+// 
+// FILE      : TextBufferCursor.java
+//
+// DATE      : 2026-10-18 14:13
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.presentation.text.model;
+
+/******************************************************************************
+ * Reads the lines of a {@link TextBuffer} as they were when the cursor was
+ * opened, in batches. The buffer is not held while reading, so the cursor
+ * can be used from a background job. Not thread safe.
+ *****************************************************************************/
+public class TextBufferCursor
+{
+	/** Holds the snapshot chunks, in order */
+	private TextViewLine[][] m_chunks;
+	/** Number of lines per chunk */
+	private int m_chunkSize;
+	/** Position of the first line in the first chunk */
+	private int m_firstOffset;
+	/** Number of lines in the snapshot */
+	private int m_lineCount;
+	/** Position of the next line to read */
+	private int m_position;
+
+	/**************************************************************************
+	 * Constructor
+	 *************************************************************************/
+	TextBufferCursor( TextViewLine[][] chunks, int chunkSize, int firstOffset, int lineCount )
+	{
+		m_chunks = chunks;
+		m_chunkSize = chunkSize;
+		m_firstOffset = firstOffset;
+		m_lineCount = lineCount;
+		m_position = 0;
+	}
+
+	/**************************************************************************
+	 * Get the number of lines in the snapshot
+	 *************************************************************************/
+	public int getLineCount()
+	{
+		return m_lineCount;
+	}
+
+	/**************************************************************************
+	 * Get the number of lines read so far
+	 *************************************************************************/
+	public int getPosition()
+	{
+		return m_position;
+	}
+
+	/**************************************************************************
+	 * Check if there are lines left to read
+	 *************************************************************************/
+	public boolean hasNext()
+	{
+		return m_position < m_lineCount;
+	}
+
+	/**************************************************************************
+	 * Read the next lines into the given array
+	 * 
+	 * @return The number of lines read, zero at the end
+	 *************************************************************************/
+	public int next( TextViewLine[] batch )
+	{
+		int count = Math.min(batch.length, m_lineCount - m_position);
+		int done = 0;
+		while (done < count)
+		{
+			int position = m_firstOffset + m_position + done;
+			int offset = position % m_chunkSize;
+			int length = Math.min(count - done, m_chunkSize - offset);
+			System.arraycopy(m_chunks[position / m_chunkSize], offset, batch, done, length);
+			done += length;
+		}
+		m_position += count;
+		return count;
+	}
+}
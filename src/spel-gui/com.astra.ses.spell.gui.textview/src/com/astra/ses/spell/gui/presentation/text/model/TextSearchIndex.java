@@ -0,0 +1,387 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.presentation.text.model
+// 
+// FILE      : TextSearchIndex.java
+//
+// DATE      : 2026-10-18 14:03
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.presentation.text.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/******************************************************************************
+ * Inverted index over the lines of a {@link TextBuffer}, used to search the
+ * display history without copying it.
+ * 
+ * Lines are numbered in order of arrival and grouped in blocks. Each trigram
+ * of the case-folded line text maps to the ascending list of the blocks
+ * holding a line that contains it. A search intersects the lists of the
+ * trigrams that a matching line must contain, and only the lines of the
+ * resulting blocks are checked against the query. Keeping blocks instead of
+ * lines in the lists keeps the index small for long histories.
+ * 
+ * Removed lines are cleared from their block. Blocks are released once all
+ * their lines are removed, and the lists are purged of released blocks from
+ * time to time.
+ *****************************************************************************/
+class TextSearchIndex
+{
+	/** Length of the indexed character sequences */
+	static final int GRAM_LENGTH = 3;
+	/** Number of lines per block */
+	private static final int BLOCK_SIZE = 128;
+	/** Number of released blocks after which the lists are purged */
+	private static final int PURGE_BLOCKS = 64;
+
+	/**************************************************************************
+	 * Lines of a block
+	 *************************************************************************/
+	private static class Block
+	{
+		/** Lines by arrival number, null when removed */
+		TextViewLine[] lines = new TextViewLine[BLOCK_SIZE];
+		/** Number of lines not removed */
+		int live = 0;
+		/** Paragraph types of the lines added, see TextSearchQuery.typeBit() */
+		int types = 0;
+		/** Scope codes of the lines added */
+		int scopes = 0;
+	}
+
+	/**************************************************************************
+	 * Ascending list of blocks containing a trigram
+	 *************************************************************************/
+	private static class Postings
+	{
+		/** Block numbers, valid between start and end */
+		int[] blocks = new int[4];
+		/** First valid position */
+		int start = 0;
+		/** Position after the last valid one */
+		int end = 0;
+
+		/**********************************************************************
+		 * Add a block, which is never lower than the last one
+		 *********************************************************************/
+		void add( int block )
+		{
+			if (end > start && blocks[end - 1] == block) return;
+			if (end == blocks.length)
+			{
+				int count = end - start;
+				int[] larger = new int[Math.max(4, count * 2)];
+				System.arraycopy(blocks, start, larger, 0, count);
+				blocks = larger;
+				start = 0;
+				end = count;
+			}
+			blocks[end++] = block;
+		}
+
+		/**********************************************************************
+		 * Drop the blocks lower than the given one
+		 *********************************************************************/
+		void trim( int firstBlock )
+		{
+			while (start < end && blocks[start] < firstBlock)
+			{
+				start++;
+			}
+		}
+
+		/**********************************************************************
+		 * Number of blocks
+		 *********************************************************************/
+		int size()
+		{
+			return end - start;
+		}
+	}
+
+	/** Orders the lists by size */
+	private static final Comparator<Postings> BY_SIZE = new Comparator<Postings>()
+	{
+		@Override
+		public int compare( Postings p1, Postings p2 )
+		{
+			return p1.size() - p2.size();
+		}
+	};
+
+	/** Orders the matches by line sequence */
+	private static final Comparator<TextSearchMatch> BY_SEQUENCE = new Comparator<TextSearchMatch>()
+	{
+		@Override
+		public int compare( TextSearchMatch m1, TextSearchMatch m2 )
+		{
+			return m1.getLine().compareTo(m2.getLine());
+		}
+	};
+
+	/** Holds the blocks, from the first one not released */
+	private ArrayList<Block> m_blocks;
+	/** Number of the first block not released */
+	private int m_firstBlock;
+	/** Arrival number for the next line */
+	private long m_nextSerial;
+	/** Holds the block lists by trigram */
+	private HashMap<Long, Postings> m_postings;
+	/** Number of blocks released since the last purge */
+	private int m_released;
+
+	/**************************************************************************
+	 * Constructor
+	 *************************************************************************/
+	TextSearchIndex()
+	{
+		clear();
+	}
+
+	/**************************************************************************
+	 * Remove all lines
+	 *************************************************************************/
+	void clear()
+	{
+		m_blocks = new ArrayList<Block>();
+		m_firstBlock = 0;
+		m_nextSerial = 0;
+		m_postings = new HashMap<Long, Postings>();
+		m_released = 0;
+	}
+
+	/**************************************************************************
+	 * Index a new line
+	 *************************************************************************/
+	void add( TextViewLine line )
+	{
+		long serial = m_nextSerial++;
+		int number = (int) (serial / BLOCK_SIZE);
+		if (number - m_firstBlock == m_blocks.size())
+		{
+			m_blocks.add(new Block());
+		}
+		Block block = m_blocks.get(number - m_firstBlock);
+		block.lines[(int) (serial % BLOCK_SIZE)] = line;
+		block.live++;
+		block.types |= TextSearchQuery.typeBit(line.getType());
+		if (line.getScope() != null)
+		{
+			block.scopes |= line.getScope().code;
+		}
+		line.setSerial(serial);
+
+		String text = line.getRawText();
+		for (int index = 0; index + GRAM_LENGTH <= text.length(); index++)
+		{
+			Long gram = Long.valueOf(gram(text, index));
+			Postings postings = m_postings.get(gram);
+			if (postings == null)
+			{
+				postings = new Postings();
+				m_postings.put(gram, postings);
+			}
+			postings.add(number);
+		}
+	}
+
+	/**************************************************************************
+	 * Remove an indexed line
+	 *************************************************************************/
+	void remove( TextViewLine line )
+	{
+		long serial = line.getSerial();
+		Block block = m_blocks.get((int) (serial / BLOCK_SIZE) - m_firstBlock);
+		block.lines[(int) (serial % BLOCK_SIZE)] = null;
+		block.live--;
+
+		// Release the leading blocks that are empty and will not be filled
+		int count = 0;
+		while (count < m_blocks.size() && m_blocks.get(count).live == 0
+		        && (long) (m_firstBlock + count + 1) * BLOCK_SIZE <= m_nextSerial)
+		{
+			count++;
+		}
+		if (count == 0) return;
+		m_blocks.subList(0, count).clear();
+		m_firstBlock += count;
+		m_released += count;
+		if (m_released >= PURGE_BLOCKS)
+		{
+			purge();
+		}
+	}
+
+	/**************************************************************************
+	 * Find the lines matching the given query
+	 * 
+	 * @return The matches, in sequence order
+	 *************************************************************************/
+	TextSearchMatch[] search( TextSearchQuery query )
+	{
+		ArrayList<TextSearchMatch> matches = new ArrayList<TextSearchMatch>();
+		ArrayList<Postings> lists = new ArrayList<Postings>();
+		for (String literal : query.getLiterals())
+		{
+			for (int index = 0; index + GRAM_LENGTH <= literal.length(); index++)
+			{
+				Postings postings = m_postings.get(Long.valueOf(gram(literal, index)));
+				if (postings == null)
+				{
+					// No line contains this trigram
+					return new TextSearchMatch[0];
+				}
+				lists.add(postings);
+			}
+		}
+
+		if (lists.isEmpty())
+		{
+			// Nothing to filter with, check every line
+			for (int index = 0; index < m_blocks.size(); index++)
+			{
+				check(m_blocks.get(index), query, matches);
+			}
+		}
+		else
+		{
+			intersect(lists, query, matches);
+		}
+
+		// Late lines are placed in sequence order in the buffer
+		Collections.sort(matches, BY_SEQUENCE);
+		return matches.toArray(new TextSearchMatch[0]);
+	}
+
+	/**************************************************************************
+	 * Check the lines of the blocks present in all the given lists
+	 *************************************************************************/
+	private void intersect( List<Postings> lists, TextSearchQuery query, List<TextSearchMatch> matches )
+	{
+		Collections.sort(lists, BY_SIZE);
+		Postings shortest = lists.get(0);
+		int[] positions = new int[lists.size()];
+		for (int index = 1; index < lists.size(); index++)
+		{
+			positions[index] = lists.get(index).start;
+		}
+		for (int position = shortest.start; position < shortest.end; position++)
+		{
+			int block = shortest.blocks[position];
+			if (block < m_firstBlock) continue;
+			boolean found = true;
+			for (int index = 1; found && index < lists.size(); index++)
+			{
+				Postings postings = lists.get(index);
+				int current = positions[index];
+				while (current < postings.end && postings.blocks[current] < block)
+				{
+					current++;
+				}
+				positions[index] = current;
+				// The other lists do not go further, no more blocks in common
+				if (current == postings.end) return;
+				found = (postings.blocks[current] == block);
+			}
+			if (found)
+			{
+				check(m_blocks.get(block - m_firstBlock), query, matches);
+			}
+		}
+	}
+
+	/**************************************************************************
+	 * Check the lines of a block against the query
+	 *************************************************************************/
+	private static void check( Block block, TextSearchQuery query, List<TextSearchMatch> matches )
+	{
+		if (block.live == 0 || !query.accepts(block.types, block.scopes)) return;
+		for (TextViewLine line : block.lines)
+		{
+			if (line == null) continue;
+			TextSearchMatch match = query.match(line);
+			if (match != null)
+			{
+				matches.add(match);
+			}
+		}
+	}
+
+	/**************************************************************************
+	 * Drop the released blocks from the lists, and the lists left empty
+	 *************************************************************************/
+	private void purge()
+	{
+		Iterator<Postings> iterator = m_postings.values().iterator();
+		while (iterator.hasNext())
+		{
+			Postings postings = iterator.next();
+			postings.trim(m_firstBlock);
+			if (postings.size() == 0)
+			{
+				iterator.remove();
+			}
+		}
+		m_released = 0;
+	}
+
+	/**************************************************************************
+	 * Key of the trigram at the given position of a text. Characters are
+	 * folded so that searches regardless of case can use the same keys.
+	 *************************************************************************/
+	private static long gram( String text, int index )
+	{
+		long key = 0;
+		for (int offset = 0; offset < GRAM_LENGTH; offset++)
+		{
+			char c = TextSearchQuery.fold(text.charAt(index + offset));
+			key = (key << 16) | c;
+		}
+		return key;
+	}
+}
@@ -0,0 +1,97 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.presentation.text.model
+// 
+// FILE      : TextSearchMatch.java
+//
+// DATE      : 2026-10-18 14:03
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.presentation.text.model;
+
+/******************************************************************************
+ * Occurrence of a search in a line of a {@link TextBuffer}. The position
+ * refers to the line text without timestamp.
+ *****************************************************************************/
+public class TextSearchMatch
+{
+	/** Holds the matching line */
+	private TextViewLine m_line;
+	/** Holds the start of the first occurrence in the line */
+	private int m_start;
+	/** Holds the length of the first occurrence */
+	private int m_length;
+
+	/**************************************************************************
+	 * Constructor
+	 *************************************************************************/
+	TextSearchMatch( TextViewLine line, int start, int length )
+	{
+		m_line = line;
+		m_start = start;
+		m_length = length;
+	}
+
+	/**************************************************************************
+	 * Get the matching line
+	 *************************************************************************/
+	public TextViewLine getLine()
+	{
+		return m_line;
+	}
+
+	/**************************************************************************
+	 * Get the start of the first occurrence in the line
+	 *************************************************************************/
+	public int getStart()
+	{
+		return m_start;
+	}
+
+	/**************************************************************************
+	 * Get the length of the first occurrence
+	 *************************************************************************/
+	public int getLength()
+	{
+		return m_length;
+	}
+}
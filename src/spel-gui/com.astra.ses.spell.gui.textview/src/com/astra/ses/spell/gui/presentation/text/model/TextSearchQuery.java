@@ -0,0 +1,408 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.presentation.text.model
+// 
+// FILE      : TextSearchQuery.java
+//
+// DATE      : 2026-10-18 14:03
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.presentation.text.model;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.astra.ses.spell.gui.core.model.types.Scope;
+
+/******************************************************************************
+ * Search criteria for the lines of a {@link TextBuffer}: a plain text or a
+ * regular expression, optionally restricted to some paragraph types and
+ * message scopes.
+ *****************************************************************************/
+public class TextSearchQuery
+{
+	/** Holds the searched text or expression */
+	private String m_text;
+	/** True if the text is a regular expression */
+	private boolean m_regex;
+	/** True if the search distinguishes case */
+	private boolean m_caseSensitive;
+	/** Holds the compiled expression, if any */
+	private Pattern m_pattern;
+	/** Accepted paragraph types, null for all */
+	private EnumSet<ParagraphType> m_types;
+	/** Accepted message scopes, null for all */
+	private EnumSet<Scope> m_scopes;
+	/** Bits of the accepted paragraph types, see typeBit() */
+	private int m_typeMask;
+	/** Codes of the accepted message scopes */
+	private int m_scopeMask;
+
+	/**************************************************************************
+	 * Constructor
+	 * 
+	 * @throws java.util.regex.PatternSyntaxException
+	 *             If the text is not a valid regular expression
+	 *************************************************************************/
+	public TextSearchQuery( String text, boolean regex, boolean caseSensitive )
+	{
+		m_text = text;
+		m_regex = regex;
+		m_caseSensitive = caseSensitive;
+		m_pattern = null;
+		if (regex)
+		{
+			m_pattern = Pattern.compile(text, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
+		}
+		m_types = null;
+		m_scopes = null;
+		m_typeMask = -1;
+		m_scopeMask = -1;
+	}
+
+	/**************************************************************************
+	 * Restrict the search to the given paragraph types
+	 *************************************************************************/
+	public void setTypes( ParagraphType first, ParagraphType... rest )
+	{
+		m_types = EnumSet.of(first, rest);
+		m_typeMask = 0;
+		for (ParagraphType type : m_types)
+		{
+			m_typeMask |= typeBit(type);
+		}
+	}
+
+	/**************************************************************************
+	 * Restrict the search to the given message scopes
+	 *************************************************************************/
+	public void setScopes( Scope first, Scope... rest )
+	{
+		m_scopes = EnumSet.of(first, rest);
+		m_scopeMask = 0;
+		for (Scope scope : m_scopes)
+		{
+			m_scopeMask |= scope.code;
+		}
+	}
+
+	/**************************************************************************
+	 * Get the searched text or expression
+	 *************************************************************************/
+	public String getText()
+	{
+		return m_text;
+	}
+
+	/**************************************************************************
+	 * Check if the text is a regular expression
+	 *************************************************************************/
+	public boolean isRegex()
+	{
+		return m_regex;
+	}
+
+	/**************************************************************************
+	 * Check if the search distinguishes case
+	 *************************************************************************/
+	public boolean isCaseSensitive()
+	{
+		return m_caseSensitive;
+	}
+
+	/**************************************************************************
+	 * Check if lines of the given paragraph types and scopes may match. The
+	 * masks are only tested when the search is restricted, since lines
+	 * without type or scope do not contribute to them.
+	 *************************************************************************/
+	boolean accepts( int typeMask, int scopeMask )
+	{
+		if (m_types != null && (m_typeMask & typeMask) == 0) return false;
+		if (m_scopes != null && (m_scopeMask & scopeMask) == 0) return false;
+		return true;
+	}
+
+	/**************************************************************************
+	 * Obtain the bit representing a paragraph type in a mask
+	 *************************************************************************/
+	static int typeBit( ParagraphType type )
+	{
+		return (type == null) ? 0 : (1 << type.ordinal());
+	}
+
+	/**************************************************************************
+	 * Check the given line against the query
+	 * 
+	 * @return The first occurrence, or null if the line does not match
+	 *************************************************************************/
+	TextSearchMatch match( TextViewLine line )
+	{
+		if (m_types != null && !m_types.contains(line.getType())) return null;
+		if (m_scopes != null && !m_scopes.contains(line.getScope())) return null;
+		String text = line.getRawText();
+		if (m_pattern != null)
+		{
+			Matcher matcher = m_pattern.matcher(text);
+			if (!matcher.find()) return null;
+			return new TextSearchMatch(line, matcher.start(), matcher.end() - matcher.start());
+		}
+		int start = m_caseSensitive ? text.indexOf(m_text) : indexOfIgnoreCase(text, m_text);
+		if (start == -1) return null;
+		return new TextSearchMatch(line, start, m_text.length());
+	}
+
+	/**************************************************************************
+	 * Obtain the pieces of text that every matching line contains. Regular
+	 * expressions are examined conservatively: only the literal runs outside
+	 * groups, classes and optional elements are taken, and none at all if
+	 * there are alternatives.
+	 *************************************************************************/
+	String[] getLiterals()
+	{
+		if (!m_regex)
+		{
+			return new String[] { m_text };
+		}
+		ArrayList<String> literals = new ArrayList<String>();
+		if (m_text.indexOf('|') != -1 || m_text.indexOf("\\Q") != -1)
+		{
+			return new String[0];
+		}
+		StringBuilder run = new StringBuilder();
+		int depth = 0;
+		int length = m_text.length();
+		for (int index = 0; index < length; index++)
+		{
+			char c = m_text.charAt(index);
+			if (c == '\\')
+			{
+				// Escapes are not interpreted, skip the escape and its argument
+				flush(run, literals);
+				index = skipEscape(index);
+			}
+			else if (c == '[')
+			{
+				flush(run, literals);
+				index = skipClass(index);
+			}
+			else if (c == '(')
+			{
+				flush(run, literals);
+				depth++;
+			}
+			else if (c == ')')
+			{
+				flush(run, literals);
+				depth--;
+			}
+			else if (c == '?' || c == '*' || c == '{')
+			{
+				// The previous character is optional
+				if (run.length() > 0)
+				{
+					run.setLength(run.length() - 1);
+				}
+				flush(run, literals);
+				if (c == '{')
+				{
+					int end = m_text.indexOf('}', index);
+					index = (end == -1) ? length : end;
+				}
+			}
+			else if (c == '.' || c == '^' || c == '$' || c == '+')
+			{
+				flush(run, literals);
+			}
+			else if (depth == 0)
+			{
+				run.append(c);
+			}
+		}
+		flush(run, literals);
+		return literals.toArray(new String[0]);
+	}
+
+	/**************************************************************************
+	 * Keep a literal run if long enough to be useful
+	 *************************************************************************/
+	private static void flush( StringBuilder run, ArrayList<String> literals )
+	{
+		if (run.length() >= TextSearchIndex.GRAM_LENGTH)
+		{
+			literals.add(run.toString());
+		}
+		run.setLength(0);
+	}
+
+	/**************************************************************************
+	 * Obtain the position of the end of the character class starting at the
+	 * given position
+	 *************************************************************************/
+	private int skipClass( int start )
+	{
+		int index = start + 1;
+		// A leading bracket or negated bracket is part of the class
+		if (index < m_text.length() && m_text.charAt(index) == '^') index++;
+		if (index < m_text.length() && m_text.charAt(index) == ']') index++;
+		int depth = 1;
+		while (index < m_text.length())
+		{
+			char c = m_text.charAt(index);
+			if (c == '\\')
+			{
+				index = skipEscape(index);
+			}
+			else if (c == '[')
+			{
+				depth++;
+			}
+			else if (c == ']')
+			{
+				depth--;
+				if (depth == 0) return index;
+			}
+			index++;
+		}
+		return m_text.length();
+	}
+
+	/**************************************************************************
+	 * Obtain the position of the last character of the escape starting at
+	 * the given position, including the argument of the hexadecimal, unicode,
+	 * octal, control character, named group and character property escapes
+	 *************************************************************************/
+	private int skipEscape( int start )
+	{
+		int index = start + 1;
+		if (index >= m_text.length()) return index;
+		switch (m_text.charAt(index))
+		{
+		case 'x':
+			if (index + 1 < m_text.length() && m_text.charAt(index + 1) == '{')
+			{
+				return skipTo(index + 1, '}');
+			}
+			return Math.min(index + 2, m_text.length() - 1);
+		case 'u':
+			return Math.min(index + 4, m_text.length() - 1);
+		case '0':
+			for (int count = 0; count < 3 && index + 1 < m_text.length(); count++)
+			{
+				char digit = m_text.charAt(index + 1);
+				if (digit < '0' || digit > '7') break;
+				index++;
+			}
+			return index;
+		case 'c':
+			return Math.min(index + 1, m_text.length() - 1);
+		case 'k':
+			if (index + 1 < m_text.length() && m_text.charAt(index + 1) == '<')
+			{
+				return skipTo(index + 1, '>');
+			}
+			return index;
+		case 'p':
+		case 'P':
+		case 'N':
+			if (index + 1 < m_text.length() && m_text.charAt(index + 1) == '{')
+			{
+				return skipTo(index + 1, '}');
+			}
+			return Math.min(index + 1, m_text.length() - 1);
+		default:
+			// Back references take all the following digits
+			while (Character.isDigit(m_text.charAt(index)) && index + 1 < m_text.length()
+			        && Character.isDigit(m_text.charAt(index + 1)))
+			{
+				index++;
+			}
+			return index;
+		}
+	}
+
+	/**************************************************************************
+	 * Obtain the position of the given character after the given position,
+	 * or the end of the text
+	 *************************************************************************/
+	private int skipTo( int start, char c )
+	{
+		int end = m_text.indexOf(c, start);
+		return (end == -1) ? m_text.length() - 1 : end;
+	}
+
+	/**************************************************************************
+	 * Find a text regardless of case
+	 *************************************************************************/
+	private static int indexOfIgnoreCase( String text, String search )
+	{
+		if (search.length() == 0) return 0;
+		// Candidate positions are found comparing the folded first character,
+		// which is equivalent to the character comparison of regionMatches
+		char first = fold(search.charAt(0));
+		char upper = Character.toUpperCase(first);
+		int last = text.length() - search.length();
+		for (int index = 0; index <= last; index++)
+		{
+			char c = text.charAt(index);
+			if ((c == first || c == upper || (c >= 128 && fold(c) == first))
+			        && text.regionMatches(true, index, search, 0, search.length()))
+			{
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/**************************************************************************
+	 * Fold a character for comparisons regardless of case
+	 *************************************************************************/
+	static char fold( char c )
+	{
+		if (c < 128)
+		{
+			return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+}
@@ -63,12 +63,10 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 
 	/** Holds the subscribed text change listeners */
 	private ArrayList<TextChangeListener> m_listeners;
-	/** Holds the text contents */
-	private TextViewLine[] m_text;
+	/** Holds the line shown when there is no data (required by algorithm) */
+	private TextViewLine m_blank;
 	/** Holds the full text buffer */
 	private TextBuffer m_buffer;
-	/** Holds the line start and end positions */
-	private Range[] m_ranges;
 	/** Holds the maximum amount of lines in the model */
 	private int m_viewWindowLength;
 	/** Holds the index of the view window */
@@ -76,28 +74,18 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	/** Status of show timestamp flag */
 	private boolean m_showTimestamp;
 
-	/** Utility class for storing line start offset and length */
-	private class Range
-	{
-		public int start;
-		public int length;
-	}
-
 	/**************************************************************************
 	 * Constructor
 	 *************************************************************************/
 	public TextViewContent( int capacity )
 	{
 		m_listeners = new ArrayList<TextChangeListener>();
-		m_text = new TextViewLine[1];
 		m_showTimestamp = false;
-		m_text[0] = new TextViewLine("", null, Scope.OTHER, ParagraphType.NORMAL, 0, m_showTimestamp);
-		m_ranges = null;
+		m_blank = new TextViewLine("", null, Scope.OTHER, ParagraphType.NORMAL, 0, m_showTimestamp);
 		m_viewWindowLength = 0;
 		m_viewWindowStart = 0;
 		m_buffer = new TextBuffer(capacity);
 		m_buffer.addBufferListener(this);
-		makeLineIndex();
 	}
 
 	@Override
@@ -124,12 +112,8 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	public void setShowTimestamp(boolean show)
 	{
 		m_showTimestamp = show;
-		for (TextViewLine line : m_text)
-		{
-			line.setShowTimestamp(show);
-		}
+		m_blank.setShowTimestamp(show);
 		m_buffer.setShowTimestamp(show);
-		updateContents();
 	}
 
 	/**************************************************************************
@@ -138,7 +122,9 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	public void setCapacity( int lines )
 	{
 		m_buffer.setCapacity(lines);
-		updateContents();
+		m_viewWindowStart = m_buffer.getDataWindowStart();
+		// The lines are read from the buffer, so dropped lines must be shown
+		fireTextSet();
 	}
 
 	/**************************************************************************
@@ -163,54 +149,6 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 		}
 	}
 
-	/**************************************************************************
-	 * Recreate the start/end position representation of lines. This method
-	 * needs to be called when the text content is changed.
-	 *************************************************************************/
-	private void makeLineIndex()
-	{
-		int offset = 0;
-		// There are as many ranges as lines
-		m_ranges = new Range[m_text.length];
-		for (int index = 0; index < m_text.length; index++)
-		{
-			// Determine the length of the string
-			int length = m_text[index].length();
-			Range r = new Range();
-			r.start = offset;
-			r.length = length;
-			// Store the range
-			m_ranges[index] = r;
-			// Add the length to keep the current offset value updated
-			offset += length;
-		}
-	}
-
-	/**************************************************************************
-	 * Get the data to be shown from the buffer
-	 *************************************************************************/
-	private void getDataFromBuffer()
-	{
-		m_text = m_buffer.getWindowData();
-		// If we have no data to show, put a blank line (required by algorithm)
-		if (m_text.length == 0)
-		{
-			m_text = new TextViewLine[1];
-			m_text[0] = new TextViewLine("", null, Scope.OTHER, ParagraphType.NORMAL, 0, m_showTimestamp);
-		}
-	}
-
-	/**************************************************************************
-	 * Update the data being shown
-	 *************************************************************************/
-	private void updateContents()
-	{
-		// Get the data to be shown from the buffer
-		getDataFromBuffer();
-		// Regenerate the ranges
-		makeLineIndex();
-	}
-
 	/**************************************************************************
 	 * Append a line to the buffer
 	 *************************************************************************/
@@ -238,14 +176,10 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	 *************************************************************************/
 	public int getCharCount()
 	{
-		int count = 0;
-		for (Range r : m_ranges)
-		{
-			count += r.length;
-		}
+		int count = m_buffer.getWindowCharCount();
 		if (m_showTimestamp)
 		{
-			count += (13*m_text.length);
+			count += (13*getLineCount());
 		}
 		return count;
 	}
@@ -258,9 +192,7 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	 *************************************************************************/
 	public String getLine(int lineIndex)
 	{
-		if ((lineIndex >= m_text.length) || (lineIndex < 0))
-			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
-		return m_text[lineIndex].getText();
+		return getLineObject(lineIndex).getText();
 	}
 
 	/**************************************************************************
@@ -270,9 +202,11 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	 *************************************************************************/
 	public TextViewLine getLineObject(int lineIndex)
 	{
-		if ((lineIndex >= m_text.length) || (lineIndex < 0))
+		if ((lineIndex >= getLineCount()) || (lineIndex < 0))
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
-		return m_text[lineIndex];
+		if (m_buffer.getWindowLineCount() == 0)
+			return m_blank;
+		return m_buffer.getWindowLine(lineIndex);
 	}
 
 	@Override
@@ -288,37 +222,7 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 			System.err.println("getLineAtOffset " + offset + ": data size " + m_buffer.getDataSize() + " cc " + getCharCount());
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
-
-		int theIndex = m_ranges.length - 1;
-		int idxLowBox = 0;
-		int idxHiBox = m_ranges.length - 1;
-		while (idxLowBox != idxHiBox)
-		{
-			int idxMiddleBox = (idxHiBox + idxLowBox) / 2;
-			int mbStartOffset = m_ranges[idxMiddleBox].start;
-			int pivot = mbStartOffset + m_ranges[idxMiddleBox].length;
-
-			if (offset >= mbStartOffset && offset < pivot)
-			{
-				theIndex = idxMiddleBox;
-				break;
-			}
-
-			if (pivot < offset)
-			{
-				idxLowBox = idxMiddleBox + 1;
-			}
-			else if (pivot > offset)
-			{
-				idxHiBox = idxMiddleBox;
-			}
-			else
-			{
-				theIndex = idxMiddleBox + 1;
-				break;
-			}
-		}
-		return theIndex;
+		return m_buffer.getWindowLineAtOffset(offset);
 	}
 
 	@Override
@@ -329,7 +233,8 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	 *************************************************************************/
 	public int getLineCount()
 	{
-		return m_text.length;
+		// There is always at least the blank line
+		return Math.max(1, m_buffer.getWindowLineCount());
 	}
 
 	@Override
@@ -351,9 +256,9 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	 *************************************************************************/
 	public int getOffsetAtLine(int lineIndex)
 	{
-		if ((lineIndex > m_text.length) || (lineIndex < 0))
+		if ((lineIndex > getLineCount()) || (lineIndex < 0))
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
-		return m_ranges[lineIndex].start;
+		return m_buffer.getWindowOffsetAtLine(lineIndex);
 	}
 
 	@Override
@@ -391,6 +296,30 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 		return data;
 	}
 
+	/**************************************************************************
+	 * Open a cursor over a snapshot of all data stored
+	 *************************************************************************/
+	public TextBufferCursor openCursor()
+	{
+		return m_buffer.openCursor();
+	}
+
+	/**************************************************************************
+	 * Find the stored lines matching the given query
+	 *************************************************************************/
+	public TextSearchMatch[] search( TextSearchQuery query )
+	{
+		return m_buffer.search(query);
+	}
+
+	/**************************************************************************
+	 * Get the position of a line among all data stored, or -1
+	 *************************************************************************/
+	public int getLinePosition( TextViewLine line )
+	{
+		return m_buffer.getLinePosition(line);
+	}
+
 	/**************************************************************************
 	 * Get the total amount of data viewed
 	 *************************************************************************/
@@ -433,8 +362,6 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	{
 		// Set the entire set of data on the buffer
 		m_buffer.clear();
-		// Get the data to be shown from the buffer
-		updateContents();
 		// Notify the listeners
 		fireTextSet();
 	}
@@ -445,7 +372,8 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	 *************************************************************************/
 	public void dataChanged(TextBuffer buffer)
 	{
-		updateContents();
+		// The window follows its lines when the oldest ones are dropped
+		m_viewWindowStart = m_buffer.getDataWindowStart();
 		// Notify the listeners
 		fireTextSet();
 	}
@@ -464,8 +392,6 @@ public class TextViewContent implements StyledTextContent, TextBufferListener
 	 *************************************************************************/
 	public void dataWindowMoved(TextBuffer buffer)
 	{
-		// Get the data to be shown from the buffer
-		updateContents();
 		// Update the window position
 		m_viewWindowStart = m_buffer.getDataWindowStart();
 		// Notify that the window has moved
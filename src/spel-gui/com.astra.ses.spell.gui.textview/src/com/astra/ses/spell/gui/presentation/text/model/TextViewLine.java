@@ -78,6 +78,8 @@ public class TextViewLine implements Comparable<TextViewLine>
 	private String m_timestamp;
 	/** Show timestamp flag */
 	private boolean m_showTimestamp;
+	/** Arrival number given by the search index */
+	private long m_serial;
 
 	/***********************************************************************
 	 * Constructor
@@ -111,6 +113,14 @@ public class TextViewLine implements Comparable<TextViewLine>
 		return m_text;
 	}
 
+	/***********************************************************************
+	 * Line text without timestamp
+	 **********************************************************************/
+	String getRawText()
+	{
+		return m_text;
+	}
+
 	/***********************************************************************
 	 * 
 	 **********************************************************************/
@@ -127,6 +137,22 @@ public class TextViewLine implements Comparable<TextViewLine>
 		return m_sequence;
 	}
 
+	/***********************************************************************
+	 * Arrival number given by the search index
+	 **********************************************************************/
+	long getSerial()
+	{
+		return m_serial;
+	}
+
+	/***********************************************************************
+	 * 
+	 **********************************************************************/
+	void setSerial(long serial)
+	{
+		m_serial = serial;
+	}
+
 	/***********************************************************************
 	 * 
 	 **********************************************************************/
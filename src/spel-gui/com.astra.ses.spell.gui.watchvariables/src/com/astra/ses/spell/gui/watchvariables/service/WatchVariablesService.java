@@ -189,6 +189,12 @@ public class WatchVariablesService extends BaseService implements IWatchVariable
 	@Override
     public void notifyProcedureModelConfigured(IProcedure model) {}
 
+	@Override
+    public void notifyProcedureModelObtained(IProcedure model) {}
+
+	@Override
+    public void notifyProcedureModelDiscarded(IProcedure model) {}
+
 	/**************************************************************************
 	 * 
 	 *************************************************************************/
@@ -262,6 +262,9 @@ public class ApplicationWorkbenchWindowAdvisor extends WorkbenchWindowAdvisor im
 		cproxy.setOpenTimeout(openTimeout);
 		long responseTimeout = Long.parseLong(cfg.getProperty(PropertyKey.RESPONSE_TIMEOUT));
 		cproxy.setResponseTimeout(responseTimeout);
+		int compressionThreshold = Integer.parseInt(cfg.getProperty(PropertyKey.COMPRESSION_THRESHOLD));
+		proxy.setCompressionThreshold(compressionThreshold);
+		cproxy.setCompressionThreshold(compressionThreshold);
 
 		// Subscribr to further changes
 		cfg.addPropertyChangeListener(this);
@@ -339,5 +342,12 @@ public class ApplicationWorkbenchWindowAdvisor extends WorkbenchWindowAdvisor im
 			long responseTimeout = Long.parseLong((String) event.getNewValue());
 			cproxy.setResponseTimeout(responseTimeout);
 		}
+		else if (property.equals(PropertyKey.COMPRESSION_THRESHOLD.getPreferenceName()))
+		{
+			int compressionThreshold = Integer.parseInt((String) event.getNewValue());
+			IServerProxy proxy = (IServerProxy) ServiceManager.get(IServerProxy.class);
+			proxy.setCompressionThreshold(compressionThreshold);
+			cproxy.setCompressionThreshold(compressionThreshold);
+		}
 	}
 }
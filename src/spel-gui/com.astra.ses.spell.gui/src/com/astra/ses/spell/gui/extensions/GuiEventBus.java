@@ -0,0 +1,347 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.extensions
+// 
+// FILE      : GuiEventBus.java
+//
+// DATE      : 2026-10-18 13:27
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.extensions;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.swt.widgets.Display;
+
+/*******************************************************************************
+ * @brief Delivers model events to the GUI listeners on the UI thread.
+ *
+ *        Events are queued by the notifying thread and drained onto the UI
+ *        thread in batches of at most one frame, using asyncExec, so that
+ *        the communication threads do not wait for each repaint. Events
+ *        keep their order. A queued event may absorb a newer event of the
+ *        same procedure when no other event of that procedure was queued
+ *        in between (e.g. consecutive stack positions).
+ *
+ *        When the queue grows beyond the high-water mark, notifying
+ *        threads other than the UI thread are held until it drains.
+ ******************************************************************************/
+public class GuiEventBus
+{
+	/** Maximum time spent draining in one UI cycle, in milliseconds */
+	private static final long FRAME_MSEC = 20;
+	/** Queue depth above which producers are held */
+	private static final int HIGH_WATER = 5000;
+	/** Maximum time a producer is held, in milliseconds */
+	private static final long HOLD_MSEC = 100;
+
+	/***************************************************************************
+	 * An event to be delivered on the UI thread
+	 **************************************************************************/
+	public static abstract class Event
+	{
+		/** Procedure the event refers to, or null */
+		private String m_procId;
+		/** Time the event was queued, in nanoseconds */
+		private long m_queued;
+
+		public Event(String procId)
+		{
+			m_procId = procId;
+		}
+
+		/***********************************************************************
+		 * Notify the listeners. Called on the UI thread.
+		 **********************************************************************/
+		protected abstract void dispatch();
+
+		/***********************************************************************
+		 * Absorb a newer event of the same procedure, if it makes this one
+		 * redundant. Called while the event is still queued.
+		 *
+		 * @return True if the newer event shall be dropped
+		 **********************************************************************/
+		protected boolean coalesce(Event newer)
+		{
+			return false;
+		}
+	}
+
+	/** Pending events */
+	private ArrayDeque<Event> m_queue;
+	/** Last queued event of each procedure */
+	private Map<String, Event> m_lastByProc;
+	/** True if a drain is scheduled on the UI thread */
+	private boolean m_scheduled;
+	/** Drains the queue on the UI thread */
+	private Runnable m_drainer;
+
+	/** Highest queue depth observed */
+	private int m_maxQueueDepth;
+	/** Number of events delivered */
+	private long m_dispatched;
+	/** Number of events absorbed by a queued one */
+	private long m_coalesced;
+	/** Number of times a producer was held */
+	private long m_held;
+	/** Highest time from queueing to delivery, in nanoseconds */
+	private long m_maxLatency;
+
+	/***************************************************************************
+	 * Constructor
+	 **************************************************************************/
+	public GuiEventBus()
+	{
+		m_queue = new ArrayDeque<Event>();
+		m_lastByProc = new HashMap<String, Event>();
+		m_scheduled = false;
+		m_maxQueueDepth = 0;
+		m_dispatched = 0;
+		m_coalesced = 0;
+		m_held = 0;
+		m_maxLatency = 0;
+		m_drainer = new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				drain(FRAME_MSEC);
+			}
+		};
+	}
+
+	/***************************************************************************
+	 * Queue an event for asynchronous delivery
+	 **************************************************************************/
+	public void post(Event event)
+	{
+		Display display = Display.getDefault();
+		boolean schedule = false;
+		synchronized (this)
+		{
+			if (display.getThread() != Thread.currentThread())
+			{
+				holdWhileFull(display);
+			}
+			String procId = event.m_procId;
+			if (procId != null)
+			{
+				Event last = m_lastByProc.get(procId);
+				if (last != null && last.coalesce(event))
+				{
+					m_coalesced++;
+					return;
+				}
+				m_lastByProc.put(procId, event);
+			}
+			event.m_queued = System.nanoTime();
+			m_queue.addLast(event);
+			m_maxQueueDepth = Math.max(m_maxQueueDepth, m_queue.size());
+			if (!m_scheduled)
+			{
+				m_scheduled = true;
+				schedule = true;
+			}
+		}
+		if (schedule && !display.isDisposed())
+		{
+			display.asyncExec(m_drainer);
+		}
+	}
+
+	/***************************************************************************
+	 * Deliver an event after all queued ones, waiting for its delivery
+	 **************************************************************************/
+	public void postAndWait(final Runnable runnable)
+	{
+		Event event = new Event(null)
+		{
+			@Override
+			protected void dispatch()
+			{
+				runnable.run();
+			}
+		};
+		synchronized (this)
+		{
+			// Events queued before must not absorb later ones
+			m_lastByProc.clear();
+			event.m_queued = System.nanoTime();
+			m_queue.addLast(event);
+			m_maxQueueDepth = Math.max(m_maxQueueDepth, m_queue.size());
+		}
+		Display.getDefault().syncExec(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				drain(0);
+			}
+		});
+	}
+
+	/***************************************************************************
+	 * Number of events waiting for delivery
+	 **************************************************************************/
+	public synchronized int getQueueDepth()
+	{
+		return m_queue.size();
+	}
+
+	/***************************************************************************
+	 * Highest number of events waiting for delivery
+	 **************************************************************************/
+	public synchronized int getMaxQueueDepth()
+	{
+		return m_maxQueueDepth;
+	}
+
+	/***************************************************************************
+	 * Number of events delivered
+	 **************************************************************************/
+	public synchronized long getDispatchedCount()
+	{
+		return m_dispatched;
+	}
+
+	/***************************************************************************
+	 * Number of events absorbed by an equivalent queued event
+	 **************************************************************************/
+	public synchronized long getCoalescedCount()
+	{
+		return m_coalesced;
+	}
+
+	/***************************************************************************
+	 * Number of times a notifying thread was held due to a full queue
+	 **************************************************************************/
+	public synchronized long getHeldCount()
+	{
+		return m_held;
+	}
+
+	/***************************************************************************
+	 * Highest time from queueing to delivery, in microseconds
+	 **************************************************************************/
+	public synchronized long getMaxLatency()
+	{
+		return m_maxLatency / 1000;
+	}
+
+	/***************************************************************************
+	 * Deliver queued events on the UI thread. With a time budget, the
+	 * remaining events are left for a later UI cycle once it is spent;
+	 * otherwise the queue is emptied.
+	 **************************************************************************/
+	private void drain(long budgetMsec)
+	{
+		long deadline = System.nanoTime() + budgetMsec * 1000000L;
+		while (true)
+		{
+			Event event;
+			synchronized (this)
+			{
+				event = m_queue.pollFirst();
+				if (event == null)
+				{
+					m_scheduled = false;
+					notifyAll();
+					return;
+				}
+				if (event.m_procId != null && m_lastByProc.get(event.m_procId) == event)
+				{
+					m_lastByProc.remove(event.m_procId);
+				}
+				long latency = System.nanoTime() - event.m_queued;
+				m_maxLatency = Math.max(m_maxLatency, latency);
+				m_dispatched++;
+				if (m_queue.size() < HIGH_WATER)
+				{
+					notifyAll();
+				}
+			}
+			try
+			{
+				event.dispatch();
+			}
+			catch (Exception ex)
+			{
+				ex.printStackTrace();
+			}
+			if (budgetMsec > 0 && System.nanoTime() > deadline)
+			{
+				Display display = Display.getCurrent();
+				if (display != null && !display.isDisposed())
+				{
+					display.asyncExec(m_drainer);
+					return;
+				}
+			}
+		}
+	}
+
+	/***************************************************************************
+	 * Hold the calling thread while the queue is above the high-water mark.
+	 * Must be called with the monitor held.
+	 **************************************************************************/
+	private void holdWhileFull(Display display)
+	{
+		if (m_queue.size() < HIGH_WATER) return;
+		m_held++;
+		long deadline = System.currentTimeMillis() + HOLD_MSEC;
+		try
+		{
+			long remaining = HOLD_MSEC;
+			while (m_queue.size() >= HIGH_WATER && remaining > 0 && !display.isDisposed())
+			{
+				wait(remaining);
+				remaining = deadline - System.currentTimeMillis();
+			}
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -51,7 +51,6 @@ package com.astra.ses.spell.gui.extensions;
 import java.util.ArrayList;
 import java.util.Collection;
 
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.services.IEvaluationService;
@@ -111,6 +110,61 @@ class GuiListeners
 	private Collection<ICoreContextOperationListener> m_contextOperationListeners = new ArrayList<ICoreContextOperationListener>();
 	private Collection<ICoreServerOperationListener> m_serverOperationListeners = new ArrayList<ICoreServerOperationListener>();
 
+	// Delivers the events on the UI thread
+	private GuiEventBus m_events = new GuiEventBus();
+
+	/***************************************************************************
+	 * Stack event. Consecutive stack events of a procedure collapse into the
+	 * last one, since listeners only reflect the current position.
+	 **************************************************************************/
+	private class StackEvent extends GuiEventBus.Event
+	{
+		private IProcedure m_model;
+		private StackNotification m_data;
+
+		StackEvent(IProcedure model, StackNotification data)
+		{
+			super(model.getProcId());
+			m_model = model;
+			m_data = data;
+		}
+
+		@Override
+		protected boolean coalesce(GuiEventBus.Event newer)
+		{
+			if (!(newer instanceof StackEvent)) return false;
+			m_data = ((StackEvent) newer).m_data;
+			return true;
+		}
+
+		@Override
+		protected void dispatch()
+		{
+			for (IProcedureListener clt : m_procedureListeners)
+			{
+				try
+				{
+					clt.notifyProcedureStack(m_model, m_data);
+				}
+				catch (Exception ex)
+				{
+					ex.printStackTrace();
+				}
+			}
+			for (IGuiProcedureStackListener listener : m_procedureStackListeners)
+			{
+				try
+				{
+					listener.notifyStack(m_model, m_data);
+				}
+				catch (Exception ex)
+				{
+					ex.printStackTrace();
+				}
+			}
+		}
+	}
+
 	/***************************************************************************
 	 * 
 	 * @param listener
@@ -265,6 +319,14 @@ class GuiListeners
 		}
 	}
 
+	/***************************************************************************
+	 * Event delivery counters
+	 **************************************************************************/
+	public GuiEventBus getEventBus()
+	{
+		return m_events;
+	}
+
 	/***************************************************************************
 	 * 
 	 **************************************************************************/
@@ -291,7 +353,7 @@ class GuiListeners
 
 	protected void fireModelDisabled(final IProcedure model)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -316,7 +378,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireModelEnabled(final IProcedure model)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 
 			@Override
@@ -342,7 +404,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireModelLoaded(final IProcedure model)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 
 			@Override
@@ -367,7 +429,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireModelReset(final IProcedure model)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 
 			@Override
@@ -393,7 +455,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireModelUnloaded(final IProcedure model, final UnloadType type)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 
 			@Override
@@ -418,7 +480,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireModelConfigured(final IProcedure model)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -440,31 +502,44 @@ class GuiListeners
 	}
 
 	// ==========================================================================
-	protected void fireProcedureDisplay(final IProcedure model, final DisplayData data)
+	protected void fireModelObtained(final IProcedure model)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		// Remote models are obtained by background threads, do not hold them
+		m_events.post(new GuiEventBus.Event(model.getProcId())
 		{
 			@Override
-			public void run()
+			protected void dispatch()
 			{
-				for (IProcedureListener clt : m_procedureListeners)
+				for (IProcedureModelListener listener : m_procedureModelListeners)
 				{
 					try
 					{
-						//Logger.debug("Notify [procedure display] to " + clt.getListenerId(), Level.PROC, GuiListeners.class);
-						clt.notifyProcedureDisplay(model, data);
+						Logger.debug("Notify [model obtained] to " + listener.getListenerId(), Level.PROC, GuiListeners.class);
+						listener.notifyProcedureModelObtained(model);
 					}
 					catch (Exception ex)
 					{
 						ex.printStackTrace();
 					}
 				}
-				for (IGuiProcedureMessageListener listener : m_procedureMessageListeners)
+			}
+		});
+	}
+
+	// ==========================================================================
+	protected void fireModelDiscarded(final IProcedure model)
+	{
+		m_events.post(new GuiEventBus.Event(model.getProcId())
+		{
+			@Override
+			protected void dispatch()
+			{
+				for (IProcedureModelListener listener : m_procedureModelListeners)
 				{
 					try
 					{
-						//Logger.debug("Notify [procedure display] to " + listener.getListenerId(), Level.PROC, GuiListeners.class);
-						listener.notifyDisplay(model, data);
+						Logger.debug("Notify [model discarded] to " + listener.getListenerId(), Level.PROC, GuiListeners.class);
+						listener.notifyProcedureModelDiscarded(model);
 					}
 					catch (Exception ex)
 					{
@@ -476,33 +551,31 @@ class GuiListeners
 	}
 
 	// ==========================================================================
-	protected void fireProcedureError(final IProcedure model, final ErrorData data)
+	protected void fireProcedureDisplay(final IProcedure model, final DisplayData data)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.post(new GuiEventBus.Event(model.getProcId())
 		{
 			@Override
-			public void run()
+			protected void dispatch()
 			{
-				refreshEvaluationService();
-
 				for (IProcedureListener clt : m_procedureListeners)
 				{
 					try
 					{
-						Logger.debug("Notify [procedure error] to " + clt.getListenerId(), Level.PROC, GuiListeners.class);
-						clt.notifyProcedureError(model, data);
+						//Logger.debug("Notify [procedure display] to " + clt.getListenerId(), Level.PROC, GuiListeners.class);
+						clt.notifyProcedureDisplay(model, data);
 					}
 					catch (Exception ex)
 					{
 						ex.printStackTrace();
 					}
 				}
-				for (IGuiProcedureStatusListener listener : m_procedureStatusListeners)
+				for (IGuiProcedureMessageListener listener : m_procedureMessageListeners)
 				{
 					try
 					{
-						Logger.debug("Notify [procedure error] to " + listener.getListenerId(), Level.PROC, GuiListeners.class);
-						listener.notifyError(model, data);
+						//Logger.debug("Notify [procedure display] to " + listener.getListenerId(), Level.PROC, GuiListeners.class);
+						listener.notifyDisplay(model, data);
 					}
 					catch (Exception ex)
 					{
@@ -514,31 +587,33 @@ class GuiListeners
 	}
 
 	// ==========================================================================
-	protected void fireProcedureItem(final IProcedure model, final ItemNotification data)
+	protected void fireProcedureError(final IProcedure model, final ErrorData data)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
 			{
+				refreshEvaluationService();
+
 				for (IProcedureListener clt : m_procedureListeners)
 				{
 					try
 					{
-						//Logger.debug("Notify [procedure item] to " + clt.getListenerId(), Level.PROC, GuiListeners.class);
-						clt.notifyProcedureItem(model, data);
+						Logger.debug("Notify [procedure error] to " + clt.getListenerId(), Level.PROC, GuiListeners.class);
+						clt.notifyProcedureError(model, data);
 					}
 					catch (Exception ex)
 					{
 						ex.printStackTrace();
 					}
 				}
-				for (IGuiProcedureItemsListener listener : m_procedureItemListeners)
+				for (IGuiProcedureStatusListener listener : m_procedureStatusListeners)
 				{
 					try
 					{
-						//Logger.debug("Notify [procedure item] to " + listener.getListenerId(), Level.PROC, GuiListeners.class);
-						listener.notifyItem(model, data);
+						Logger.debug("Notify [procedure error] to " + listener.getListenerId(), Level.PROC, GuiListeners.class);
+						listener.notifyError(model, data);
 					}
 					catch (Exception ex)
 					{
@@ -550,31 +625,31 @@ class GuiListeners
 	}
 
 	// ==========================================================================
-	protected void fireProcedureStack(final IProcedure model, final StackNotification data)
+	protected void fireProcedureItem(final IProcedure model, final ItemNotification data)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.post(new GuiEventBus.Event(model.getProcId())
 		{
 			@Override
-			public void run()
+			protected void dispatch()
 			{
 				for (IProcedureListener clt : m_procedureListeners)
 				{
 					try
 					{
-						//Logger.debug("Notify [procedure stack] to " + clt.getListenerId(), Level.PROC, GuiListeners.class);
-						clt.notifyProcedureStack(model, data);
+						//Logger.debug("Notify [procedure item] to " + clt.getListenerId(), Level.PROC, GuiListeners.class);
+						clt.notifyProcedureItem(model, data);
 					}
 					catch (Exception ex)
 					{
 						ex.printStackTrace();
 					}
 				}
-				for (IGuiProcedureStackListener listener : m_procedureStackListeners)
+				for (IGuiProcedureItemsListener listener : m_procedureItemListeners)
 				{
 					try
 					{
-						//Logger.debug("Notify [procedure stack] to " + listener.getListenerId(), Level.PROC, GuiListeners.class);
-						listener.notifyStack(model, data);
+						//Logger.debug("Notify [procedure item] to " + listener.getListenerId(), Level.PROC, GuiListeners.class);
+						listener.notifyItem(model, data);
 					}
 					catch (Exception ex)
 					{
@@ -585,15 +660,21 @@ class GuiListeners
 		});
 	}
 
+	// ==========================================================================
+	protected void fireProcedureStack(final IProcedure model, final StackNotification data)
+	{
+		m_events.post(new StackEvent(model, data));
+	}
+
 	// ==========================================================================
 	protected void fireProcedureStatus(final IProcedure model, final StatusNotification data)
 	{
 		try
 		{
-			Display.getDefault().syncExec(new Runnable()
+			m_events.post(new GuiEventBus.Event(model.getProcId())
 			{
 				@Override
-				public void run()
+				protected void dispatch()
 				{
 					refreshEvaluationService();
 
@@ -633,7 +714,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedurePrompt(final IProcedure model)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -671,7 +752,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureFinishPrompt(final IProcedure model)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -709,7 +790,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureCancelPrompt(final IProcedure model)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -748,7 +829,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureUserAction(final IProcedure model, final UserActionNotification data)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -772,7 +853,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureClosed(final String procId, final String guiKey)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -798,7 +879,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureControlled(final String procId, final String guiKey)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -822,7 +903,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureKilled(final String procId, final String guiKey)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -846,7 +927,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureCrashed(final String procId, final String guiKey)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -872,7 +953,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureMonitored(final String procId, final String guiKey)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -896,7 +977,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureOpen(final String procId, final String guiKey)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -920,7 +1001,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureReleased(final String procId, final String guiKey)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -944,7 +1025,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureStatus(final String procId, final ExecutorStatus status, final String guiKey)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -970,7 +1051,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireProcedureSummary(final String procId, final ExecutorOperationSummary summary, final String guiKey)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -994,7 +1075,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireClientConnected(final String clientKey, final String host)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -1011,7 +1092,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireClientDisconnected(final String clientKey, final String host)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -1028,7 +1109,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireContextAttached(final ContextInfo info)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -1045,7 +1126,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireContextDetached()
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -1062,7 +1143,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireListenerConnected(final ServerInfo info)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -1079,7 +1160,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireListenerDisconnected()
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -1096,7 +1177,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireListenerError(final ErrorData data)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -1113,7 +1194,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireContextStarted(final ContextInfo info)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -1130,7 +1211,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireContextStopped(final ContextInfo info)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -1147,7 +1228,7 @@ class GuiListeners
 	// ==========================================================================
 	protected void fireContextError(final ErrorData data)
 	{
-		Display.getDefault().syncExec(new Runnable()
+		m_events.postAndWait(new Runnable()
 		{
 			@Override
 			public void run()
@@ -1164,7 +1245,7 @@ class GuiListeners
 	// ==========================================================================
     protected void fireApplicationStatus( final ApplicationStatus status )
     {
-	    Display.getDefault().syncExec( new Runnable()
+	    m_events.postAndWait( new Runnable()
 	    {
 	    	public void run()
 	    	{
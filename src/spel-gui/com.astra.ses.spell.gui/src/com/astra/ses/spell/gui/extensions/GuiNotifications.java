@@ -163,6 +163,18 @@ public class GuiNotifications extends GuiListeners implements ICoreClientOperati
 		fireModelConfigured(model);
     }
 
+	@Override
+    public void notifyProcedureModelObtained(IProcedure model)
+    {
+		fireModelObtained(model);
+    }
+
+	@Override
+    public void notifyProcedureModelDiscarded(IProcedure model)
+    {
+		fireModelDiscarded(model);
+    }
+
 	@Override
     public void notifyProcedureDisplay(IProcedure model, DisplayData data)
     {
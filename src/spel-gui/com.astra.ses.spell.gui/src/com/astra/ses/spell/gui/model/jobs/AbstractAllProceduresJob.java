@@ -0,0 +1,195 @@
+///////////////////////////////////////////////////////////////////////////////
+//
+// PACKAGE   : com.astra.ses.spell.gui.model.jobs
+// 
+// FILE      : AbstractAllProceduresJob.java
+//
+// DATE      : 2026-10-18 13:17
+//
+// Copyright (C) 2008, 2015 SES ENGINEERING, Luxembourg S.A.R.L.
+//
+// By using this software in any way, you are agreeing to be bound by
+// the terms of this license.
+//
+// All rights reserved. This program and the accompanying materials
+// are made available under the terms of the Eclipse Public License v1.0
+// which accompanies this distribution, and is available at
+// http://www.eclipse.org/legal/epl-v10.html
+//
+// NO WARRANTY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, THE PROGRAM IS PROVIDED
+// ON AN "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, EITHER
+// EXPRESS OR IMPLIED INCLUDING, WITHOUT LIMITATION, ANY WARRANTIES OR
+// CONDITIONS OF TITLE, NON-INFRINGEMENT, MERCHANTABILITY OR FITNESS FOR A
+// PARTICULAR PURPOSE. Each Recipient is solely responsible for determining
+// the appropriateness of using and distributing the Program and assumes all
+// risks associated with its exercise of rights under this Agreement ,
+// including but not limited to the risks and costs of program errors,
+// compliance with applicable laws, damage to or loss of data, programs or
+// equipment, and unavailability or interruption of operations.
+//
+// DISCLAIMER OF LIABILITY
+// EXCEPT AS EXPRESSLY SET FORTH IN THIS AGREEMENT, NEITHER RECIPIENT NOR ANY
+// CONTRIBUTORS SHALL HAVE ANY LIABILITY FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING WITHOUT LIMITATION
+// LOST PROFITS), HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OR DISTRIBUTION OF THE PROGRAM OR THE
+// EXERCISE OF ANY RIGHTS GRANTED HEREUNDER, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGES.
+//
+// Contributors:
+//    SES ENGINEERING - initial API and implementation and/or initial documentation
+//
+// PROJECT   : SPELL
+//
+// SUBPROJECT: SPELL GUI Client
+//
+///////////////////////////////////////////////////////////////////////////////
+package com.astra.ses.spell.gui.model.jobs;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubProgressMonitor;
+import org.eclipse.jface.operation.IRunnableWithProgress;
+
+import com.astra.ses.spell.gui.core.interfaces.ServiceManager;
+import com.astra.ses.spell.gui.model.commands.CommandResult;
+import com.astra.ses.spell.gui.procs.exceptions.NotConnected;
+import com.astra.ses.spell.gui.procs.exceptions.UnloadFailed;
+import com.astra.ses.spell.gui.procs.interfaces.IProcedureManager;
+
+/******************************************************************************
+ * Base for jobs applying the same operation to all open procedures. The
+ * operations are issued concurrently, so that the corresponding server
+ * requests are in flight at the same time instead of one after another.
+ *****************************************************************************/
+public abstract class AbstractAllProceduresJob implements IRunnableWithProgress
+{
+	/** Maximum number of procedures processed at the same time */
+	private static final int MAX_PARALLEL = 8;
+
+	public CommandResult	result;
+	public String	     message;
+
+	public AbstractAllProceduresJob()
+	{
+		result = CommandResult.NO_EFFECT;
+		message = null;
+	}
+
+	@Override
+	public void run(final IProgressMonitor monitor) throws InvocationTargetException,
+	        InterruptedException
+	{
+		final IProcedureManager mgr = (IProcedureManager) ServiceManager
+		        .get(IProcedureManager.class);
+		List<String> openProcs = new ArrayList<String>();
+		try
+		{
+			openProcs.addAll(mgr.getOpenLocalProcedures());
+		}
+		catch (NotConnected ex)
+		{
+			result = CommandResult.FAILED;
+			message = "Could not " + getOperationName() + " procedures, not connected to context";
+			monitor.done();
+			return;
+		}
+		monitor.beginTask(getTaskName(), openProcs.size());
+		if (openProcs.isEmpty())
+		{
+			result = CommandResult.SUCCESS;
+			monitor.done();
+			return;
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(openProcs.size(), MAX_PARALLEL));
+		List<Future<String>> results = new ArrayList<Future<String>>();
+		for (final String procId : openProcs)
+		{
+			results.add(pool.submit(new Callable<String>()
+			{
+				@Override
+				public String call() throws Exception
+				{
+					// Each procedure accounts for one tick of the job. The
+					// monitor of a forked progress dialog accepts calls
+					// from any thread.
+					IProgressMonitor sub = new SubProgressMonitor(monitor, 1);
+					sub.beginTask(procId, 1);
+					try
+					{
+						processProcedure(mgr, procId, sub);
+						return null;
+					}
+					catch (UnloadFailed ex)
+					{
+						return ex.getLocalizedMessage();
+					}
+					catch (NotConnected ex)
+					{
+						return "not connected to context";
+					}
+					finally
+					{
+						sub.done();
+					}
+				}
+			}));
+		}
+		pool.shutdown();
+
+		String errors = "";
+		try
+		{
+			for (Future<String> procResult : results)
+			{
+				String error = procResult.get();
+				if (error != null)
+				{
+					errors += error + "\n";
+				}
+			}
+		}
+		catch (ExecutionException ex)
+		{
+			throw new InvocationTargetException(ex.getCause());
+		}
+
+		if (errors.isEmpty())
+		{
+			result = CommandResult.SUCCESS;
+		}
+		else
+		{
+			result = CommandResult.FAILED;
+			message = "Could not " + getOperationName() + " procedures:\n\n" + errors;
+		}
+		monitor.done();
+	}
+
+	/**************************************************************************
+	 * Apply the operation to the given procedure. Called concurrently.
+	 *************************************************************************/
+	protected abstract void processProcedure(IProcedureManager mgr, String procId, IProgressMonitor monitor)
+	        throws UnloadFailed;
+
+	/**************************************************************************
+	 * Name of the progress task
+	 *************************************************************************/
+	protected abstract String getTaskName();
+
+	/**************************************************************************
+	 * Name of the operation for error messages
+	 *************************************************************************/
+	protected abstract String getOperationName();
+}
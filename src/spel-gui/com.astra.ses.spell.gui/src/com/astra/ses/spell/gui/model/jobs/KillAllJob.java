@@ -48,71 +48,40 @@
 ///////////////////////////////////////////////////////////////////////////////
 package com.astra.ses.spell.gui.model.jobs;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.jface.operation.IRunnableWithProgress;
 
-import com.astra.ses.spell.gui.core.interfaces.ServiceManager;
 import com.astra.ses.spell.gui.core.model.types.ClientMode;
-import com.astra.ses.spell.gui.model.commands.CommandResult;
-import com.astra.ses.spell.gui.procs.exceptions.NotConnected;
 import com.astra.ses.spell.gui.procs.exceptions.UnloadFailed;
 import com.astra.ses.spell.gui.procs.interfaces.IProcedureManager;
 import com.astra.ses.spell.gui.procs.interfaces.model.IProcedure;
 
-public class KillAllJob implements IRunnableWithProgress
+public class KillAllJob extends AbstractAllProceduresJob
 {
-	public CommandResult	result;
-	public String	     message;
-
-	public KillAllJob()
-	{
-		result = CommandResult.NO_EFFECT;
-		message = null;
-	}
-
 	@Override
-	public void run(IProgressMonitor monitor) throws InvocationTargetException,
-	        InterruptedException
+	protected void processProcedure(IProcedureManager mgr, String procId, IProgressMonitor monitor)
+	        throws UnloadFailed
 	{
-		IProcedureManager mgr = (IProcedureManager) ServiceManager
-		        .get(IProcedureManager.class);
-		try
-		{
-			ArrayList<String> openProcs = new ArrayList<String>();
-			openProcs.addAll(mgr.getOpenLocalProcedures());
-			monitor.beginTask("Killing all procedures", openProcs.size());
-			int count = 0;
-			for (String procId : openProcs)
-			{
-				IProcedure proc = mgr.getProcedure(procId);
-				ClientMode mode = proc.getRuntimeInformation().getClientMode();
-				if (mode.equals(ClientMode.CONTROL))
-				{
-					mgr.killProcedure(procId, monitor);
-				}
-				else
-				{
-					mgr.releaseProcedure(procId, false, monitor);
-				}
-				count++;
-				monitor.worked(count);
-			}
-			result = CommandResult.SUCCESS;
-		}
-		catch (UnloadFailed ex)
+		IProcedure proc = mgr.getProcedure(procId);
+		ClientMode mode = proc.getRuntimeInformation().getClientMode();
+		if (mode.equals(ClientMode.CONTROL))
 		{
-			result = CommandResult.FAILED;
-			message = "Could not kill procedures:\n\n"
-			        + ex.getLocalizedMessage();
+			mgr.killProcedure(procId, monitor);
 		}
-		catch (NotConnected ex)
+		else
 		{
-			result = CommandResult.FAILED;
-			message = "Could not kill procedures, not connected to context";
+			mgr.releaseProcedure(procId, false, monitor);
 		}
-		monitor.done();
+	}
+
+	@Override
+	protected String getTaskName()
+	{
+		return "Killing all procedures";
+	}
+
+	@Override
+	protected String getOperationName()
+	{
+		return "kill";
 	}
 }
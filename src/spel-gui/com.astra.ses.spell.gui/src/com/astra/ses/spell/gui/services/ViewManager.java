@@ -401,6 +401,16 @@ public class ViewManager extends BaseService implements IViewManager,
 		}
 	}
 
+	@Override
+	public void notifyProcedureModelObtained(IProcedure model)
+	{
+	}
+
+	@Override
+	public void notifyProcedureModelDiscarded(IProcedure model)
+	{
+	}
+
 	@Override
 	public void notifyProcedureDisplay(IProcedure model, DisplayData data)
 	{
@@ -641,6 +651,8 @@ public class ViewManager extends BaseService implements IViewManager,
 		if (part instanceof MasterView)
 		{
 			IProcedureManager mgr = (IProcedureManager) ServiceManager.get(IProcedureManager.class);
+			// Only triggers the refresh, the master view follows the model
+			// obtained/discarded notifications
 			mgr.getOpenRemoteProcedures(true);
 		}
 	}
@@ -97,7 +97,9 @@ import com.astra.ses.spell.gui.preferences.interfaces.IConfigurationManager;
 import com.astra.ses.spell.gui.preferences.keys.FontKey;
 import com.astra.ses.spell.gui.preferences.keys.PropertyKey;
 import com.astra.ses.spell.gui.preferences.values.YesNoPromptPref;
+import com.astra.ses.spell.gui.procs.ProcedureListenerAdapter;
 import com.astra.ses.spell.gui.procs.interfaces.IProcedureManager;
+import com.astra.ses.spell.gui.procs.interfaces.IProcedureModelListener;
 import com.astra.ses.spell.gui.procs.interfaces.model.IExecutionInformation;
 import com.astra.ses.spell.gui.procs.interfaces.model.IProcedure;
 import com.astra.ses.spell.gui.types.ExecutorStatus;
@@ -150,6 +152,8 @@ public class ExecutorComposite extends Composite implements ICoreProcedureOperat
 	private Button	                m_btnRefresh;
 	/** True if background executor warning dialog is open */
 	private AtomicBoolean			m_bkgWarningOpen;
+	/** Refreshes the table as the remote models are obtained or discarded */
+	private ProcedureListenerAdapter m_modelListener;
 	 
 
 
@@ -164,6 +168,30 @@ public class ExecutorComposite extends Composite implements ICoreProcedureOperat
 		
 		GuiNotifications.get().addListener(this, ICoreProcedureOperationListener.class);
 		
+		m_modelListener = new ProcedureListenerAdapter()
+		{
+			@Override
+			public String getListenerId()
+			{
+				return ID + ".models";
+			}
+
+			@Override
+			public void notifyProcedureModelObtained(IProcedure model)
+			{
+				if (isDisposed()) return;
+				refresh();
+			}
+
+			@Override
+			public void notifyProcedureModelDiscarded(IProcedure model)
+			{
+				if (isDisposed()) return;
+				refresh();
+			}
+		};
+		GuiNotifications.get().addListener(m_modelListener, IProcedureModelListener.class);
+		
 		if (s_procMgr == null)
 		{
 			s_procMgr = (IProcedureManager) ServiceManager.get(IProcedureManager.class);
@@ -177,7 +205,8 @@ public class ExecutorComposite extends Composite implements ICoreProcedureOperat
 			s_cfg = (IConfigurationManager) ServiceManager.get(IConfigurationManager.class);
 		}
 		
-		// Ensure list of remote open procedures is up to date
+		// Ensure list of remote open procedures is up to date. The models
+		// are added to the table by the model listener as they are obtained
 		if (s_procMgr.canOperate())
 		{
 			s_procMgr.getOpenRemoteProcedures(true);
@@ -191,6 +220,7 @@ public class ExecutorComposite extends Composite implements ICoreProcedureOperat
 	public void dispose()
 	{
 		GuiNotifications.get().removeListener(this);
+		GuiNotifications.get().removeListener(m_modelListener);
 		super.dispose();
 	}
 
@@ -1008,6 +1038,7 @@ public class ExecutorComposite extends Composite implements ICoreProcedureOperat
 	private void doRefreshProcedures()
 	{
 		Logger.debug("Refreshing procedures", Level.PROC, this);
+		// The table follows the model obtained/discarded notifications
 		s_procMgr.getOpenRemoteProcedures(true);
 	}
 
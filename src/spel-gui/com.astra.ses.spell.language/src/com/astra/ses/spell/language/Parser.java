@@ -84,10 +84,13 @@ public class Parser
 
 	public SimpleNode parseCodeGetTree(String code) throws Exception
 	{
-		char[] cs = code.toCharArray();
-		CharStream in = new FastCharStream(cs);
+		return parseCodeGetTree(code.toCharArray());
+	}
+
+	public SimpleNode parseCodeGetTree(char[] code) throws Exception
+	{
+		CharStream in = new FastCharStream(code);
 		IGrammar grammar = new SpellGrammar(in, m_host);
 		return grammar.file_input();
-
 	}
 }